@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.benchmark;
+
+import java.io.PrintStream;
+import java.util.function.LongSupplier;
+
+/**
+ * A small microbenchmark harness, in the style of JMH. Each benchmark is an operation that
+ * returns a {@code long}, which is folded into a sink so that the JIT cannot remove the work.
+ * The harness first calibrates a batch size, so that the clock is read once per batch rather
+ * than once per operation, then runs a number of timed warmup iterations, and finally a number
+ * of measured iterations. Each measured iteration gives one average time per operation, and
+ * one comma separated line summarizing them is printed per benchmark.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>out: where results are printed</li>
+ *   <li>iterationNanos: the minimum length of each warmup and measured iteration</li>
+ *   <li>warmups: the number of warmup iterations</li>
+ *   <li>iterations: the number of measured iterations</li>
+ *   <li>sink: the running fold of every operation's result</li>
+ * </ul>
+ */
+
+final class Harness {
+
+  static final String HEADER =
+          "benchmark,model,radius,iterations,operations,meanNanos,stdevNanos,minNanos";
+
+  private final PrintStream out;
+  private final long iterationNanos;
+  private final int warmups;
+  private final int iterations;
+  private long sink;
+
+  /**
+   * Constructs a harness.
+   *
+   * @param out where results are printed.
+   * @param iterationMillis the minimum length of each iteration, in milliseconds.
+   * @param warmups the number of warmup iterations.
+   * @param iterations the number of measured iterations.
+   * @throws IllegalArgumentException if the length or number of iterations is not positive,
+   *                                  or the number of warmups is negative.
+   */
+
+  Harness(PrintStream out, long iterationMillis, int warmups, int iterations)
+          throws IllegalArgumentException {
+    if (iterationMillis <= 0 || warmups < 0 || iterations <= 0) {
+      throw new IllegalArgumentException("Invalid iteration settings.");
+    }
+    this.out = out;
+    this.iterationNanos = iterationMillis * 1_000_000;
+    this.warmups = warmups;
+    this.iterations = iterations;
+  }
+
+  /**
+   * Measures an operation, and prints one line of results for it.
+   *
+   * @param name the name of the benchmark.
+   * @param model the name of the model implementation it runs on.
+   * @param radius the radius of the board it runs on.
+   * @param operation the operation to measure.
+   */
+
+  void run(String name, String model, int radius, LongSupplier operation) {
+    int batch = this.calibrate(operation);
+    for (int i = 0; i < this.warmups; i++) {
+      this.iterate(operation, batch);
+    }
+    double[] nanosPerOperation = new double[this.iterations];
+    long operations = 0;
+    for (int i = 0; i < this.iterations; i++) {
+      long start = System.nanoTime();
+      long count = this.iterate(operation, batch);
+      nanosPerOperation[i] = (double) (System.nanoTime() - start) / count;
+      operations += count;
+    }
+    double mean = 0;
+    double min = Double.MAX_VALUE;
+    for (double nanos : nanosPerOperation) {
+      mean += nanos / this.iterations;
+      min = Math.min(min, nanos);
+    }
+    double variance = 0;
+    for (double nanos : nanosPerOperation) {
+      variance += (nanos - mean) * (nanos - mean) / Math.max(1, this.iterations - 1);
+    }
+    this.out.printf("%s,%s,%d,%d,%d,%.1f,%.1f,%.1f%n", name, model, radius, this.iterations,
+            operations, mean, Math.sqrt(variance), min);
+  }
+
+  /**
+   * Gets the fold of every result seen so far. Printing it once at the end keeps the results
+   * alive, without printing anything that depends on the timing.
+   *
+   * @return the fold of every result.
+   */
+
+  long getSink() {
+    return this.sink;
+  }
+
+  /**
+   * Finds the number of operations to run between reads of the clock, by doubling it until a
+   * batch takes at least a hundredth of an iteration.
+   *
+   * @param operation the operation to calibrate for.
+   * @return the batch size.
+   */
+
+  private int calibrate(LongSupplier operation) {
+    int batch = 1;
+    while (batch < (1 << 30)) {
+      long start = System.nanoTime();
+      this.batch(operation, batch);
+      if (System.nanoTime() - start >= this.iterationNanos / 100) {
+        break;
+      }
+      batch *= 2;
+    }
+    return batch;
+  }
+
+  /**
+   * Runs whole batches of an operation until an iteration's worth of time has passed.
+   *
+   * @param operation the operation to run.
+   * @param batch the number of operations per batch.
+   * @return the number of operations run.
+   */
+
+  private long iterate(LongSupplier operation, int batch) {
+    long start = System.nanoTime();
+    long count = 0;
+    do {
+      this.batch(operation, batch);
+      count += batch;
+    } while (System.nanoTime() - start < this.iterationNanos);
+    return count;
+  }
+
+  private void batch(LongSupplier operation, int batch) {
+    long fold = this.sink;
+    for (int i = 0; i < batch; i++) {
+      fold = fold * 31 + operation.getAsLong();
+    }
+    this.sink = fold;
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.benchmark;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import cs3500.reversi.adapter.StrategyAdapter;
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.Cell;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.model.types.ReversiCellPair;
+import cs3500.reversi.strategy.AlphaBetaSearch;
+import cs3500.reversi.strategy.AvoidCellsNextToCorners;
+import cs3500.reversi.strategy.ChooseCornerCell;
+import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.strategy.MonteCarloTreeSearch;
+import cs3500.reversi.strategy.ReversiStrategy;
+import cs3500.reversi.strategy.TranspositionTable;
+
+/**
+ * Microbenchmarks of the model operations and strategies, on both model implementations, at
+ * radii 2, 5, 10 and 20. Every benchmark starts from the same midgame position for its radius,
+ * reached by a fixed sequence of moves. Operations that need a cell cycle through every cell
+ * (or every legal move) of that position, and {@code playMove} is measured together with the
+ * {@code undoMove} that restores the position. The search strategies are bounded by work
+ * rather than time: {@link AlphaBetaSearch} searches to depth {@value #SEARCH_DEPTH} with a
+ * freshly cleared transposition table, and {@link MonteCarloTreeSearch} runs
+ * {@value #PLAYOUTS} playouts in a new tree.
+ *
+ * <p>Results are printed as comma separated values, one line per benchmark, with the mean,
+ * standard deviation and minimum of the per-iteration average nanoseconds per operation.
+ *
+ * <p>Usage: {@code java cs3500.reversi.benchmark.ModelBenchmark [millis-per-iteration]
+ * [filter]}. Each iteration defaults to 200 milliseconds, and only benchmarks whose name
+ * contains the filter are run, if one is given.
+ */
+
+public final class ModelBenchmark {
+
+  private static final int[] RADII = {2, 5, 10, 20};
+  private static final int WARMUPS = 3;
+  private static final int ITERATIONS = 5;
+  private static final int SEARCH_DEPTH = 3;
+  private static final int PLAYOUTS = 100;
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args the optional length of each iteration in milliseconds, and a name filter.
+   */
+
+  public static void main(String[] args) {
+    long millis = args.length > 0 ? Long.parseLong(args[0]) : 200;
+    String filter = args.length > 1 ? args[1] : "";
+    Harness harness = new Harness(System.out, millis, WARMUPS, ITERATIONS);
+
+    System.out.println(Harness.HEADER);
+    for (int radius : RADII) {
+      run(harness, filter, "hexagonal", radius, HexagonalReversi::new);
+      run(harness, filter, "bitboard", radius, BitboardReversi::new);
+    }
+    // Printed to standard error, so that standard output only holds the results.
+    System.err.println("sink: " + harness.getSink());
+  }
+
+  private static void run(Harness harness, String filter, String name, int radius,
+                          Function<Integer, ReversiModel> constructor) {
+    ReversiModel model = midgamePosition(constructor.apply(2 * radius + 1));
+    PieceColor color = model.getPlayerColor();
+    List<Point> points = new ArrayList<>();
+    List<Cell> cells = new ArrayList<>();
+    List<List<ReversiCellPair>> board = model.getBoardCopy();
+    for (int row = 0; row < board.size(); row++) {
+      for (int col = 0; col < board.get(row).size(); col++) {
+        points.add(new Point(row, col));
+        cells.add(board.get(row).get(col).getCell());
+      }
+    }
+    List<Point> moves = model.getLegalMoves(color);
+    int[] next = new int[1];
+
+    if ("isValidMove".contains(filter)) {
+      harness.run("isValidMove", name, radius, () -> {
+        Point point = points.get(next[0]++ % points.size());
+        return model.isValidMove(point.x, point.y, color) ? 1 : 0;
+      });
+    }
+    if ("getCellsThatWillBeFlipped".contains(filter)) {
+      harness.run("getCellsThatWillBeFlipped", name, radius,
+          () -> model.getCellsThatWillBeFlipped(cells.get(next[0]++ % cells.size()), color)
+                  .size());
+    }
+    if ("playMove".contains(filter) && !moves.isEmpty()) {
+      harness.run("playMove", name, radius, () -> {
+        Point move = moves.get(next[0]++ % moves.size());
+        model.playMove(move.x, move.y, color);
+        int score = model.getScore(color);
+        model.undoMove();
+        return score;
+      });
+    }
+    if ("isGameOver".contains(filter)) {
+      harness.run("isGameOver", name, radius, () -> model.isGameOver() ? 1 : 0);
+    }
+    if ("getScore".contains(filter)) {
+      harness.run("getScore", name, radius, () -> model.getScore(color));
+    }
+    if ("getBoardCopy".contains(filter)) {
+      harness.run("getBoardCopy", name, radius, () -> model.getBoardCopy().size());
+    }
+
+    TranspositionTable table = new TranspositionTable(1);
+    AlphaBetaSearch search = new AlphaBetaSearch(Long.MAX_VALUE, SEARCH_DEPTH, table, 1);
+    runStrategy(harness, filter, "FlipMostCells", name, radius, model, FlipMostCells::new);
+    runStrategy(harness, filter, "ChooseCornerCell", name, radius, model,
+        ChooseCornerCell::new);
+    runStrategy(harness, filter, "AvoidCellsNextToCorners", name, radius, model,
+        AvoidCellsNextToCorners::new);
+    runStrategy(harness, filter, "StrategyAdapter", name, radius, model, StrategyAdapter::new);
+    runStrategy(harness, filter, "AlphaBetaSearch", name, radius, model, () -> {
+      table.clear();
+      return search;
+    });
+    if ("AlphaBetaSearch.chooseMove".contains(filter)
+            && search.getCompletedDepth() != SEARCH_DEPTH) {
+      // A search cut short would be timed as if it had reached the full depth.
+      throw new IllegalStateException("AlphaBetaSearch stopped at depth "
+              + search.getCompletedDepth() + " instead of " + SEARCH_DEPTH + ".");
+    }
+    runStrategy(harness, filter, "MonteCarloTreeSearch", name, radius, model,
+        () -> new MonteCarloTreeSearch(PLAYOUTS, Long.MAX_VALUE, 1));
+  }
+
+  private static void runStrategy(Harness harness, String filter, String strategyName,
+                                  String name, int radius, ReversiModel model,
+                                  Supplier<ReversiStrategy> strategy) {
+    String benchmark = strategyName + ".chooseMove";
+    if (!benchmark.contains(filter)) {
+      return;
+    }
+    PieceColor color = model.getPlayerColor();
+    // Stateless strategies are constructed for every operation, which is one small allocation.
+    harness.run(benchmark, name, radius, () -> {
+      Optional<Point> move = strategy.get().chooseMove(model, color);
+      return move.map(point -> point.x * 31L + point.y).orElse(-1L);
+    });
+  }
+
+  /**
+   * Plays a fixed sequence of moves, until about a third of the empty cells are filled, so
+   * that every benchmark starts from a position with many pieces and legal moves.
+   *
+   * @param model the model to play on.
+   * @return the same model.
+   */
+
+  private static ReversiModel midgamePosition(ReversiModel model) {
+    int moves = Math.max(2, (3 * model.getRadius() * (model.getRadius() + 1) - 5) / 3);
+    for (int i = 0; i < moves && !model.isGameOver(); i++) {
+      PieceColor color = model.getPlayerColor();
+      List<Point> legal = model.getLegalMoves(color);
+      if (legal.isEmpty()) {
+        model.pass(color);
+      } else {
+        Point move = legal.get((i * 7) % legal.size());
+        model.playMove(move.x, move.y, color);
+      }
+    }
+    return model;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.benchmark;
+
+import java.awt.Point;
+import java.util.List;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.AlphaBetaSearch;
+import cs3500.reversi.strategy.TranspositionTable;
+
+/**
+ * Measures how the number of positions {@link AlphaBetaSearch} visits per second scales with
+ * the number of worker threads, on a board of radius 8 (17 rows). For every worker count from
+ * 1 to N, the same midgame position is searched for a fixed time with a fresh transposition
+ * table, and one comma separated line is printed per worker count.
+ *
+ * <p>Usage: {@code java cs3500.reversi.benchmark.SearchScalingBenchmark [max-workers]
+ * [millis-per-run]}. The maximum number of workers defaults to the number of available
+ * processors, and each run defaults to 2000 milliseconds.
+ */
+
+public final class SearchScalingBenchmark {
+
+  private static final int ROWS = 17;
+  private static final int OPENING_MOVES = 12;
+  private static final int TABLE_MEGABYTES = 64;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the optional maximum number of workers, and the time per run in milliseconds.
+   */
+
+  public static void main(String[] args) {
+    int maxWorkers = args.length > 0 ? Integer.parseInt(args[0])
+            : Runtime.getRuntime().availableProcessors();
+    long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+    ReversiModel position = openingPosition();
+    PieceColor color = position.getPlayerColor();
+
+    // One untimed run, so that every run after it is measured with compiled code.
+    new AlphaBetaSearch(millis, Integer.MAX_VALUE, new TranspositionTable(TABLE_MEGABYTES), 1)
+            .chooseMove(position, color);
+
+    System.out.println("workers,nodes,millis,nodesPerSecond,speedup,depth");
+    double baseline = 0;
+    for (int workers = 1; workers <= maxWorkers; workers++) {
+      AlphaBetaSearch search = new AlphaBetaSearch(millis, Integer.MAX_VALUE,
+              new TranspositionTable(TABLE_MEGABYTES), workers);
+      long start = System.nanoTime();
+      search.chooseMove(position, color);
+      long elapsed = System.nanoTime() - start;
+      double nodesPerSecond = search.getNodeCount() * 1e9 / elapsed;
+      if (workers == 1) {
+        baseline = nodesPerSecond;
+      }
+      System.out.printf("%d,%d,%d,%.0f,%.2f,%d%n", workers, search.getNodeCount(),
+              elapsed / 1_000_000, nodesPerSecond, nodesPerSecond / baseline,
+              search.getCompletedDepth());
+    }
+  }
+
+  /**
+   * Builds the position to search, by playing a fixed sequence of opening moves so that the
+   * search starts from a position with many legal moves.
+   *
+   * @return the position to search.
+   */
+
+  private static ReversiModel openingPosition() {
+    ReversiModel model = new BitboardReversi(ROWS);
+    for (int i = 0; i < OPENING_MOVES; i++) {
+      PieceColor color = model.getPlayerColor();
+      List<Point> moves = model.getLegalMoves(color);
+      Point move = moves.get((i * 7) % moves.size());
+      model.playMove(move.x, move.y, color);
+    }
+    return model;
+  }
+}
@@ -18,12 +18,26 @@
 
 package cs3500.reversi;
 
-import cs3500.reversi.adapter.ModelAdapter;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import cs3500.reversi.book.OpeningBook;
+import cs3500.reversi.book.OpeningBookBuilder;
 import cs3500.reversi.controller.ReversiController;
+import cs3500.reversi.evaluation.Evaluation;
+import cs3500.reversi.evaluation.SelfPlayGenerator;
+import cs3500.reversi.evaluation.WeightTuner;
+import cs3500.reversi.factory.ModelFactory;
 import cs3500.reversi.factory.PlayerFactory;
+import cs3500.reversi.factory.StrategyFactory;
 import cs3500.reversi.factory.ViewFactory;
+import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
 import cs3500.reversi.player.Player;
+import cs3500.reversi.record.PositionStore;
+import cs3500.reversi.record.PositionStoreWriter;
+import cs3500.reversi.tournament.Tournament;
 import cs3500.reversi.view.GraphicsView;
 
 /**
@@ -41,18 +55,45 @@ public class Main {
 
   public static void main(String[] args) {
 
-    ModelAdapter model;
+    if (args.length > 0 && args[0].equalsIgnoreCase("tournament")) {
+      runTournament(args);
+      return;
+    }
+    if (args.length > 0 && args[0].equalsIgnoreCase("book")) {
+      buildBook(args);
+      return;
+    }
+    if (args.length > 0 && args[0].equalsIgnoreCase("selfplay")) {
+      generatePositions(args);
+      return;
+    }
+    if (args.length > 0 && args[0].equalsIgnoreCase("tune")) {
+      tuneWeights(args);
+      return;
+    }
+
+    ReversiModel model;
 
     Player player1;
     Player player2;
 
-    if (args.length == 0) {
-      throw new IllegalArgumentException("Usage: java -jar Reversi.jar <number-of-rows> <p1> <p2>");
+    // Pondering is opt-in, as it takes time away from an AI opponent's search.
+    boolean ponder = Arrays.asList(args).contains("--ponder");
+    String[] game = Arrays.stream(args).filter(arg -> !arg.equals("--ponder"))
+            .toArray(String[]::new);
+    if (game.length == 0) {
+      throw new IllegalArgumentException(
+              "Usage: java -jar Reversi.jar <number-of-rows> <p1> <p2> [model] [--ponder]");
+    }
+    String modelType = game.length > 3 ? game[3] : "hexagonal";
+    if (!ModelFactory.TYPES.contains(modelType.toLowerCase())) {
+      throw new IllegalArgumentException("Unknown model type: " + modelType
+              + ". Must be one of: " + String.join(", ", ModelFactory.TYPES) + ".");
     }
     try {
-      model = new ModelAdapter(Integer.parseInt(args[0]));
-      player1 = new PlayerFactory(model, args[1], PieceColor.WHITE).build();
-      player2 = new PlayerFactory(model, args[2], PieceColor.BLACK).build();
+      model = new ModelFactory(Integer.parseInt(game[0]), modelType).build();
+      player1 = new PlayerFactory(model, game[1], PieceColor.WHITE, ponder).build();
+      player2 = new PlayerFactory(model, game[2], PieceColor.BLACK, ponder).build();
     } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
       throw new IllegalArgumentException("Must provide an odd integer >= 5.");
     }
@@ -62,4 +103,109 @@ public class Main {
     ReversiController controller2 = new ReversiController(model, player2, viewPlayer2);
     model.startGame();
   }
-}
\ No newline at end of file
+
+  /**
+   * Plays a headless tournament between two AI player types, and prints its results.
+   * Nothing else is printed, so the results can be read by other programs.
+   *
+   * @param args the command line arguments, starting with "tournament".
+   */
+
+  private static void runTournament(String[] args) {
+    Tournament tournament;
+    int games;
+    try {
+      int rows = Integer.parseInt(args[1]);
+      // Each game is played on a single thread, and the games themselves run in parallel.
+      StrategyFactory first = new StrategyFactory(args[2], 1);
+      StrategyFactory second = new StrategyFactory(args[3], 1);
+      games = Integer.parseInt(args[4]);
+      int threads = args.length > 5 ? Integer.parseInt(args[5])
+              : Runtime.getRuntime().availableProcessors();
+      tournament = new Tournament(rows, first::build, second::build, threads);
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Usage: java -jar Reversi.jar tournament "
+              + "<number-of-rows> <p1> <p2> <games> [threads]");
+    }
+    System.out.print(tournament.play(games));
+  }
+
+  /**
+   * Builds an opening book of the provided board sizes by self-play, and saves it to the
+   * provided file.
+   *
+   * @param args the command line arguments, starting with "book".
+   */
+
+  private static void buildBook(String[] args) {
+    OpeningBookBuilder builder;
+    int[] rows;
+    try {
+      int plies = Integer.parseInt(args[2]);
+      int depth = Integer.parseInt(args[3]);
+      rows = Arrays.stream(args, 4, args.length).mapToInt(Integer::parseInt).toArray();
+      builder = new OpeningBookBuilder(plies, depth, Runtime.getRuntime().availableProcessors());
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Usage: java -jar Reversi.jar book <file> <plies> "
+              + "<depth> <number-of-rows>...");
+    }
+    OpeningBook book = builder.build(rows);
+    try {
+      book.save(Paths.get(args[1]));
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not write the book to " + args[1], e);
+    }
+    System.out.println("Wrote " + book.getSize() + " positions to " + args[1]);
+  }
+
+  /**
+   * Plays games of an AI player type against itself, and writes their positions and outcomes
+   * to a new position store.
+   *
+   * @param args the command line arguments, starting with "selfplay".
+   */
+
+  private static void generatePositions(String[] args) {
+    int rows;
+    int games;
+    SelfPlayGenerator generator;
+    try {
+      rows = Integer.parseInt(args[2]);
+      games = Integer.parseInt(args[3]);
+      StrategyFactory strategies = new StrategyFactory(args[4], 1);
+      int randomPlies = args.length > 5 ? Integer.parseInt(args[5]) : 6;
+      generator = new SelfPlayGenerator(rows, strategies::build, randomPlies, 0);
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Usage: java -jar Reversi.jar selfplay <file> "
+              + "<number-of-rows> <games> <player> [random-moves]");
+    }
+    try (PositionStoreWriter writer = new PositionStoreWriter(Paths.get(args[1]), rows)) {
+      long positions = generator.generate(writer, games);
+      System.out.println("Wrote " + positions + " positions to " + args[1]);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not write the positions to " + args[1], e);
+    }
+  }
+
+  /**
+   * Fits evaluation weights to a position store on every core, and saves them to a weights
+   * file.
+   *
+   * @param args the command line arguments, starting with "tune".
+   */
+
+  private static void tuneWeights(String[] args) {
+    if (args.length != 3) {
+      throw new IllegalArgumentException("Usage: java -jar Reversi.jar tune <positions> "
+              + "<weights>");
+    }
+    WeightTuner tuner = new WeightTuner(Runtime.getRuntime().availableProcessors());
+    try (PositionStore store = new PositionStore(Paths.get(args[1]))) {
+      Evaluation evaluation = tuner.tune(store);
+      evaluation.save(Paths.get(args[2]));
+      System.out.println(evaluation);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not tune weights from " + args[1], e);
+    }
+  }
+}
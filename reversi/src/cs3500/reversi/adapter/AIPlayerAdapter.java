@@ -46,6 +46,20 @@ public class AIPlayerAdapter extends AIPlayer implements IPlayer {
     super(model, color, difficulty);
   }
 
+  /**
+   * Constructs a new {@link AIPlayerAdapter} with the given {@link ReversiModel}, which may
+   * ponder while the opponent is deciding.
+   * @param model the model to use.
+   * @param color the color to use.
+   * @param difficulty the difficulty to use.
+   * @param ponder whether to think while the opponent is deciding.
+   */
+
+  public AIPlayerAdapter(ReversiModel model, PieceColor color, AIDifficulty difficulty,
+                         boolean ponder) {
+    super(model, color, difficulty, Runtime.getRuntime().availableProcessors(), ponder);
+  }
+
   @Override
   public Piece getColor() {
     switch (super.getPieceColor()) {
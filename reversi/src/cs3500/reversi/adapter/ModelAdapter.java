@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import cs3500.reversi.model.BoardView;
 import cs3500.reversi.model.Cell;
 import cs3500.reversi.model.HexagonalReversi;
 import cs3500.reversi.model.ReversiModel;
@@ -108,32 +109,25 @@ public class ModelAdapter extends HexagonalReversi implements ProviderReversiMod
   @Override
   public boolean anyValidMoves(Piece piece) {
     PieceColor color = this.adaptPieceToPieceColor(piece);
-    for (int i = 0; i < super.getBoardCopy().size(); i++) {
-      for (int j = 0; j < super.getBoardCopy().get(i).size(); j++) {
-        if (super.isValidMove(i, j, color)) {
-          return true;
-        }
-      }
-    }
-    return false;
+    return !super.getLegalMoves(color).isEmpty();
   }
 
   @Override
   public Map<AxialCoordinate, CellType> getProviderBoard() {
     Map<AxialCoordinate, CellType> board = new HashMap<>();
-    List<List<ReversiCellPair>> boardCopy = super.getBoardCopy();
-    for (List<ReversiCellPair> reversiCellPairs : boardCopy) {
-      for (ReversiCellPair reversiCellPair : reversiCellPairs) {
-        Cell currCell = reversiCellPair.getCell();
+    BoardView view = super.getBoardView();
+    for (int row = 0; row < view.getRowCount(); row++) {
+      for (int col = 0; col < view.getRowSize(row); col++) {
+        Cell currCell = view.getCell(row, col);
         AxialCoordinate coord = new AxialCoordinate(currCell.getQ(), currCell.getR());
-        switch (reversiCellPair.getState()) {
-          case "X":
+        switch (view.getCellState(row, col)) {
+          case BLACK:
             board.put(coord, new HexCellAdapter(Piece.BLACK));
             break;
-          case "O":
+          case WHITE:
             board.put(coord, new HexCellAdapter(Piece.WHITE));
             break;
-          case "_":
+          case EMPTY:
             board.put(coord, new HexCellAdapter(Piece.EMPTY));
             break;
           default:
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.adapter;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.provider.model.AxialCoordinate;
+import cs3500.reversi.provider.model.Piece;
+import cs3500.reversi.provider.strategy.MaxCaptureStrategy;
+import cs3500.reversi.strategy.ReversiStrategy;
+
+import static cs3500.reversi.adapter.ViewAdapter.getPoint;
+
+/**
+ * Adapts our providers' {@link cs3500.reversi.provider.strategy.ReversiStrategy} to our
+ * {@link ReversiStrategy}. The provided model is copied into a {@link ModelAdapter}, so
+ * the providers' strategy can read it, and the chosen {@link AxialCoordinate} is converted
+ * back into a row and column {@link Point}.
+ */
+
+public final class StrategyAdapter implements ReversiStrategy {
+
+  private final cs3500.reversi.provider.strategy.ReversiStrategy strategy;
+
+  /**
+   * Constructs a new {@link StrategyAdapter} around the providers' max capture strategy.
+   */
+
+  public StrategyAdapter() {
+    this(new MaxCaptureStrategy());
+  }
+
+  /**
+   * Constructs a new {@link StrategyAdapter} around the provided strategy.
+   * @param strategy the providers' strategy to adapt.
+   * @throws IllegalArgumentException if the strategy is null.
+   */
+
+  public StrategyAdapter(cs3500.reversi.provider.strategy.ReversiStrategy strategy)
+          throws IllegalArgumentException {
+    if (strategy == null) {
+      throw new IllegalArgumentException("Strategy cannot be null.");
+    }
+    this.strategy = strategy;
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    ModelAdapter adapter = new ModelAdapter(model.getModelCopy());
+    Piece piece = pieceColor == PieceColor.BLACK ? Piece.BLACK : Piece.WHITE;
+    Optional<AxialCoordinate> move = this.strategy.chooseMove(adapter, piece);
+    if (move.isPresent()) {
+      return Optional.of(getPoint(move.get(), model.getBoardCopy()));
+    }
+    return Optional.empty();
+  }
+}
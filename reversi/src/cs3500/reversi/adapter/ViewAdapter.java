@@ -106,6 +106,11 @@ public class ViewAdapter implements GraphicsView {
     }
   }
 
+  @Override
+  public void notifyThinking(boolean thinking, long budgetMillis) {
+    // Our providers' view has nowhere to show this, and its AI player never thinks for long.
+  }
+
   @Override
   public void notifyMessageDialog(String message) {
     this.frame.showMessageDialog(message);
@@ -0,0 +1,300 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.book;
+
+import java.awt.Point;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReadonlyReversiModel;
+
+/**
+ * A table of the best moves of opening positions, keyed by the hash of each position (see
+ * {@link ReadonlyReversiModel#getPositionHash()}). Every game starts from the same six pieces,
+ * so the first few moves of most games go through the same positions; a book built once by
+ * {@link OpeningBookBuilder} lets a player look up the result of a deep search of those
+ * positions instead of searching them again. A book may hold positions of boards of several
+ * sizes, since the hashes of each size are made from different keys.
+ *
+ * <p>The table is open addressed with linear probing, and held in two arrays, so a lookup
+ * takes constant time and allocates nothing besides its result. A book never changes once it
+ * is built.
+ *
+ * <p>Books are stored in a compact binary file: the four bytes {@code RVBK}, a version byte,
+ * the number of entries as an {@code int}, and then each entry as the {@code long} hash of the
+ * position followed by the index of the best move's cell as an unsigned {@code short}, in
+ * increasing order of hash. Every number is big-endian.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li> {@code keys}: the hash of the position in each slot.</li>
+ *   <li> {@code moves}: the cell index of the best move of the position in each slot, or -1 if
+ *   the slot is empty.</li>
+ *   <li> {@code size}: the number of positions in the book.</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>The number of slots is a power of two, and more than twice the number of
+ *   positions.</li>
+ *   <li>A position is stored in at most one slot.</li>
+ * </ul>
+ */
+
+public final class OpeningBook {
+
+  /**
+   * A book without any positions.
+   */
+
+  public static final OpeningBook EMPTY = new OpeningBook(Map.of());
+
+  /**
+   * The system property that holds the path of the default book.
+   */
+
+  public static final String PATH_PROPERTY = "reversi.book";
+
+  /**
+   * The path of the default book, relative to the working directory, if
+   * {@link #PATH_PROPERTY} is not set.
+   */
+
+  public static final String DEFAULT_PATH = "reversi.book";
+
+  /**
+   * The largest cell index a book can store.
+   */
+
+  static final int MAX_MOVE = 0xFFFE;
+
+  private static final int MAGIC = 0x5256424B;
+  private static final int VERSION = 1;
+  private static final int NO_MOVE = -1;
+
+  private final long[] keys;
+  private final int[] moves;
+  private final int size;
+
+  /**
+   * Constructs a new {@link OpeningBook} of the provided entries.
+   *
+   * @param entries the cell index of the best move of each position, by the hash of the
+   *                position.
+   */
+
+  OpeningBook(Map<Long, Integer> entries) {
+    int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 2) * 2;
+    this.keys = new long[capacity];
+    this.moves = new int[capacity];
+    Arrays.fill(this.moves, NO_MOVE);
+    for (Map.Entry<Long, Integer> entry : entries.entrySet()) {
+      int slot = this.slotOf(entry.getKey());
+      this.keys[slot] = entry.getKey();
+      this.moves[slot] = entry.getValue();
+    }
+    this.size = entries.size();
+  }
+
+  /**
+   * Gets the default book, which is read from the file at the path in the
+   * {@link #PATH_PROPERTY} system property, or at {@link #DEFAULT_PATH}. The file is only read
+   * once. A game can be played without a book, so if the file is missing or cannot be read,
+   * the default book is {@link #EMPTY}.
+   *
+   * @return the default book.
+   */
+
+  public static OpeningBook getDefault() {
+    return DefaultBook.BOOK;
+  }
+
+  /**
+   * Reads a book from the file at the provided path.
+   *
+   * @param path the path of the file.
+   * @return the book in the file.
+   * @throws IOException if the file cannot be read, or is not a book.
+   */
+
+  public static OpeningBook load(Path path) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+      return read(in);
+    }
+  }
+
+  /**
+   * Reads a book from the provided stream. The stream is not closed.
+   *
+   * @param in the stream to read from.
+   * @return the book read from the stream.
+   * @throws IOException if the stream cannot be read, or does not hold a book.
+   */
+
+  public static OpeningBook read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not an opening book.");
+    }
+    int version = data.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported opening book version: " + version);
+    }
+    int count = data.readInt();
+    if (count < 0) {
+      throw new IOException("Invalid number of entries: " + count);
+    }
+    Map<Long, Integer> entries = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      long key = data.readLong();
+      int move = data.readUnsignedShort();
+      if (move > MAX_MOVE || entries.put(key, move) != null) {
+        throw new IOException("Invalid entry " + i + " of the opening book.");
+      }
+    }
+    return new OpeningBook(entries);
+  }
+
+  /**
+   * Writes this book to the file at the provided path, replacing the file if it exists.
+   *
+   * @param path the path of the file.
+   * @throws IOException if the file cannot be written.
+   */
+
+  public void save(Path path) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+      this.write(out);
+    }
+  }
+
+  /**
+   * Writes this book to the provided stream, in the format described above. The same book
+   * is always written as the same bytes. The stream is flushed, but not closed.
+   *
+   * @param out the stream to write to.
+   * @throws IOException if the stream cannot be written.
+   */
+
+  public void write(OutputStream out) throws IOException {
+    long[] sorted = new long[this.size];
+    int count = 0;
+    for (int slot = 0; slot < this.keys.length; slot++) {
+      if (this.moves[slot] != NO_MOVE) {
+        sorted[count++] = this.keys[slot];
+      }
+    }
+    Arrays.sort(sorted);
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeByte(VERSION);
+    data.writeInt(this.size);
+    for (long key : sorted) {
+      data.writeLong(key);
+      data.writeShort(this.moves[this.slotOf(key)]);
+    }
+    data.flush();
+  }
+
+  /**
+   * Looks up the best move of the position of the provided model, for the player to move. The
+   * stored move is only returned if it is legal, in case another position has the same hash.
+   *
+   * @param model the position to look up.
+   * @return the best move, or an empty {@link Optional} if the position is not in the book.
+   */
+
+  public Optional<Point> lookup(ReadonlyReversiModel model) {
+    int move = this.moves[this.slotOf(model.getPositionHash())];
+    if (move == NO_MOVE || model.isGameOver()) {
+      return Optional.empty();
+    }
+    HexTopology topology = HexTopology.of(model.getRadius());
+    if (move >= topology.getCellCount()) {
+      return Optional.empty();
+    }
+    int row = topology.getRow(move);
+    int col = topology.getCol(move);
+    if (!model.isValidMove(row, col, model.getPlayerColor())) {
+      return Optional.empty();
+    }
+    return Optional.of(new Point(row, col));
+  }
+
+  /**
+   * Get the number of positions in this book.
+   *
+   * @return the number of positions.
+   */
+
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Finds the slot of the position with the provided hash, or the empty slot it would be
+   * stored in.
+   *
+   * @param key the hash of the position.
+   * @return the index of the slot.
+   */
+
+  private int slotOf(long key) {
+    int mask = this.keys.length - 1;
+    int slot = (int) key & mask;
+    while (this.moves[slot] != NO_MOVE && this.keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Holds the default book, so that it is only read once it is first asked for.
+   */
+
+  private static final class DefaultBook {
+
+    private static final OpeningBook BOOK = loadDefault();
+
+    private static OpeningBook loadDefault() {
+      Path path = Paths.get(System.getProperty(PATH_PROPERTY, DEFAULT_PATH));
+      if (!Files.isRegularFile(path)) {
+        return EMPTY;
+      }
+      try {
+        return load(path);
+      } catch (IOException e) {
+        return EMPTY;
+      }
+    }
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.book;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.AlphaBetaSearch;
+import cs3500.reversi.strategy.TranspositionTable;
+
+/**
+ * Builds an {@link OpeningBook} offline, by self-play from the starting position of each
+ * board size. The book holds every position that can be reached within a number of moves
+ * when one player plays the book's moves and the other plays any legal move, for either
+ * player following the book. Each of those positions is searched with an
+ * {@link AlphaBetaSearch} to a fixed depth, and its best move is added to the book.
+ *
+ * <p>The positions are searched one move at a time, since the book's moves decide which
+ * positions follow them. The searches of each move are spread across a fixed pool of threads.
+ * Each search has its own small transposition table and no time budget, so the same builder
+ * always builds the same book, however many threads it uses.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>plies: the number of moves from the start that the book covers</li>
+ *   <li>depth: the depth every position is searched to</li>
+ *   <li>threads: the number of positions searched at once</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>plies, depth and threads are positive</li>
+ * </ul>
+ */
+
+public final class OpeningBookBuilder {
+
+  private static final long SEARCH_BUDGET_MILLIS = 24L * 60 * 60 * 1000;
+  private static final int TABLE_MEGABYTES = 4;
+
+  private final int plies;
+  private final int depth;
+  private final int threads;
+
+  /**
+   * Constructs a builder of books that cover the provided number of moves from the start,
+   * whose moves are searched to the provided depth.
+   * @param plies the number of moves from the start that the book covers.
+   * @param depth the depth every position is searched to.
+   * @param threads the number of positions searched at once.
+   * @throws IllegalArgumentException if any argument is not positive.
+   */
+
+  public OpeningBookBuilder(int plies, int depth, int threads) throws IllegalArgumentException {
+    if (plies <= 0) {
+      throw new IllegalArgumentException("The number of moves must be positive.");
+    } else if (depth <= 0) {
+      throw new IllegalArgumentException("The search depth must be positive.");
+    } else if (threads <= 0) {
+      throw new IllegalArgumentException("The number of threads must be positive.");
+    }
+    this.plies = plies;
+    this.depth = depth;
+    this.threads = threads;
+  }
+
+  /**
+   * Builds a book of the openings of boards with each of the provided numbers of rows.
+   * @param rows the number of rows of each board size to cover.
+   * @return the book.
+   * @throws IllegalArgumentException if a number of rows is invalid, or no board size is
+   *                                  provided.
+   * @throws IllegalStateException if the building thread is interrupted.
+   */
+
+  public OpeningBook build(int... rows) throws IllegalArgumentException, IllegalStateException {
+    if (rows.length == 0) {
+      throw new IllegalArgumentException("At least one board size must be provided.");
+    }
+    Map<Long, Integer> entries = new HashMap<>();
+    ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+    try {
+      for (int size : rows) {
+        this.addOpenings(new BitboardReversi(size), entries, pool);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    return new OpeningBook(entries);
+  }
+
+  /**
+   * Searches every position the book covers from the provided start, and adds their best
+   * moves to the provided entries.
+   *
+   * @param start   the starting position.
+   * @param entries the entries of the book, by the hash of their position.
+   * @param pool    the threads to search on.
+   */
+
+  private void addOpenings(ReversiModel start, Map<Long, Integer> entries,
+                           ExecutorService pool) {
+    HexTopology topology = HexTopology.of(start.getRadius());
+    if (topology.getCellCount() > OpeningBook.MAX_MOVE) {
+      throw new IllegalArgumentException("The board is too large for an opening book.");
+    }
+    Map<Long, Line> frontier = new LinkedHashMap<>();
+    frontier.put(start.getPositionHash(), new Line(start, true, true));
+    for (int ply = 0; ply < this.plies && !frontier.isEmpty(); ply++) {
+      List<Line> lines = new ArrayList<>(frontier.values());
+      List<Optional<Point>> best = this.searchAll(lines, pool);
+      frontier = new LinkedHashMap<>();
+      for (int i = 0; i < lines.size(); i++) {
+        Line line = lines.get(i);
+        ReversiModel board = line.board;
+        PieceColor mover = board.getPlayerColor();
+        if (best.get(i).isEmpty()) {
+          ReversiModel next = new BitboardReversi(board);
+          next.applyPass(mover);
+          this.follow(frontier, next, line.white, line.black);
+          continue;
+        }
+        Point bookMove = best.get(i).get();
+        entries.put(board.getPositionHash(), topology.indexOf(bookMove.x, bookMove.y));
+        for (Point move : board.getLegalMoves(mover)) {
+          boolean isBook = move.equals(bookMove);
+          ReversiModel next = new BitboardReversi(board);
+          next.applyMove(move.x, move.y, mover);
+          // The player who follows the book only plays its move; the other plays them all.
+          this.follow(frontier, next, line.white && (mover != PieceColor.WHITE || isBook),
+                  line.black && (mover != PieceColor.BLACK || isBook));
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the provided position to the frontier, if any player still follows the book in it.
+   *
+   * @param frontier the positions to search next, by their hash.
+   * @param board    the position.
+   * @param white    whether the position is reached with white following the book.
+   * @param black    whether the position is reached with black following the book.
+   */
+
+  private void follow(Map<Long, Line> frontier, ReversiModel board, boolean white,
+                      boolean black) {
+    if ((!white && !black) || board.isGameOver()) {
+      return;
+    }
+    Line known = frontier.get(board.getPositionHash());
+    if (known == null) {
+      frontier.put(board.getPositionHash(), new Line(board, white, black));
+    } else {
+      frontier.put(board.getPositionHash(),
+              new Line(known.board, known.white || white, known.black || black));
+    }
+  }
+
+  /**
+   * Searches the best move of every provided position, for the player to move.
+   *
+   * @param lines the positions to search.
+   * @param pool  the threads to search on.
+   * @return the best move of each position, in the same order, or an empty {@link Optional}
+   *         if the player to move has to pass.
+   */
+
+  private List<Optional<Point>> searchAll(List<Line> lines, ExecutorService pool) {
+    List<Callable<Optional<Point>>> tasks = new ArrayList<>();
+    for (Line line : lines) {
+      tasks.add(() -> new AlphaBetaSearch(SEARCH_BUDGET_MILLIS, this.depth,
+              new TranspositionTable(TABLE_MEGABYTES))
+              .chooseMove(line.board, line.board.getPlayerColor()));
+    }
+    List<Optional<Point>> moves = new ArrayList<>();
+    try {
+      for (Future<Optional<Point>> task : pool.invokeAll(tasks)) {
+        moves.add(task.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Building the opening book was interrupted.");
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A search failed.", e.getCause());
+    }
+    return moves;
+  }
+
+  /**
+   * A position the book covers, and the players who follow the book on the way to it.
+   */
+
+  private static final class Line {
+
+    private final ReversiModel board;
+    private final boolean white;
+    private final boolean black;
+
+    private Line(ReversiModel board, boolean white, boolean black) {
+      this.board = board;
+      this.white = white;
+      this.black = black;
+    }
+  }
+}
@@ -76,6 +76,11 @@ public class ReversiController implements ViewFeatures, ModelFeatures {
     this.view.refresh();
   }
 
+  @Override
+  public void notifyThinking(boolean thinking, long budgetMillis) {
+    this.view.notifyThinking(thinking, budgetMillis);
+  }
+
   @Override
   public void notifyTurn() {
     if (this.model.isGameOver()) {
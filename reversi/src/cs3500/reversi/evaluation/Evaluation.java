@@ -0,0 +1,278 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.evaluation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Estimates how good an unfinished position is for a player, as a weighted sum of the
+ * {@link Feature}s of the position. Weights can be set by hand, or fit to the outcomes of
+ * stored games by a {@link WeightTuner}.
+ *
+ * <p>Weights are stored in a text file of one {@code key=weight} line per feature, using the
+ * key of each {@link Feature}, in the format of {@link Properties}. A feature missing from the
+ * file has a weight of 0, so a file only needs the features it uses.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>weights: the weight of each feature, by {@link Feature#ordinal()}</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>every weight is finite</li>
+ *   <li>an evaluation never changes, so it can be used by many threads at once</li>
+ * </ul>
+ */
+
+public final class Evaluation {
+
+  /**
+   * The weights used when none are loaded: one point per piece, four per legal move and 25
+   * per corner.
+   */
+
+  public static final Evaluation DEFAULT = new Evaluation(Map.of(
+          Feature.PIECES, 1.0, Feature.MOBILITY, 4.0, Feature.CORNERS, 25.0));
+
+  /**
+   * The system property that holds the path of the default weights file.
+   */
+
+  public static final String PATH_PROPERTY = "reversi.weights";
+
+  /**
+   * The path of the default weights file, relative to the working directory, if
+   * {@link #PATH_PROPERTY} is not set.
+   */
+
+  public static final String DEFAULT_PATH = "reversi.weights";
+
+  private final double[] weights;
+
+  /**
+   * Constructs a new {@link Evaluation} with the provided weights.
+   *
+   * @param weights the weight of each feature. Features that are missing have a weight of 0.
+   * @throws IllegalArgumentException if the weights are null, or a weight is not finite.
+   */
+
+  public Evaluation(Map<Feature, Double> weights) throws IllegalArgumentException {
+    if (weights == null) {
+      throw new IllegalArgumentException("Weights cannot be null.");
+    }
+    this.weights = new double[Feature.values().length];
+    for (Map.Entry<Feature, Double> entry : weights.entrySet()) {
+      if (entry.getValue() == null || !Double.isFinite(entry.getValue())) {
+        throw new IllegalArgumentException("Invalid weight for " + entry.getKey());
+      }
+      this.weights[entry.getKey().ordinal()] = entry.getValue();
+    }
+  }
+
+  /**
+   * Loads weights from the provided file.
+   *
+   * @param path the file to read.
+   * @return the evaluation with the weights of the file.
+   * @throws IOException if the file cannot be read, or is not a valid weights file.
+   */
+
+  public static Evaluation load(Path path) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+      return read(in);
+    }
+  }
+
+  /**
+   * Reads weights from the provided stream.
+   *
+   * @param in the stream to read.
+   * @return the evaluation with the weights of the stream.
+   * @throws IOException if the stream cannot be read, or does not hold valid weights.
+   */
+
+  public static Evaluation read(InputStream in) throws IOException {
+    Properties properties = new Properties();
+    properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+    Map<Feature, Double> weights = new EnumMap<>(Feature.class);
+    for (Feature feature : Feature.values()) {
+      String value = properties.getProperty(feature.getKey());
+      properties.remove(feature.getKey());
+      if (value != null) {
+        try {
+          weights.put(feature, Double.parseDouble(value.trim()));
+        } catch (NumberFormatException e) {
+          throw new IOException("Invalid weight for " + feature.getKey() + ": " + value, e);
+        }
+      }
+    }
+    if (!properties.isEmpty()) {
+      throw new IOException("Unknown features: " + properties.keySet());
+    }
+    try {
+      return new Evaluation(weights);
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Gets the evaluation used by the AI players: the weights of the file named by the
+   * {@link #PATH_PROPERTY} system property, or at {@link #DEFAULT_PATH}. The file is only read
+   * once. If it is missing or cannot be read, the default evaluation is {@link #DEFAULT}.
+   *
+   * @return the default evaluation.
+   */
+
+  public static Evaluation getDefault() {
+    return DefaultWeights.EVALUATION;
+  }
+
+  /**
+   * Saves the weights to the provided file, replacing it if it exists.
+   *
+   * @param path the file to write.
+   * @throws IOException if the file cannot be written.
+   */
+
+  public void save(Path path) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+      this.write(out);
+    }
+  }
+
+  /**
+   * Writes the weights to the provided stream, one feature per line, in the order of
+   * {@link Feature}.
+   *
+   * @param out the stream to write to.
+   * @throws IOException if the stream cannot be written.
+   */
+
+  public void write(OutputStream out) throws IOException {
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    for (Feature feature : Feature.values()) {
+      writer.write(feature.getKey() + "=" + this.weights[feature.ordinal()] + "\n");
+    }
+    writer.flush();
+  }
+
+  /**
+   * Gets the weight of the provided feature.
+   *
+   * @param feature the feature.
+   * @return the weight of the feature.
+   */
+
+  public double getWeight(Feature feature) {
+    return this.weights[feature.ordinal()];
+  }
+
+  /**
+   * Estimates how good a position is for the provided player.
+   *
+   * @param board the position to estimate.
+   * @param color the player to estimate the position for.
+   * @return the weighted sum of the features of the position, rounded to an integer.
+   */
+
+  public int evaluate(ReadonlyReversiModel board, PieceColor color) {
+    int[] values = new int[this.weights.length];
+    // Stability is the only feature that needs the whole board, so it is skipped when unused.
+    FeatureExtractor.of(board.getRadius()).extract(board, color, values,
+            this.weights[Feature.STABILITY.ordinal()] != 0);
+    return this.score(values);
+  }
+
+  /**
+   * Weighs features that were already measured.
+   *
+   * @param values the measure of each feature, by {@link Feature#ordinal()}.
+   * @return the weighted sum of the features, rounded to an integer.
+   */
+
+  public int score(int[] values) {
+    double sum = 0;
+    for (int feature = 0; feature < this.weights.length; feature++) {
+      sum += this.weights[feature] * values[feature];
+    }
+    return (int) Math.round(sum);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof Evaluation
+            && Arrays.equals(this.weights, ((Evaluation) other).weights);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(this.weights);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (Feature feature : Feature.values()) {
+      builder.append(builder.length() == 0 ? "" : ", ").append(feature.getKey()).append('=')
+              .append(this.weights[feature.ordinal()]);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Holds the default evaluation, so the weights file is only read the first time it is used.
+   */
+
+  private static final class DefaultWeights {
+
+    private static final Evaluation EVALUATION = loadDefault();
+
+    private static Evaluation loadDefault() {
+      Path path = Paths.get(System.getProperty(PATH_PROPERTY, DEFAULT_PATH));
+      if (!Files.isRegularFile(path)) {
+        return DEFAULT;
+      }
+      try {
+        return load(path);
+      } catch (IOException e) {
+        return DEFAULT;
+      }
+    }
+  }
+}
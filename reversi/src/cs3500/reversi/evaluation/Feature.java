@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.evaluation;
+
+/**
+ * A feature of a position that an {@link Evaluation} weighs. Every feature is measured as the
+ * amount held by one player minus the amount held by their opponent, so a position measures
+ * the same for one player as the negation of what it measures for the other.
+ */
+
+public enum Feature {
+
+  /**
+   * The pieces on the board.
+   */
+  PIECES("pieces"),
+
+  /**
+   * The pieces on the six corners, which can never be flipped.
+   */
+  CORNERS("corners"),
+
+  /**
+   * The pieces on the edges of the board, other than the corners.
+   */
+  EDGES("edges"),
+
+  /**
+   * The legal moves of each player.
+   */
+  MOBILITY("mobility"),
+
+  /**
+   * The pieces next to at least one empty cell that can still be played, which are the ones
+   * that give the opponent moves.
+   */
+  FRONTIER("frontier"),
+
+  /**
+   * The pieces that can never be flipped.
+   */
+  STABILITY("stability");
+
+  private final String key;
+
+  Feature(String key) {
+    this.key = key;
+  }
+
+  /**
+   * Gets the name of the feature in a weights file.
+   *
+   * @return the key of the feature.
+   */
+
+  public String getKey() {
+    return this.key;
+  }
+}
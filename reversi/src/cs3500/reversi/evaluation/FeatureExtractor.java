@@ -0,0 +1,353 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.evaluation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.HexCellState;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Measures the {@link Feature}s of positions on a board of one size. Positions are read as
+ * two bitsets over the cell indices of the board's {@link HexTopology}, one for the pieces of
+ * the player the position is measured for and one for their opponent's. This is the layout
+ * of a {@link cs3500.reversi.record.PositionStore}, so a tuner can measure stored positions
+ * without building a model, and a search measures its positions the same way, so that the
+ * weights it uses were fit to exactly the features it sees.
+ *
+ * <p>The cells of the board are sorted into corners, edges and inner cells once, when the
+ * extractor is created, and extractors are shared between all users of a board size. An
+ * extractor never changes, so it can be used by many threads at once.
+ *
+ * <p>Some cells stay empty in every game, as no move can ever reach them from the starting
+ * position (see {@link HexTopology#isPlayable(int)}); on some board sizes these
+ * include the corners. Since every piece is next to one of these cells, they are ignored when
+ * finding frontier pieces, and act like the edge of the board when finding stable ones with
+ * the board's {@link StabilityAnalyzer}.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>topology: the topology of the board</li>
+ *   <li>corners: the cell index of each corner</li>
+ *   <li>edges: the cell index of each edge cell that is not a corner</li>
+ *   <li>dead: the cells that are empty in every game</li>
+ *   <li>stability: the analyzer that finds the stable pieces of the board</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>there are always six corners</li>
+ *   <li>no array is changed after construction</li>
+ * </ul>
+ */
+
+public final class FeatureExtractor {
+
+  private static final Map<Integer, FeatureExtractor> EXTRACTORS = new ConcurrentHashMap<>();
+
+  private final HexTopology topology;
+  private final int[] corners;
+  private final int[] edges;
+  private final long[] dead;
+  private final StabilityAnalyzer stability;
+
+  /**
+   * Constructs the extractor of the provided board.
+   *
+   * @param topology the topology of the board.
+   */
+
+  private FeatureExtractor(HexTopology topology) {
+    this.topology = topology;
+    this.stability = StabilityAnalyzer.of(topology.getRadius());
+    this.dead = new long[this.getWordCount()];
+    for (int index = 0; index < topology.getCellCount(); index++) {
+      if (!topology.isPlayable(index)) {
+        this.dead[index >>> 6] |= 1L << index;
+      }
+    }
+    int cornerCount = 0;
+    int edgeCount = 0;
+    for (int index = 0; index < topology.getCellCount(); index++) {
+      int neighbors = this.countNeighbors(index);
+      if (neighbors == 3) {
+        cornerCount++;
+      } else if (neighbors < HexTopology.DIRECTIONS) {
+        edgeCount++;
+      }
+    }
+    this.corners = new int[cornerCount];
+    this.edges = new int[edgeCount];
+    cornerCount = 0;
+    edgeCount = 0;
+    for (int index = 0; index < topology.getCellCount(); index++) {
+      int neighbors = this.countNeighbors(index);
+      if (neighbors == 3) {
+        this.corners[cornerCount++] = index;
+      } else if (neighbors < HexTopology.DIRECTIONS) {
+        this.edges[edgeCount++] = index;
+      }
+    }
+  }
+
+  /**
+   * Gets the shared extractor of a board with the provided radius.
+   *
+   * @param radius the radius of the board.
+   * @return the extractor of the board.
+   * @throws IllegalArgumentException if the radius is less than 2.
+   */
+
+  public static FeatureExtractor of(int radius) throws IllegalArgumentException {
+    if (radius < 2) {
+      throw new IllegalArgumentException("The radius must be at least 2.");
+    }
+    return EXTRACTORS.computeIfAbsent(radius, r -> new FeatureExtractor(HexTopology.of(r)));
+  }
+
+  /**
+   * Get the topology of the board this extractor measures.
+   *
+   * @return the topology of the board.
+   */
+
+  public HexTopology getTopology() {
+    return this.topology;
+  }
+
+  /**
+   * Gets the number of longs in the bitset of each player.
+   *
+   * @return the number of words in a bitset.
+   */
+
+  public int getWordCount() {
+    return (this.topology.getCellCount() + 63) >>> 6;
+  }
+
+  /**
+   * Measures every feature of a position, for the player whose pieces are {@code own}.
+   *
+   * @param own    the cells holding the player's pieces.
+   * @param opp    the cells holding their opponent's pieces.
+   * @param values the array to write the measure of each feature to, by
+   *               {@link Feature#ordinal()}.
+   * @throws IllegalArgumentException if an array is too short.
+   */
+
+  public void extract(long[] own, long[] opp, int[] values) throws IllegalArgumentException {
+    int words = this.getWordCount();
+    if (own.length < words || opp.length < words || values.length < Feature.values().length) {
+      throw new IllegalArgumentException("The arrays are too short for this board.");
+    }
+    int pieces = 0;
+    int frontier = 0;
+    int moves = 0;
+    for (int index = 0; index < this.topology.getCellCount(); index++) {
+      int sign = testBit(own, index) ? 1 : testBit(opp, index) ? -1 : 0;
+      if (sign != 0) {
+        pieces += sign;
+        if (this.touchesEmpty(own, opp, index)) {
+          frontier += sign;
+        }
+      } else {
+        moves += (this.isLegal(own, opp, index) ? 1 : 0)
+                - (this.isLegal(opp, own, index) ? 1 : 0);
+      }
+    }
+    values[Feature.PIECES.ordinal()] = pieces;
+    values[Feature.CORNERS.ordinal()] = this.count(own, opp, this.corners);
+    values[Feature.EDGES.ordinal()] = this.count(own, opp, this.edges);
+    values[Feature.MOBILITY.ordinal()] = moves;
+    values[Feature.FRONTIER.ordinal()] = frontier;
+    values[Feature.STABILITY.ordinal()] = this.countStable(own, opp);
+  }
+
+  /**
+   * Measures every feature of a position held by a model, for the provided player.
+   *
+   * @param board  the position to measure.
+   * @param color  the player to measure the position for.
+   * @param values the array to write the measure of each feature to, by
+   *               {@link Feature#ordinal()}.
+   * @throws IllegalArgumentException if the board is not the size of this extractor, or the
+   *                                  array is too short.
+   */
+
+  public void extract(ReadonlyReversiModel board, PieceColor color, int[] values)
+          throws IllegalArgumentException {
+    this.extract(board, color, values, true);
+  }
+
+  /**
+   * Measures the features of a position held by a model, optionally leaving out stability.
+   * Every other feature is either a counter the model keeps up to date or found on the rim of
+   * the board, so without stability only the rim is read.
+   *
+   * @param board     the position to measure.
+   * @param color     the player to measure the position for.
+   * @param values    the array to write the measure of each feature to; stability is 0 if it
+   *                  is left out.
+   * @param stability whether to measure stability, which needs every cell of the board.
+   * @throws IllegalArgumentException if the board is not the size of this extractor, or the
+   *                                  array is too short.
+   */
+
+  void extract(ReadonlyReversiModel board, PieceColor color, int[] values, boolean stability)
+          throws IllegalArgumentException {
+    if (board.getRadius() != this.topology.getRadius()) {
+      throw new IllegalArgumentException("The board must have radius "
+              + this.topology.getRadius());
+    } else if (values.length < Feature.values().length) {
+      throw new IllegalArgumentException("The array is too short for every feature.");
+    }
+    HexCellState mine = color == PieceColor.BLACK ? HexCellState.BLACK : HexCellState.WHITE;
+    long[] own = new long[this.getWordCount()];
+    long[] opp = new long[this.getWordCount()];
+    if (stability) {
+      for (int index = 0; index < this.topology.getCellCount(); index++) {
+        this.readCell(board, mine, index, own, opp);
+      }
+    } else {
+      this.readCells(board, mine, this.corners, own, opp);
+      this.readCells(board, mine, this.edges, own, opp);
+    }
+    PieceColor other = color == PieceColor.BLACK ? PieceColor.WHITE : PieceColor.BLACK;
+    values[Feature.PIECES.ordinal()] = board.getScore(color) - board.getScore(other);
+    values[Feature.CORNERS.ordinal()] = this.count(own, opp, this.corners);
+    values[Feature.EDGES.ordinal()] = this.count(own, opp, this.edges);
+    values[Feature.MOBILITY.ordinal()] = board.getMobility(color) - board.getMobility(other);
+    values[Feature.FRONTIER.ordinal()] = board.getFrontier(color) - board.getFrontier(other);
+    values[Feature.STABILITY.ordinal()] = stability ? this.countStable(own, opp) : 0;
+  }
+
+  /**
+   * Copies the pieces on some cells of a model into the bitsets of both players.
+   *
+   * @param board the model to read.
+   * @param mine  the state of the player's pieces.
+   * @param cells the indices of the cells to read.
+   * @param own   the bitset of the player's pieces.
+   * @param opp   the bitset of their opponent's pieces.
+   */
+
+  private void readCells(ReadonlyReversiModel board, HexCellState mine, int[] cells, long[] own,
+                         long[] opp) {
+    for (int index : cells) {
+      this.readCell(board, mine, index, own, opp);
+    }
+  }
+
+  private void readCell(ReadonlyReversiModel board, HexCellState mine, int index, long[] own,
+                        long[] opp) {
+    HexCellState state = board.getCellState(this.topology.getRow(index),
+            this.topology.getCol(index));
+    if (state == mine) {
+      own[index >>> 6] |= 1L << index;
+    } else if (state != HexCellState.EMPTY) {
+      opp[index >>> 6] |= 1L << index;
+    }
+  }
+
+  /**
+   * Counts the stable pieces of the player, less those of their opponent.
+   *
+   * @param own the cells holding the player's pieces.
+   * @param opp the cells holding their opponent's pieces.
+   * @return the difference in the number of pieces that can never be flipped.
+   */
+
+  private int countStable(long[] own, long[] opp) {
+    long[] stable = new long[this.getWordCount()];
+    this.stability.findStable(own, opp, stable);
+    int count = 0;
+    for (int word = 0; word < stable.length; word++) {
+      count += Long.bitCount(stable[word] & own[word]) - Long.bitCount(stable[word] & opp[word]);
+    }
+    return count;
+  }
+
+  /**
+   * Determines whether a player could play on an empty cell.
+   *
+   * @param own   the cells holding the player's pieces.
+   * @param opp   the cells holding their opponent's pieces.
+   * @param index the empty cell.
+   * @return true if a move on the cell would flip at least one piece.
+   */
+
+  private boolean isLegal(long[] own, long[] opp, int index) {
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      int[] ray = this.topology.getRay(index, dir);
+      int step = 0;
+      while (step < ray.length && testBit(opp, ray[step])) {
+        step++;
+      }
+      if (step > 0 && step < ray.length && testBit(own, ray[step])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines whether a piece is next to an empty cell that can still be played.
+   *
+   * @param own   the cells holding the player's pieces.
+   * @param opp   the cells holding their opponent's pieces.
+   * @param index the cell of the piece.
+   * @return true if the piece is on the frontier.
+   */
+
+  private boolean touchesEmpty(long[] own, long[] opp, int index) {
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      int next = this.topology.getNeighbor(index, dir);
+      if (next != -1 && !testBit(own, next) && !testBit(opp, next)
+              && !testBit(this.dead, next)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int count(long[] own, long[] opp, int[] cells) {
+    int count = 0;
+    for (int index : cells) {
+      count += testBit(own, index) ? 1 : testBit(opp, index) ? -1 : 0;
+    }
+    return count;
+  }
+
+  private int countNeighbors(int index) {
+    int neighbors = 0;
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      if (this.topology.getNeighbor(index, dir) != -1) {
+        neighbors++;
+      }
+    }
+    return neighbors;
+  }
+
+  private static boolean testBit(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+}
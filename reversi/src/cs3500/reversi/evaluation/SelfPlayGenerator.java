@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.evaluation;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.GameRecord;
+import cs3500.reversi.record.PositionStoreWriter;
+import cs3500.reversi.strategy.ReversiStrategy;
+
+/**
+ * Plays games of a strategy against itself, and writes their positions and outcomes to a
+ * {@link PositionStoreWriter} for a {@link WeightTuner}. The strategies in this project
+ * mostly play the same move in the same position, so every game opens with a few random
+ * moves to make the games differ; the random moves come from a seeded generator, so the same
+ * generator always writes the same store.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>rows: the number of rows of every game</li>
+ *   <li>strategies: makes the strategy of each player</li>
+ *   <li>randomPlies: the number of random moves each game opens with</li>
+ *   <li>random: picks the random moves</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>randomPlies is not negative</li>
+ * </ul>
+ */
+
+public final class SelfPlayGenerator {
+
+  private final int rows;
+  private final Supplier<ReversiStrategy> strategies;
+  private final int randomPlies;
+  private final Random random;
+
+  /**
+   * Constructs a generator of games on the provided board.
+   *
+   * @param rows        the number of rows of every game.
+   * @param strategies  makes the strategy of each player, once for white and once for black.
+   * @param randomPlies the number of random moves each game opens with.
+   * @param seed        the seed of the random moves.
+   * @throws IllegalArgumentException if the rows are invalid, the strategies are null, or the
+   *                                  number of random moves is negative.
+   */
+
+  public SelfPlayGenerator(int rows, Supplier<ReversiStrategy> strategies, int randomPlies,
+                           long seed) throws IllegalArgumentException {
+    if (rows < 5 || rows % 2 == 0) {
+      throw new IllegalArgumentException("Rows must be at least 5 and odd.");
+    } else if (strategies == null) {
+      throw new IllegalArgumentException("Strategies cannot be null.");
+    } else if (randomPlies < 0) {
+      throw new IllegalArgumentException("The number of random moves cannot be negative.");
+    }
+    this.rows = rows;
+    this.strategies = strategies;
+    this.randomPlies = randomPlies;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Plays the provided number of games, and appends the positions of each to the writer.
+   *
+   * @param writer the store to write to, which must be for boards of this generator's size.
+   * @param games  the number of games to play.
+   * @return the number of positions written.
+   * @throws IllegalArgumentException if the writer is null or for another board size, or the
+   *                                  number of games is negative.
+   * @throws IOException if the store cannot be written.
+   */
+
+  public long generate(PositionStoreWriter writer, int games)
+          throws IllegalArgumentException, IOException {
+    if (writer == null || games < 0) {
+      throw new IllegalArgumentException("A writer and a number of games are required.");
+    }
+    ReversiStrategy white = this.strategies.get();
+    ReversiStrategy black = this.strategies.get();
+    long positions = 0;
+    for (int game = 0; game < games; game++) {
+      positions += writer.appendGame(this.playGame(white, black));
+    }
+    return positions;
+  }
+
+  /**
+   * Plays one game to the end.
+   *
+   * @param white the strategy of the white player.
+   * @param black the strategy of the black player.
+   * @return the record of the game.
+   */
+
+  private GameRecord playGame(ReversiStrategy white, ReversiStrategy black) {
+    ReversiModel board = new BitboardReversi(this.rows);
+    HexTopology topology = HexTopology.of(board.getRadius());
+    int[] moves = new int[2 * topology.getCellCount() + 2];
+    int ply = 0;
+    while (!board.isGameOver()) {
+      PieceColor color = board.getPlayerColor();
+      Optional<Point> move;
+      if (ply < this.randomPlies) {
+        List<Point> legal = board.getLegalMoves(color);
+        move = legal.isEmpty() ? Optional.empty()
+                : Optional.of(legal.get(this.random.nextInt(legal.size())));
+      } else {
+        move = (color == PieceColor.WHITE ? white : black).chooseMove(board, color);
+      }
+      if (move.isPresent()) {
+        board.applyMove(move.get().x, move.get().y, color);
+        moves[ply++] = topology.indexOf(move.get().x, move.get().y);
+      } else {
+        board.applyPass(color);
+        moves[ply++] = GameRecord.PASS;
+      }
+    }
+    return new GameRecord(board.getRadius(), "self-play", "self-play",
+            Arrays.copyOf(moves, ply), true);
+  }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.evaluation;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.HexCellState;
+
+/**
+ * Finds the stable pieces of a position: the pieces that can never be flipped, whatever moves
+ * follow. A piece is flipped along one of the three axes of the board, so it is stable once
+ * it is safe along all three. It is safe along an axis if no move can ever be made on its
+ * line along that axis, because every cell of the line is taken, or if one of its two
+ * neighbors on the axis can never be part of a run that is flipped through it: a wall, or a
+ * stable piece of the same color. Stable pieces make their neighbors safe in turn, so the
+ * analyzer starts from the pieces that are safe by walls and full lines alone, such as pieces
+ * on the corners, and propagates along the axes until no more pieces become stable.
+ *
+ * <p>Cells that can never be played (see {@link HexTopology#isPlayable(int)}) stay empty in
+ * every game, so they are walls just like the edge of the board, and a line only runs between
+ * two walls. The result is a lower bound: a piece that is not found stable may still never
+ * be flipped.
+ *
+ * <p>Positions are passed in as bitsets over the cell indices of the board, in the layout of a
+ * {@link FeatureExtractor}. Internally, the analyzer works on the padded layout of a
+ * {@link cs3500.reversi.model.BitboardReversi}, where a step along an axis is a constant bit
+ * offset, so each round of propagation updates every piece at once with a few shifts.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>topology: the topology of the board</li>
+ *   <li>offsets: the bit offset of one step in each direction, in the padded layout</li>
+ *   <li>rowBits: the padded bit of the first cell of each row. The cells of a row are
+ *   consecutive in both layouts, so a position is converted a row at a time.</li>
+ *   <li>lines: for each axis, the padded bits of every line along that axis</li>
+ *   <li>walled: for each axis, the padded bits of the cells with a wall next to them on that
+ *   axis</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>every playable cell is on exactly one line of each axis</li>
+ *   <li>no array is changed after construction, so an analyzer can be shared by threads</li>
+ * </ul>
+ */
+
+public final class StabilityAnalyzer {
+
+  /**
+   * The number of axes of the board. Axis {@code a} runs along the directions {@code a} and
+   * {@code a + 3}.
+   */
+
+  public static final int AXES = HexTopology.DIRECTIONS / 2;
+
+  private static final Map<Integer, StabilityAnalyzer> ANALYZERS = new ConcurrentHashMap<>();
+
+  private final HexTopology topology;
+  private final int[] offsets;
+  private final int[] rowBits;
+  private final long[][][] lines;
+  private final long[][] walled;
+
+  /**
+   * Constructs the analyzer of the provided board.
+   *
+   * @param topology the topology of the board.
+   */
+
+  private StabilityAnalyzer(HexTopology topology) {
+    this.topology = topology;
+    int radius = topology.getRadius();
+    int width = 2 * radius + 3;
+    this.offsets = new int[] {1, 1 - width, -width, -1, width - 1, width};
+    int words = (width * width + 63) >>> 6;
+    int[] bitOf = new int[topology.getCellCount()];
+    for (int index = 0; index < bitOf.length; index++) {
+      bitOf[index] = (topology.getR(index) + radius + 1) * width + topology.getQ(index)
+              + radius + 1;
+    }
+    this.rowBits = new int[topology.getRowCount()];
+    for (int row = 0; row < this.rowBits.length; row++) {
+      this.rowBits[row] = bitOf[topology.indexOf(row, 0)];
+    }
+    this.walled = new long[AXES][words];
+    this.lines = new long[AXES][][];
+    for (int axis = 0; axis < AXES; axis++) {
+      List<long[]> found = new ArrayList<>();
+      for (int index = 0; index < bitOf.length; index++) {
+        if (!topology.isPlayable(index)) {
+          continue;
+        } else if (this.isWall(index, axis) || this.isWall(index, axis + AXES)) {
+          setBit(this.walled[axis], bitOf[index]);
+        }
+        if (!this.isWall(index, axis + AXES)) {
+          continue;
+        }
+        // A line starts at every playable cell with a wall behind it.
+        long[] line = new long[words];
+        int next = index;
+        setBit(line, bitOf[next]);
+        while (!this.isWall(next, axis)) {
+          next = topology.getNeighbor(next, axis);
+          setBit(line, bitOf[next]);
+        }
+        found.add(line);
+      }
+      this.lines[axis] = found.toArray(new long[0][]);
+    }
+  }
+
+  /**
+   * Gets the shared analyzer of a board with the provided radius.
+   *
+   * @param radius the radius of the board.
+   * @return the analyzer of the board.
+   * @throws IllegalArgumentException if the radius is less than 2.
+   */
+
+  public static StabilityAnalyzer of(int radius) throws IllegalArgumentException {
+    if (radius < 2) {
+      throw new IllegalArgumentException("The radius must be at least 2.");
+    }
+    return ANALYZERS.computeIfAbsent(radius, r -> new StabilityAnalyzer(HexTopology.of(r)));
+  }
+
+  /**
+   * Get the topology of the board this analyzer reads.
+   *
+   * @return the topology of the board.
+   */
+
+  public HexTopology getTopology() {
+    return this.topology;
+  }
+
+  /**
+   * Gets the number of longs in the bitset of each color.
+   *
+   * @return the number of words in a bitset.
+   */
+
+  public int getWordCount() {
+    return (this.topology.getCellCount() + 63) >>> 6;
+  }
+
+  /**
+   * Finds the stable pieces of a position. The colors are interchangeable: the stable pieces
+   * of both are found at once.
+   *
+   * @param first  the cells holding the pieces of one color.
+   * @param second the cells holding the pieces of the other color.
+   * @param stable the bitset to write the stable pieces of both colors into; it is cleared
+   *               first.
+   * @throws IllegalArgumentException if a bitset is too short, or the colors share a cell.
+   */
+
+  public void findStable(long[] first, long[] second, long[] stable)
+          throws IllegalArgumentException {
+    int words = this.getWordCount();
+    if (first.length < words || second.length < words || stable.length < words) {
+      throw new IllegalArgumentException("The bitsets are too short for this board.");
+    }
+    for (int word = 0; word < words; word++) {
+      if ((first[word] & second[word]) != 0) {
+        throw new IllegalArgumentException("A cell cannot hold both colors.");
+      }
+    }
+    long[] padded = this.propagate(this.toPadded(first), this.toPadded(second));
+    Arrays.fill(stable, 0, words, 0L);
+    for (int row = 0; row < this.rowBits.length; row++) {
+      copyBits(padded, this.rowBits[row], stable, this.topology.indexOf(row, 0),
+              this.topology.getRowSize(row));
+    }
+  }
+
+  /**
+   * Finds the stable pieces of a position held by a model.
+   *
+   * @param board the position to analyze.
+   * @return the stable cells, as points of their row and column.
+   * @throws IllegalArgumentException if the board is not the size of this analyzer.
+   */
+
+  public List<Point> findStableCells(ReadonlyReversiModel board)
+          throws IllegalArgumentException {
+    if (board.getRadius() != this.topology.getRadius()) {
+      throw new IllegalArgumentException("The board must have radius "
+              + this.topology.getRadius());
+    }
+    long[] black = new long[this.getWordCount()];
+    long[] white = new long[this.getWordCount()];
+    for (int index = 0; index < this.topology.getCellCount(); index++) {
+      HexCellState state = board.getCellState(this.topology.getRow(index),
+              this.topology.getCol(index));
+      if (state == HexCellState.BLACK) {
+        black[index >>> 6] |= 1L << index;
+      } else if (state == HexCellState.WHITE) {
+        white[index >>> 6] |= 1L << index;
+      }
+    }
+    long[] stable = new long[this.getWordCount()];
+    this.findStable(black, white, stable);
+    List<Point> result = new ArrayList<>();
+    for (int index = 0; index < this.topology.getCellCount(); index++) {
+      if ((stable[index >>> 6] & (1L << index)) != 0) {
+        result.add(new Point(this.topology.getRow(index), this.topology.getCol(index)));
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Finds the stable pieces of a position in the padded layout. Each round marks, for each
+   * color, the pieces that are safe along all three axes given the stable pieces found so far,
+   * until a round finds no new ones.
+   *
+   * @param first  the padded bits of the pieces of one color.
+   * @param second the padded bits of the pieces of the other color.
+   * @return the padded bits of the stable pieces of both colors.
+   */
+
+  private long[] propagate(long[] first, long[] second) {
+    int words = first.length;
+    long[][] settled = new long[AXES][words];
+    for (int axis = 0; axis < AXES; axis++) {
+      // A piece with a wall next to it on an axis, or on a full line, is always safe on it;
+      // any other piece needs a stable neighbor of its color on that axis.
+      System.arraycopy(this.walled[axis], 0, settled[axis], 0, words);
+      for (long[] line : this.lines[axis]) {
+        if (isFull(line, first, second)) {
+          for (int word = 0; word < words; word++) {
+            settled[axis][word] |= line[word];
+          }
+        }
+      }
+    }
+    long[] stable = new long[words];
+    long[] anchors = new long[words];
+    long[] ahead = new long[words];
+    long[] behind = new long[words];
+    long[] safe = new long[words];
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int color = 0; color < 2; color++) {
+        long[] same = color == 0 ? first : second;
+        for (int word = 0; word < words; word++) {
+          anchors[word] = stable[word] & same[word];
+          safe[word] = same[word] & ~stable[word];
+        }
+        for (int axis = 0; axis < AXES && !isEmpty(safe); axis++) {
+          // Moving the anchors one step each way lands them on the pieces they neighbor.
+          shift(anchors, this.offsets[axis], ahead);
+          shift(anchors, this.offsets[axis + AXES], behind);
+          for (int word = 0; word < words; word++) {
+            safe[word] &= settled[axis][word] | ahead[word] | behind[word];
+          }
+        }
+        for (int word = 0; word < words; word++) {
+          if (safe[word] != 0) {
+            stable[word] |= safe[word];
+            changed = true;
+          }
+        }
+      }
+    }
+    return stable;
+  }
+
+  private long[] toPadded(long[] cells) {
+    long[] padded = new long[this.walled[0].length];
+    for (int row = 0; row < this.rowBits.length; row++) {
+      copyBits(cells, this.topology.indexOf(row, 0), padded, this.rowBits[row],
+              this.topology.getRowSize(row));
+    }
+    return padded;
+  }
+
+  private boolean isWall(int index, int direction) {
+    int next = this.topology.getNeighbor(index, direction);
+    return next == -1 || !this.topology.isPlayable(next);
+  }
+
+  private static boolean isFull(long[] line, long[] first, long[] second) {
+    for (int word = 0; word < line.length; word++) {
+      if ((line[word] & ~first[word] & ~second[word]) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isEmpty(long[] bits) {
+    for (long word : bits) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void setBit(long[] bits, int bit) {
+    bits[bit >>> 6] |= 1L << bit;
+  }
+
+  /**
+   * Ors a range of bits from one bitset into another, at a different position.
+   *
+   * @param source the bitset to copy from.
+   * @param from   the first bit of the range in the source.
+   * @param target the bitset to copy into.
+   * @param to     the first bit of the range in the target.
+   * @param length the number of bits in the range.
+   */
+
+  private static void copyBits(long[] source, int from, long[] target, int to, int length) {
+    while (length > 0) {
+      int chunk = Math.min(length, 32);
+      int offset = from & 63;
+      long bits = source[from >>> 6] >>> offset;
+      if (offset + chunk > 64) {
+        bits |= source[(from >>> 6) + 1] << (64 - offset);
+      }
+      bits &= (1L << chunk) - 1;
+      offset = to & 63;
+      target[to >>> 6] |= bits << offset;
+      if (offset + chunk > 64) {
+        target[(to >>> 6) + 1] |= bits >>> (64 - offset);
+      }
+      from += chunk;
+      to += chunk;
+      length -= chunk;
+    }
+  }
+
+  /**
+   * Shifts every bit of the source bitset by the provided offset into the target bitset, as in
+   * {@link cs3500.reversi.model.BitboardReversi}. Bits shifted past either end are dropped.
+   *
+   * @param source the bitset to shift.
+   * @param offset the number of bits to shift by; positive shifts toward higher bit indices.
+   * @param target the bitset to write the result into.
+   */
+
+  private static void shift(long[] source, int offset, long[] target) {
+    int words = source.length;
+    int wordShift = Math.abs(offset) >>> 6;
+    int bitShift = Math.abs(offset) & 63;
+    if (offset >= 0) {
+      for (int i = words - 1; i >= 0; i--) {
+        int j = i - wordShift;
+        long value = j >= 0 ? source[j] << bitShift : 0;
+        if (bitShift != 0 && j - 1 >= 0) {
+          value |= source[j - 1] >>> (64 - bitShift);
+        }
+        target[i] = value;
+      }
+    } else {
+      for (int i = 0; i < words; i++) {
+        int j = i + wordShift;
+        long value = j < words ? source[j] >>> bitShift : 0;
+        if (bitShift != 0 && j + 1 < words) {
+          value |= source[j + 1] << (64 - bitShift);
+        }
+        target[i] = value;
+      }
+    }
+  }
+}
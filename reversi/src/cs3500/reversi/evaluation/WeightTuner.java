@@ -0,0 +1,369 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.evaluation;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.PositionCursor;
+import cs3500.reversi.record.PositionStore;
+
+/**
+ * Fits the weights of an {@link Evaluation} to the outcomes of stored games, by logistic
+ * regression. The probability that the player to move in a position goes on to win is
+ * modelled as the logistic function of a weighted sum of its {@link Feature}s plus a bias,
+ * and the weights that best predict the stored outcomes are found by Newton's method: each
+ * step scans the whole store once to add up the gradient and the Hessian of the log loss,
+ * and then solves for the step that would minimise it exactly if the loss were quadratic. As
+ * there are only a handful of weights, a few steps are usually enough.
+ *
+ * <p>Each scan is split into one range of the store per thread, and each thread reads its
+ * range with its own {@link PositionCursor} and adds up its own sums, so the threads share
+ * nothing until their sums are added together at the end of the scan. Features are measured
+ * from the bitsets of each record, without building a model.
+ *
+ * <p>A win counts as 1, a loss as 0 and a draw as one half. A small penalty on the size of
+ * the weights keeps the fit stable when a feature barely varies, e.g. stable pieces in a
+ * store of early positions. The fitted weights are scaled by {@link #SCALE}, so an evaluation
+ * point is a hundredth of a unit of log-odds, and the bias is dropped, since a search only
+ * compares evaluations with each other.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>threads: the number of threads each scan is split across</li>
+ *   <li>iterations: the largest number of Newton steps taken</li>
+ *   <li>regularization: the penalty on the square of each weight, per position</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>threads and iterations are positive, and regularization is not negative</li>
+ * </ul>
+ */
+
+public final class WeightTuner {
+
+  /**
+   * The number of evaluation points per unit of log-odds.
+   */
+
+  public static final double SCALE = 100;
+
+  /**
+   * The default largest number of Newton steps.
+   */
+
+  public static final int DEFAULT_ITERATIONS = 25;
+
+  /**
+   * The default penalty on the square of each weight, per position.
+   */
+
+  public static final double DEFAULT_REGULARIZATION = 1e-4;
+
+  private static final double TOLERANCE = 1e-7;
+  private static final int PARAMETERS = Feature.values().length + 1;
+  private static final int BIAS = PARAMETERS - 1;
+
+  private final int threads;
+  private final int iterations;
+  private final double regularization;
+
+  /**
+   * Constructs a tuner that splits its work across the provided number of threads, with the
+   * default number of steps and penalty.
+   *
+   * @param threads the number of threads to use.
+   * @throws IllegalArgumentException if the number of threads is not positive.
+   */
+
+  public WeightTuner(int threads) throws IllegalArgumentException {
+    this(threads, DEFAULT_ITERATIONS, DEFAULT_REGULARIZATION);
+  }
+
+  /**
+   * Constructs a tuner that splits its work across the provided number of threads.
+   *
+   * @param threads        the number of threads to use.
+   * @param iterations     the largest number of Newton steps to take.
+   * @param regularization the penalty on the square of each weight, per position.
+   * @throws IllegalArgumentException if the threads or iterations are not positive, or the
+   *                                  penalty is negative or not finite.
+   */
+
+  public WeightTuner(int threads, int iterations, double regularization)
+          throws IllegalArgumentException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("The number of threads must be positive.");
+    } else if (iterations <= 0) {
+      throw new IllegalArgumentException("The number of iterations must be positive.");
+    } else if (!(regularization >= 0) || Double.isInfinite(regularization)) {
+      throw new IllegalArgumentException("The regularization must be finite and not negative.");
+    }
+    this.threads = threads;
+    this.iterations = iterations;
+    this.regularization = regularization;
+  }
+
+  /**
+   * Fits weights to every position of the provided store.
+   *
+   * @param store the positions and outcomes to fit.
+   * @return the evaluation with the fitted weights.
+   * @throws IllegalArgumentException if the store is null or empty.
+   * @throws IllegalStateException if the tuning thread is interrupted, or a scan fails.
+   */
+
+  public Evaluation tune(PositionStore store)
+          throws IllegalArgumentException, IllegalStateException {
+    if (store == null || store.getCount() == 0) {
+      throw new IllegalArgumentException("The store must hold at least one position.");
+    }
+    double[] theta = new double[PARAMETERS];
+    double penalty = this.regularization * store.getCount();
+    ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+    try {
+      for (int iteration = 0; iteration < this.iterations; iteration++) {
+        double[] sums = this.scan(store, theta, pool);
+        double[] gradient = new double[PARAMETERS];
+        double[][] hessian = new double[PARAMETERS][PARAMETERS];
+        for (int i = 0; i < PARAMETERS; i++) {
+          gradient[i] = sums[i];
+          for (int j = 0; j < PARAMETERS; j++) {
+            hessian[i][j] = sums[PARAMETERS + i * PARAMETERS + j];
+          }
+          if (i != BIAS) {
+            gradient[i] += penalty * theta[i];
+            hessian[i][i] += penalty;
+          }
+        }
+        double[] step = solve(hessian, gradient);
+        double largest = 0;
+        for (int i = 0; i < PARAMETERS; i++) {
+          theta[i] -= step[i];
+          largest = Math.max(largest, Math.abs(step[i]));
+        }
+        if (largest < TOLERANCE) {
+          break;
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    Map<Feature, Double> weights = new EnumMap<>(Feature.class);
+    for (Feature feature : Feature.values()) {
+      weights.put(feature, theta[feature.ordinal()] * SCALE);
+    }
+    return new Evaluation(weights);
+  }
+
+  /**
+   * Measures how well an evaluation predicts the outcomes of a store, as the mean log loss of
+   * the probabilities it gives, with each evaluation point read as a hundredth of a unit of
+   * log-odds. Lower is better, and weights of 0 score {@code ln 2}.
+   *
+   * @param store      the positions and outcomes to predict.
+   * @param evaluation the evaluation to measure.
+   * @return the mean log loss over the store.
+   * @throws IllegalArgumentException if the store is null or empty, or the evaluation is null.
+   */
+
+  public static double loss(PositionStore store, Evaluation evaluation)
+          throws IllegalArgumentException {
+    if (store == null || store.getCount() == 0 || evaluation == null) {
+      throw new IllegalArgumentException("A non-empty store and an evaluation are required.");
+    }
+    FeatureExtractor extractor = FeatureExtractor.of(store.getRadius());
+    int[] values = new int[Feature.values().length];
+    double total = 0;
+    PositionCursor cursor = store.cursor();
+    while (cursor.next()) {
+      measure(extractor, cursor, values);
+      double z = 0;
+      for (Feature feature : Feature.values()) {
+        z += evaluation.getWeight(feature) / SCALE * values[feature.ordinal()];
+      }
+      total += logLoss(z, label(cursor.getOutcome()));
+    }
+    return total / store.getCount();
+  }
+
+  /**
+   * Scans the whole store once, splitting it across the pool.
+   *
+   * @param store the store to scan.
+   * @param theta the current weights, with the bias last.
+   * @param pool  the threads to scan on.
+   * @return the gradient of the log loss, followed by its Hessian row by row.
+   * @throws IllegalStateException if the thread is interrupted, or a scan fails.
+   */
+
+  private double[] scan(PositionStore store, double[] theta, ExecutorService pool)
+          throws IllegalStateException {
+    long count = store.getCount();
+    int parts = (int) Math.min(this.threads, count);
+    List<Future<double[]>> futures = new ArrayList<>();
+    for (int part = 0; part < parts; part++) {
+      long from = count * part / parts;
+      long to = count * (part + 1) / parts;
+      Callable<double[]> task = () -> scanRange(store.cursor(from, to), store.getRadius(),
+              theta);
+      futures.add(pool.submit(task));
+    }
+    double[] sums = new double[PARAMETERS + PARAMETERS * PARAMETERS];
+    try {
+      for (Future<double[]> future : futures) {
+        double[] partial = future.get();
+        for (int i = 0; i < sums.length; i++) {
+          sums[i] += partial[i];
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Tuning was interrupted.");
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A scan of the store failed.", e.getCause());
+    }
+    return sums;
+  }
+
+  /**
+   * Adds up the gradient and Hessian of the log loss over one range of a store.
+   *
+   * @param cursor the cursor over the range.
+   * @param radius the radius of the board of the store.
+   * @param theta  the current weights, with the bias last.
+   * @return the gradient, followed by the Hessian row by row.
+   */
+
+  private static double[] scanRange(PositionCursor cursor, int radius, double[] theta) {
+    FeatureExtractor extractor = FeatureExtractor.of(radius);
+    int[] values = new int[Feature.values().length];
+    double[] x = new double[PARAMETERS];
+    double[] sums = new double[PARAMETERS + PARAMETERS * PARAMETERS];
+    while (cursor.next()) {
+      measure(extractor, cursor, values);
+      double z = theta[BIAS];
+      for (int i = 0; i < values.length; i++) {
+        x[i] = values[i];
+        z += theta[i] * x[i];
+      }
+      x[BIAS] = 1;
+      double p = 1 / (1 + Math.exp(-z));
+      double error = p - label(cursor.getOutcome());
+      double curvature = p * (1 - p);
+      for (int i = 0; i < PARAMETERS; i++) {
+        sums[i] += error * x[i];
+        int row = PARAMETERS + i * PARAMETERS;
+        for (int j = 0; j < PARAMETERS; j++) {
+          sums[row + j] += curvature * x[i] * x[j];
+        }
+      }
+    }
+    return sums;
+  }
+
+  /**
+   * Measures the features of the current record of a cursor, for the player to move.
+   *
+   * @param extractor the extractor of the board of the record.
+   * @param cursor    the cursor, on the record to measure.
+   * @param values    the array to write the measure of each feature to.
+   */
+
+  private static void measure(FeatureExtractor extractor, PositionCursor cursor, int[] values) {
+    PieceColor mover = cursor.getPlayerColor();
+    PieceColor other = mover == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+    extractor.extract(cursor.getCells(mover), cursor.getCells(other), values);
+  }
+
+  private static double label(int outcome) {
+    return outcome > 0 ? 1 : outcome < 0 ? 0 : 0.5;
+  }
+
+  /**
+   * Computes the log loss of predicting the logistic function of {@code z} for a label,
+   * without overflowing for large {@code z}.
+   *
+   * @param z     the predicted log-odds.
+   * @param label the actual outcome, from 0 to 1.
+   * @return the log loss of the prediction.
+   */
+
+  private static double logLoss(double z, double label) {
+    return Math.max(z, 0) - label * z + Math.log1p(Math.exp(-Math.abs(z)));
+  }
+
+  /**
+   * Solves a linear system by Gaussian elimination with partial pivoting.
+   *
+   * @param matrix the matrix of the system, which is overwritten.
+   * @param vector the right-hand side of the system.
+   * @return the solution, or zeros for any unknown the system does not determine.
+   */
+
+  private static double[] solve(double[][] matrix, double[] vector) {
+    int n = vector.length;
+    double[] rhs = vector.clone();
+    for (int col = 0; col < n; col++) {
+      int pivot = col;
+      for (int row = col + 1; row < n; row++) {
+        if (Math.abs(matrix[row][col]) > Math.abs(matrix[pivot][col])) {
+          pivot = row;
+        }
+      }
+      double[] swapRow = matrix[col];
+      matrix[col] = matrix[pivot];
+      matrix[pivot] = swapRow;
+      double swap = rhs[col];
+      rhs[col] = rhs[pivot];
+      rhs[pivot] = swap;
+      if (Math.abs(matrix[col][col]) < 1e-12) {
+        continue;
+      }
+      for (int row = col + 1; row < n; row++) {
+        double factor = matrix[row][col] / matrix[col][col];
+        for (int k = col; k < n; k++) {
+          matrix[row][k] -= factor * matrix[col][k];
+        }
+        rhs[row] -= factor * rhs[col];
+      }
+    }
+    double[] solution = new double[n];
+    for (int row = n - 1; row >= 0; row--) {
+      if (Math.abs(matrix[row][row]) < 1e-12) {
+        continue;
+      }
+      double sum = rhs[row];
+      for (int k = row + 1; k < n; k++) {
+        sum -= matrix[row][k] * solution[k];
+      }
+      solution[row] = sum / matrix[row][row];
+    }
+    return solution;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.factory;
+
+import java.util.List;
+
+import cs3500.reversi.adapter.ModelAdapter;
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+
+/**
+ * Represents a factory class for building {@link ReversiModel}s. Provide the
+ * number of rows and a {@link String} naming the model implementation to build
+ * a {@link ReversiModel}.
+ */
+
+public final class ModelFactory {
+
+  /**
+   * The types of model this factory can build.
+   */
+
+  public static final List<String> TYPES = List.of("hexagonal", "bitboard");
+
+  private final int rows;
+  private final String type;
+
+  /**
+   * Create a new instance of this model builder.
+   * @param rows the number of rows in the game board.
+   * @param type the type of model to build. Can be one of "hexagonal" or "bitboard".
+   */
+
+  public ModelFactory(int rows, String type) {
+    this.rows = rows;
+    this.type = type;
+  }
+
+  /**
+   * Build a {@link ReversiModel} based on the provided constructor arguments. The
+   * "hexagonal" model is built as a {@link ModelAdapter}, so it can also be used
+   * with our providers' view and strategy.
+   *
+   * @return the built {@link ReversiModel}.
+   * @throws IllegalArgumentException if the type is unknown, or the number of rows is invalid.
+   * @see HexagonalReversi
+   * @see BitboardReversi
+   */
+
+  public ReversiModel build() throws IllegalArgumentException {
+    switch (this.type.toLowerCase()) {
+      case "hexagonal":
+        return new ModelAdapter(this.rows);
+      case "bitboard":
+        return new BitboardReversi(this.rows);
+      default:
+        throw new IllegalArgumentException("Unknown model type: " + this.type
+                + ". Must be one of: " + String.join(", ", TYPES) + ".");
+    }
+  }
+}
@@ -36,19 +36,35 @@ public final class PlayerFactory {
   private final ReversiModel model;
   private final PieceColor color;
   private final String type;
+  private final boolean ponder;
 
   /**
-   * Create a new instance of this player builder.
+   * Create a new instance of this player builder. The AI players it builds do not ponder.
    * @param model the model to use.
    * @param type the type of player to build. Can be one of "human",
-   *             "easyai", "mediumai", or "hardai".
+   *             "easyai", "mediumai", "hardai", "providerai", "searchai", or "mctsai".
    * @param color the color of the player to build.
    */
 
   public PlayerFactory(ReversiModel model, String type, PieceColor color) {
+    this(model, type, color, false);
+  }
+
+  /**
+   * Create a new instance of this player builder, whose AI players may think while the
+   * opponent is deciding.
+   * @param model the model to use.
+   * @param type the type of player to build. Can be one of "human",
+   *             "easyai", "mediumai", "hardai", "providerai", "searchai", or "mctsai".
+   * @param color the color of the player to build.
+   * @param ponder whether AI players should ponder.
+   */
+
+  public PlayerFactory(ReversiModel model, String type, PieceColor color, boolean ponder) {
     this.model = model;
     this.type = type;
     this.color = color;
+    this.ponder = ponder;
   }
 
   /**
@@ -61,13 +77,17 @@ public final class PlayerFactory {
       case "human":
         return new HumanPlayerAdapter(this.model, this.color);
       case "easyai":
-        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.EASY);
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.EASY, this.ponder);
       case "hardai":
-        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.HARD);
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.HARD, this.ponder);
       case "providerai":
-        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.PROVIDER);
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.PROVIDER, this.ponder);
+      case "searchai":
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.SEARCH, this.ponder);
+      case "mctsai":
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.MCTS, this.ponder);
       default:
-        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.MEDIUM);
+        return new AIPlayerAdapter(this.model, this.color, AIDifficulty.MEDIUM, this.ponder);
     }
   }
 }
\ No newline at end of file
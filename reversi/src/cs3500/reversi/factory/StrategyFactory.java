@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.factory;
+
+import cs3500.reversi.adapter.StrategyAdapter;
+import cs3500.reversi.player.AIDifficulty;
+import cs3500.reversi.strategy.AlphaBetaSearch;
+import cs3500.reversi.strategy.AvoidCellsNextToCorners;
+import cs3500.reversi.strategy.ChooseCornerCell;
+import cs3500.reversi.strategy.EndgameSolver;
+import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.strategy.MonteCarloTreeSearch;
+import cs3500.reversi.strategy.ReversiStrategy;
+import cs3500.reversi.strategy.StrategyWithFallbacks;
+import cs3500.reversi.strategy.TranspositionTable;
+
+/**
+ * Represents a factory class for building {@link ReversiStrategy}s. Provide an
+ * {@link AIDifficulty} to build the strategy an AI of that difficulty plays with.
+ * The search strategies keep state between moves, so a built strategy should only
+ * be used by one player, and from one thread at a time. The search difficulties
+ * switch to an {@link EndgameSolver} once few enough cells are empty.
+ */
+
+public final class StrategyFactory {
+
+  private final AIDifficulty difficulty;
+  private final int searchWorkers;
+  private final int endgameEmpties;
+
+  /**
+   * Create a new instance of this strategy builder, whose search uses every
+   * available processor.
+   * @param difficulty the difficulty of the strategy to build.
+   */
+
+  public StrategyFactory(AIDifficulty difficulty) {
+    this(difficulty, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a new instance of this strategy builder.
+   * @param difficulty the difficulty of the strategy to build.
+   * @param searchWorkers the number of threads to search with. This only affects
+   *                      the {@link AIDifficulty#SEARCH} difficulty.
+   * @throws IllegalArgumentException if the number of threads is not positive.
+   */
+
+  public StrategyFactory(AIDifficulty difficulty, int searchWorkers)
+          throws IllegalArgumentException {
+    this(difficulty, searchWorkers, EndgameSolver.DEFAULT_MAX_EMPTIES);
+  }
+
+  /**
+   * Create a new instance of this strategy builder, whose search difficulties solve the
+   * game exactly once at most the provided number of cells are empty.
+   * @param difficulty the difficulty of the strategy to build.
+   * @param searchWorkers the number of threads to search with. This only affects
+   *                      the {@link AIDifficulty#SEARCH} difficulty.
+   * @param endgameEmpties the number of empty cells at which to start solving, or 0
+   *                       to never solve.
+   * @throws IllegalArgumentException if the number of threads is not positive, or the
+   *                                  number of empty cells is negative.
+   */
+
+  public StrategyFactory(AIDifficulty difficulty, int searchWorkers, int endgameEmpties)
+          throws IllegalArgumentException {
+    if (searchWorkers <= 0) {
+      throw new IllegalArgumentException("The number of search workers must be positive.");
+    }
+    if (endgameEmpties < 0) {
+      throw new IllegalArgumentException("The number of empty cells cannot be negative.");
+    }
+    this.difficulty = difficulty;
+    this.searchWorkers = searchWorkers;
+    this.endgameEmpties = endgameEmpties;
+  }
+
+  /**
+   * Create a new instance of this strategy builder from the name of an AI player type.
+   * @param type the type of AI player whose strategy to build. Can be one of "easyai",
+   *             "mediumai", "hardai", "providerai", "searchai", or "mctsai".
+   * @param searchWorkers the number of threads to search with.
+   * @throws IllegalArgumentException if the type is unknown, or the number of threads
+   *                                  is not positive.
+   */
+
+  public StrategyFactory(String type, int searchWorkers) throws IllegalArgumentException {
+    this(difficultyOf(type), searchWorkers);
+  }
+
+  private static AIDifficulty difficultyOf(String type) throws IllegalArgumentException {
+    switch (type.toLowerCase()) {
+      case "easyai":
+        return AIDifficulty.EASY;
+      case "mediumai":
+        return AIDifficulty.MEDIUM;
+      case "hardai":
+        return AIDifficulty.HARD;
+      case "providerai":
+        return AIDifficulty.PROVIDER;
+      case "searchai":
+        return AIDifficulty.SEARCH;
+      case "mctsai":
+        return AIDifficulty.MCTS;
+      default:
+        throw new IllegalArgumentException("Unknown AI player type: " + type);
+    }
+  }
+
+  /**
+   * Build a {@link ReversiStrategy} based on the provided constructor arguments.
+   * @return the built {@link ReversiStrategy}.
+   * @throws IllegalArgumentException if the difficulty is null.
+   */
+
+  public ReversiStrategy build() throws IllegalArgumentException {
+    if (this.difficulty == null) {
+      throw new IllegalArgumentException("Invalid difficulty.");
+    }
+    switch (this.difficulty) {
+      case EASY:
+        return new FlipMostCells();
+      case MEDIUM:
+        return new StrategyWithFallbacks(new ChooseCornerCell(), new FlipMostCells());
+      case HARD:
+        return new StrategyWithFallbacks(new AvoidCellsNextToCorners(), new FlipMostCells());
+      case PROVIDER:
+        return new StrategyAdapter();
+      case SEARCH:
+        return this.withEndgame(new AlphaBetaSearch(AlphaBetaSearch.DEFAULT_BUDGET_MILLIS,
+                Integer.MAX_VALUE, new TranspositionTable(AlphaBetaSearch.DEFAULT_TABLE_MEGABYTES),
+                this.searchWorkers));
+      case MCTS:
+        return this.withEndgame(new MonteCarloTreeSearch());
+      default:
+        throw new IllegalArgumentException("Invalid difficulty.");
+    }
+  }
+
+  private ReversiStrategy withEndgame(ReversiStrategy midgame) {
+    return this.endgameEmpties == 0 ? midgame : new EndgameSolver(midgame, this.endgameEmpties);
+  }
+}
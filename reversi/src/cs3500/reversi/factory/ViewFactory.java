@@ -35,7 +35,7 @@ import cs3500.reversi.view.ReversiGraphicsView;
 
 public final class ViewFactory {
 
-  private final ModelAdapter model;
+  private final ReversiModel model;
   private final Player player;
   private final boolean isProviderView;
 
@@ -43,9 +43,11 @@ public final class ViewFactory {
    * Create a new instance of this view builder.
    * @param model the model to use.
    * @param player the player to use.
+   * @param isProviderView whether to build our providers' view, which requires the
+   *                       model to be a {@link ModelAdapter}.
    */
 
-  public ViewFactory(ModelAdapter model, Player player, boolean isProviderView) {
+  public ViewFactory(ReversiModel model, Player player, boolean isProviderView) {
     this.model = model;
     this.player = player;
     this.isProviderView = isProviderView;
@@ -54,16 +56,22 @@ public final class ViewFactory {
   /**
    * Build a {@link GraphicsView} based on the provided constructor arguments.
    * @return the built {@link GraphicsView}.
+   * @throws IllegalStateException if the providers' view is requested for a model
+   *                               that is not a {@link ModelAdapter}.
    */
 
-  public GraphicsView build() {
+  public GraphicsView build() throws IllegalStateException {
     GraphicsView view;
     if (this.isProviderView) {
+      if (!(this.model instanceof ModelAdapter)) {
+        throw new IllegalStateException("The provider view requires a ModelAdapter model.");
+      }
+      ModelAdapter adapter = (ModelAdapter) this.model;
       if (player.isAI() && player.getDifficulty().isPresent()) {
-        view = new ViewAdapter(model, new AIPlayerAdapter(model, player.getPieceColor(),
+        view = new ViewAdapter(adapter, new AIPlayerAdapter(adapter, player.getPieceColor(),
                 player.getDifficulty().get()));
       } else {
-        view = new ViewAdapter(model, new HumanPlayerAdapter(model, player.getPieceColor()));
+        view = new ViewAdapter(adapter, new HumanPlayerAdapter(adapter, player.getPieceColor()));
       }
     } else {
       view = new ReversiGraphicsView(model, player);
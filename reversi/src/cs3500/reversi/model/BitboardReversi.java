@@ -0,0 +1,988 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import cs3500.reversi.model.types.HexCellState;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.model.types.ReversiCellPair;
+
+/**
+ * Represents a game of Reversi on a hexagonal board, backed by bitboards. This model follows
+ * the exact same rules and <code>(row, col)</code> coordinate system as {@link HexagonalReversi},
+ * so the two can be used interchangeably, but it stores the occupancy of each color as a packed
+ * {@code long[]} bitset rather than a list of {@link ReversiCellPair}s.
+ *
+ * <p>Every cell is assigned a bit based on its axial coordinates. The hexagon is embedded in a
+ * square of side {@code 2 * radius + 3}, which leaves a ring of unused padding bits around the
+ * board. Moving one step in any {@link cs3500.reversi.model.types.Direction} is then a constant
+ * offset in bit index, so move generation can shift whole bitsets at once instead of visiting
+ * cells one by one. The padding ring guarantees a shift never wraps onto the other side of
+ * the board.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li> {@code black} and {@code white}: the occupancy bitsets of each color.</li>
+ *   <li> {@code boardMask}: the bits that correspond to real cells on the board.</li>
+ *   <li> {@code topology}: the shared {@link HexTopology} of the board.</li>
+ *   <li> {@code bitOf}: the bit index of each cell, by its index in the topology.</li>
+ *   <li> {@code indexOf}: the topology index of each bit, or -1 for padding bits.</li>
+ *   <li> {@code hash}: the Zobrist hash of the position, computed with the same keys as
+ *   {@link HexagonalReversi} so that both models hash a position identically.</li>
+ *   <li> {@code history}: a stack of undo records, laid out as in {@link HexagonalReversi},
+ *   except that cells are stored by bit index rather than by topology index.</li>
+ *   <li> {@code playableMask}: the bits of the cells that can hold a piece in some game (see
+ *   {@link HexTopology#isPlayable(int)}).</li>
+ *   <li> {@code openNeighbors} and {@code frontierCounts}: as in {@link HexagonalReversi},
+ *   except that {@code openNeighbors} is by bit index. They are updated as pieces are placed,
+ *   flipped and taken back.</li>
+ *   <li> {@code mobilityCounts}: the number of legal moves of each color, by ordinal. These
+ *   are found for all cells at once by the same shifts as move generation, the first time
+ *   they are read after the board changes; {@code mobilityStale} is set on every change.</li>
+ *   <li> {@code boardView}: the {@link BoardView} of the bitsets, created on first use.</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>{@code black} and {@code white} never share a bit.</li>
+ *   <li>Neither {@code black} nor {@code white} has a bit set outside of {@code boardMask}.</li>
+ *   <li>{@code blackCount} and {@code whiteCount} are equal to the number of bits set in
+ *   {@code black} and {@code white}. This is checked after every move when assertions are
+ *   enabled.</li>
+ *   <li>All invariants of {@link HexagonalReversi} also hold for this model.</li>
+ * </ul>
+ */
+
+public class BitboardReversi implements ReversiModel, ModelFeatures {
+
+  private final List<ModelFeatures> features = new ArrayList<>();
+
+  private final int radius;
+  private final int diameter;
+  private final int width;
+  private final int[] offsets;
+  private final HexTopology topology;
+  private final int[] bitOf;
+  private final int[] indexOf;
+  private final long[] boardMask;
+  private final long[] playableMask;
+  private final long[] black;
+  private final long[] white;
+
+  private final long[] scratchRay;
+  private final long[] scratchStep;
+  private final long[] scratchMoves;
+
+  private final int[] openNeighbors;
+  private final int[] frontierCounts = new int[PieceColor.values().length];
+  private final int[] mobilityCounts = new int[PieceColor.values().length];
+  private boolean mobilityStale = true;
+
+  private int blackCount = 0;
+  private int whiteCount = 0;
+  private int turn = 1;
+  private int passes = 0;
+  private long hash = 0L;
+  private int[] history = new int[64];
+  private int historySize = 0;
+  private BoardView boardView;
+
+  /**
+   * Create a new bitboard-backed hexagonal Reversi game.
+   * @param rows the number of rows in the game.
+   */
+
+  public BitboardReversi(int rows) {
+    if (rows < 5 || rows % 2 == 0) {
+      throw new IllegalArgumentException("Rows must be at least 5 and odd.");
+    }
+    this.radius = (int) Math.ceil((double) rows / 2) - 1;
+    this.diameter = rows;
+    this.width = 2 * this.radius + 3;
+    this.offsets = new int[] {1, 1 - this.width, -this.width, -1, this.width - 1, this.width};
+    int words = (this.width * this.width + 63) >>> 6;
+    this.boardMask = new long[words];
+    this.black = new long[words];
+    this.white = new long[words];
+    this.scratchRay = new long[words];
+    this.scratchStep = new long[words];
+    this.scratchMoves = new long[words];
+    this.playableMask = new long[words];
+    this.topology = HexTopology.of(this.radius);
+    this.bitOf = new int[this.topology.getCellCount()];
+    this.indexOf = new int[this.width * this.width];
+    this.openNeighbors = new int[this.width * this.width];
+    this.initCells();
+    this.initStartingColors();
+    this.countFrontier();
+  }
+
+  /**
+   * Create a copy of the provided {@link ReversiModel}. The provided model may be of any
+   * implementation, as its state is read through the {@link ReadonlyReversiModel} interface.
+   * @param model the model to copy.
+   */
+
+  public BitboardReversi(ReadonlyReversiModel model) {
+    this(Objects.requireNonNull(model).getDiameter());
+    Arrays.fill(this.black, 0);
+    Arrays.fill(this.white, 0);
+    for (int index = 0; index < this.bitOf.length; index++) {
+      HexCellState state = model.getCellState(this.topology.getRow(index),
+              this.topology.getCol(index));
+      if (state == HexCellState.BLACK) {
+        setBit(this.black, this.bitOf[index]);
+      } else if (state == HexCellState.WHITE) {
+        setBit(this.white, this.bitOf[index]);
+      }
+    }
+    this.blackCount = popCount(this.black);
+    this.whiteCount = popCount(this.white);
+    this.turn = model.getTurn();
+    this.passes = model.getPasses();
+    this.hash = this.computeHash();
+    this.countFrontier();
+  }
+
+  /**
+   * Create a game at the position given by the pieces of each color. Each color is a bitset
+   * over the cell indices of the board's {@link HexTopology}: bit {@code i % 64} of word
+   * {@code i / 64} is set if cell {@code i} holds a piece of that color. This is the layout
+   * returned by {@link #getCellBits(PieceColor)}, and does not depend on the padded layout the
+   * model uses internally. The new game has no moves to take back.
+   *
+   * @param rows   the number of rows in the game.
+   * @param blacks the cells holding black pieces.
+   * @param whites the cells holding white pieces.
+   * @param turn   the turn of the position, which also decides the player to move.
+   * @param passes the number of passes made in a row before the position.
+   * @throws IllegalArgumentException if the rows are invalid, either bitset is null or of the
+   *                                  wrong length, the colors share a cell, a bit is set past
+   *                                  the last cell, the turn is not positive, or the passes
+   *                                  are not between 0 and 2.
+   */
+
+  public BitboardReversi(int rows, long[] blacks, long[] whites, int turn, int passes)
+          throws IllegalArgumentException {
+    this(rows);
+    int words = (this.topology.getCellCount() + 63) >>> 6;
+    if (blacks == null || whites == null) {
+      throw new IllegalArgumentException("Cell bits cannot be null.");
+    } else if (blacks.length != words || whites.length != words) {
+      throw new IllegalArgumentException("Cell bits must have " + words + " words.");
+    } else if (turn < 1 || passes < 0 || passes > 2) {
+      throw new IllegalArgumentException("Invalid turn or passes.");
+    }
+    Arrays.fill(this.black, 0);
+    Arrays.fill(this.white, 0);
+    for (int word = 0; word < words; word++) {
+      if ((blacks[word] & whites[word]) != 0) {
+        throw new IllegalArgumentException("A cell cannot hold both colors.");
+      }
+    }
+    int used = this.topology.getCellCount() & 63;
+    if (used != 0 && ((blacks[words - 1] | whites[words - 1]) & (-1L << used)) != 0) {
+      throw new IllegalArgumentException("A bit is set past the last cell.");
+    }
+    for (int index = 0; index < this.bitOf.length; index++) {
+      if (testBit(blacks, index)) {
+        setBit(this.black, this.bitOf[index]);
+      } else if (testBit(whites, index)) {
+        setBit(this.white, this.bitOf[index]);
+      }
+    }
+    this.blackCount = popCount(this.black);
+    this.whiteCount = popCount(this.white);
+    this.turn = turn;
+    this.passes = passes;
+    this.hash = this.computeHash();
+    this.countFrontier();
+  }
+
+  /**
+   * Create a new bitboard-backed hexagonal Reversi game with the default number of rows.
+   */
+
+  public BitboardReversi() {
+    this(5);
+  }
+
+  @Override
+  public void startGame() {
+    this.notifyTurn();
+  }
+
+  @Override
+  public void notifyTurn() {
+    for (ModelFeatures listener : this.features) {
+      listener.notifyTurn();
+    }
+  }
+
+  @Override
+  public void addFeatureListener(ModelFeatures features) {
+    this.features.add(Objects.requireNonNull(features));
+  }
+
+  @Override
+  public void playMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    this.makeMove(row, col, pieceColor);
+    this.notifyTurn();
+  }
+
+  @Override
+  public void applyMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    this.makeMove(row, col, pieceColor);
+  }
+
+  /**
+   * Checks and plays a move, recording it so that it can be taken back. This does not notify
+   * any listeners.
+   *
+   * @param row        the row where the player wants to place their piece.
+   * @param col        the column where the player wants to place their piece.
+   * @param pieceColor the player placing the piece.
+   * @throws IllegalArgumentException if the row or column is out of bounds.
+   * @throws IllegalStateException if the move is not allowed, or it is not the player's turn.
+   */
+
+  private void makeMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    if (!this.getPlayerColor().equals(pieceColor)) {
+      throw new IllegalStateException("It is not " + pieceColor + "'s turn.");
+    } else if (!this.isValidMove(row, col, pieceColor)) {
+      String msg = "The move at (%s, %s) is invalid for %s.";
+      throw new IllegalStateException(String.format(msg, row, col, pieceColor));
+    } else if (this.passes == 2) {
+      // The move is legal, so the game can only be over if both players already passed.
+      throw new IllegalStateException("The game is over.");
+    }
+    long[] own = this.bitsOf(pieceColor);
+    long[] opp = this.bitsOf(this.opposite(pieceColor));
+    int bit = this.bitOf[this.topology.indexOf(row, col)];
+    int flips = 0;
+    for (int dir = 0; dir < this.offsets.length; dir++) {
+      int length = this.flipLength(own, opp, bit, this.offsets[dir]);
+      for (int i = 1; i <= length; i++) {
+        int flipped = bit + i * this.offsets[dir];
+        setBit(own, flipped);
+        clearBit(opp, flipped);
+        this.hash ^= this.flipKey(flipped);
+        this.moveFrontier(flipped, pieceColor, 1);
+        this.record(flipped);
+      }
+      flips += length;
+    }
+    setBit(own, bit);
+    this.hash ^= this.topology.getPieceKey(this.indexOf[bit], pieceColor);
+    this.fillFrontier(bit, pieceColor, 1);
+    this.adjustCounts(pieceColor, flips + 1, -flips);
+    this.mobilityStale = true;
+    this.recordHeader(flips, bit);
+    this.turn++;
+    this.passes = 0;
+    this.hash ^= this.topology.getSideToMoveKey();
+    assert this.countsMatchBoard() : "Score counters are out of sync with the board.";
+    assert this.hash == this.computeHash() : "Position hash is out of sync with the board.";
+  }
+
+  @Override
+  public void pass(PieceColor pieceColor) throws IllegalStateException {
+    this.makePass(pieceColor);
+    this.notifyTurn();
+  }
+
+  @Override
+  public void applyPass(PieceColor pieceColor) throws IllegalStateException {
+    this.makePass(pieceColor);
+  }
+
+  /**
+   * Checks and makes a pass, recording it so that it can be taken back. This does not notify
+   * any listeners.
+   *
+   * @param pieceColor the player who is passing.
+   * @throws IllegalStateException if it is not the player's turn, or if the game is over.
+   */
+
+  private void makePass(PieceColor pieceColor) throws IllegalStateException {
+    if (this.isGameOver()) {
+      throw new IllegalStateException("The game is over.");
+    } else if (!this.getPlayerColor().equals(pieceColor)) {
+      throw new IllegalStateException("It is not " + pieceColor + "'s turn.");
+    }
+    this.recordHeader(0, -1);
+    this.passes++;
+    this.turn++;
+    this.hash ^= this.topology.getSideToMoveKey();
+  }
+
+  @Override
+  public void undoMove() throws IllegalStateException {
+    if (this.historySize == 0) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+    this.passes = this.history[--this.historySize];
+    this.turn = this.history[--this.historySize];
+    int bit = this.history[--this.historySize];
+    int flips = this.history[--this.historySize];
+    if (bit >= 0) {
+      PieceColor color = testBit(this.black, bit) ? PieceColor.BLACK : PieceColor.WHITE;
+      long[] own = this.bitsOf(color);
+      long[] opp = this.bitsOf(this.opposite(color));
+      for (int i = 0; i < flips; i++) {
+        int flipped = this.history[--this.historySize];
+        clearBit(own, flipped);
+        setBit(opp, flipped);
+        this.hash ^= this.flipKey(flipped);
+        this.moveFrontier(flipped, color, -1);
+      }
+      clearBit(own, bit);
+      this.hash ^= this.topology.getPieceKey(this.indexOf[bit], color);
+      this.fillFrontier(bit, color, -1);
+      this.adjustCounts(color, -flips - 1, flips);
+      this.mobilityStale = true;
+    }
+    this.hash ^= this.topology.getSideToMoveKey();
+    assert this.countsMatchBoard() : "Score counters are out of sync with the board.";
+    assert this.hash == this.computeHash() : "Position hash is out of sync with the board.";
+  }
+
+  @Override
+  public boolean isGameOver() {
+    if (this.passes == 2) {
+      return true;
+    }
+    return !this.hasLegalMove(this.black, this.white) && !this.hasLegalMove(this.white, this.black);
+  }
+
+  @Override
+  public boolean isValidMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException {
+    int bit = this.bitOf[this.topology.indexOf(row, col)];
+    if (testBit(this.black, bit) || testBit(this.white, bit)) {
+      return false;
+    }
+    long[] own = this.bitsOf(pieceColor);
+    long[] opp = this.bitsOf(this.opposite(pieceColor));
+    for (int offset : this.offsets) {
+      if (this.flipLength(own, opp, bit, offset) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public List<Point> getLegalMoves(PieceColor pieceColor) {
+    long[] moves = new long[this.black.length];
+    this.collectLegalMoves(this.bitsOf(pieceColor), this.bitsOf(this.opposite(pieceColor)),
+            moves);
+    List<Point> result = new ArrayList<>();
+    for (int index = 0; index < this.bitOf.length; index++) {
+      if (testBit(moves, this.bitOf[index])) {
+        result.add(new Point(this.topology.getRow(index), this.topology.getCol(index)));
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  @Override
+  public int getMobility(PieceColor pieceColor) {
+    if (this.mobilityStale) {
+      for (PieceColor color : PieceColor.values()) {
+        this.collectLegalMoves(this.bitsOf(color), this.bitsOf(this.opposite(color)),
+                this.scratchMoves);
+        this.mobilityCounts[color.ordinal()] = popCount(this.scratchMoves);
+      }
+      this.mobilityStale = false;
+    }
+    return this.mobilityCounts[pieceColor.ordinal()];
+  }
+
+  @Override
+  public int getFrontier(PieceColor pieceColor) {
+    return this.frontierCounts[pieceColor.ordinal()];
+  }
+
+  @Override
+  public int getTurn() {
+    return this.turn;
+  }
+
+  @Override
+  public int getRadius() {
+    return this.radius;
+  }
+
+  @Override
+  public int getDiameter() {
+    return this.diameter;
+  }
+
+  @Override
+  public long getPositionHash() {
+    return this.hash;
+  }
+
+  @Override
+  public int getScore(PieceColor pieceColor) {
+    return pieceColor == PieceColor.BLACK ? this.blackCount : this.whiteCount;
+  }
+
+  @Override
+  public List<List<ReversiCellPair>> getBoardCopy() {
+    List<List<ReversiCellPair>> copy = new ArrayList<>();
+    for (int row = 0; row < this.diameter; row++) {
+      List<ReversiCellPair> cells = new ArrayList<>();
+      for (int col = 0; col < this.topology.getRowSize(row); col++) {
+        int index = this.topology.indexOf(row, col);
+        cells.add(new ReversiCellPair(this.topology.getCell(index),
+                this.stateOf(this.bitOf[index])));
+      }
+      copy.add(cells);
+    }
+    return Collections.unmodifiableList(copy);
+  }
+
+  /**
+   * Gets the cells holding pieces of the provided color, as a bitset over the cell indices of
+   * the board's {@link HexTopology}, in the layout taken by
+   * {@link #BitboardReversi(int, long[], long[], int, int)}.
+   *
+   * @param pieceColor the color of the pieces.
+   * @return a new bitset of {@code (cells + 63) / 64} words.
+   */
+
+  public long[] getCellBits(PieceColor pieceColor) {
+    long[] own = this.bitsOf(Objects.requireNonNull(pieceColor));
+    long[] cells = new long[(this.bitOf.length + 63) >>> 6];
+    for (int index = 0; index < this.bitOf.length; index++) {
+      if (testBit(own, this.bitOf[index])) {
+        setBit(cells, index);
+      }
+    }
+    return cells;
+  }
+
+  @Override
+  public BoardView getBoardView() {
+    if (this.boardView == null) {
+      this.boardView = new TopologyBoardView(this.topology,
+          index -> this.stateOf(this.bitOf[index]));
+    }
+    return this.boardView;
+  }
+
+  @Override
+  public String getStateOf(Cell cell) throws IllegalArgumentException {
+    int index = this.topology.indexOf(cell);
+    if (index == -1) {
+      throw new IllegalArgumentException("The provided cell is not on the board.");
+    }
+    return this.stateOf(this.bitOf[index]).toString();
+  }
+
+  @Override
+  public String getStateOf(int row, int col) throws IllegalArgumentException {
+    return this.getCellState(row, col).toString();
+  }
+
+  @Override
+  public HexCellState getCellState(int row, int col) throws IllegalArgumentException {
+    return this.stateOf(this.bitOf[this.topology.indexOf(row, col)]);
+  }
+
+  @Override
+  public List<Cell> getCellsThatWillBeFlipped(Cell cell, PieceColor pieceColor) {
+    int index = this.topology.indexOf(cell);
+    if (index == -1) {
+      throw new IllegalArgumentException("The provided cell is not on the board.");
+    }
+    List<Cell> flipped = new ArrayList<>();
+    long[] own = this.bitsOf(pieceColor);
+    long[] opp = this.bitsOf(this.opposite(pieceColor));
+    int bit = this.bitOf[index];
+    for (int offset : this.offsets) {
+      int length = this.flipLength(own, opp, bit, offset);
+      for (int i = 1; i <= length; i++) {
+        flipped.add(this.topology.getCell(this.indexOf[bit + i * offset]));
+      }
+    }
+    return flipped;
+  }
+
+  @Override
+  public PieceColor getPlayerColor() {
+    return (this.turn % 2) == 1 ? PieceColor.WHITE : PieceColor.BLACK;
+  }
+
+  @Override
+  public int getPasses() {
+    return this.passes;
+  }
+
+  @Override
+  public ReversiModel getModelCopy() {
+    return new BitboardReversi(this);
+  }
+
+  @Override
+  public Optional<PieceColor> getWinner() throws IllegalStateException {
+    if (!this.isGameOver()) {
+      throw new IllegalStateException("The game is not over.");
+    }
+    int whiteScore = this.getScore(PieceColor.WHITE);
+    int blackScore = this.getScore(PieceColor.BLACK);
+    if (whiteScore > blackScore) {
+      return Optional.of(PieceColor.WHITE);
+    } else if (blackScore > whiteScore) {
+      return Optional.of(PieceColor.BLACK);
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Counts the opposing pieces that would be flipped along one ray if a piece were placed
+   * at the provided bit. The ray is walked until it reaches a cell that is not an opposing
+   * piece; the pieces are only flipped if that cell belongs to the player.
+   *
+   * @param own    the bitset of the player placing the piece.
+   * @param opp    the bitset of the opposing player.
+   * @param bit    the bit index the piece is placed at.
+   * @param offset the bit offset of one step along the ray.
+   * @return the number of pieces that would be flipped along the ray.
+   */
+
+  private int flipLength(long[] own, long[] opp, int bit, int offset) {
+    int length = 0;
+    int next = bit + offset;
+    while (testBit(opp, next)) {
+      length++;
+      next += offset;
+    }
+    return length > 0 && testBit(own, next) ? length : 0;
+  }
+
+  /**
+   * Determines whether the player owning {@code own} has any legal move.
+   *
+   * @param own the bitset of the player to generate moves for.
+   * @param opp the bitset of the opposing player.
+   * @return true if the player has at least one legal move, false otherwise.
+   */
+
+  private boolean hasLegalMove(long[] own, long[] opp) {
+    for (int offset : this.offsets) {
+      this.stepAcrossOpponents(own, opp, offset);
+      for (int i = 0; i < this.scratchStep.length; i++) {
+        if ((this.scratchStep[i] & this.boardMask[i] & ~own[i] & ~opp[i]) != 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Collects every legal move of the player owning {@code own} into {@code moves}, which is
+   * cleared first.
+   *
+   * @param own   the bitset of the player to generate moves for.
+   * @param opp   the bitset of the opposing player.
+   * @param moves the bitset to write the legal moves into.
+   */
+
+  private void collectLegalMoves(long[] own, long[] opp, long[] moves) {
+    Arrays.fill(moves, 0L);
+    for (int offset : this.offsets) {
+      this.stepAcrossOpponents(own, opp, offset);
+      for (int i = 0; i < moves.length; i++) {
+        moves[i] |= this.scratchStep[i] & this.boardMask[i] & ~own[i] & ~opp[i];
+      }
+    }
+  }
+
+  /**
+   * Fills {@code scratchStep} with the cells one step past a run of opposing pieces that
+   * starts next to one of the player's pieces, along one direction. All empty cells are
+   * handled at once by repeatedly shifting the player's pieces across runs of opposing
+   * pieces. The empty cells among the result are the player's legal moves that flip along
+   * the opposite direction.
+   *
+   * @param own    the bitset of the player to generate moves for.
+   * @param opp    the bitset of the opposing player.
+   * @param offset the bit offset of one step in the direction.
+   */
+
+  private void stepAcrossOpponents(long[] own, long[] opp, int offset) {
+    shift(own, offset, this.scratchRay);
+    and(this.scratchRay, opp);
+    boolean grew = !isEmpty(this.scratchRay);
+    while (grew) {
+      shift(this.scratchRay, offset, this.scratchStep);
+      and(this.scratchStep, opp);
+      grew = or(this.scratchRay, this.scratchStep);
+    }
+    shift(this.scratchRay, offset, this.scratchStep);
+  }
+
+  /**
+   * Initializes the bit lookup tables, and the masks of bits that are on the board and that
+   * can be played.
+   */
+
+  private void initCells() {
+    Arrays.fill(this.indexOf, -1);
+    for (int index = 0; index < this.bitOf.length; index++) {
+      int bit = this.bitAt(this.topology.getQ(index), this.topology.getR(index));
+      this.bitOf[index] = bit;
+      this.indexOf[bit] = index;
+      setBit(this.boardMask, bit);
+      if (this.topology.isPlayable(index)) {
+        setBit(this.playableMask, bit);
+      }
+    }
+  }
+
+  /**
+   * Computes {@code openNeighbors} and {@code frontierCounts} from scratch, by walking the
+   * whole board. Padding bits are never open, so the neighbors of a cell can be found by
+   * offset alone.
+   */
+
+  private void countFrontier() {
+    Arrays.fill(this.frontierCounts, 0);
+    for (int bit : this.bitOf) {
+      this.openNeighbors[bit] = 0;
+      for (int offset : this.offsets) {
+        if (this.isOpen(bit + offset)) {
+          this.openNeighbors[bit]++;
+        }
+      }
+      HexCellState state = this.stateOf(bit);
+      if (state != HexCellState.EMPTY && this.openNeighbors[bit] > 0) {
+        this.frontierCounts[this.colorOf(state).ordinal()]++;
+      }
+    }
+    this.mobilityStale = true;
+  }
+
+  /**
+   * Moves a piece that just flipped to the provided color between the frontier counts of
+   * the two colors, if it is on the frontier.
+   *
+   * @param bit        the bit of the flipped piece.
+   * @param pieceColor the color the piece flipped to, or from when {@code amount} is -1.
+   * @param amount     1 for a flip, or -1 when a flip is taken back.
+   */
+
+  private void moveFrontier(int bit, PieceColor pieceColor, int amount) {
+    if (this.openNeighbors[bit] > 0) {
+      this.frontierCounts[pieceColor.ordinal()] += amount;
+      this.frontierCounts[this.opposite(pieceColor).ordinal()] -= amount;
+    }
+  }
+
+  /**
+   * Updates the frontier after a piece is placed on, or taken back from, the provided bit.
+   * The piece itself joins or leaves the frontier, and if the cell can be played, each of its
+   * neighbors gains or loses an open neighbor, which may move a neighboring piece on or off
+   * the frontier. This must be called after the bitsets are updated.
+   *
+   * @param bit        the bit of the cell.
+   * @param pieceColor the color of the piece.
+   * @param amount     1 when the piece is placed, or -1 when it is taken back.
+   */
+
+  private void fillFrontier(int bit, PieceColor pieceColor, int amount) {
+    if (this.openNeighbors[bit] > 0) {
+      this.frontierCounts[pieceColor.ordinal()] += amount;
+    }
+    if (!testBit(this.playableMask, bit)) {
+      return;
+    }
+    for (int offset : this.offsets) {
+      int next = bit + offset;
+      boolean wasFrontier = this.openNeighbors[next] > 0;
+      this.openNeighbors[next] -= amount;
+      HexCellState state = this.stateOf(next);
+      if (state != HexCellState.EMPTY && wasFrontier != this.openNeighbors[next] > 0) {
+        this.frontierCounts[this.colorOf(state).ordinal()] += wasFrontier ? -1 : 1;
+      }
+    }
+  }
+
+  /**
+   * Determines whether the provided bit is an empty cell that can be played.
+   *
+   * @param bit the bit index.
+   * @return true if the cell is empty and playable, false otherwise.
+   */
+
+  private boolean isOpen(int bit) {
+    return testBit(this.playableMask, bit) && !testBit(this.black, bit)
+            && !testBit(this.white, bit);
+  }
+
+  /**
+   * Adjusts the score counters after a move by the provided player.
+   *
+   * @param pieceColor the player who moved.
+   * @param gained     the number of pieces the player gained.
+   * @param lost       the (negative) change in the number of pieces of the opposing player.
+   */
+
+  private void adjustCounts(PieceColor pieceColor, int gained, int lost) {
+    if (pieceColor == PieceColor.BLACK) {
+      this.blackCount += gained;
+      this.whiteCount += lost;
+    } else {
+      this.whiteCount += gained;
+      this.blackCount += lost;
+    }
+  }
+
+  /**
+   * Pushes one value onto the undo history, growing it if it is full.
+   *
+   * @param value the value to push.
+   */
+
+  private void record(int value) {
+    if (this.historySize == this.history.length) {
+      this.history = Arrays.copyOf(this.history, this.history.length * 2);
+    }
+    this.history[this.historySize++] = value;
+  }
+
+  /**
+   * Finishes the undo record of a move or pass, after the bits of its flipped cells have been
+   * pushed. This must be called before the turn and pass count are updated.
+   *
+   * @param flips the number of cells flipped by the move.
+   * @param bit   the bit of the placed cell, or -1 for a pass.
+   */
+
+  private void recordHeader(int flips, int bit) {
+    this.record(flips);
+    this.record(bit);
+    this.record(this.turn);
+    this.record(this.passes);
+  }
+
+  /**
+   * Compares the score counters with the number of bits set in each bitset. This is only
+   * used in assertions.
+   *
+   * @return true if both counters match the board, false otherwise.
+   */
+
+  private boolean countsMatchBoard() {
+    return this.blackCount == popCount(this.black) && this.whiteCount == popCount(this.white);
+  }
+
+  /**
+   * Initializes the starting colors of the game board, identically to {@link HexagonalReversi}.
+   */
+
+  private void initStartingColors() {
+    int r = this.radius;
+    setBit(this.white, this.bitOf[this.topology.indexOf(r, r - 1)]);
+    setBit(this.black, this.bitOf[this.topology.indexOf(r + 1, r - 1)]);
+    setBit(this.white, this.bitOf[this.topology.indexOf(r + 1, r)]);
+    setBit(this.black, this.bitOf[this.topology.indexOf(r, r + 1)]);
+    setBit(this.white, this.bitOf[this.topology.indexOf(r - 1, r)]);
+    setBit(this.black, this.bitOf[this.topology.indexOf(r - 1, r - 1)]);
+    this.blackCount = 3;
+    this.whiteCount = 3;
+    this.hash = this.computeHash();
+  }
+
+  /**
+   * Gets the change in the Zobrist hash when the piece on the provided bit flips color.
+   *
+   * @param bit the bit of the flipped piece.
+   * @return the keys of both colors on the cell, combined.
+   */
+
+  private long flipKey(int bit) {
+    int index = this.indexOf[bit];
+    return this.topology.getPieceKey(index, PieceColor.BLACK)
+            ^ this.topology.getPieceKey(index, PieceColor.WHITE);
+  }
+
+  /**
+   * Computes the Zobrist hash of the position from scratch, by walking the whole board.
+   *
+   * @return the hash of the position.
+   */
+
+  private long computeHash() {
+    long result = 0L;
+    for (int index = 0; index < this.bitOf.length; index++) {
+      if (testBit(this.black, this.bitOf[index])) {
+        result ^= this.topology.getPieceKey(index, PieceColor.BLACK);
+      } else if (testBit(this.white, this.bitOf[index])) {
+        result ^= this.topology.getPieceKey(index, PieceColor.WHITE);
+      }
+    }
+    if (this.getPlayerColor() == PieceColor.BLACK) {
+      result ^= this.topology.getSideToMoveKey();
+    }
+    return result;
+  }
+
+  /**
+   * Gets the bit index of the provided axial coordinates.
+   *
+   * @param q the q coordinate.
+   * @param r the r coordinate.
+   * @return the bit index of the coordinates.
+   */
+
+  private int bitAt(int q, int r) {
+    return (r + this.radius + 1) * this.width + q + this.radius + 1;
+  }
+
+  /**
+   * Gets the {@link HexCellState} of the provided bit index.
+   *
+   * @param bit the bit index.
+   * @return the state of the cell at the bit index.
+   */
+
+  private HexCellState stateOf(int bit) {
+    if (testBit(this.black, bit)) {
+      return HexCellState.BLACK;
+    } else if (testBit(this.white, bit)) {
+      return HexCellState.WHITE;
+    }
+    return HexCellState.EMPTY;
+  }
+
+  private long[] bitsOf(PieceColor pieceColor) {
+    return pieceColor == PieceColor.BLACK ? this.black : this.white;
+  }
+
+  private PieceColor colorOf(HexCellState state) {
+    return state == HexCellState.BLACK ? PieceColor.BLACK : PieceColor.WHITE;
+  }
+
+  private PieceColor opposite(PieceColor pieceColor) {
+    return pieceColor == PieceColor.BLACK ? PieceColor.WHITE : PieceColor.BLACK;
+  }
+
+  private static boolean testBit(long[] bits, int bit) {
+    return (bits[bit >>> 6] & (1L << bit)) != 0;
+  }
+
+  private static void setBit(long[] bits, int bit) {
+    bits[bit >>> 6] |= 1L << bit;
+  }
+
+  private static void clearBit(long[] bits, int bit) {
+    bits[bit >>> 6] &= ~(1L << bit);
+  }
+
+  private static int popCount(long[] bits) {
+    int count = 0;
+    for (long word : bits) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  private static boolean isEmpty(long[] bits) {
+    for (long word : bits) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void and(long[] bits, long[] mask) {
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] &= mask[i];
+    }
+  }
+
+  /**
+   * Ors the source bitset into the target bitset.
+   *
+   * @param target the bitset to update.
+   * @param source the bits to add.
+   * @return true if the target gained any new bits, false otherwise.
+   */
+
+  private static boolean or(long[] target, long[] source) {
+    boolean changed = false;
+    for (int i = 0; i < target.length; i++) {
+      long merged = target[i] | source[i];
+      changed |= merged != target[i];
+      target[i] = merged;
+    }
+    return changed;
+  }
+
+  /**
+   * Shifts every bit of the source bitset by the provided offset into the target bitset. Bits
+   * shifted past either end of the bitset are dropped.
+   *
+   * @param source the bitset to shift.
+   * @param offset the number of bits to shift by; positive shifts toward higher bit indices.
+   * @param target the bitset to write the result into.
+   */
+
+  private static void shift(long[] source, int offset, long[] target) {
+    int words = source.length;
+    int wordShift = Math.abs(offset) >>> 6;
+    int bitShift = Math.abs(offset) & 63;
+    if (offset >= 0) {
+      for (int i = words - 1; i >= 0; i--) {
+        int j = i - wordShift;
+        long value = j >= 0 ? source[j] << bitShift : 0;
+        if (bitShift != 0 && j - 1 >= 0) {
+          value |= source[j - 1] >>> (64 - bitShift);
+        }
+        target[i] = value;
+      }
+    } else {
+      for (int i = 0; i < words; i++) {
+        int j = i + wordShift;
+        long value = j < words ? source[j] >>> bitShift : 0;
+        if (bitShift != 0 && j + 1 < words) {
+          value |= source[j + 1] << (64 - bitShift);
+        }
+        target[i] = value;
+      }
+    }
+  }
+}
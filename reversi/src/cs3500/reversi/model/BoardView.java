@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.model;
+
+import cs3500.reversi.model.types.HexCellState;
+
+/**
+ * Represents a read-only view of the cells of a game board. Unlike
+ * {@link ReadonlyReversiModel#getBoardCopy()}, a view does not copy anything: it reads the
+ * live state of the model it was taken from, so it always reflects the latest move, and
+ * taking one is free. Callers that only need to read the board, such as strategies and
+ * views, should prefer it. Cells are addressed by the same row and column as the rest of
+ * the model's interface.
+ *
+ * @see ReadonlyReversiModel#getBoardView()
+ */
+
+public interface BoardView {
+
+  /**
+   * Get the number of rows on the board.
+   *
+   * @return the number of rows.
+   */
+
+  int getRowCount();
+
+  /**
+   * Get the number of cells in the provided row.
+   *
+   * @param row the row.
+   * @return the number of cells in the row.
+   * @throws IllegalArgumentException if the row is not on the board.
+   */
+
+  int getRowSize(int row) throws IllegalArgumentException;
+
+  /**
+   * Get the {@link Cell} at the provided row and column.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   * @return the cell at the row and column.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+
+  Cell getCell(int row, int col) throws IllegalArgumentException;
+
+  /**
+   * Get the state of the cell at the provided row and column.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   * @return the state of the cell.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+
+  HexCellState getCellState(int row, int col) throws IllegalArgumentException;
+
+  /**
+   * Get the state of the cell at the provided row and column, rendered as a string in the
+   * same way as {@link ReadonlyReversiModel#getStateOf(int, int)}.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   * @return the state of the cell.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   * @see HexCellState
+   */
+
+  String getStateOf(int row, int col) throws IllegalArgumentException;
+
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs3500.reversi.model.types.Direction;
+import cs3500.reversi.model.types.HexCell;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents the fixed shape of a hexagonal board of a given radius. Every cell on the board
+ * is given an index in row-major order, i.e. in the same order as the <code>(row, col)</code>
+ * coordinate system used by the models. For every index, the topology caches the cell's
+ * coordinates, its six neighbors, and its six rays to the edge of the board.
+ *
+ * <p>A topology never changes once it is built, so one instance is shared by every model
+ * of the same radius. Use {@link #of(int)} to get it. Walking a ray is a plain loop over
+ * an {@code int[]}, so it allocates nothing.
+ *
+ * <p>Directions are referred to by the ordinal of their {@link Direction}.
+ *
+ * <p>The topology also holds the random keys used to hash positions by Zobrist hashing: one key
+ * for every pair of a cell and a {@link PieceColor}, and one for black being the player to move.
+ * The hash of a position is the exclusive or of the keys of every piece on the board, and of the
+ * side to move key when it is black's turn. The keys are generated from a fixed seed, so a
+ * position has the same hash in every model and on every run.
+ *
+ * <p>Finally, the topology knows which cells can hold a piece in some game from the standard
+ * starting position, so that models and evaluations can ignore the cells that never can.
+ */
+
+public final class HexTopology {
+
+  /**
+   * The number of directions out of every cell.
+   */
+
+  public static final int DIRECTIONS = 6;
+
+  private static final int[] DQ = {1, 1, 0, -1, -1, 0};
+  private static final int[] DR = {0, -1, -1, 0, 1, 1};
+
+  private static final Map<Integer, HexTopology> TOPOLOGIES = new ConcurrentHashMap<>();
+
+  private static final int COLORS = PieceColor.values().length;
+  private static final long ZOBRIST_SEED = 0x2545F4914F6CDD1DL;
+
+  private final int radius;
+  private final int diameter;
+  private final int[] rowStart;
+  private final int[] rows;
+  private final int[] cols;
+  private final int[] qs;
+  private final int[] rs;
+  private final Cell[] cells;
+  private final int[] neighbors;
+  private final int[][] rays;
+  private final long[] pieceKeys;
+  private final long sideToMoveKey;
+  private final boolean[] playable;
+
+  /**
+   * Builds the topology of a board with the provided radius.
+   *
+   * @param radius the radius of the board.
+   */
+
+  private HexTopology(int radius) {
+    this.radius = radius;
+    this.diameter = 2 * radius + 1;
+    int count = 3 * radius * (radius + 1) + 1;
+    this.rowStart = new int[this.diameter + 1];
+    this.rows = new int[count];
+    this.cols = new int[count];
+    this.qs = new int[count];
+    this.rs = new int[count];
+    this.cells = new Cell[count];
+    this.neighbors = new int[count * DIRECTIONS];
+    this.rays = new int[count * DIRECTIONS][];
+    this.pieceKeys = new long[count * COLORS];
+    SplittableRandom random = new SplittableRandom(ZOBRIST_SEED + radius);
+    for (int i = 0; i < this.pieceKeys.length; i++) {
+      this.pieceKeys[i] = random.nextLong();
+    }
+    this.sideToMoveKey = random.nextLong();
+    this.initCells();
+    this.initNeighbors();
+    this.initRays();
+    this.playable = this.initPlayable();
+  }
+
+  /**
+   * Gets the shared topology of a board with the provided radius.
+   *
+   * @param radius the radius of the board.
+   * @return the topology of the board.
+   * @throws IllegalArgumentException if the radius is negative.
+   */
+
+  public static HexTopology of(int radius) throws IllegalArgumentException {
+    if (radius < 0) {
+      throw new IllegalArgumentException("Radius cannot be negative.");
+    }
+    return TOPOLOGIES.computeIfAbsent(radius, HexTopology::new);
+  }
+
+  /**
+   * Get the radius of the board.
+   *
+   * @return the radius of the board.
+   */
+
+  public int getRadius() {
+    return this.radius;
+  }
+
+  /**
+   * Get the number of rows on the board.
+   *
+   * @return the number of rows on the board.
+   */
+
+  public int getRowCount() {
+    return this.diameter;
+  }
+
+  /**
+   * Get the number of cells on the board.
+   *
+   * @return the number of cells on the board.
+   */
+
+  public int getCellCount() {
+    return this.cells.length;
+  }
+
+  /**
+   * Get the number of cells in the provided row.
+   *
+   * @param row the row.
+   * @return the number of cells in the row.
+   * @throws IllegalArgumentException if the row is not on the board.
+   */
+
+  public int getRowSize(int row) throws IllegalArgumentException {
+    if (row < 0 || row >= this.diameter) {
+      throw new IllegalArgumentException("The provided row is not on the board.");
+    }
+    return this.rowStart[row + 1] - this.rowStart[row];
+  }
+
+  /**
+   * Determines whether the provided row and column are on the board.
+   *
+   * @param row the row.
+   * @param col the column.
+   * @return true if the location is on the board, false otherwise.
+   */
+
+  public boolean contains(int row, int col) {
+    return row >= 0 && row < this.diameter && col >= 0
+            && col < this.rowStart[row + 1] - this.rowStart[row];
+  }
+
+  /**
+   * Get the index of the cell at the provided row and column.
+   *
+   * @param row the row of the cell.
+   * @param col the column of the cell.
+   * @return the index of the cell.
+   * @throws IllegalArgumentException if the location is not on the board.
+   */
+
+  public int indexOf(int row, int col) throws IllegalArgumentException {
+    if (!this.contains(row, col)) {
+      throw new IllegalArgumentException("The provided location is not on the board.");
+    }
+    return this.rowStart[row] + col;
+  }
+
+  /**
+   * Get the index of the provided cell.
+   *
+   * @param cell the cell.
+   * @return the index of the cell, or -1 if the cell is null or not on the board.
+   */
+
+  public int indexOf(Cell cell) {
+    if (cell == null) {
+      return -1;
+    }
+    return this.indexOfAxial(cell.getQ(), cell.getR());
+  }
+
+  /**
+   * Get the index of the cell with the provided axial coordinates.
+   *
+   * @param q the q coordinate of the cell.
+   * @param r the r coordinate of the cell.
+   * @return the index of the cell, or -1 if the coordinates are not on the board.
+   */
+
+  public int indexOfAxial(int q, int r) {
+    if (Math.abs(q) > this.radius || Math.abs(r) > this.radius
+            || Math.abs(q + r) > this.radius) {
+      return -1;
+    }
+    int row = r + this.radius;
+    return this.rowStart[row] + q - Math.max(-this.radius, -r - this.radius);
+  }
+
+  /**
+   * Get the row of the cell at the provided index.
+   *
+   * @param index the index of the cell.
+   * @return the row of the cell.
+   */
+
+  public int getRow(int index) {
+    return this.rows[index];
+  }
+
+  /**
+   * Get the column of the cell at the provided index.
+   *
+   * @param index the index of the cell.
+   * @return the column of the cell.
+   */
+
+  public int getCol(int index) {
+    return this.cols[index];
+  }
+
+  /**
+   * Get the q coordinate of the cell at the provided index.
+   *
+   * @param index the index of the cell.
+   * @return the q coordinate of the cell.
+   */
+
+  public int getQ(int index) {
+    return this.qs[index];
+  }
+
+  /**
+   * Get the r coordinate of the cell at the provided index.
+   *
+   * @param index the index of the cell.
+   * @return the r coordinate of the cell.
+   */
+
+  public int getR(int index) {
+    return this.rs[index];
+  }
+
+  /**
+   * Get the {@link Cell} at the provided index. The same instance is returned on every call.
+   *
+   * @param index the index of the cell.
+   * @return the cell at the index.
+   */
+
+  public Cell getCell(int index) {
+    return this.cells[index];
+  }
+
+  /**
+   * Get the index of the neighbor of a cell in the provided direction.
+   *
+   * @param index     the index of the cell.
+   * @param direction the ordinal of the {@link Direction} of the neighbor.
+   * @return the index of the neighbor, or -1 if the neighbor is not on the board.
+   */
+
+  public int getNeighbor(int index, int direction) {
+    return this.neighbors[index * DIRECTIONS + direction];
+  }
+
+  /**
+   * Get the indices of every cell from a cell to the edge of the board in the provided
+   * direction, nearest first. The cell itself is not included.
+   *
+   * @param index     the index of the cell.
+   * @param direction the ordinal of the {@link Direction} of the ray.
+   * @return the indices of the cells on the ray.
+   * @apiNote the returned array is shared, and <i>must not</i> be modified.
+   */
+
+  public int[] getRay(int index, int direction) {
+    return this.rays[index * DIRECTIONS + direction];
+  }
+
+  /**
+   * Finds the empty cells that can never be played, whatever moves follow. A move must flip a
+   * line of pieces that ends at a piece of the mover, so a cell can only be played once the
+   * cell two steps away from it in some direction is taken. Every empty cell starts out as a
+   * candidate, and a cell stops being one if the cell two steps away from it in some direction
+   * is taken, or is a cell that can be played, until no more cells change.
+   *
+   * @param empty whether each cell is empty, by index.
+   * @return whether each cell, by index, is an empty cell that can never be played.
+   * @throws IllegalArgumentException if the array does not have one entry per cell.
+   */
+
+  public boolean[] findUnplayable(boolean[] empty) throws IllegalArgumentException {
+    if (empty.length != this.getCellCount()) {
+      throw new IllegalArgumentException("There must be one entry per cell.");
+    }
+    boolean[] unplayable = empty.clone();
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int index = 0; index < unplayable.length; index++) {
+        if (!unplayable[index]) {
+          continue;
+        }
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+          int[] ray = this.getRay(index, dir);
+          if (ray.length >= 2 && !unplayable[ray[1]]) {
+            unplayable[index] = false;
+            changed = true;
+            break;
+          }
+        }
+      }
+    }
+    return unplayable;
+  }
+
+  /**
+   * Determines whether the cell at the provided index can hold a piece in some game that
+   * starts from the standard position, where the six neighbors of the center are taken. The
+   * other cells are empty in every game; on some board sizes these include the corners.
+   *
+   * @param index the index of the cell.
+   * @return true if some game can place a piece on the cell, false otherwise.
+   */
+
+  public boolean isPlayable(int index) {
+    return this.playable[index];
+  }
+
+  /**
+   * Get the Zobrist key of a piece of the provided color on the cell at the provided index.
+   *
+   * @param index the index of the cell.
+   * @param color the color of the piece.
+   * @return the key of the piece.
+   */
+
+  public long getPieceKey(int index, PieceColor color) {
+    return this.pieceKeys[index * COLORS + color.ordinal()];
+  }
+
+  /**
+   * Get the Zobrist key that is included in the hash of a position when black is to move.
+   *
+   * @return the side to move key.
+   */
+
+  public long getSideToMoveKey() {
+    return this.sideToMoveKey;
+  }
+
+  /**
+   * Initializes the coordinates and cells of every index.
+   */
+
+  private void initCells() {
+    int index = 0;
+    for (int r = -this.radius; r <= this.radius; r++) {
+      int row = r + this.radius;
+      int q1 = Math.max(-this.radius, -r - this.radius);
+      int q2 = Math.min(this.radius, -r + this.radius);
+      this.rowStart[row] = index;
+      for (int q = q1; q <= q2; q++) {
+        this.rows[index] = row;
+        this.cols[index] = q - q1;
+        this.qs[index] = q;
+        this.rs[index] = r;
+        this.cells[index] = new HexCell(q, r);
+        index++;
+      }
+    }
+    this.rowStart[this.diameter] = index;
+  }
+
+  /**
+   * Initializes the neighbor table of every index.
+   */
+
+  private void initNeighbors() {
+    for (int index = 0; index < this.cells.length; index++) {
+      for (int dir = 0; dir < DIRECTIONS; dir++) {
+        this.neighbors[index * DIRECTIONS + dir] =
+                this.indexOfAxial(this.qs[index] + DQ[dir], this.rs[index] + DR[dir]);
+      }
+    }
+  }
+
+  /**
+   * Finds the cells that can hold a piece in some game from the standard starting position.
+   * This must be called after the ray table is built.
+   *
+   * @return whether each cell, by index, is playable.
+   */
+
+  private boolean[] initPlayable() {
+    boolean[] empty = new boolean[this.cells.length];
+    Arrays.fill(empty, true);
+    int center = this.indexOfAxial(0, 0);
+    for (int dir = 0; dir < DIRECTIONS; dir++) {
+      int next = this.getNeighbor(center, dir);
+      if (next != -1) {
+        empty[next] = false;
+      }
+    }
+    boolean[] unplayable = this.findUnplayable(empty);
+    boolean[] result = new boolean[unplayable.length];
+    for (int index = 0; index < result.length; index++) {
+      result[index] = !unplayable[index];
+    }
+    return result;
+  }
+
+  /**
+   * Initializes the ray table of every index by following the neighbor table to the edge.
+   */
+
+  private void initRays() {
+    int[] buffer = new int[this.diameter];
+    for (int index = 0; index < this.cells.length; index++) {
+      for (int dir = 0; dir < DIRECTIONS; dir++) {
+        int length = 0;
+        int next = this.getNeighbor(index, dir);
+        while (next != -1) {
+          buffer[length++] = next;
+          next = this.getNeighbor(next, dir);
+        }
+        int[] ray = new int[length];
+        System.arraycopy(buffer, 0, ray, 0, length);
+        this.rays[index * DIRECTIONS + dir] = ray;
+      }
+    }
+  }
+}
@@ -18,6 +18,7 @@
 
 package cs3500.reversi.model;
 
+import java.awt.Point;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -25,31 +26,54 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-import cs3500.reversi.model.types.Direction;
 import cs3500.reversi.model.types.HexCell;
 import cs3500.reversi.model.types.HexCellState;
 import cs3500.reversi.model.types.PieceColor;
 import cs3500.reversi.model.types.ReversiCellPair;
 
 /**
- * Represents a game of Reversi on a hexagonal board. The board is represented as a 2D array
- * of {@link Cell}s. The board is initialized with a number of rows, which determines the size
- * of the board. The board is always a hexagon, so the number of columns is determined by the
- * number of rows.
+ * Represents a game of Reversi on a hexagonal board. The board is represented as an array
+ * of {@link HexCellState}s, one for every {@link Cell}. The board is initialized with a number
+ * of rows, which determines the size of the board. The board is always a hexagon, so the
+ * number of columns is determined by the number of rows.
  *
  * <p>Fields:
  * <ul>
  *   <li> {@code radius}: the radius of the board, which is the number of rows divided by 2.</li>
- *   <li> {@code cells}: the 2D array of cells that represents the board.</li>
- *   <li> {@code states}: a map of cells to their states.</li>
+ *   <li> {@code topology}: the shared {@link HexTopology} of the board, which indexes every
+ *   cell and caches its neighbors and rays.</li>
+ *   <li> {@code states}: the state of every cell, by its index in the topology.</li>
+ *   <li> {@code blackCount} and {@code whiteCount}: the number of cells of each color, kept
+ *   up to date on every change to {@code states}.</li>
+ *   <li> {@code legal}: whether each cell is a legal move, for each {@link PieceColor} by its
+ *   ordinal, along with the number of legal moves of each color in {@code legalCounts}.</li>
+ *   <li> {@code stale}: the cells whose entry in {@code legal} must be recomputed before it
+ *   is read. A change to a cell only makes the first empty cell along each of its six rays
+ *   stale, as that is the only empty cell whose flips can pass through the changed cell.</li>
+ *   <li> {@code openNeighbors}: the number of neighbors of each cell that are empty and
+ *   playable (see {@link HexTopology#isPlayable(int)}), and {@code frontierCounts}: the
+ *   number of pieces of each color with at least one such neighbor. Both are updated on every
+ *   change to {@code states}, which only touches the changed cell and its six neighbors.</li>
  *   <li> {@code turn}: the current turn number.</li>
  *   <li> {@code passes}: the number of consecutive passes.</li>
+ *   <li> {@code hash}: the Zobrist hash of the position, updated on every change to
+ *   {@code states} and on every change of the player to move. See {@link HexTopology}.</li>
+ *   <li> {@code history}: a stack of undo records, one per move or pass, used by
+ *   {@link #undoMove()}. Each record is the indices of the flipped cells, followed by the
+ *   number of flipped cells, the index of the placed cell (or -1 for a pass), and the turn and
+ *   pass count from before the move. Only {@code historySize} entries are in use.</li>
+ *   <li> {@code boardView}: the {@link BoardView} of {@code states}, created on first use.</li>
  * </ul>
  *
  * <p>Class Invariants:
  * <ul>
  *   <li>The number of cells with pieces placed on them is equal to the score of white plus
  *   the score of black.</li>
+ *   <li>{@code blackCount} and {@code whiteCount} are equal to the number of black and white
+ *   cells in {@code states}. This is checked after every move when assertions are enabled
+ *   (i.e. with the {@code -ea} JVM flag).</li>
+ *   <li>{@code hash} is equal to the hash computed from scratch from {@code states} and the
+ *   player to move. This is also checked after every move when assertions are enabled.</li>
  *   <li>The turn number is always greater than or equal to 1.</li>
  *   <li>The number of rows is always greater than or equal to 5, and is always odd.</li>
  *   <li>The number of empty cells is equal to the number of total cells minus the number
@@ -63,11 +87,25 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
 
   private final List<ModelFeatures> features = new ArrayList<>();
 
-  private List<List<ReversiCellPair>> cells = new ArrayList<>();
+  private final HexTopology topology;
+  private final HexCellState[] states;
   private final int radius;
   private final int diameter;
+  private int blackCount = 0;
+  private int whiteCount = 0;
+  private final boolean[][] legal;
+  private final int[] legalCounts;
+  private final boolean[] stale;
+  private final int[] staleCells;
+  private int staleCount = 0;
+  private final int[] openNeighbors;
+  private final int[] frontierCounts;
   private int turn = 1;
   private int passes = 0;
+  private long hash = 0L;
+  private int[] history = new int[64];
+  private int historySize = 0;
+  private BoardView boardView;
 
   /**
    * Create a new hexagonal Reversi game.
@@ -80,6 +118,14 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     }
     this.radius = (int) Math.ceil((double) rows / 2) - 1;
     this.diameter = rows;
+    this.topology = HexTopology.of(this.radius);
+    this.states = new HexCellState[this.topology.getCellCount()];
+    this.legal = new boolean[PieceColor.values().length][this.states.length];
+    this.legalCounts = new int[PieceColor.values().length];
+    this.stale = new boolean[this.states.length];
+    this.staleCells = new int[this.states.length];
+    this.openNeighbors = new int[this.states.length];
+    this.frontierCounts = new int[PieceColor.values().length];
     this.initCells();
     this.initStartingColors();
   }
@@ -92,9 +138,39 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
   public HexagonalReversi(ReversiModel model) {
     this.radius = model.getRadius();
     this.diameter = model.getDiameter();
-    this.cells = model.getBoardCopy();
+    this.topology = HexTopology.of(this.radius);
+    if (model instanceof HexagonalReversi) {
+      HexagonalReversi other = (HexagonalReversi) model;
+      this.states = other.states.clone();
+      this.blackCount = other.blackCount;
+      this.whiteCount = other.whiteCount;
+      this.legal = new boolean[][] {other.legal[0].clone(), other.legal[1].clone()};
+      this.legalCounts = other.legalCounts.clone();
+      this.stale = other.stale.clone();
+      this.staleCells = other.staleCells.clone();
+      this.staleCount = other.staleCount;
+      this.openNeighbors = other.openNeighbors.clone();
+      this.frontierCounts = other.frontierCounts.clone();
+    } else {
+      this.states = new HexCellState[this.topology.getCellCount()];
+      for (int index = 0; index < this.states.length; index++) {
+        this.states[index] = model.getCellState(this.topology.getRow(index),
+                this.topology.getCol(index));
+      }
+      this.blackCount = this.countStates(HexCellState.BLACK);
+      this.whiteCount = this.countStates(HexCellState.WHITE);
+      this.legal = new boolean[PieceColor.values().length][this.states.length];
+      this.legalCounts = new int[PieceColor.values().length];
+      this.stale = new boolean[this.states.length];
+      this.staleCells = new int[this.states.length];
+      this.markAllStale();
+      this.openNeighbors = new int[this.states.length];
+      this.frontierCounts = new int[PieceColor.values().length];
+      this.countFrontier();
+    }
     this.turn = model.getTurn();
     this.passes = model.getPasses();
+    this.hash = this.computeHash();
   }
 
   /**
@@ -126,6 +202,29 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
   @Override
   public void playMove(int row, int col, PieceColor pieceColor)
           throws IllegalArgumentException, IllegalStateException {
+    this.makeMove(row, col, pieceColor);
+    this.notifyTurn();
+  }
+
+  @Override
+  public void applyMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    this.makeMove(row, col, pieceColor);
+  }
+
+  /**
+   * Checks and plays a move, recording it so that it can be taken back. This does not notify
+   * any listeners.
+   *
+   * @param row        the row where the player wants to place their piece.
+   * @param col        the column where the player wants to place their piece.
+   * @param pieceColor the player placing the piece.
+   * @throws IllegalArgumentException if the row or column is out of bounds.
+   * @throws IllegalStateException if the move is not allowed, or it is not the player's turn.
+   */
+
+  private void makeMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
     if (!this.getPlayerColor().equals(pieceColor)) {
       throw new IllegalStateException("It is not " + pieceColor + "'s turn.");
     } else if (!this.isValidMove(row, col, pieceColor)) {
@@ -134,25 +233,78 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     } else if (this.isGameOver()) {
       throw new IllegalStateException("The game is over.");
     }
-    for (Cell cell : this.getCellsThatWillBeFlipped(this.getCellAt(row, col), pieceColor)) {
-      this.setState(cell, pieceColor);
+    int index = this.topology.indexOf(row, col);
+    HexCellState own = this.toState(pieceColor);
+    int flips = 0;
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      int[] ray = this.topology.getRay(index, dir);
+      int length = this.flipLength(ray, own);
+      for (int i = 0; i < length; i++) {
+        this.setState(ray[i], own);
+        this.record(ray[i]);
+      }
+      flips += length;
     }
-    this.setState(this.getCellAt(row, col), pieceColor);
+    this.setState(index, own);
+    this.recordHeader(flips, index);
     this.turn++;
     this.passes = 0;
-    this.notifyTurn();
+    this.hash ^= this.topology.getSideToMoveKey();
+    assert this.scoresMatchBoard() : "Score counters are out of sync with the board.";
+    assert this.hash == this.computeHash() : "Position hash is out of sync with the board.";
   }
 
   @Override
   public void pass(PieceColor pieceColor) throws IllegalStateException {
+    this.makePass(pieceColor);
+    this.notifyTurn();
+  }
+
+  @Override
+  public void applyPass(PieceColor pieceColor) throws IllegalStateException {
+    this.makePass(pieceColor);
+  }
+
+  /**
+   * Checks and makes a pass, recording it so that it can be taken back. This does not notify
+   * any listeners.
+   *
+   * @param pieceColor the player who is passing.
+   * @throws IllegalStateException if it is not the player's turn, or if the game is over.
+   */
+
+  private void makePass(PieceColor pieceColor) throws IllegalStateException {
     if (this.isGameOver()) {
       throw new IllegalStateException("The game is over.");
     } else if (!this.getPlayerColor().equals(pieceColor)) {
       throw new IllegalStateException("It is not " + pieceColor + "'s turn.");
     }
+    this.recordHeader(0, -1);
     this.passes++;
     this.turn++;
-    this.notifyTurn();
+    this.hash ^= this.topology.getSideToMoveKey();
+  }
+
+  @Override
+  public void undoMove() throws IllegalStateException {
+    if (this.historySize == 0) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+    this.passes = this.history[--this.historySize];
+    this.turn = this.history[--this.historySize];
+    int index = this.history[--this.historySize];
+    int flips = this.history[--this.historySize];
+    if (index >= 0) {
+      HexCellState opp = this.states[index] == HexCellState.BLACK
+              ? HexCellState.WHITE : HexCellState.BLACK;
+      for (int i = 0; i < flips; i++) {
+        this.setState(this.history[--this.historySize], opp);
+      }
+      this.setState(index, HexCellState.EMPTY);
+    }
+    this.hash ^= this.topology.getSideToMoveKey();
+    assert this.scoresMatchBoard() : "Score counters are out of sync with the board.";
+    assert this.hash == this.computeHash() : "Position hash is out of sync with the board.";
   }
 
   @Override
@@ -160,28 +312,41 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     if (this.passes == 2) {
       return true;
     }
-    for (int row = 0; row < cells.size(); row++) {
-      for (int col = 0; col < cells.get(row).size(); col++) {
-        if (this.isValidMove(row, col, PieceColor.BLACK)
-                || this.isValidMove(row, col, PieceColor.WHITE)) {
-          return false;
-        }
-      }
-    }
-    return true;
+    this.refreshLegalMoves();
+    return this.legalCounts[PieceColor.BLACK.ordinal()] == 0
+            && this.legalCounts[PieceColor.WHITE.ordinal()] == 0;
   }
 
   @Override
   public boolean isValidMove(int row, int col, PieceColor pieceColor)
           throws IllegalArgumentException {
-    if (row < 0 || row >= this.cells.size() || col < 0 || col >= this.cells.get(row).size()) {
-      throw new IllegalArgumentException("The provided location is not on the board.");
-    }
-    Cell cell = this.getCellAt(row, col);
-    if (!this.getStateOf(cell).equals("_")) {
-      return false;
+    int index = this.topology.indexOf(row, col);
+    this.refreshLegalMoves();
+    return this.legal[pieceColor.ordinal()][index];
+  }
+
+  @Override
+  public List<Point> getLegalMoves(PieceColor pieceColor) {
+    this.refreshLegalMoves();
+    boolean[] moves = this.legal[pieceColor.ordinal()];
+    List<Point> result = new ArrayList<>(this.legalCounts[pieceColor.ordinal()]);
+    for (int index = 0; index < moves.length; index++) {
+      if (moves[index]) {
+        result.add(new Point(this.topology.getRow(index), this.topology.getCol(index)));
+      }
     }
-    return !this.getCellsThatWillBeFlipped(cell, pieceColor).isEmpty();
+    return Collections.unmodifiableList(result);
+  }
+
+  @Override
+  public int getMobility(PieceColor pieceColor) {
+    this.refreshLegalMoves();
+    return this.legalCounts[pieceColor.ordinal()];
+  }
+
+  @Override
+  public int getFrontier(PieceColor pieceColor) {
+    return this.frontierCounts[pieceColor.ordinal()];
   }
 
   @Override
@@ -199,65 +364,69 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
     return this.diameter;
   }
 
+  @Override
+  public long getPositionHash() {
+    return this.hash;
+  }
+
   @Override
   public int getScore(PieceColor color) {
-    int score = 0;
-    for (int row = 0; row < cells.size(); row++) {
-      for (int col = 0; col < cells.get(row).size(); col++) {
-        String state = this.getStateOf(this.getCellAt(row, col));
-        if (state.equals(color.toString())) {
-          score++;
-        }
-      }
-    }
-    return score;
+    return color == PieceColor.BLACK ? this.blackCount : this.whiteCount;
   }
 
   @Override
   public List<List<ReversiCellPair>> getBoardCopy() {
     List<List<ReversiCellPair>> copy = new ArrayList<>();
-    for (List<ReversiCellPair> cell : this.cells) {
-      copy.add(new ArrayList<>(cell));
+    for (int index = 0; index < this.states.length; index++) {
+      if (this.topology.getCol(index) == 0) {
+        copy.add(new ArrayList<>());
+      }
+      copy.get(copy.size() - 1).add(
+              new ReversiCellPair(this.topology.getCell(index), this.states[index]));
     }
     return Collections.unmodifiableList(copy);
   }
 
+  @Override
+  public BoardView getBoardView() {
+    if (this.boardView == null) {
+      this.boardView = new TopologyBoardView(this.topology, index -> this.states[index]);
+    }
+    return this.boardView;
+  }
+
   @Override
   public String getStateOf(Cell cell) throws IllegalArgumentException {
-    for (List<ReversiCellPair> row : this.cells) {
-      for (ReversiCellPair pair : row) {
-        if (pair.getCell().equals(cell)) {
-          return pair.getState();
-        }
-      }
+    int index = this.topology.indexOf(cell);
+    if (index == -1) {
+      throw new IllegalArgumentException("The provided cell is not on the board.");
     }
-    throw new IllegalArgumentException("The provided cell is not on the board.");
+    return this.states[index].toString();
   }
 
   @Override
   public String getStateOf(int row, int col) throws IllegalArgumentException {
-    if (row < 0 || row >= this.cells.size() || col < 0 || col >= this.cells.get(row).size()) {
-      throw new IllegalArgumentException("The provided location is not on the board.");
-    }
-    return this.cells.get(row).get(col).getState();
+    return this.getCellState(row, col).toString();
+  }
+
+  @Override
+  public HexCellState getCellState(int row, int col) throws IllegalArgumentException {
+    return this.states[this.topology.indexOf(row, col)];
   }
 
   @Override
   public List<Cell> getCellsThatWillBeFlipped(Cell cell, PieceColor pieceColor) {
+    int index = this.topology.indexOf(cell);
+    if (index == -1) {
+      throw new IllegalArgumentException("The provided cell is not on the board.");
+    }
     List<Cell> flipped = new ArrayList<>();
-    for (int dir = 0; dir < 6; dir++) {
-      Direction[] directions = Direction.values();
-      List<Cell> cells = this.getCellsInDirection(cell, directions[dir]);
-      for (int j = 0; j < cells.size(); j++) {
-        String state = getStateOf(cells.get(j));
-        if (state.equals("_")) {
-          break;
-        } else if (state.equals(pieceColor.toString()) && j == 0) {
-          break;
-        } else if (state.equals(pieceColor.toString())) {
-          flipped.addAll(cells.subList(0, j));
-          break;
-        }
+    HexCellState own = this.toState(pieceColor);
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      int[] ray = this.topology.getRay(index, dir);
+      int length = this.flipLength(ray, own);
+      for (int i = 0; i < length; i++) {
+        flipped.add(this.topology.getCell(ray[i]));
       }
     }
     return flipped;
@@ -295,36 +464,186 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
   }
 
   /**
-   * Returns the cell at the provided row and column.
+   * Counts the cells that would be flipped along the provided ray. The ray is walked until
+   * it reaches a cell that is not of the opposite color; the cells are only flipped if that
+   * cell is of the provided color.
+   *
+   * @param ray the indices of the cells on the ray, nearest first.
+   * @param own the state of the player placing the piece.
+   * @return the number of cells that would be flipped along the ray.
+   */
+
+  private int flipLength(int[] ray, HexCellState own) {
+    for (int i = 0; i < ray.length; i++) {
+      HexCellState state = this.states[ray[i]];
+      if (state == HexCellState.EMPTY) {
+        return 0;
+      } else if (state == own) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Determines whether placing a piece of the provided color at the provided index is a legal
+   * move, by walking all six of its rays.
    *
-   * @param row the row of the cell to get.
-   * @param col the column of the cell to get.
-   * @return the cell at the provided row and column.
-   * @throws IllegalArgumentException if the provided row or column is out of bounds.
+   * @param index the index of the cell.
+   * @param own   the state of the player placing the piece.
+   * @return true if the move is legal, false otherwise.
+   */
+
+  private boolean computeLegal(int index, HexCellState own) {
+    if (this.states[index] != HexCellState.EMPTY) {
+      return false;
+    }
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      if (this.flipLength(this.topology.getRay(index, dir), own) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Recomputes the legality of every stale cell for both colors, and updates the number of
+   * legal moves of each color to match.
    */
 
-  private Cell getCellAt(int row, int col) throws IllegalArgumentException {
-    if (row < 0 || row >= this.cells.size() || col < 0 || col >= this.cells.get(row).size()) {
-      throw new IllegalArgumentException("The provided location is not on the board.");
+  private void refreshLegalMoves() {
+    for (int i = 0; i < this.staleCount; i++) {
+      int index = this.staleCells[i];
+      this.stale[index] = false;
+      for (PieceColor color : PieceColor.values()) {
+        boolean isLegal = this.computeLegal(index, this.toState(color));
+        if (isLegal != this.legal[color.ordinal()][index]) {
+          this.legal[color.ordinal()][index] = isLegal;
+          this.legalCounts[color.ordinal()] += isLegal ? 1 : -1;
+        }
+      }
     }
-    return this.cells.get(row).get(col).getCell();
+    this.staleCount = 0;
   }
 
   /**
-   * Initializes the cells of the game board. This fills the internal list of
-   * cells with {@link HexCell}s.
+   * Marks the cell at the provided index as stale, if it is not already.
+   *
+   * @param index the index of the cell.
+   */
+
+  private void markStale(int index) {
+    if (!this.stale[index]) {
+      this.stale[index] = true;
+      this.staleCells[this.staleCount++] = index;
+    }
+  }
+
+  /**
+   * Marks every cell whose legality may depend on the cell at the provided index as stale.
+   * These are the cell itself, and the first empty cell along each of its rays.
+   *
+   * @param index the index of the cell that changed.
+   */
+
+  private void markRaysStale(int index) {
+    this.markStale(index);
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      for (int next : this.topology.getRay(index, dir)) {
+        if (this.states[next] == HexCellState.EMPTY) {
+          this.markStale(next);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Marks every cell on the board as stale.
+   */
+
+  private void markAllStale() {
+    for (int index = 0; index < this.states.length; index++) {
+      this.markStale(index);
+    }
+  }
+
+  /**
+   * Initializes the cells of the game board. This marks every {@link HexCell} as empty, and
+   * as stale so that its legality is computed when it is first needed.
    */
 
   private void initCells() {
-    for (int r = -radius; r <= radius; r++) {
-      int q1 = Math.max(-radius, -r - radius);
-      int q2 = Math.min(radius, -r + radius);
-      List<ReversiCellPair> row = new ArrayList<>();
-      for (int q = q1; q <= q2; q++) {
-        ReversiCellPair cell = new ReversiCellPair(new HexCell(q, r), HexCellState.EMPTY);
-        row.add(cell);
+    for (int index = 0; index < this.states.length; index++) {
+      this.states[index] = HexCellState.EMPTY;
+    }
+    this.markAllStale();
+    this.countFrontier();
+  }
+
+  /**
+   * Computes {@code openNeighbors} and {@code frontierCounts} from scratch, by walking the
+   * whole board.
+   */
+
+  private void countFrontier() {
+    Arrays.fill(this.frontierCounts, 0);
+    for (int index = 0; index < this.states.length; index++) {
+      this.openNeighbors[index] = 0;
+      for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+        int next = this.topology.getNeighbor(index, dir);
+        if (next != -1 && this.isOpen(next)) {
+          this.openNeighbors[index]++;
+        }
+      }
+      this.adjustFrontier(index, this.states[index], 1);
+    }
+  }
+
+  /**
+   * Determines whether the cell at the provided index is empty and can still be played.
+   *
+   * @param index the index of the cell.
+   * @return true if the cell is empty and playable, false otherwise.
+   */
+
+  private boolean isOpen(int index) {
+    return this.states[index] == HexCellState.EMPTY && this.topology.isPlayable(index);
+  }
+
+  /**
+   * Adjusts the frontier count of the provided state by the provided amount, if the cell at
+   * the provided index is next to an open cell. Empty cells have no count, so they are ignored.
+   *
+   * @param index  the index of the cell.
+   * @param state  the state whose count to adjust.
+   * @param amount the amount to adjust the count by.
+   */
+
+  private void adjustFrontier(int index, HexCellState state, int amount) {
+    if (state != HexCellState.EMPTY && this.openNeighbors[index] > 0) {
+      this.frontierCounts[this.toColor(state).ordinal()] += amount;
+    }
+  }
+
+  /**
+   * Updates the open neighbor counts around a playable cell that was just filled or emptied,
+   * moving any neighbor that gains its first or loses its last open neighbor on or off the
+   * frontier.
+   *
+   * @param index  the index of the cell that changed.
+   * @param amount 1 if the cell was emptied, or -1 if it was filled.
+   */
+
+  private void adjustOpenNeighbors(int index, int amount) {
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      int next = this.topology.getNeighbor(index, dir);
+      if (next == -1) {
+        continue;
       }
-      this.cells.add(row);
+      this.adjustFrontier(next, this.states[next], -1);
+      this.openNeighbors[next] += amount;
+      this.adjustFrontier(next, this.states[next], 1);
     }
   }
 
@@ -336,102 +655,177 @@ public class HexagonalReversi implements ReversiModel, ModelFeatures {
 
   private void initStartingColors() {
     int r = this.radius;
-    this.setState(this.getCellAt(r, r - 1), PieceColor.WHITE);
-    this.setState(this.getCellAt(r + 1, r - 1), PieceColor.BLACK);
-    this.setState(this.getCellAt(r + 1, r), PieceColor.WHITE);
-    this.setState(this.getCellAt(r, r + 1), PieceColor.BLACK);
-    this.setState(this.getCellAt(r - 1, r), PieceColor.WHITE);
-    this.setState(this.getCellAt(r - 1, r - 1), PieceColor.BLACK);
+    this.setState(this.topology.indexOf(r, r - 1), PieceColor.WHITE);
+    this.setState(this.topology.indexOf(r + 1, r - 1), PieceColor.BLACK);
+    this.setState(this.topology.indexOf(r + 1, r), PieceColor.WHITE);
+    this.setState(this.topology.indexOf(r, r + 1), PieceColor.BLACK);
+    this.setState(this.topology.indexOf(r - 1, r), PieceColor.WHITE);
+    this.setState(this.topology.indexOf(r - 1, r - 1), PieceColor.BLACK);
   }
 
   /**
-   * Sets the state of the provided cell to the provided color.
+   * Sets the state of the cell at the provided index to the provided color.
    *
-   * @param cell  the cell to set the state of.
+   * @param index the index of the cell to set the state of.
    * @param color the color to set the state of the cell to.
    */
 
-  private void setState(Cell cell, PieceColor color) {
-    for (List<ReversiCellPair> row : this.cells) {
-      for (int i = 0; i < row.size(); i++) {
-        if (row.get(i).getCell().equals(cell)) {
-          row.set(i, new ReversiCellPair(cell, color));
-        }
-      }
-    }
+  private void setState(int index, PieceColor color) {
+    this.setState(index, this.toState(color));
   }
 
   /**
-   * Returns the next cell in the provided direction. If the next cell is not on the board, null is
-   * returned.
+   * Sets the state of the cell at the provided index, keeping the score and frontier counters
+   * and the legal move cache up to date.
    *
-   * @param cell      the cell to get the next cell of.
-   * @param direction the direction to get the next cell in.
-   * @return the next cell in the provided direction, or null if the next cell is not on the board.
-   * @throws IllegalArgumentException if the provided cell is null
+   * @param index the index of the cell to set the state of.
+   * @param state the state to set the cell to.
    */
 
-  private Cell getNext(Cell cell, Direction direction) throws IllegalArgumentException {
-    if (cell == null) {
-      throw new IllegalArgumentException("Cell cannot be null.");
-    }
-    Cell next = this.getDirections(cell).get(direction.ordinal());
-    for (List<ReversiCellPair> row : this.cells) {
-      for (ReversiCellPair pair : row) {
-        if (pair.getCell().equals(next)) {
-          return next;
-        }
-      }
+  private void setState(int index, HexCellState state) {
+    boolean wasOpen = this.isOpen(index);
+    this.adjustCount(this.states[index], -1);
+    this.adjustFrontier(index, this.states[index], -1);
+    this.hash ^= this.pieceKey(index, this.states[index]);
+    this.states[index] = state;
+    this.adjustCount(this.states[index], 1);
+    this.adjustFrontier(index, this.states[index], 1);
+    this.hash ^= this.pieceKey(index, this.states[index]);
+    if (wasOpen != this.isOpen(index)) {
+      this.adjustOpenNeighbors(index, wasOpen ? -1 : 1);
     }
-    return null;
+    this.markRaysStale(index);
   }
 
   /**
-   * Fetch all the cells in the {@link Direction} of the provided {@link Cell}.
+   * Gets the Zobrist key of the provided state on the cell at the provided index. Empty cells
+   * do not contribute to the hash, so their key is 0.
    *
-   * @param cell      the cell for which the traversal begins.
-   * @param direction the direction to retrieve cells.
-   * @return a list of cells in the specified {@link Direction} of the provided {@link Cell}.
-   * @throws IllegalArgumentException if the provided cell is not on the board, the
-   *                                  direction is null, or the provided cell is null.
+   * @param index the index of the cell.
+   * @param state the state of the cell.
+   * @return the key of the state on the cell.
    */
 
-  private List<Cell> getCellsInDirection(Cell cell, Direction direction)
-          throws IllegalArgumentException {
-    if (cell == null) {
-      throw new IllegalArgumentException("Cell cannot be null.");
+  private long pieceKey(int index, HexCellState state) {
+    switch (state) {
+      case BLACK:
+        return this.topology.getPieceKey(index, PieceColor.BLACK);
+      case WHITE:
+        return this.topology.getPieceKey(index, PieceColor.WHITE);
+      default:
+        return 0L;
     }
-    if (direction == null) {
-      throw new IllegalArgumentException("Direction cannot be null.");
+  }
+
+  /**
+   * Computes the Zobrist hash of the position from scratch, by walking the whole board.
+   *
+   * @return the hash of the position.
+   */
+
+  private long computeHash() {
+    long result = 0L;
+    for (int index = 0; index < this.states.length; index++) {
+      result ^= this.pieceKey(index, this.states[index]);
     }
-    List<Cell> result = new ArrayList<>();
-    Cell next = this.getNext(cell, direction);
-    while (next != null) {
-      result.add(next);
-      next = this.getNext(next, direction);
+    if (this.getPlayerColor() == PieceColor.BLACK) {
+      result ^= this.topology.getSideToMoveKey();
     }
     return result;
   }
 
   /**
-   * Returns a list of the neighbors of the provided cell.
+   * Pushes one value onto the undo history, growing it if it is full.
+   *
+   * @param value the value to push.
+   */
+
+  private void record(int value) {
+    if (this.historySize == this.history.length) {
+      this.history = Arrays.copyOf(this.history, this.history.length * 2);
+    }
+    this.history[this.historySize++] = value;
+  }
+
+  /**
+   * Finishes the undo record of a move or pass, after the indices of its flipped cells have
+   * been pushed. This must be called before the turn and pass count are updated.
+   *
+   * @param flips the number of cells flipped by the move.
+   * @param index the index of the placed cell, or -1 for a pass.
+   */
+
+  private void recordHeader(int flips, int index) {
+    this.record(flips);
+    this.record(index);
+    this.record(this.turn);
+    this.record(this.passes);
+  }
+
+  /**
+   * Adjusts the score counter of the provided state by the provided amount. Empty cells
+   * have no counter, so they are ignored.
+   *
+   * @param state  the state whose counter to adjust.
+   * @param amount the amount to adjust the counter by.
+   */
+
+  private void adjustCount(HexCellState state, int amount) {
+    if (state == HexCellState.BLACK) {
+      this.blackCount += amount;
+    } else if (state == HexCellState.WHITE) {
+      this.whiteCount += amount;
+    }
+  }
+
+  /**
+   * Counts the cells on the board with the provided state by walking the whole board.
    *
-   * @param cell the cell to get the neighbors of.
-   * @return the cells that neighbor the provided one.
-   * @throws IllegalArgumentException if the provided cell is null.
+   * @param target the state to count.
+   * @return the number of cells with the state.
    */
 
-  private List<Cell> getDirections(Cell cell) throws IllegalArgumentException {
-    if (cell == null) {
-      throw new IllegalArgumentException("Cell cannot be null.");
+  private int countStates(HexCellState target) {
+    int count = 0;
+    for (HexCellState state : this.states) {
+      if (state == target) {
+        count++;
+      }
     }
-    return new ArrayList<>(Arrays.asList(
-            new HexCell(cell.getQ() + 1, cell.getR()), // East
-            new HexCell(cell.getQ() + 1, cell.getR() - 1), // Northeast
-            new HexCell(cell.getQ(), cell.getR() - 1), // Northwest
-            new HexCell(cell.getQ() - 1, cell.getR()), // West
-            new HexCell(cell.getQ() - 1, cell.getR() + 1), // Southwest
-            new HexCell(cell.getQ(), cell.getR() + 1) // Southeast
-    ));
+    return count;
+  }
+
+  /**
+   * Recounts both colors and compares them with the score counters. This is only used in
+   * assertions, as a debug check of the incremental scores.
+   *
+   * @return true if both counters match the board, false otherwise.
+   */
+
+  private boolean scoresMatchBoard() {
+    return this.blackCount == this.countStates(HexCellState.BLACK)
+            && this.whiteCount == this.countStates(HexCellState.WHITE);
+  }
+
+  /**
+   * Converts the provided {@link PieceColor} to its {@link HexCellState}.
+   *
+   * @param color the color to convert.
+   * @return the state of a cell holding a piece of the color.
+   */
+
+  private HexCellState toState(PieceColor color) {
+    return color == PieceColor.BLACK ? HexCellState.BLACK : HexCellState.WHITE;
+  }
+
+  /**
+   * Converts the provided non-empty {@link HexCellState} to its {@link PieceColor}.
+   *
+   * @param state the state of a cell holding a piece.
+   * @return the color of the piece.
+   */
+
+  private PieceColor toColor(HexCellState state) {
+    return state == HexCellState.BLACK ? PieceColor.BLACK : PieceColor.WHITE;
   }
-}
\ No newline at end of file
+}
@@ -18,6 +18,7 @@
 
 package cs3500.reversi.model;
 
+import java.awt.Point;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,6 +61,18 @@ public interface ReadonlyReversiModel {
 
   boolean isValidMove(int row, int col, PieceColor pieceColor) throws IllegalArgumentException;
 
+  /**
+   * Get every legal move for the provided {@link PieceColor}, i.e. every cell for which
+   * {@link #isValidMove(int, int, PieceColor)} would return true. The moves are returned in
+   * row-major order, as <code>(row, col)</code> points where {@code x} is the row and
+   * {@code y} is the column.
+   *
+   * @param pieceColor the player to get the legal moves of.
+   * @return the legal moves of the provided player; the list cannot be modified.
+   */
+
+  List<Point> getLegalMoves(PieceColor pieceColor);
+
   /**
    * Get the current turn in the game. Turns are 1-indexed, i.e. the first
    * turn is turn 1. The second turn will be black, and so on. If a player
@@ -105,6 +118,42 @@ public interface ReadonlyReversiModel {
 
   int getScore(PieceColor pieceColor);
 
+  /**
+   * Get the number of legal moves the provided {@link PieceColor} has in the current position,
+   * whether or not it is their turn. This is the size of {@link #getLegalMoves(PieceColor)},
+   * but is kept up to date as moves are made, so it can be read without building the list.
+   *
+   * @param pieceColor the player to count the legal moves of.
+   * @return the number of legal moves of the player.
+   */
+
+  int getMobility(PieceColor pieceColor);
+
+  /**
+   * Get the number of frontier pieces of the provided {@link PieceColor}: their pieces that
+   * are next to at least one empty cell. Empty cells that can never be played in any game
+   * (see {@link HexTopology#isPlayable(int)}) are not counted, as on some boards every piece
+   * is next to one. The count is kept up to date as moves are made.
+   *
+   * @param pieceColor the player to count the frontier pieces of.
+   * @return the number of frontier pieces of the player.
+   */
+
+  int getFrontier(PieceColor pieceColor);
+
+  /**
+   * Get the 64-bit Zobrist hash of the current position. The hash covers every piece on the
+   * board and which player is to move, but not the turn number or the number of passes, so
+   * two positions reached by different move orders have the same hash. Different positions
+   * collide only with negligible probability, so the hash is suitable as a key for
+   * transposition tables and for detecting repeated positions.
+   *
+   * @return the hash of the current position.
+   * @see HexTopology
+   */
+
+  long getPositionHash();
+
   /**
    * Get all the cells in the game board.
    * The game board is stored as a 2D list of cells, with the origin <code>(0, 0)</code>
@@ -120,13 +169,25 @@ public interface ReadonlyReversiModel {
 
   List<List<ReversiCellPair>> getBoardCopy();
 
+  /**
+   * Get a read-only view of the game board. The view reads the live state of this model,
+   * so it costs nothing to get and always reflects the latest move, unlike
+   * {@link #getBoardCopy()}, which copies every cell.
+   *
+   * @return a view of the game board.
+   * @see BoardView
+   */
+
+  BoardView getBoardView();
+
   /**
    * Get the {@link HexCellState} of the provided cell.
    * This is used in our view to determine which piece is at a given cell.
    *
    * @param cell the cell to get the state of.
-   * @return the {@link HexCellState} of the provided cell, rendered as a string
-   *                                  to avoid exposing classes to the interface.
+   * @return the {@link HexCellState} of the provided cell, rendered as a string.
+   *         This is kept for compatibility; {@link #getCellState(int, int)} avoids
+   *         comparing strings.
    * @throws IllegalArgumentException if the cell is non-existent on the board.
    *
    * @see HexCellState
@@ -142,7 +203,8 @@ public interface ReadonlyReversiModel {
    * @param row the row of the cell to get the state of.
    * @param col the column of the cell to get the state of.
    * @return the {@link HexCellState} of the cell at the provided row and
-   *         column, rendered as a string to avoid exposing classes to the interface.
+   *         column, rendered as a string. This is kept for compatibility;
+   *         {@link #getCellState(int, int)} avoids comparing strings.
    * @throws IllegalArgumentException if the cell is non-existent on the board,
    *                                  or the row or column is out of bounds.
    *
@@ -152,6 +214,20 @@ public interface ReadonlyReversiModel {
 
   String getStateOf(int row, int col) throws IllegalArgumentException;
 
+  /**
+   * Get the {@link HexCellState} of the cell at the provided row and column. Code that
+   * branches on the state of a cell should use this rather than comparing the strings
+   * returned by {@link #getStateOf(int, int)}.
+   *
+   * @param row the row of the cell to get the state of.
+   * @param col the column of the cell to get the state of.
+   * @return the {@link HexCellState} of the cell at the provided row and column.
+   * @throws IllegalArgumentException if the cell is non-existent on the board,
+   *                                  or the row or column is out of bounds.
+   */
+
+  HexCellState getCellState(int row, int col) throws IllegalArgumentException;
+
   /**
    * Returns a list of cells that would be flipped to the current player's color if the provided
    * player were to move at the provided cell. If the returned list is empty, the provided cell is
@@ -60,6 +60,46 @@ public interface ReversiModel extends ReadonlyReversiModel {
 
   void pass(PieceColor pieceColor) throws IllegalStateException;
 
+  /**
+   * Applies a move in place without notifying any {@link ModelFeatures}, so that it can later
+   * be taken back with {@link #undoMove()}. The move is checked exactly as in
+   * {@link #playMove(int, int, PieceColor)}. This lets a strategy explore a move on a single
+   * model, rather than on a fresh copy of the model for every candidate.
+   *
+   * @param row        the row where the player wants to place their piece.
+   * @param col        the column where the player wants to place their piece.
+   * @param pieceColor the player placing the piece.
+   * @throws IllegalArgumentException if the row or column is out of bounds.
+   * @throws IllegalStateException if the move is not allowed, if the cell at the given
+   *                               coordinates is occupied, or it is not the provided
+   *                               player's turn.
+   */
+
+  void applyMove(int row, int col, PieceColor pieceColor) throws IllegalArgumentException,
+          IllegalStateException;
+
+  /**
+   * Applies a pass in place without notifying any {@link ModelFeatures}, so that it can later
+   * be taken back with {@link #undoMove()}. The pass is checked exactly as in
+   * {@link #pass(PieceColor)}.
+   *
+   * @param pieceColor the player who is passing.
+   * @throws IllegalStateException if it is not the provided player's turn, or if the game is over.
+   */
+
+  void applyPass(PieceColor pieceColor) throws IllegalStateException;
+
+  /**
+   * Takes back the most recent move or pass made on this model, restoring the board, the turn
+   * and the pass count to what they were before it. Moves and passes made through
+   * {@link #playMove(int, int, PieceColor)} and {@link #pass(PieceColor)} can be taken back as
+   * well. A copy of a model starts without any moves to take back.
+   *
+   * @throws IllegalStateException if there is no move to take back.
+   */
+
+  void undoMove() throws IllegalStateException;
+
   /**
    * Adds a {@link ModelFeatures} to this model. This allows the model to notify the
    * features when the game state changes.
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.model;
+
+import java.util.function.IntFunction;
+
+import cs3500.reversi.model.types.HexCellState;
+
+/**
+ * A {@link BoardView} over a model whose cells are numbered by a {@link HexTopology}. The
+ * state of each cell is read through a function of its index, which reads the model's own
+ * arrays, so the view is never out of date and allocates nothing.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>topology: the layout of the board</li>
+ *   <li>states: gets the current state of the cell at an index</li>
+ * </ul>
+ */
+
+final class TopologyBoardView implements BoardView {
+
+  private final HexTopology topology;
+  private final IntFunction<HexCellState> states;
+
+  /**
+   * Constructs a view of a board.
+   *
+   * @param topology the layout of the board.
+   * @param states gets the current state of the cell at an index.
+   */
+
+  TopologyBoardView(HexTopology topology, IntFunction<HexCellState> states) {
+    this.topology = topology;
+    this.states = states;
+  }
+
+  @Override
+  public int getRowCount() {
+    return this.topology.getRowCount();
+  }
+
+  @Override
+  public int getRowSize(int row) throws IllegalArgumentException {
+    return this.topology.getRowSize(row);
+  }
+
+  @Override
+  public Cell getCell(int row, int col) throws IllegalArgumentException {
+    return this.topology.getCell(this.topology.indexOf(row, col));
+  }
+
+  @Override
+  public HexCellState getCellState(int row, int col) throws IllegalArgumentException {
+    return this.states.apply(this.topology.indexOf(row, col));
+  }
+
+  @Override
+  public String getStateOf(int row, int col) throws IllegalArgumentException {
+    return this.getCellState(row, col).toString();
+  }
+}
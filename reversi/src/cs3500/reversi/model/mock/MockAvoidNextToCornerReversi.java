@@ -89,6 +89,14 @@ public final class MockAvoidNextToCornerReversi extends HexagonalReversi impleme
     super.playMove(row, col, pieceColor);
   }
 
+  @Override
+  public void applyMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    String base = String.format("Checked move at (%d, %d) for %s.", row, col, pieceColor);
+    this.log.append(base);
+    super.applyMove(row, col, pieceColor);
+  }
+
   @Override
   public ReversiModel getModelCopy() {
     return new MockAvoidNextToCornerReversi(this.log, this.rows);
@@ -58,6 +58,14 @@ public final class MockGetCornerReversi extends HexagonalReversi implements Reve
     super.playMove(row, col, pieceColor);
   }
 
+  @Override
+  public void applyMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    String base = String.format("Checked move at (%d, %d) for %s.", row, col, pieceColor);
+    this.log.append(base);
+    super.applyMove(row, col, pieceColor);
+  }
+
   @Override
   public boolean isValidMove(int row, int col, PieceColor pieceColor) {
     String msg = "Checked if move at (%d, %d) for %s is valid.%n";
@@ -24,7 +24,8 @@ import cs3500.reversi.model.types.PieceColor;
 
 /**
  * A mock implementation of {@link HexagonalReversi} that logs all calls to {@link
- * HexagonalReversi#playMove(int, int, PieceColor)}.
+ * HexagonalReversi#playMove(int, int, PieceColor)} and {@link
+ * HexagonalReversi#applyMove(int, int, PieceColor)}, without making the moves.
  */
 
 public final class MockHexagonalReversi extends HexagonalReversi implements ReversiModel {
@@ -72,11 +73,28 @@ public final class MockHexagonalReversi extends HexagonalReversi implements Reve
     this.log.append(base);
   }
 
+  @Override
+  public void applyMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    String base = String.format("Checked (%d, %d) for %s.%n", row, col, pieceColor);
+    this.log.append(base);
+  }
+
   @Override
   public void pass(PieceColor color) throws IllegalStateException {
     this.log.append(String.format("Passed for %s.%n", color));
   }
 
+  @Override
+  public void applyPass(PieceColor color) throws IllegalStateException {
+    this.log.append(String.format("Passed for %s.%n", color));
+  }
+
+  @Override
+  public void undoMove() {
+    // Do nothing here, as moves made on this mock are only logged.
+  }
+
   @Override
   public ReversiModel getModelCopy() {
     return new MockHexagonalReversi(log, rows, this);
@@ -75,6 +75,14 @@ public final class MockMultiValidMoveReversi extends HexagonalReversi implements
     super.playMove(row, col, pieceColor);
   }
 
+  @Override
+  public void applyMove(int row, int col, PieceColor pieceColor)
+          throws IllegalArgumentException, IllegalStateException {
+    String base = String.format("Played move at (%d, %d) for %s.", row, col, pieceColor);
+    this.log.append(base);
+    super.applyMove(row, col, pieceColor);
+  }
+
   @Override
   public boolean isValidMove(int row, int col, PieceColor pieceColor) {
     return row == 1 && col == 2 || row == 1 && col == 3;
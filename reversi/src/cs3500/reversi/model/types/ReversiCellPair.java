@@ -77,4 +77,14 @@ public final class ReversiCellPair {
   public String getState() {
     return this.state.toString();
   }
+
+  /**
+   * Get the {@link HexCellState} this {@link Cell} is mapped to.
+   *
+   * @return the state this {@link Cell} is mapped to.
+   */
+
+  public HexCellState getCellState() {
+    return this.state;
+  }
 }
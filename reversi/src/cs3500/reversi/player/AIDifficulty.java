@@ -18,12 +18,46 @@
 
 package cs3500.reversi.player;
 
+import cs3500.reversi.strategy.AlphaBetaSearch;
+import cs3500.reversi.strategy.MonteCarloTreeSearch;
+
 /**
  * Represents the difficulty of an AI player.
  */
 
 public enum AIDifficulty {
 
-  EASY, MEDIUM, HARD, PROVIDER;
+  EASY(0, false), MEDIUM(0, false), HARD(0, false), PROVIDER(0, false),
+  SEARCH(AlphaBetaSearch.DEFAULT_BUDGET_MILLIS, true),
+  MCTS(MonteCarloTreeSearch.DEFAULT_BUDGET_MILLIS, true);
+
+  private final long budgetMillis;
+  private final boolean openingBook;
+
+  AIDifficulty(long budgetMillis, boolean openingBook) {
+    this.budgetMillis = budgetMillis;
+    this.openingBook = openingBook;
+  }
+
+  /**
+   * Get the time an AI of this difficulty is allowed to think about each move.
+   *
+   * @return the time budget in milliseconds, or 0 if the AI does not search against a clock.
+   */
+
+  public long getBudgetMillis() {
+    return this.budgetMillis;
+  }
+
+  /**
+   * Whether an AI of this difficulty plays the moves of an opening book when it can. Only the
+   * search difficulties do, as the book holds the results of searches deeper than theirs, and
+   * would make the other difficulties stronger than intended.
+   *
+   * @return true if the AI consults an opening book.
+   */
 
+  public boolean usesOpeningBook() {
+    return this.openingBook;
+  }
 }
\ No newline at end of file
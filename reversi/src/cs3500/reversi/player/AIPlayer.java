@@ -21,28 +21,52 @@ package cs3500.reversi.player;
 import java.awt.Point;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
-import cs3500.reversi.adapter.ModelAdapter;
+import javax.swing.SwingUtilities;
+
+import cs3500.reversi.book.OpeningBook;
+import cs3500.reversi.factory.StrategyFactory;
 import cs3500.reversi.model.ModelFeatures;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
-import cs3500.reversi.model.types.ReversiCellPair;
-import cs3500.reversi.provider.model.AxialCoordinate;
-import cs3500.reversi.provider.model.Piece;
-import cs3500.reversi.provider.model.ReadOnlyReversiInterface;
-import cs3500.reversi.provider.strategy.MaxCaptureStrategy;
-import cs3500.reversi.strategy.AvoidCellsNextToCorners;
-import cs3500.reversi.strategy.ChooseCornerCell;
-import cs3500.reversi.strategy.FlipMostCells;
-import cs3500.reversi.strategy.StrategyWithFallbacks;
+import cs3500.reversi.strategy.LogLevel;
+import cs3500.reversi.strategy.PonderingStrategy;
+import cs3500.reversi.strategy.ReversiStrategy;
+import cs3500.reversi.strategy.StrategyLogger;
 import cs3500.reversi.view.ViewFeatures;
 
-import static cs3500.reversi.adapter.ViewAdapter.getPoint;
-
 /**
- * Represents an AI player in a game of Reversi.
+ * Represents an AI player in a game of Reversi. The AI does not think on the thread that
+ * tells it about a turn, which is usually the Swing event thread, as that would freeze the
+ * view until it has chosen a move. Instead, it copies the model and chooses a move on the copy
+ * using a thinking {@link Executor}, and then hands the move to its {@link ViewFeatures} on a
+ * delivering {@link Executor}. By default, thinking happens on a thread dedicated to this
+ * player, and moves are delivered on the Swing event thread.
+ *
+ * <p>Each turn the AI is told about starts a new generation. A move is only delivered if no
+ * newer turn has started in the meantime, and the game is still on the turn the move was
+ * chosen for, so a move that is out of date (e.g. because the game was changed while the AI
+ * was thinking) is dropped. The thinking thread is also interrupted when a new generation
+ * starts, which stops the search strategies early.
+ *
+ * <p>If pondering is enabled and the strategy is a {@link PonderingStrategy}, the AI also
+ * thinks while the opponent is deciding, on the same thinking {@link Executor}. Pondering runs
+ * until the opponent moves, when the next turn interrupts it, so that the AI can then choose
+ * its own move faster.
+ *
+ * <p>Difficulties that {@link AIDifficulty#usesOpeningBook() use an opening book} look up
+ * each position in their {@link OpeningBook} before searching it, and play the book's move
+ * if it has one.
+ *
+ * <p>If the strategy throws an exception while choosing a move, the AI passes instead, and
+ * reports the exception to its {@link StrategyLogger}, which records nothing by default.
  */
 
 public class AIPlayer implements Player, ModelFeatures {
@@ -51,6 +75,16 @@ public class AIPlayer implements Player, ModelFeatures {
   private final PieceColor color;
   private final AIDifficulty difficulty;
   private final ArrayList<ViewFeatures> features = new ArrayList<>();
+  private final int searchWorkers;
+  private final Executor thinker;
+  private final Executor deliverer;
+  private final boolean ponder;
+  private final Supplier<OpeningBook> book;
+  private final StrategyLogger logger;
+  private final AtomicLong generation = new AtomicLong();
+  private ReversiStrategy strategy;
+  private FutureTask<Void> thinking;
+  private boolean showingThinking;
 
   /**
    * Construct an AI player.
@@ -60,9 +94,146 @@ public class AIPlayer implements Player, ModelFeatures {
    */
 
   public AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty) {
+    this(model, color, difficulty, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Construct an AI player, whose search is split across the provided number of threads.
+   * This only affects the {@link AIDifficulty#SEARCH} difficulty. The player does not ponder,
+   * and uses the {@link OpeningBook#getDefault() default book} if its difficulty
+   * {@link AIDifficulty#usesOpeningBook() uses one}.
+   * @param model the model to use.
+   * @param color the color of the player.
+   * @param difficulty the difficulty of the AI.
+   * @param searchWorkers the number of threads to search with.
+   * @throws IllegalArgumentException if the difficulty is null, or the number of threads is
+   *                                  not positive.
+   */
+
+  public AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty,
+                  int searchWorkers) throws IllegalArgumentException {
+    this(model, color, difficulty, searchWorkers, false);
+  }
+
+  /**
+   * Construct an AI player, whose search is split across the provided number of threads, and
+   * which may ponder while the opponent is deciding. A pondering player keeps its threads busy
+   * during the opponent's turn, so when both players are AIs, it takes time away from the
+   * opponent's search. The player uses the {@link OpeningBook#getDefault() default book} if
+   * its difficulty {@link AIDifficulty#usesOpeningBook() uses one}.
+   * @param model the model to use.
+   * @param color the color of the player.
+   * @param difficulty the difficulty of the AI.
+   * @param searchWorkers the number of threads to search with.
+   * @param ponder whether to think while the opponent is deciding.
+   * @throws IllegalArgumentException if the difficulty is null, or the number of threads is
+   *                                  not positive.
+   */
+
+  public AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty,
+                  int searchWorkers, boolean ponder) throws IllegalArgumentException {
+    // The default book is read from a file, so it is only looked up when a move is needed.
+    this(model, color, difficulty, searchWorkers, newThinker(color), SwingUtilities::invokeLater,
+            ponder, OpeningBook::getDefault, StrategyLogger.NONE);
+  }
+
+  /**
+   * Construct an AI player that thinks and delivers its moves on the provided executors.
+   * Passing {@code Runnable::run} for both makes the player choose and deliver each move
+   * before {@link #notifyTurn()} returns. The player does not ponder, and has no opening
+   * book.
+   * @param model the model to use.
+   * @param color the color of the player.
+   * @param difficulty the difficulty of the AI.
+   * @param searchWorkers the number of threads to search with.
+   * @param thinker the executor to choose moves on.
+   * @param deliverer the executor to deliver chosen moves on.
+   * @throws IllegalArgumentException if the number of threads is not positive, or either
+   *                                  executor is null.
+   */
+
+  public AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty,
+                  int searchWorkers, Executor thinker, Executor deliverer)
+          throws IllegalArgumentException {
+    this(model, color, difficulty, searchWorkers, thinker, deliverer, false, OpeningBook.EMPTY);
+  }
+
+  /**
+   * Construct an AI player that thinks and delivers its moves on the provided executors, and
+   * looks positions up in the provided opening book. The player may also ponder on the
+   * thinking executor while the opponent is deciding. Pondering only stops
+   * when the next turn starts, so it must not be enabled with a thinking executor that runs
+   * tasks before returning, such as {@code Runnable::run}.
+   * @param model the model to use.
+   * @param color the color of the player.
+   * @param difficulty the difficulty of the AI.
+   * @param searchWorkers the number of threads to search with.
+   * @param thinker the executor to choose moves on.
+   * @param deliverer the executor to deliver chosen moves on.
+   * @param ponder whether to think while the opponent is deciding.
+   * @param book the opening book to look positions up in.
+   * @throws IllegalArgumentException if the difficulty is null, the number of threads is not
+   *                                  positive, or either executor or the book is null.
+   */
+
+  public AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty,
+                  int searchWorkers, Executor thinker, Executor deliverer, boolean ponder,
+                  OpeningBook book) throws IllegalArgumentException {
+    this(model, color, difficulty, searchWorkers, thinker, deliverer, ponder, book,
+            StrategyLogger.NONE);
+  }
+
+  /**
+   * Construct an AI player that thinks and delivers its moves on the provided executors, looks
+   * positions up in the provided opening book, and reports the moves it could not choose to
+   * the provided logger. Pondering must not be enabled with a thinking executor that runs
+   * tasks before returning, such as {@code Runnable::run}.
+   * @param model the model to use.
+   * @param color the color of the player.
+   * @param difficulty the difficulty of the AI.
+   * @param searchWorkers the number of threads to search with.
+   * @param thinker the executor to choose moves on.
+   * @param deliverer the executor to deliver chosen moves on.
+   * @param ponder whether to think while the opponent is deciding.
+   * @param book the opening book to look positions up in.
+   * @param logger the logger to report failures to.
+   * @throws IllegalArgumentException if the difficulty is null, the number of threads is not
+   *                                  positive, or either executor, the book or the logger is
+   *                                  null.
+   */
+
+  public AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty,
+                  int searchWorkers, Executor thinker, Executor deliverer, boolean ponder,
+                  OpeningBook book, StrategyLogger logger) throws IllegalArgumentException {
+    this(model, color, difficulty, searchWorkers, thinker, deliverer, ponder, bookOf(book),
+            logger);
+  }
+
+  private AIPlayer(ReversiModel model, PieceColor color, AIDifficulty difficulty,
+                   int searchWorkers, Executor thinker, Executor deliverer, boolean ponder,
+                   Supplier<OpeningBook> book, StrategyLogger logger)
+          throws IllegalArgumentException {
+    if (difficulty == null) {
+      throw new IllegalArgumentException("Difficulty cannot be null.");
+    }
+    if (searchWorkers <= 0) {
+      throw new IllegalArgumentException("The number of search workers must be positive.");
+    }
+    if (thinker == null || deliverer == null) {
+      throw new IllegalArgumentException("Executors cannot be null.");
+    }
+    if (logger == null) {
+      throw new IllegalArgumentException("Logger cannot be null.");
+    }
     this.model = model;
     this.color = color;
     this.difficulty = difficulty;
+    this.searchWorkers = searchWorkers;
+    this.thinker = thinker;
+    this.deliverer = deliverer;
+    this.ponder = ponder;
+    this.book = book;
+    this.logger = logger;
     this.model.addFeatureListener(this);
   }
 
@@ -78,10 +249,81 @@ public class AIPlayer implements Player, ModelFeatures {
 
   @Override
   public void notifyTurn() {
+    long current = this.generation.incrementAndGet();
+    if (this.thinking != null) {
+      this.thinking.cancel(true);
+      this.thinking = null;
+    }
+    // A move of an older generation is never delivered, so its indicator is cleared here.
+    this.stopShowingThinking();
+    if (this.model.isGameOver()) {
+      return;
+    }
     if (!this.isTurn()) {
+      if (this.ponder) {
+        this.startPondering();
+      }
       return;
     }
-    Optional<Point> move = this.getMove(this.model);
+    // The copy is taken here, so that thinking never reads the model while it changes.
+    ReversiModel position = this.model.getModelCopy();
+    int turn = this.model.getTurn();
+    for (ViewFeatures feature : this.features) {
+      feature.notifyThinking(true, this.difficulty.getBudgetMillis());
+    }
+    this.showingThinking = true;
+    FutureTask<Void> task = new FutureTask<>(() -> {
+      Optional<Point> move;
+      try {
+        move = this.getMove(position);
+      } catch (RuntimeException e) {
+        // Nothing reads the result of the task, so the failure is reported here, and the
+        // player passes rather than leaving the game waiting for a move that never comes.
+        if (this.logger.getLevel().includes(LogLevel.INFO)) {
+          this.logger.logFailure(this.color, e);
+        }
+        move = Optional.empty();
+      }
+      Optional<Point> chosen = move;
+      this.deliverer.execute(() -> this.deliver(current, turn, chosen));
+    }, null);
+    this.thinking = task;
+    this.thinker.execute(task);
+  }
+
+  /**
+   * Starts thinking about the opponent's position, if the strategy supports it. The task is
+   * cancelled like a move being chosen when the next turn starts.
+   */
+
+  private void startPondering() {
+    ReversiModel position = this.model.getModelCopy();
+    FutureTask<Void> task = new FutureTask<>(() -> {
+      if (this.getStrategy() instanceof PonderingStrategy) {
+        try {
+          ((PonderingStrategy) this.getStrategy()).ponder(position, this.color);
+        } catch (IllegalStateException e) {
+          // The position has nothing to ponder for this player.
+        }
+      }
+    }, null);
+    this.thinking = task;
+    this.thinker.execute(task);
+  }
+
+  /**
+   * Hands a chosen move to this player's features, unless it is out of date.
+   *
+   * @param chosenIn the generation the move was chosen in.
+   * @param turn the turn the move was chosen for.
+   * @param move the chosen move, or an empty {@link Optional} to pass.
+   */
+
+  private void deliver(long chosenIn, int turn, Optional<Point> move) {
+    if (chosenIn != this.generation.get() || turn != this.model.getTurn()) {
+      return;
+    }
+    this.stopShowingThinking();
     for (ViewFeatures feature : this.features) {
       if (move.isPresent()) {
         feature.makeMove(move.get().x, move.get().y);
@@ -91,6 +333,19 @@ public class AIPlayer implements Player, ModelFeatures {
     }
   }
 
+  /**
+   * Tells this player's features that it has stopped thinking, if they were told it started.
+   */
+
+  private void stopShowingThinking() {
+    if (this.showingThinking) {
+      this.showingThinking = false;
+      for (ViewFeatures feature : this.features) {
+        feature.notifyThinking(false, 0);
+      }
+    }
+  }
+
   @Override
   public void addFeatures(ViewFeatures feature) {
     this.features.add(feature);
@@ -110,51 +365,53 @@ public class AIPlayer implements Player, ModelFeatures {
    */
 
   private Optional<Point> getMove(ReversiModel model) {
-    try {
-      switch (this.difficulty) {
-        case EASY:
-          return new FlipMostCells().chooseMove(model, this.color);
-        case MEDIUM:
-          return new StrategyWithFallbacks(
-                  new ChooseCornerCell(),
-                  new FlipMostCells()
-          ).chooseMove(model, this.color);
-        case HARD:
-          return new StrategyWithFallbacks(
-                  new AvoidCellsNextToCorners(),
-                  new FlipMostCells()
-          ).chooseMove(model, this.color);
-        case PROVIDER:
-          ReadOnlyReversiInterface modelAdapter = new ModelAdapter(model);
-          Piece adapted = this.adaptPieceColorToPiece(this.color);
-          Optional<AxialCoordinate> move = new MaxCaptureStrategy().
-                  chooseMove(modelAdapter, adapted);
-          if (move.isPresent()) {
-            return Optional.of(this.adaptAxialCoordinate(move.get()));
-          }
-          return Optional.empty();
-        default:
-          throw new IllegalArgumentException("Invalid difficulty.");
+    if (this.difficulty.usesOpeningBook()) {
+      Optional<Point> booked = this.book.get().lookup(model);
+      if (booked.isPresent()) {
+        return booked;
       }
+    }
+    try {
+      return this.getStrategy().chooseMove(model, this.color);
     } catch (IllegalStateException e) {
       return Optional.empty();
     }
   }
 
-  private Piece adaptPieceColorToPiece(PieceColor piece) {
-    if (piece == PieceColor.BLACK) {
-      return Piece.BLACK;
+  /**
+   * Gets the strategy of this player, building it on first use. This is only called on the
+   * thinking executor.
+   *
+   * @return the strategy of this player.
+   */
+
+  private ReversiStrategy getStrategy() {
+    // The strategy is kept between moves, so that the search strategies can reuse their
+    // transposition table or tree, including what they found while pondering.
+    if (this.strategy == null) {
+      this.strategy = new StrategyFactory(this.difficulty, this.searchWorkers).build();
     }
-    return Piece.WHITE;
+    return this.strategy;
   }
 
-  @Override
-  public Optional<AIDifficulty> getDifficulty() {
-    return Optional.ofNullable(this.difficulty);
+  private static Supplier<OpeningBook> bookOf(OpeningBook book)
+          throws IllegalArgumentException {
+    if (book == null) {
+      throw new IllegalArgumentException("Book cannot be null.");
+    }
+    return () -> book;
+  }
+
+  private static ExecutorService newThinker(PieceColor color) {
+    return Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "reversi-ai-" + color);
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
-  private Point adaptAxialCoordinate(AxialCoordinate coord) {
-    List<List<ReversiCellPair>> board = model.getBoardCopy();
-    return getPoint(coord, board);
+  @Override
+  public Optional<AIDifficulty> getDifficulty() {
+    return Optional.of(this.difficulty);
   }
 }
@@ -0,0 +1,410 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.record;
+
+import java.awt.Point;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+import cs3500.reversi.model.HexTopology;
+
+/**
+ * The moves of one game of Reversi, along with the size of its board and who played it. Every
+ * game starts from the usual six pieces, so the moves are enough to rebuild every position of
+ * the game (see {@link GameReplay}).
+ *
+ * <p>Records are stored in a compact binary format, in which most moves take a single byte:
+ * <ul>
+ *   <li>the four bytes {@code RVGR} and a version byte;</li>
+ *   <li>the radius of the board, as a varint;</li>
+ *   <li>the white player and then the black player, each as the varint length of its name
+ *   followed by the name in UTF-8;</li>
+ *   <li>each move as a varint: 1 for a pass, or the index of the cell played on plus 2;</li>
+ *   <li>a 0 once the game is over.</li>
+ * </ul>
+ * A varint is an unsigned number written seven bits at a time, lowest first, with the top bit
+ * of each byte set if more bytes follow. Since the end of each game is marked, many records
+ * can be written one after another to the same stream. A record whose stream ends before its
+ * end marker, e.g. because the program writing it stopped, is read as an unfinished game.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>radius: the radius of the board</li>
+ *   <li>whitePlayer and blackPlayer: the names of the players</li>
+ *   <li>moves: the cell index of each move, or {@link #PASS} for a pass</li>
+ *   <li>finished: whether the game was recorded to its end</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>the player names are never null</li>
+ *   <li>every move is a cell index of the board, or {@link #PASS}</li>
+ * </ul>
+ */
+
+public final class GameRecord {
+
+  /**
+   * The move of a pass.
+   */
+
+  public static final int PASS = -1;
+
+  static final int MAGIC = 0x52564752;
+  static final int VERSION = 1;
+  static final int END_CODE = 0;
+  static final int PASS_CODE = 1;
+  static final int CELL_OFFSET = 2;
+
+  private final int radius;
+  private final String whitePlayer;
+  private final String blackPlayer;
+  private final int[] moves;
+  private final boolean finished;
+
+  /**
+   * Constructs a new {@link GameRecord}.
+   *
+   * @param radius      the radius of the board.
+   * @param whitePlayer the name of the white player.
+   * @param blackPlayer the name of the black player.
+   * @param moves       the cell index of each move, or {@link #PASS} for a pass.
+   * @param finished    whether the game was recorded to its end.
+   * @throws IllegalArgumentException if the radius is invalid, a name or the moves are null,
+   *                                  or a move is not a cell of the board.
+   */
+
+  public GameRecord(int radius, String whitePlayer, String blackPlayer, int[] moves,
+                    boolean finished) throws IllegalArgumentException {
+    if (whitePlayer == null || blackPlayer == null || moves == null) {
+      throw new IllegalArgumentException("Players and moves cannot be null.");
+    }
+    int cells = HexTopology.of(radius).getCellCount();
+    for (int move : moves) {
+      if (move != PASS && (move < 0 || move >= cells)) {
+        throw new IllegalArgumentException("Invalid move: " + move);
+      }
+    }
+    this.radius = radius;
+    this.whitePlayer = whitePlayer;
+    this.blackPlayer = blackPlayer;
+    this.moves = moves.clone();
+    this.finished = finished;
+  }
+
+  /**
+   * Reads the next record from the provided stream.
+   *
+   * @param in the stream to read from, which should be buffered.
+   * @return the next record, or an empty {@link Optional} if the stream has no more records.
+   * @throws IOException if the stream cannot be read, or does not hold a valid record, e.g.
+   *                     because its board is smaller than a radius of 2 or larger than
+   *                     {@link PositionStore#MAX_RADIUS}.
+   */
+
+  public static Optional<GameRecord> read(InputStream in) throws IOException {
+    int first = in.read();
+    if (first == -1) {
+      return Optional.empty();
+    }
+    int magic = first << 24 | readByte(in) << 16 | readByte(in) << 8 | readByte(in);
+    if (magic != MAGIC) {
+      throw new IOException("Not a game record.");
+    }
+    int version = readByte(in);
+    if (version != VERSION) {
+      throw new IOException("Unsupported game record version: " + version);
+    }
+    int radius = readVarint(in);
+    String white = readString(in);
+    String black = readString(in);
+    // The radius is checked before the topology is built, which a corrupt radius could make
+    // far too large to fit in memory.
+    if (radius < 2 || radius > PositionStore.MAX_RADIUS) {
+      throw new IOException("Invalid radius: " + radius);
+    }
+    HexTopology topology = HexTopology.of(radius);
+    int[] moves = new int[16];
+    int count = 0;
+    boolean finished = false;
+    while (true) {
+      int code = readVarintOrEnd(in);
+      if (code == -1) {
+        break;
+      } else if (code == END_CODE) {
+        finished = true;
+        break;
+      } else if (code - CELL_OFFSET >= topology.getCellCount()) {
+        throw new IOException("Invalid move code: " + code);
+      }
+      if (count == moves.length) {
+        moves = Arrays.copyOf(moves, count * 2);
+      }
+      moves[count++] = code == PASS_CODE ? PASS : code - CELL_OFFSET;
+    }
+    return Optional.of(new GameRecord(radius, white, black, Arrays.copyOf(moves, count),
+            finished));
+  }
+
+  /**
+   * Writes this record to the provided stream, in the format described above. The stream is
+   * not flushed.
+   *
+   * @param out the stream to write to, which should be buffered.
+   * @throws IOException if the stream cannot be written.
+   */
+
+  public void write(OutputStream out) throws IOException {
+    writeHeader(out, this.radius, this.whitePlayer, this.blackPlayer);
+    for (int move : this.moves) {
+      writeVarint(out, codeOf(move));
+    }
+    if (this.finished) {
+      writeVarint(out, END_CODE);
+    }
+  }
+
+  /**
+   * Get the radius of the board of this game.
+   *
+   * @return the radius.
+   */
+
+  public int getRadius() {
+    return this.radius;
+  }
+
+  /**
+   * Get the number of rows of the board of this game.
+   *
+   * @return the number of rows.
+   */
+
+  public int getRows() {
+    return 2 * this.radius + 1;
+  }
+
+  /**
+   * Get the name of the white player.
+   *
+   * @return the name of the white player.
+   */
+
+  public String getWhitePlayer() {
+    return this.whitePlayer;
+  }
+
+  /**
+   * Get the name of the black player.
+   *
+   * @return the name of the black player.
+   */
+
+  public String getBlackPlayer() {
+    return this.blackPlayer;
+  }
+
+  /**
+   * Get the number of moves and passes in this game.
+   *
+   * @return the number of moves.
+   */
+
+  public int getMoveCount() {
+    return this.moves.length;
+  }
+
+  /**
+   * Get the move played at the provided ply, counting from 0.
+   *
+   * @param ply the index of the move.
+   * @return the cell index of the move, or {@link #PASS} for a pass.
+   * @throws IllegalArgumentException if there is no move at that ply.
+   */
+
+  public int getMove(int ply) throws IllegalArgumentException {
+    if (ply < 0 || ply >= this.moves.length) {
+      throw new IllegalArgumentException("No move at ply " + ply);
+    }
+    return this.moves[ply];
+  }
+
+  /**
+   * Get the move played at the provided ply as a row and column.
+   *
+   * @param ply the index of the move.
+   * @return the move, or an empty {@link Optional} for a pass.
+   * @throws IllegalArgumentException if there is no move at that ply.
+   */
+
+  public Optional<Point> getPoint(int ply) throws IllegalArgumentException {
+    int move = this.getMove(ply);
+    if (move == PASS) {
+      return Optional.empty();
+    }
+    HexTopology topology = HexTopology.of(this.radius);
+    return Optional.of(new Point(topology.getRow(move), topology.getCol(move)));
+  }
+
+  /**
+   * Get whether the game was recorded to its end.
+   *
+   * @return true if the game is over at its last move.
+   */
+
+  public boolean isFinished() {
+    return this.finished;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof GameRecord)) {
+      return false;
+    }
+    GameRecord that = (GameRecord) other;
+    return this.radius == that.radius && this.finished == that.finished
+            && this.whitePlayer.equals(that.whitePlayer)
+            && this.blackPlayer.equals(that.blackPlayer) && Arrays.equals(this.moves, that.moves);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.radius, this.whitePlayer, this.blackPlayer, this.finished)
+            * 31 + Arrays.hashCode(this.moves);
+  }
+
+  /**
+   * Writes the header of a record.
+   *
+   * @param out    the stream to write to.
+   * @param radius the radius of the board.
+   * @param white  the name of the white player.
+   * @param black  the name of the black player.
+   * @throws IOException if the stream cannot be written.
+   */
+
+  static void writeHeader(OutputStream out, int radius, String white, String black)
+          throws IOException {
+    out.write(MAGIC >>> 24);
+    out.write(MAGIC >>> 16);
+    out.write(MAGIC >>> 8);
+    out.write(MAGIC);
+    out.write(VERSION);
+    writeVarint(out, radius);
+    writeString(out, white);
+    writeString(out, black);
+  }
+
+  /**
+   * Gets the code a move is written as.
+   *
+   * @param move the cell index of the move, or {@link #PASS}.
+   * @return the code of the move.
+   */
+
+  static int codeOf(int move) {
+    return move == PASS ? PASS_CODE : move + CELL_OFFSET;
+  }
+
+  /**
+   * Writes an unsigned number as a varint.
+   *
+   * @param out   the stream to write to.
+   * @param value the number, which is treated as unsigned.
+   * @throws IOException if the stream cannot be written.
+   */
+
+  static void writeVarint(OutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int readVarint(InputStream in) throws IOException {
+    int value = readVarintOrEnd(in);
+    if (value == -1) {
+      throw new EOFException("The record ends in its header.");
+    }
+    return value;
+  }
+
+  /**
+   * Reads a varint, or notices that the stream has ended before it.
+   *
+   * @param in the stream to read from.
+   * @return the number, or -1 if the stream ended before its first byte.
+   * @throws IOException if the stream cannot be read, ends within the number, or the number
+   *                     does not fit in an {@code int}.
+   */
+
+  private static int readVarintOrEnd(InputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      int next = in.read();
+      if (next == -1) {
+        if (shift == 0) {
+          return -1;
+        }
+        throw new EOFException("The record ends within a number.");
+      }
+      value |= (next & 0x7F) << shift;
+      if ((next & 0x80) == 0) {
+        if (value < 0) {
+          throw new IOException("Number out of range.");
+        }
+        return value;
+      }
+    }
+    throw new IOException("Number out of range.");
+  }
+
+  private static void writeString(OutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarint(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(InputStream in) throws IOException {
+    int length = readVarint(in);
+    byte[] bytes = in.readNBytes(length);
+    if (bytes.length != length) {
+      throw new EOFException("The record ends within a name.");
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int readByte(InputStream in) throws IOException {
+    int next = in.read();
+    if (next == -1) {
+      throw new EOFException("The record ends in its header.");
+    }
+    return next;
+  }
+}
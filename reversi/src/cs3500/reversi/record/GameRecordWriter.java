@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.record;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ModelFeatures;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Writes a game to a stream as it is played, in the format of {@link GameRecord}. The writer
+ * listens to the model for new turns, and works out which move was played by comparing the
+ * model with its own copy of the last position it saw: the move is the legal move (or pass)
+ * of that position that leads to the model's position hash. Each move is flushed as soon as
+ * it is written, and the end of the game is marked as soon as the game is over.
+ *
+ * <p>Listeners are told about turns in the order they were added, and a player may move from
+ * inside its own listener. So that the writer sees every move on its own, it should be added
+ * to the model before the players are.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>model: the game being recorded</li>
+ *   <li>out: the stream the record is written to</li>
+ *   <li>seen: a copy of the last position that was recorded</li>
+ *   <li>finished: whether the end of the record has been written</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>seen is always a position of the recorded game, and the model's position unless the
+ *   model has moved on since the last turn</li>
+ * </ul>
+ */
+
+public final class GameRecordWriter implements ModelFeatures {
+
+  private final ReversiModel model;
+  private final OutputStream out;
+  private final ReversiModel seen;
+  private final HexTopology topology;
+  private boolean finished = false;
+
+  /**
+   * Constructs a writer of the provided game, which writes the header of the record right
+   * away and listens to the model for moves.
+   * @param model the game to record, which must not have started yet.
+   * @param whitePlayer the name of the white player.
+   * @param blackPlayer the name of the black player.
+   * @param out the stream to write to, which should be buffered.
+   * @throws IllegalArgumentException if any argument is null, or the model is not at the
+   *                                  starting position.
+   * @throws IllegalStateException if the header cannot be written.
+   */
+
+  public GameRecordWriter(ReversiModel model, String whitePlayer, String blackPlayer,
+                          OutputStream out)
+          throws IllegalArgumentException, IllegalStateException {
+    if (model == null || whitePlayer == null || blackPlayer == null || out == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    ReversiModel start = new BitboardReversi(model.getDiameter());
+    if (model.getTurn() != start.getTurn()
+            || model.getPositionHash() != start.getPositionHash()) {
+      throw new IllegalArgumentException("Only games from the starting position can be "
+            + "recorded.");
+    }
+    this.model = model;
+    this.out = out;
+    this.seen = start;
+    this.topology = HexTopology.of(model.getRadius());
+    try {
+      GameRecord.writeHeader(out, model.getRadius(), whitePlayer, blackPlayer);
+      out.flush();
+    } catch (IOException e) {
+      throw new IllegalStateException("The record could not be written.", e);
+    }
+    this.model.addFeatureListener(this);
+  }
+
+  /**
+   * Writes the move that was just played, and the end of the record if the game is over.
+   * Turns after which the model has not changed are ignored.
+   *
+   * @throws IllegalStateException if the model changed in a way that is not a single move or
+   *                               pass, or the move cannot be written.
+   */
+
+  @Override
+  public void notifyTurn() throws IllegalStateException {
+    if (this.finished || (this.model.getTurn() == this.seen.getTurn()
+            && this.model.getPositionHash() == this.seen.getPositionHash())) {
+      return;
+    }
+    int move = this.findMove();
+    try {
+      GameRecord.writeVarint(this.out, GameRecord.codeOf(move));
+      if (this.seen.isGameOver()) {
+        this.finish();
+      } else {
+        this.out.flush();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("The record could not be written.", e);
+    }
+  }
+
+  /**
+   * Marks the end of the record, e.g. when a game is abandoned before it is over. Nothing is
+   * written after this. Calling this again has no effect.
+   *
+   * @throws IOException if the stream cannot be written.
+   */
+
+  public void finish() throws IOException {
+    if (this.finished) {
+      return;
+    }
+    this.finished = true;
+    GameRecord.writeVarint(this.out, GameRecord.END_CODE);
+    this.out.flush();
+  }
+
+  /**
+   * Finds the move that leads from the last recorded position to the model's position, and
+   * plays it on the recorded position.
+   *
+   * @return the cell index of the move, or {@link GameRecord#PASS}.
+   * @throws IllegalStateException if no single move or pass leads to the model's position.
+   */
+
+  private int findMove() throws IllegalStateException {
+    if (this.model.getTurn() == this.seen.getTurn() + 1) {
+      long target = this.model.getPositionHash();
+      PieceColor color = this.seen.getPlayerColor();
+      for (Point move : this.seen.getLegalMoves(color)) {
+        this.seen.applyMove(move.x, move.y, color);
+        if (this.seen.getPositionHash() == target) {
+          return this.topology.indexOf(move.x, move.y);
+        }
+        this.seen.undoMove();
+      }
+      if (!this.seen.isGameOver()) {
+        this.seen.applyPass(color);
+        if (this.seen.getPositionHash() == target) {
+          return GameRecord.PASS;
+        }
+        this.seen.undoMove();
+      }
+    }
+    throw new IllegalStateException("The game changed by more than one move, and cannot be "
+            + "recorded.");
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.record;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Rebuilds the positions of a recorded game. The whole game is replayed once, when the replay
+ * is constructed, and a copy of the board is kept every few moves as a checkpoint. The
+ * position at any ply is then rebuilt from the nearest checkpoint before it, so it takes at
+ * most one interval of moves, however long the game.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>record: the game being replayed</li>
+ *   <li>interval: the number of moves between checkpoints</li>
+ *   <li>checkpoints: the position at every multiple of the interval, starting at ply 0</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>interval is positive</li>
+ *   <li>checkpoints are never changed, only copied</li>
+ * </ul>
+ */
+
+public final class GameReplay {
+
+  /**
+   * The default number of moves between checkpoints.
+   */
+
+  public static final int DEFAULT_INTERVAL = 16;
+
+  private final GameRecord record;
+  private final int interval;
+  private final ReversiModel[] checkpoints;
+
+  /**
+   * Constructs a replay of the provided game, with the default number of moves between
+   * checkpoints.
+   * @param record the game to replay.
+   * @throws IllegalArgumentException if the record is null, or holds an illegal move.
+   */
+
+  public GameReplay(GameRecord record) throws IllegalArgumentException {
+    this(record, DEFAULT_INTERVAL);
+  }
+
+  /**
+   * Constructs a replay of the provided game, with the provided number of moves between
+   * checkpoints. Shorter intervals rebuild positions faster, but keep more boards.
+   * @param record the game to replay.
+   * @param interval the number of moves between checkpoints.
+   * @throws IllegalArgumentException if the record is null, holds an illegal move, or the
+   *                                  interval is not positive.
+   */
+
+  public GameReplay(GameRecord record, int interval) throws IllegalArgumentException {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null.");
+    } else if (interval <= 0) {
+      throw new IllegalArgumentException("The interval must be positive.");
+    }
+    this.record = record;
+    this.interval = interval;
+    this.checkpoints = new ReversiModel[record.getMoveCount() / interval + 1];
+    ReversiModel board = new BitboardReversi(record.getRows());
+    this.checkpoints[0] = new BitboardReversi(board);
+    for (int ply = 0; ply < record.getMoveCount(); ply++) {
+      this.play(board, ply);
+      if ((ply + 1) % interval == 0) {
+        this.checkpoints[(ply + 1) / interval] = new BitboardReversi(board);
+      }
+    }
+  }
+
+  /**
+   * Get the game being replayed.
+   *
+   * @return the record of the game.
+   */
+
+  public GameRecord getRecord() {
+    return this.record;
+  }
+
+  /**
+   * Get the number of moves and passes in the game, which is also the last ply whose position
+   * can be rebuilt.
+   *
+   * @return the number of moves.
+   */
+
+  public int getPlyCount() {
+    return this.record.getMoveCount();
+  }
+
+  /**
+   * Rebuilds the position after the provided number of moves.
+   *
+   * @param ply the number of moves played, from 0 for the starting position to
+   *            {@link #getPlyCount()} for the final position.
+   * @return a new model at that position, which may be changed freely.
+   * @throws IllegalArgumentException if the ply is out of range.
+   */
+
+  public ReversiModel getPosition(int ply) throws IllegalArgumentException {
+    if (ply < 0 || ply > this.record.getMoveCount()) {
+      throw new IllegalArgumentException("No position at ply " + ply);
+    }
+    int checkpoint = ply / this.interval;
+    ReversiModel board = new BitboardReversi(this.checkpoints[checkpoint]);
+    for (int next = checkpoint * this.interval; next < ply; next++) {
+      this.play(board, next);
+    }
+    return board;
+  }
+
+  /**
+   * Plays the move of the provided ply on the provided board.
+   *
+   * @param board the board at the position before the move.
+   * @param ply   the index of the move.
+   * @throws IllegalArgumentException if the move is not legal.
+   */
+
+  private void play(ReversiModel board, int ply) throws IllegalArgumentException {
+    PieceColor color = board.getPlayerColor();
+    Optional<Point> move = this.record.getPoint(ply);
+    try {
+      if (move.isPresent()) {
+        board.applyMove(move.get().x, move.get().y, color);
+      } else {
+        board.applyPass(color);
+      }
+    } catch (IllegalStateException e) {
+      throw new IllegalArgumentException("The move at ply " + ply + " is not legal.", e);
+    }
+  }
+}
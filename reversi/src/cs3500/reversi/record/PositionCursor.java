@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.record;
+
+import java.nio.ByteBuffer;
+
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Reads a range of the records of a {@link PositionStore} in order. Each call to
+ * {@link #next()} copies the fields of one record into the cursor, reusing the same arrays
+ * for every record, so scanning a store allocates nothing per record. A cursor is meant to be
+ * used by one thread; threads scanning the same store should each open their own.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>store: the store being read</li>
+ *   <li>next: the index of the record that {@link #next()} will read</li>
+ *   <li>end: the index after the last record of the range</li>
+ *   <li>blacks and whites: the cell bitsets of the current record</li>
+ *   <li>outcome, turn and passes: the other fields of the current record</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>next never passes end</li>
+ *   <li>the fields only describe a record once {@link #next()} has returned true</li>
+ * </ul>
+ */
+
+public final class PositionCursor {
+
+  private final PositionStore store;
+  private final long end;
+  private final long[] blacks;
+  private final long[] whites;
+  private long next;
+  private int outcome;
+  private int turn;
+  private int passes;
+
+  /**
+   * Constructs a cursor over a range of the records of a store.
+   *
+   * @param store the store to read.
+   * @param from  the index of the first record to read.
+   * @param to    the index after the last record to read.
+   */
+
+  PositionCursor(PositionStore store, long from, long to) {
+    this.store = store;
+    this.next = from;
+    this.end = to;
+    this.blacks = new long[store.getWordCount()];
+    this.whites = new long[store.getWordCount()];
+  }
+
+  /**
+   * Moves to the next record of the range, and reads its fields.
+   *
+   * @return true if there was another record, false if the range is finished.
+   */
+
+  public boolean next() {
+    if (this.next == this.end) {
+      return false;
+    }
+    ByteBuffer segment = this.store.segmentOf(this.next);
+    int offset = this.store.offsetOf(this.next);
+    int words = this.blacks.length;
+    for (int word = 0; word < words; word++) {
+      this.blacks[word] = segment.getLong(offset + 8 * word);
+      this.whites[word] = segment.getLong(offset + 8 * (words + word));
+    }
+    offset += 16 * words;
+    this.outcome = segment.getInt(offset);
+    this.turn = Short.toUnsignedInt(segment.getShort(offset + 4));
+    this.passes = segment.get(offset + 6);
+    this.next++;
+    return true;
+  }
+
+  /**
+   * Gets the index of the current record in the store.
+   *
+   * @return the index of the record last read by {@link #next()}.
+   */
+
+  public long getIndex() {
+    return this.next - 1;
+  }
+
+  /**
+   * Gets the cells holding black pieces in the current record. The array is overwritten by the
+   * next call to {@link #next()}, and must not be changed.
+   *
+   * @return the bitset of black cells, by cell index.
+   */
+
+  public long[] getBlackCells() {
+    return this.blacks;
+  }
+
+  /**
+   * Gets the cells holding white pieces in the current record. The array is overwritten by the
+   * next call to {@link #next()}, and must not be changed.
+   *
+   * @return the bitset of white cells, by cell index.
+   */
+
+  public long[] getWhiteCells() {
+    return this.whites;
+  }
+
+  /**
+   * Gets the cells holding pieces of the provided color in the current record.
+   *
+   * @param pieceColor the color of the pieces.
+   * @return the bitset of that color's cells, which must not be changed.
+   */
+
+  public long[] getCells(PieceColor pieceColor) {
+    return pieceColor == PieceColor.BLACK ? this.blacks : this.whites;
+  }
+
+  /**
+   * Gets the outcome of the current record, for the player to move.
+   *
+   * @return the final score of the player to move minus that of their opponent.
+   */
+
+  public int getOutcome() {
+    return this.outcome;
+  }
+
+  /**
+   * Gets the turn of the current record.
+   *
+   * @return the turn, starting from 1.
+   */
+
+  public int getTurn() {
+    return this.turn;
+  }
+
+  /**
+   * Gets the number of passes made in a row before the current record.
+   *
+   * @return the number of passes.
+   */
+
+  public int getPasses() {
+    return this.passes;
+  }
+
+  /**
+   * Gets the player to move in the current record.
+   *
+   * @return the color of the player to move.
+   */
+
+  public PieceColor getPlayerColor() {
+    return this.turn % 2 == 1 ? PieceColor.WHITE : PieceColor.BLACK;
+  }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * A read-only file of positions, each paired with the outcome of the game it was taken from,
+ * as written by a {@link PositionStoreWriter}. The file is memory-mapped rather than read
+ * into objects: every field of a record is read straight from the mapping when asked for, so
+ * a store far larger than the heap can be scanned at the speed of the disk, and any record can
+ * be read at random without reading the ones before it. Use {@link #cursor(long, long)} to
+ * read records in order, or the getters of this class to read one record by its index.
+ *
+ * <p>Every record of a store is the same size, which depends only on the size of its board.
+ * All values are little-endian. A file holds:
+ * <ul>
+ *   <li>a 32-byte header: the four bytes {@code RVPS}, the version, the radius of the board
+ *   and the size of a record as ints, then the number of records as a long, then padding;</li>
+ *   <li>each record: the cells holding black pieces and then white pieces, each as a bitset of
+ *   {@code (cells + 63) / 64} longs over the cell indices of {@link HexTopology}; the outcome
+ *   as an int; the turn as an unsigned short; and the passes as a byte, followed by a byte of
+ *   padding.</li>
+ * </ul>
+ * The outcome is the final score of the player to move minus the final score of their
+ * opponent, so it is positive if the player to move went on to win. The player to move is
+ * white on odd turns.
+ *
+ * <p>A mapping cannot be larger than 2GB, so the records are mapped in segments of at most
+ * {@link #SEGMENT_BYTES}, each holding a whole number of records. The store can be read by
+ * many threads at once, as long as each uses its own cursor.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>channel: the open file</li>
+ *   <li>radius: the radius of the board of every position</li>
+ *   <li>words: the number of longs in the bitset of each color</li>
+ *   <li>recordBytes: the size of one record</li>
+ *   <li>count: the number of records</li>
+ *   <li>segmentRecords: the number of records in each segment but the last</li>
+ *   <li>segments: the mappings of the records</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>segments are only ever read with absolute gets, so they can be shared by threads</li>
+ *   <li>every record below count lies inside a segment</li>
+ * </ul>
+ */
+
+public final class PositionStore implements Closeable {
+
+  /**
+   * The largest number of bytes in one mapped segment of the store.
+   */
+
+  public static final long SEGMENT_BYTES = 1L << 30;
+
+  /**
+   * The radius of the largest board a store can hold. No game on it can last past the largest
+   * turn a record can hold, since a turn is only ever passed after a move.
+   */
+
+  public static final int MAX_RADIUS = 100;
+
+  static final int MAGIC = 0x52565053;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 32;
+  static final int COUNT_OFFSET = 16;
+
+  private final FileChannel channel;
+  private final int radius;
+  private final int words;
+  private final int recordBytes;
+  private final long count;
+  private final long segmentRecords;
+  private final ByteBuffer[] segments;
+
+  /**
+   * Opens the store at the provided path for reading.
+   *
+   * @param path the file of the store.
+   * @throws IOException if the file cannot be read, or does not hold a valid store.
+   */
+
+  public PositionStore(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining() && this.channel.read(header) >= 0) {
+        // Keep reading until the header is full or the file ends.
+      }
+      if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+        throw new IOException("Not a position store.");
+      } else if (header.getInt(4) != VERSION) {
+        throw new IOException("Unsupported position store version: " + header.getInt(4));
+      }
+      this.radius = header.getInt(8);
+      if (this.radius < 2 || this.radius > MAX_RADIUS) {
+        throw new IOException("Invalid radius: " + this.radius);
+      }
+      this.words = wordsFor(HexTopology.of(this.radius).getCellCount());
+      this.recordBytes = recordBytesFor(this.words);
+      this.count = header.getLong(COUNT_OFFSET);
+      if (header.getInt(12) != this.recordBytes || this.count < 0) {
+        throw new IOException("Corrupt position store header.");
+      } else if (this.channel.size() < HEADER_BYTES + this.count * this.recordBytes) {
+        throw new IOException("The position store is truncated.");
+      }
+      this.segmentRecords = SEGMENT_BYTES / this.recordBytes;
+      this.segments = new ByteBuffer[(int) ((this.count + this.segmentRecords - 1)
+              / this.segmentRecords)];
+      for (int segment = 0; segment < this.segments.length; segment++) {
+        long first = segment * this.segmentRecords;
+        long records = Math.min(this.segmentRecords, this.count - first);
+        MappedByteBuffer mapped = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                HEADER_BYTES + first * this.recordBytes, records * this.recordBytes);
+        this.segments[segment] = mapped.order(ByteOrder.LITTLE_ENDIAN);
+      }
+    } catch (IOException | RuntimeException e) {
+      this.channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the number of longs in the bitset of each color, for a board of the provided number
+   * of cells.
+   *
+   * @param cells the number of cells on the board.
+   * @return the number of longs needed to give each cell a bit.
+   */
+
+  static int wordsFor(int cells) {
+    return (cells + 63) >>> 6;
+  }
+
+  /**
+   * Gets the size of one record, for bitsets of the provided number of longs.
+   *
+   * @param words the number of longs in the bitset of each color.
+   * @return the size of a record in bytes.
+   */
+
+  static int recordBytesFor(int words) {
+    return 16 * words + 8;
+  }
+
+  /**
+   * Get the number of records in the store.
+   *
+   * @return the number of records.
+   */
+
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * Get the radius of the board of every position in the store.
+   *
+   * @return the radius.
+   */
+
+  public int getRadius() {
+    return this.radius;
+  }
+
+  /**
+   * Get the number of rows of the board of every position in the store.
+   *
+   * @return the number of rows.
+   */
+
+  public int getRows() {
+    return 2 * this.radius + 1;
+  }
+
+  /**
+   * Get the number of longs in the bitset of each color.
+   *
+   * @return the number of words per color.
+   */
+
+  public int getWordCount() {
+    return this.words;
+  }
+
+  /**
+   * Gets one word of the bitset of the cells holding black pieces in a record.
+   *
+   * @param index the index of the record.
+   * @param word  the index of the word, from 0 to {@link #getWordCount()} exclusive.
+   * @return the bits of cells {@code 64 * word} to {@code 64 * word + 63}.
+   * @throws IndexOutOfBoundsException if the record or word does not exist.
+   */
+
+  public long getBlackCells(long index, int word) throws IndexOutOfBoundsException {
+    return this.segmentOf(index).getLong(this.offsetOf(index) + 8 * this.checkWord(word));
+  }
+
+  /**
+   * Gets one word of the bitset of the cells holding white pieces in a record.
+   *
+   * @param index the index of the record.
+   * @param word  the index of the word, from 0 to {@link #getWordCount()} exclusive.
+   * @return the bits of cells {@code 64 * word} to {@code 64 * word + 63}.
+   * @throws IndexOutOfBoundsException if the record or word does not exist.
+   */
+
+  public long getWhiteCells(long index, int word) throws IndexOutOfBoundsException {
+    return this.segmentOf(index).getLong(this.offsetOf(index)
+            + 8 * (this.words + this.checkWord(word)));
+  }
+
+  /**
+   * Gets the outcome of a record: the final score of the player to move, minus the final score
+   * of their opponent.
+   *
+   * @param index the index of the record.
+   * @return the outcome of the game, for the player to move.
+   * @throws IndexOutOfBoundsException if the record does not exist.
+   */
+
+  public int getOutcome(long index) throws IndexOutOfBoundsException {
+    return this.segmentOf(index).getInt(this.offsetOf(index) + 16 * this.words);
+  }
+
+  /**
+   * Gets the turn of the position of a record.
+   *
+   * @param index the index of the record.
+   * @return the turn, starting from 1.
+   * @throws IndexOutOfBoundsException if the record does not exist.
+   */
+
+  public int getTurn(long index) throws IndexOutOfBoundsException {
+    return Short.toUnsignedInt(this.segmentOf(index).getShort(this.offsetOf(index)
+            + 16 * this.words + 4));
+  }
+
+  /**
+   * Gets the number of passes made in a row before the position of a record.
+   *
+   * @param index the index of the record.
+   * @return the number of passes.
+   * @throws IndexOutOfBoundsException if the record does not exist.
+   */
+
+  public int getPasses(long index) throws IndexOutOfBoundsException {
+    return this.segmentOf(index).get(this.offsetOf(index) + 16 * this.words + 6);
+  }
+
+  /**
+   * Gets the player to move in the position of a record.
+   *
+   * @param index the index of the record.
+   * @return the color of the player to move.
+   * @throws IndexOutOfBoundsException if the record does not exist.
+   */
+
+  public PieceColor getPlayerColor(long index) throws IndexOutOfBoundsException {
+    return this.getTurn(index) % 2 == 1 ? PieceColor.WHITE : PieceColor.BLACK;
+  }
+
+  /**
+   * Rebuilds the position of a record as a model. This is much slower than reading the fields
+   * of the record, so it is meant for checking records, or for code that needs the rules of
+   * the game, such as legal moves.
+   *
+   * @param index the index of the record.
+   * @return a new model at the position, with no moves to take back.
+   * @throws IndexOutOfBoundsException if the record does not exist.
+   * @throws IllegalStateException if the record does not hold a valid position.
+   */
+
+  public BitboardReversi getPosition(long index)
+          throws IndexOutOfBoundsException, IllegalStateException {
+    long[] blacks = new long[this.words];
+    long[] whites = new long[this.words];
+    for (int word = 0; word < this.words; word++) {
+      blacks[word] = this.getBlackCells(index, word);
+      whites[word] = this.getWhiteCells(index, word);
+    }
+    try {
+      return new BitboardReversi(this.getRows(), blacks, whites, this.getTurn(index),
+              this.getPasses(index));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException("Record " + index + " is not a valid position.", e);
+    }
+  }
+
+  /**
+   * Opens a cursor over every record of the store, in order.
+   *
+   * @return a new cursor, before the first record.
+   */
+
+  public PositionCursor cursor() {
+    return new PositionCursor(this, 0, this.count);
+  }
+
+  /**
+   * Opens a cursor over a range of the records of the store, in order. Ranges that do not
+   * overlap can be read by different threads to scan a store in parallel.
+   *
+   * @param from the index of the first record to read.
+   * @param to   the index after the last record to read.
+   * @return a new cursor, before the first record of the range.
+   * @throws IllegalArgumentException if the range is not inside the store.
+   */
+
+  public PositionCursor cursor(long from, long to) throws IllegalArgumentException {
+    if (from < 0 || to < from || to > this.count) {
+      throw new IllegalArgumentException("Invalid range: " + from + " to " + to);
+    }
+    return new PositionCursor(this, from, to);
+  }
+
+  /**
+   * Closes the file of the store. The mappings themselves are released by the garbage
+   * collector, and must not be read once the store is closed.
+   *
+   * @throws IOException if the file cannot be closed.
+   */
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  /**
+   * Gets the segment holding a record.
+   *
+   * @param index the index of the record.
+   * @return the mapping of the segment.
+   * @throws IndexOutOfBoundsException if the record does not exist.
+   */
+
+  ByteBuffer segmentOf(long index) throws IndexOutOfBoundsException {
+    if (index < 0 || index >= this.count) {
+      throw new IndexOutOfBoundsException("No record " + index + " in a store of "
+              + this.count);
+    }
+    return this.segments[(int) (index / this.segmentRecords)];
+  }
+
+  /**
+   * Gets the offset of a record within its segment.
+   *
+   * @param index the index of the record, which must exist.
+   * @return the offset of the first byte of the record.
+   */
+
+  int offsetOf(long index) {
+    return (int) (index % this.segmentRecords) * this.recordBytes;
+  }
+
+  private int checkWord(int word) throws IndexOutOfBoundsException {
+    if (word < 0 || word >= this.words) {
+      throw new IndexOutOfBoundsException("No word " + word);
+    }
+    return word;
+  }
+}
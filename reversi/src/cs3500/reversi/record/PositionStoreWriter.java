@@ -0,0 +1,283 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.record;
+
+import java.awt.Point;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.HexCellState;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Writes positions and their outcomes to a new {@link PositionStore}. Records are written
+ * through a memory mapping of the file, which is extended one chunk at a time as the store
+ * grows, so appending a record is a handful of stores to memory rather than a system call.
+ * The count in the header is updated after every record, so if the writer is never closed,
+ * e.g. because the program writing it was stopped, the store can still be read up to its last
+ * whole record.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>channel: the open file</li>
+ *   <li>topology: the topology of the board of every position</li>
+ *   <li>words: the number of longs in the bitset of each color</li>
+ *   <li>recordBytes: the size of one record</li>
+ *   <li>chunkRecords: the number of records mapped at a time</li>
+ *   <li>header: the mapping of the header</li>
+ *   <li>chunk: the mapping of the records currently being written, or null before the first
+ *   record</li>
+ *   <li>blacks and whites: the bitsets of the record being written</li>
+ *   <li>count: the number of records written</li>
+ *   <li>closed: whether the writer has been closed</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>the count in the header is always equal to count</li>
+ *   <li>the record numbered count is always either at the start of a new chunk or inside
+ *   chunk</li>
+ * </ul>
+ */
+
+public final class PositionStoreWriter implements Closeable {
+
+  private static final long CHUNK_BYTES = 64L << 20;
+
+  private final FileChannel channel;
+  private final HexTopology topology;
+  private final int words;
+  private final int recordBytes;
+  private final long chunkRecords;
+  private final MappedByteBuffer header;
+  private final long[] blacks;
+  private final long[] whites;
+  private MappedByteBuffer chunk;
+  private long count = 0;
+  private boolean closed = false;
+
+  /**
+   * Creates a new, empty store at the provided path, replacing any file already there.
+   *
+   * @param path the file of the store.
+   * @param rows the number of rows of the board of every position in the store.
+   * @throws IllegalArgumentException if the number of rows is not odd and at least 5, or the
+   *                                  board is larger than {@link PositionStore#MAX_RADIUS}.
+   * @throws IOException if the file cannot be created.
+   */
+
+  public PositionStoreWriter(Path path, int rows) throws IllegalArgumentException, IOException {
+    if (rows < 5 || rows % 2 == 0 || rows / 2 > PositionStore.MAX_RADIUS) {
+      throw new IllegalArgumentException("Invalid number of rows: " + rows);
+    }
+    this.topology = HexTopology.of(rows / 2);
+    this.words = PositionStore.wordsFor(this.topology.getCellCount());
+    this.recordBytes = PositionStore.recordBytesFor(this.words);
+    this.chunkRecords = CHUNK_BYTES / this.recordBytes;
+    this.blacks = new long[this.words];
+    this.whites = new long[this.words];
+    this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    try {
+      this.header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+              PositionStore.HEADER_BYTES);
+      this.header.order(ByteOrder.LITTLE_ENDIAN);
+      this.header.putInt(0, PositionStore.MAGIC);
+      this.header.putInt(4, PositionStore.VERSION);
+      this.header.putInt(8, this.topology.getRadius());
+      this.header.putInt(12, this.recordBytes);
+      this.header.putLong(PositionStore.COUNT_OFFSET, 0);
+    } catch (IOException | RuntimeException e) {
+      this.channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Appends a position to the store.
+   *
+   * @param position the position, which may be of any implementation.
+   * @param outcome  the final score of the player to move in the position, minus the final
+   *                 score of their opponent.
+   * @throws IllegalArgumentException if the position is null, or its board is not the size
+   *                                  of the store.
+   * @throws IllegalStateException if the writer is closed.
+   * @throws IOException if the file cannot be extended.
+   */
+
+  public void append(ReadonlyReversiModel position, int outcome)
+          throws IllegalArgumentException, IllegalStateException, IOException {
+    if (position == null || position.getRadius() != this.topology.getRadius()) {
+      throw new IllegalArgumentException("The position must have radius "
+              + this.topology.getRadius());
+    } else if (this.closed) {
+      throw new IllegalStateException("The writer is closed.");
+    }
+    Arrays.fill(this.blacks, 0);
+    Arrays.fill(this.whites, 0);
+    for (int index = 0; index < this.topology.getCellCount(); index++) {
+      HexCellState state = position.getCellState(this.topology.getRow(index),
+              this.topology.getCol(index));
+      if (state == HexCellState.BLACK) {
+        this.blacks[index >>> 6] |= 1L << index;
+      } else if (state == HexCellState.WHITE) {
+        this.whites[index >>> 6] |= 1L << index;
+      }
+    }
+    int offset = this.nextOffset();
+    for (int word = 0; word < this.words; word++) {
+      this.chunk.putLong(offset + 8 * word, this.blacks[word]);
+      this.chunk.putLong(offset + 8 * (this.words + word), this.whites[word]);
+    }
+    offset += 16 * this.words;
+    this.chunk.putInt(offset, outcome);
+    this.chunk.putShort(offset + 4, (short) position.getTurn());
+    this.chunk.put(offset + 6, (byte) position.getPasses());
+    this.count++;
+    this.header.putLong(PositionStore.COUNT_OFFSET, this.count);
+  }
+
+  /**
+   * Appends every position of a finished game in which a move or pass was made, each with the
+   * outcome of the game for the player to move in it. The final position is not written, as
+   * nobody moves in it.
+   *
+   * @param record the game to append.
+   * @return the number of positions appended.
+   * @throws IllegalArgumentException if the record is null or unfinished, holds an illegal
+   *                                  move, or its board is not the size of the store.
+   * @throws IllegalStateException if the writer is closed.
+   * @throws IOException if the file cannot be extended.
+   */
+
+  public int appendGame(GameRecord record)
+          throws IllegalArgumentException, IllegalStateException, IOException {
+    if (record == null || !record.isFinished()) {
+      throw new IllegalArgumentException("Only finished games can be appended.");
+    } else if (record.getRadius() != this.topology.getRadius()) {
+      throw new IllegalArgumentException("The game must have radius "
+              + this.topology.getRadius());
+    }
+    // The outcome is only known at the end, so the game is played through once to find it,
+    // then taken back, then played again to write its positions.
+    ReversiModel board = new BitboardReversi(record.getRows());
+    for (int ply = 0; ply < record.getMoveCount(); ply++) {
+      play(board, record, ply);
+    }
+    int whiteMargin = board.getScore(PieceColor.WHITE) - board.getScore(PieceColor.BLACK);
+    for (int ply = 0; ply < record.getMoveCount(); ply++) {
+      board.undoMove();
+    }
+    for (int ply = 0; ply < record.getMoveCount(); ply++) {
+      boolean white = board.getPlayerColor() == PieceColor.WHITE;
+      this.append(board, white ? whiteMargin : -whiteMargin);
+      play(board, record, ply);
+    }
+    return record.getMoveCount();
+  }
+
+  /**
+   * Get the number of records written so far.
+   *
+   * @return the number of records.
+   */
+
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * Flushes the records to the disk, cuts the file down to the records actually written, and
+   * closes it. Closing a closed writer does nothing.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+
+  @Override
+  public void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    try {
+      if (this.chunk != null) {
+        this.chunk.force();
+      }
+      this.header.force();
+      this.channel.truncate(PositionStore.HEADER_BYTES + this.count * this.recordBytes);
+    } finally {
+      this.channel.close();
+    }
+  }
+
+  /**
+   * Gets the offset of the next record in the current chunk, mapping a new chunk at the end
+   * of the file if the current one is full.
+   *
+   * @return the offset of the record numbered count.
+   * @throws IOException if the file cannot be extended.
+   */
+
+  private int nextOffset() throws IOException {
+    long inChunk = this.count % this.chunkRecords;
+    if (this.chunk == null || inChunk == 0) {
+      this.chunk = this.channel.map(FileChannel.MapMode.READ_WRITE,
+              PositionStore.HEADER_BYTES + this.count * this.recordBytes,
+              this.chunkRecords * this.recordBytes);
+      this.chunk.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return (int) inChunk * this.recordBytes;
+  }
+
+  /**
+   * Plays the move of the provided ply of a game on the provided board.
+   *
+   * @param board  the board at the position before the move.
+   * @param record the game being played.
+   * @param ply    the index of the move.
+   * @throws IllegalArgumentException if the move is not legal.
+   */
+
+  private static void play(ReversiModel board, GameRecord record, int ply)
+          throws IllegalArgumentException {
+    PieceColor color = board.getPlayerColor();
+    Optional<Point> move = record.getPoint(ply);
+    try {
+      if (move.isPresent()) {
+        board.applyMove(move.get().x, move.get().y, color);
+      } else {
+        board.applyPass(color);
+      }
+    } catch (IllegalStateException e) {
+      throw new IllegalArgumentException("The move at ply " + ply + " is not legal.", e);
+    }
+  }
+}
@@ -0,0 +1,554 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cs3500.reversi.evaluation.Evaluation;
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * A strategy that looks ahead several moves, using a negamax search with alpha-beta pruning.
+ * Unlike the other strategies, which only look at the result of their own move, this strategy
+ * assumes the opponent will always reply with the move that is best for them.
+ *
+ * <p>The search is run with iterative deepening: it searches one move deep, then two, and so
+ * on until its time budget runs out (or the calling thread is interrupted), and then plays the
+ * best move of the deepest search that finished. Each search tries the root moves in the order
+ * of their scores in the previous search, so the best move so far is tried first and the most
+ * branches are pruned.
+ *
+ * <p>Positions at the end of the search that are not finished are estimated by an
+ * {@link Evaluation}, which is the default one unless another is provided, e.g. with weights
+ * fit by a {@link cs3500.reversi.evaluation.WeightTuner}.
+ *
+ * <p>The search runs on a {@link BitboardReversi} copy of the model, and explores moves with
+ * {@link ReversiModel#applyMove(int, int, PieceColor)} and {@link ReversiModel#undoMove()}
+ * rather than with a copy per move.
+ *
+ * <p>Results are cached in a {@link TranspositionTable}, which is kept between searches. A
+ * position that was already searched deep enough is not searched again, and otherwise the
+ * best move found for it last time is tried first.
+ *
+ * <p>The search may be split across several worker threads of a {@link ForkJoinPool}. The
+ * workers take the root moves one at a time, in order, and each searches its moves on its own
+ * copy of the board. The workers share the transposition table, and the best score found at
+ * the root so far, which they use to prune the moves they take later. With a single worker,
+ * the search runs on the calling thread.
+ *
+ * <p>While the opponent is deciding, the search can {@link #ponder} their position: it
+ * predicts their reply with a search of the usual time budget, and then searches the position
+ * after that reply until it is interrupted. If the opponent plays the predicted move, the next
+ * search finds the deep results of pondering in the transposition table, and reaches the same
+ * depth in a fraction of the time. If they do not, only the results of the prediction are of
+ * use.
+ *
+ * @see ReversiStrategy
+ */
+
+public final class AlphaBetaSearch implements PonderingStrategy {
+
+  /**
+   * The default time budget of a search, in milliseconds.
+   */
+
+  public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+  /**
+   * The default size of the transposition table, in megabytes.
+   */
+
+  public static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+  private static final int WIN = 1_000_000;
+  private static final int INFINITY = Integer.MAX_VALUE - 1;
+  private static final int CHECK_INTERVAL = 1024;
+
+  private final long budgetNanos;
+  private final int maxDepth;
+  private final TranspositionTable table;
+  private final int workers;
+  private final ForkJoinPool pool;
+  private final Evaluation evaluation;
+
+  private HexTopology topology;
+  private long deadline;
+  private volatile Thread caller;
+  private volatile boolean aborted;
+  private long nodes;
+  private int completedDepth;
+
+  /**
+   * Constructs a new {@link AlphaBetaSearch} with the default time budget.
+   */
+
+  public AlphaBetaSearch() {
+    this(DEFAULT_BUDGET_MILLIS);
+  }
+
+  /**
+   * Constructs a new {@link AlphaBetaSearch} with the provided time budget per move.
+   *
+   * @param budgetMillis the time to search for before choosing a move, in milliseconds.
+   * @throws IllegalArgumentException if the budget is not positive.
+   */
+
+  public AlphaBetaSearch(long budgetMillis) throws IllegalArgumentException {
+    this(budgetMillis, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Constructs a new {@link AlphaBetaSearch} with the provided time budget per move, which
+   * never searches deeper than the provided depth. A search that reaches the depth limit
+   * before its time budget runs out always chooses the same move for the same position.
+   *
+   * @param budgetMillis the time to search for before choosing a move, in milliseconds.
+   * @param maxDepth     the maximum number of moves to look ahead.
+   * @throws IllegalArgumentException if the budget or the depth is not positive.
+   */
+
+  public AlphaBetaSearch(long budgetMillis, int maxDepth) throws IllegalArgumentException {
+    this(budgetMillis, maxDepth, new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+  }
+
+  /**
+   * Constructs a new {@link AlphaBetaSearch} with the provided time budget per move and
+   * maximum depth, which caches its results in the provided table.
+   *
+   * @param budgetMillis the time to search for before choosing a move, in milliseconds.
+   * @param maxDepth     the maximum number of moves to look ahead.
+   * @param table        the table to cache results in.
+   * @throws IllegalArgumentException if the budget or the depth is not positive, or if the
+   *                                  table is null.
+   */
+
+  public AlphaBetaSearch(long budgetMillis, int maxDepth, TranspositionTable table)
+          throws IllegalArgumentException {
+    this(budgetMillis, maxDepth, table, 1);
+  }
+
+  /**
+   * Constructs a new {@link AlphaBetaSearch} with the provided time budget per move and
+   * maximum depth, which caches its results in the provided table and splits its search
+   * across the provided number of worker threads.
+   *
+   * @param budgetMillis the time to search for before choosing a move, in milliseconds.
+   * @param maxDepth     the maximum number of moves to look ahead.
+   * @param table        the table to cache results in.
+   * @param workers      the number of threads to search with.
+   * @throws IllegalArgumentException if the budget, the depth or the number of workers is not
+   *                                  positive, or if the table is null.
+   */
+
+  public AlphaBetaSearch(long budgetMillis, int maxDepth, TranspositionTable table, int workers)
+          throws IllegalArgumentException {
+    this(budgetMillis, maxDepth, table, workers, Evaluation.getDefault());
+  }
+
+  /**
+   * Constructs a new {@link AlphaBetaSearch} like
+   * {@link #AlphaBetaSearch(long, int, TranspositionTable, int)}, which estimates the
+   * positions at the end of its search with the provided evaluation rather than the default
+   * one.
+   *
+   * @param budgetMillis the time to search for before choosing a move, in milliseconds.
+   * @param maxDepth     the maximum number of moves to look ahead.
+   * @param table        the table to cache results in.
+   * @param workers      the number of threads to search with.
+   * @param evaluation   the evaluation of unfinished positions.
+   * @throws IllegalArgumentException if the budget, the depth or the number of workers is not
+   *                                  positive, or if the table or evaluation is null.
+   */
+
+  public AlphaBetaSearch(long budgetMillis, int maxDepth, TranspositionTable table, int workers,
+                         Evaluation evaluation) throws IllegalArgumentException {
+    if (table == null || evaluation == null) {
+      throw new IllegalArgumentException("Table and evaluation cannot be null.");
+    } else if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("The time budget must be positive.");
+    } else if (maxDepth <= 0) {
+      throw new IllegalArgumentException("The maximum depth must be positive.");
+    } else if (workers <= 0) {
+      throw new IllegalArgumentException("The number of workers must be positive.");
+    }
+    this.budgetNanos = budgetMillis < Long.MAX_VALUE / 1_000_000L
+            ? budgetMillis * 1_000_000L : Long.MAX_VALUE;
+    this.maxDepth = maxDepth;
+    this.table = table;
+    this.workers = workers;
+    this.pool = workers > 1 ? new ForkJoinPool(workers) : null;
+    this.evaluation = evaluation;
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    ReversiModel board = new BitboardReversi(model);
+    if (board.getPlayerColor() != pieceColor) {
+      throw new IllegalStateException("It is not " + pieceColor + "'s turn.");
+    }
+    return this.search(board, pieceColor, this.budgetNanos);
+  }
+
+  @Override
+  public void ponder(ReadonlyReversiModel model, PieceColor pieceColor)
+          throws IllegalStateException {
+    ReversiModel board = new BitboardReversi(model);
+    PieceColor opponent = board.getPlayerColor();
+    if (opponent == pieceColor) {
+      throw new IllegalStateException("It is " + pieceColor + "'s turn.");
+    }
+    if (board.isGameOver()) {
+      return;
+    }
+    Optional<Point> reply = this.search(board, opponent, this.budgetNanos);
+    if (Thread.currentThread().isInterrupted()) {
+      return;
+    }
+    if (reply.isPresent()) {
+      board.applyMove(reply.get().x, reply.get().y, opponent);
+    } else {
+      board.applyPass(opponent);
+    }
+    if (!board.isGameOver() && board.getPlayerColor() == pieceColor) {
+      this.search(board, pieceColor, Long.MAX_VALUE);
+    }
+  }
+
+  /**
+   * Searches the position on the provided board with iterative deepening, until the provided
+   * time runs out, the maximum depth is reached, or the calling thread is interrupted.
+   *
+   * @param board       the board to search on, which may be used as the board of a worker.
+   * @param pieceColor  the player to move.
+   * @param budgetNanos the time to search for, in nanoseconds.
+   * @return the best move found, or an empty {@link Optional} if there are no legal moves.
+   */
+
+  private Optional<Point> search(ReversiModel board, PieceColor pieceColor, long budgetNanos) {
+    List<Point> moves = new ArrayList<>(board.getLegalMoves(pieceColor));
+    this.nodes = 0;
+    this.completedDepth = 0;
+    if (moves.isEmpty() || board.isGameOver()) {
+      return Optional.empty();
+    }
+    this.topology = HexTopology.of(board.getRadius());
+    // The deadline may wrap around for long budgets, so it is compared by difference.
+    this.deadline = System.nanoTime() + budgetNanos;
+    this.caller = Thread.currentThread();
+    this.aborted = false;
+    Worker[] searchers = new Worker[Math.min(this.workers, moves.size())];
+    searchers[0] = new Worker(board);
+    for (int i = 1; i < searchers.length; i++) {
+      searchers[i] = new Worker(new BitboardReversi(board));
+    }
+    int cells = this.topology.getCellCount();
+    int empties = cells - board.getScore(PieceColor.BLACK) - board.getScore(PieceColor.WHITE);
+    Point best = moves.get(0);
+    for (int depth = 1; depth <= Math.min(this.maxDepth, empties); depth++) {
+      int[] scores = this.searchRoot(searchers, moves, pieceColor, depth);
+      if (this.aborted) {
+        break;
+      }
+      this.sortByScore(moves, scores);
+      best = moves.get(0);
+      this.completedDepth = depth;
+    }
+    for (Worker searcher : searchers) {
+      this.nodes += searcher.nodes;
+    }
+    return Optional.of(best);
+  }
+
+  /**
+   * Get the number of positions visited by the most recent search, across all workers.
+   *
+   * @return the number of positions visited.
+   */
+
+  public long getNodeCount() {
+    return this.nodes;
+  }
+
+  /**
+   * Get the transposition table this search caches its results in, e.g. to read its
+   * counters.
+   *
+   * @return the transposition table.
+   */
+
+  public TranspositionTable getTable() {
+    return this.table;
+  }
+
+  /**
+   * Get the evaluation this search estimates the positions at the end of its search with.
+   *
+   * @return the evaluation.
+   */
+
+  public Evaluation getEvaluation() {
+    return this.evaluation;
+  }
+
+  /**
+   * Get the number of threads this search is split across.
+   *
+   * @return the number of workers.
+   */
+
+  public int getWorkerCount() {
+    return this.workers;
+  }
+
+  /**
+   * Get the depth of the deepest search that finished within the most recent time budget.
+   * This is 0 if the player to move had no legal moves, or if not even a one move search
+   * finished in time, in which case the first legal move was chosen.
+   *
+   * @return the depth of the deepest finished search.
+   */
+
+  public int getCompletedDepth() {
+    return this.completedDepth;
+  }
+
+  /**
+   * Searches every root move to the provided depth, splitting the moves across the workers.
+   *
+   * @param searchers the workers to search with.
+   * @param moves     the legal moves at the root, in the order to search them.
+   * @param color     the player to move.
+   * @param depth     the number of moves to look ahead, including the root move.
+   * @return the score of each move; only the best is exact, as the others may be cut off
+   *         once they are known to be worse.
+   */
+
+  private int[] searchRoot(Worker[] searchers, List<Point> moves, PieceColor color, int depth) {
+    int[] scores = new int[moves.size()];
+    AtomicInteger next = new AtomicInteger();
+    AtomicInteger alpha = new AtomicInteger(-INFINITY);
+    if (searchers.length == 1) {
+      searchers[0].searchRootMoves(moves, color, depth, scores, next, alpha);
+      return scores;
+    }
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (Worker searcher : searchers) {
+      tasks.add(() -> {
+        searcher.searchRootMoves(moves, color, depth, scores, next, alpha);
+        return null;
+      });
+    }
+    try {
+      for (Future<Void> task : this.pool.invokeAll(tasks)) {
+        task.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      this.aborted = true;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("The search failed.", e.getCause());
+    }
+    return scores;
+  }
+
+  /**
+   * Scores a finished game from the point of view of the provided player. Any win is scored
+   * above any position that is not finished, and wins by more pieces are scored higher.
+   *
+   * @param board the finished game.
+   * @param color the player to score the game for.
+   * @return the score of the game.
+   */
+
+  private int scoreFinal(ReadonlyReversiModel board, PieceColor color) {
+    int margin = board.getScore(color) - board.getScore(this.opposite(color));
+    return Integer.signum(margin) * WIN + margin;
+  }
+
+  /**
+   * Sorts the moves by their scores, best first. Moves with equal scores keep their order.
+   *
+   * @param moves  the moves to sort.
+   * @param scores the score of each move, which are sorted along with the moves.
+   */
+
+  private void sortByScore(List<Point> moves, int[] scores) {
+    for (int i = 1; i < moves.size(); i++) {
+      Point move = moves.get(i);
+      int score = scores[i];
+      int j = i - 1;
+      while (j >= 0 && scores[j] < score) {
+        moves.set(j + 1, moves.get(j));
+        scores[j + 1] = scores[j];
+        j--;
+      }
+      moves.set(j + 1, move);
+      scores[j + 1] = score;
+    }
+  }
+
+  private PieceColor opposite(PieceColor color) {
+    return color == PieceColor.BLACK ? PieceColor.WHITE : PieceColor.BLACK;
+  }
+
+  /**
+   * One thread of a search, with its own board to make and unmake moves on, and its own
+   * count of the positions it visited.
+   */
+
+  private final class Worker {
+
+    private final ReversiModel board;
+    private long nodes = 0;
+
+    /**
+     * Constructs a new {@link Worker} that searches on the provided board.
+     *
+     * @param board the board to search on, which this worker must be the only user of.
+     */
+
+    private Worker(ReversiModel board) {
+      this.board = board;
+    }
+
+    /**
+     * Takes root moves from the shared counter until there are none left, and scores each
+     * of them.
+     *
+     * @param moves  the legal moves at the root.
+     * @param color  the player to move.
+     * @param depth  the number of moves to look ahead, including the root move.
+     * @param scores the scores of the root moves, by their index in {@code moves}.
+     * @param next   the index of the next root move to take.
+     * @param alpha  the best score found at the root so far.
+     */
+
+    private void searchRootMoves(List<Point> moves, PieceColor color, int depth, int[] scores,
+                                 AtomicInteger next, AtomicInteger alpha) {
+      for (int i = next.getAndIncrement(); i < moves.size() && !aborted;
+           i = next.getAndIncrement()) {
+        Point move = moves.get(i);
+        this.board.applyMove(move.x, move.y, color);
+        scores[i] = -this.negamax(depth - 1, -INFINITY, -alpha.get());
+        this.board.undoMove();
+        alpha.accumulateAndGet(scores[i], Math::max);
+      }
+    }
+
+    /**
+     * Scores the position on the board from the point of view of the player to move, looking
+     * the provided number of moves ahead. Branches that cannot affect the result, because one
+     * of the players can already force a better score elsewhere, are skipped.
+     *
+     * @param depth the number of moves left to look ahead.
+     * @param alpha the score the player to move is already guaranteed.
+     * @param beta  the score the opponent is already guaranteed, negated.
+     * @return the score of the position, or 0 if the search ran out of time.
+     */
+
+    private int negamax(int depth, int alpha, int beta) {
+      this.nodes++;
+      if ((this.nodes % CHECK_INTERVAL) == 0
+              && (System.nanoTime() - deadline > 0 || caller.isInterrupted())) {
+        aborted = true;
+      }
+      if (aborted) {
+        return 0;
+      }
+      ReversiModel board = this.board;
+      PieceColor color = board.getPlayerColor();
+      if (board.isGameOver()) {
+        return scoreFinal(board, color);
+      } else if (depth == 0) {
+        return evaluation.evaluate(board, color);
+      }
+      long key = board.getPositionHash();
+      long entry = table.probe(key);
+      int tableMove = -1;
+      if (entry != TranspositionTable.MISSING) {
+        tableMove = TranspositionTable.moveOf(entry);
+        if (TranspositionTable.depthOf(entry) >= depth) {
+          int score = TranspositionTable.scoreOf(entry);
+          int bound = TranspositionTable.boundOf(entry);
+          if (bound == TranspositionTable.EXACT
+                  || bound == TranspositionTable.LOWER_BOUND && score >= beta
+                  || bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+            return score;
+          }
+        }
+      }
+      List<Point> moves = board.getLegalMoves(color);
+      if (moves.isEmpty()) {
+        board.applyPass(color);
+        int score = -this.negamax(depth - 1, -beta, -alpha);
+        board.undoMove();
+        return score;
+      }
+      int originalAlpha = alpha;
+      int best = -INFINITY;
+      int bestMove = -1;
+      for (int i = -1; i < moves.size(); i++) {
+        int move;
+        if (i == -1) {
+          // The stored move is tried first; it is checked in case another position collided.
+          move = tableMove;
+          if (move == -1 || !board.isValidMove(
+                  topology.getRow(move), topology.getCol(move), color)) {
+            continue;
+          }
+        } else {
+          move = topology.indexOf(moves.get(i).x, moves.get(i).y);
+          if (move == tableMove) {
+            continue;
+          }
+        }
+        board.applyMove(topology.getRow(move), topology.getCol(move), color);
+        int score = -this.negamax(depth - 1, -beta, -alpha);
+        board.undoMove();
+        if (aborted) {
+          return 0;
+        }
+        if (score > best) {
+          best = score;
+          bestMove = move;
+          alpha = Math.max(alpha, score);
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+      int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+              : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+      table.store(key, depth, bound, best, bestMove);
+      return best;
+    }
+  }
+}
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import cs3500.reversi.model.BoardView;
 import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
@@ -32,31 +33,53 @@ import cs3500.reversi.model.types.PieceColor;
  */
 
 public final class AvoidCellsNextToCorners implements ReversiStrategy {
+
+  private final StrategyLogger logger;
+
+  /**
+   * Constructs a new {@link AvoidCellsNextToCorners} that records nothing about its decisions.
+   */
+
+  public AvoidCellsNextToCorners() {
+    this(StrategyLogger.NONE);
+  }
+
+  /**
+   * Constructs a new {@link AvoidCellsNextToCorners} that records its decisions to the
+   * provided logger.
+   *
+   * @param logger the logger to record decisions to.
+   * @throws IllegalArgumentException if the logger is null.
+   */
+
+  public AvoidCellsNextToCorners(StrategyLogger logger) throws IllegalArgumentException {
+    if (logger == null) {
+      throw new IllegalArgumentException("Logger cannot be null.");
+    }
+    this.logger = logger;
+  }
+
   @Override
   public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    DecisionTrace trace = DecisionTrace.start(this.logger, "AvoidNextToCorners", pieceColor);
     int maxScore = 0;
     Point maxPoint = null;
+    ReversiModel modelCopy = model.getModelCopy();
     for (Point p : this.getPointsNotNextToCorners(model)) {
-      ReversiModel modelCopy = model.getModelCopy();
       try {
-        modelCopy.playMove(p.x, p.y, pieceColor);
+        modelCopy.applyMove(p.x, p.y, pieceColor);
       } catch (IllegalStateException e) {
         continue;
       }
       int score = modelCopy.getScore(pieceColor);
+      trace.candidate(p.x, p.y, score);
+      modelCopy.undoMove();
       if (score > maxScore) {
         maxScore = score;
         maxPoint = new Point(p.x, p.y);
       }
     }
-    if (maxPoint == null) {
-      System.out.println("[AvoidNextToCorners AI] No valid moves found for " + pieceColor + ".");
-      return Optional.empty();
-    }
-    int x = maxPoint.x;
-    int y = maxPoint.y;
-    System.out.printf("[AvoidNextToCorners AI] Found move for %s at (%d, %d).%n", pieceColor, x, y);
-    return Optional.of(maxPoint);
+    return trace.finish(maxPoint, maxScore);
   }
 
   /**
@@ -69,8 +92,9 @@ public final class AvoidCellsNextToCorners implements ReversiStrategy {
   private List<Point> getPointsNotNextToCorners(ReadonlyReversiModel model) {
     List<Point> pointsNotNextToCorners = new ArrayList<>();
     List<Point> pointsNextToCorners = this.getPointsNextToCorners(model);
-    for (int i = 0; i < model.getBoardCopy().size(); i++) {
-      for (int j = 0; j < model.getBoardCopy().get(i).size(); j++) {
+    BoardView board = model.getBoardView();
+    for (int i = 0; i < board.getRowCount(); i++) {
+      for (int j = 0; j < board.getRowSize(i); j++) {
         if (pointsNextToCorners.contains(new Point(i, j))) {
           pointsNextToCorners.remove(new Point(i, j));
         } else {
@@ -88,9 +112,10 @@ public final class AvoidCellsNextToCorners implements ReversiStrategy {
    */
 
   private List<Point> getPointsNextToCorners(ReadonlyReversiModel model) {
-    int firstRowSize = model.getBoardCopy().get(0).size();
-    int middleRowSize = model.getBoardCopy().get(model.getBoardCopy().size() / 2).size();
-    int lastRowSize = model.getBoardCopy().get(model.getBoardCopy().size() - 1).size();
+    BoardView board = model.getBoardView();
+    int firstRowSize = board.getRowSize(0);
+    int middleRowSize = board.getRowSize(board.getRowCount() / 2);
+    int lastRowSize = board.getRowSize(board.getRowCount() - 1);
     return new ArrayList<>(List.of(
             new Point(0, 1),
             new Point(1, 0),
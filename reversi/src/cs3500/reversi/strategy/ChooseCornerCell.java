@@ -26,39 +26,59 @@ import java.util.Optional;
 import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
-import cs3500.reversi.model.types.ReversiCellPair;
 
 /**
  * Represents a strategy that chooses a corner cell if possible.
  */
 
 public final class ChooseCornerCell implements ReversiStrategy {
+
+  private final StrategyLogger logger;
+
+  /**
+   * Constructs a new {@link ChooseCornerCell} that records nothing about its decisions.
+   */
+
+  public ChooseCornerCell() {
+    this(StrategyLogger.NONE);
+  }
+
+  /**
+   * Constructs a new {@link ChooseCornerCell} that records its decisions to the provided logger.
+   *
+   * @param logger the logger to record decisions to.
+   * @throws IllegalArgumentException if the logger is null.
+   */
+
+  public ChooseCornerCell(StrategyLogger logger) throws IllegalArgumentException {
+    if (logger == null) {
+      throw new IllegalArgumentException("Logger cannot be null.");
+    }
+    this.logger = logger;
+  }
+
   @Override
   public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    DecisionTrace trace = DecisionTrace.start(this.logger, "ChooseCornerCells", pieceColor);
     int maxScore = 0;
     Point maxPoint = null;
+    ReversiModel modelCopy = model.getModelCopy();
     List<Point> cornerPoints = this.getCornerPoints(model);
     for (Point p : cornerPoints) {
-      ReversiModel modelCopy = model.getModelCopy();
       try {
-        modelCopy.playMove(p.x, p.y, pieceColor);
+        modelCopy.applyMove(p.x, p.y, pieceColor);
       } catch (IllegalStateException e) {
         continue;
       }
       int score = modelCopy.getScore(pieceColor);
+      trace.candidate(p.x, p.y, score);
+      modelCopy.undoMove();
       if (score > maxScore) {
         maxScore = score;
         maxPoint = new Point(p.x, p.y);
       }
     }
-    if (maxPoint == null) {
-      System.out.println("[ChooseCornerCells AI] No valid moves found for " + pieceColor + ".");
-      return Optional.empty();
-    }
-    int x = maxPoint.x;
-    int y = maxPoint.y;
-    System.out.printf("[ChooseCornerCells AI] Found move for %s at (%d, %d).%n", pieceColor, x, y);
-    return Optional.of(maxPoint);
+    return trace.finish(maxPoint, maxScore);
   }
 
   /**
@@ -69,13 +89,13 @@ public final class ChooseCornerCell implements ReversiStrategy {
    */
 
   private List<Point> getCornerPoints(ReadonlyReversiModel model) {
-    List<List<ReversiCellPair>> cells = model.getBoardCopy();
+    int lastRow = model.getBoardView().getRowCount() - 1;
     return new ArrayList<>(List.of(
             new Point(0, 0),
             new Point(0, model.getRadius()),
             new Point(model.getRadius(), 0),
             new Point(model.getRadius(), 2 * model.getRadius()),
-            new Point(cells.size() - 1, 0),
-            new Point(cells.size() - 1, model.getRadius())));
+            new Point(lastRow, 0),
+            new Point(lastRow, model.getRadius())));
   }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.io.IOException;
+
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * A {@link StrategyLogger} that writes one line per decision to an {@link Appendable}, such
+ * as {@link System#out}. At {@link LogLevel#DEBUG}, each candidate and its score is written on
+ * its own indented line after the decision. Writes are synchronized on this logger, so lines
+ * from strategies on different threads are never interleaved.
+ */
+
+public final class ConsoleStrategyLogger implements StrategyLogger {
+
+  private final Appendable out;
+  private final LogLevel level;
+
+  /**
+   * Constructs a new {@link ConsoleStrategyLogger} that writes to {@link System#out}.
+   *
+   * @param level the level of detail to write.
+   * @throws IllegalArgumentException if the level is null.
+   */
+
+  public ConsoleStrategyLogger(LogLevel level) throws IllegalArgumentException {
+    this(System.out, level);
+  }
+
+  /**
+   * Constructs a new {@link ConsoleStrategyLogger}.
+   *
+   * @param out where to write decisions.
+   * @param level the level of detail to write.
+   * @throws IllegalArgumentException if either argument is null.
+   */
+
+  public ConsoleStrategyLogger(Appendable out, LogLevel level) throws IllegalArgumentException {
+    if (out == null || level == null) {
+      throw new IllegalArgumentException("Output and level cannot be null.");
+    }
+    this.out = out;
+    this.level = level;
+  }
+
+  @Override
+  public LogLevel getLevel() {
+    return this.level;
+  }
+
+  @Override
+  public synchronized void log(StrategyDecision decision) {
+    try {
+      this.out.append(decision.toString()).append(System.lineSeparator());
+      if (this.level.includes(LogLevel.DEBUG)) {
+        for (var entry : decision.getCandidateScores().entrySet()) {
+          this.out.append(String.format("  (%d, %d) -> %d%n", entry.getKey().x,
+                  entry.getKey().y, entry.getValue()));
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not write the decision.", e);
+    }
+  }
+
+  @Override
+  public synchronized void logFailure(PieceColor pieceColor, RuntimeException error) {
+    try {
+      this.out.append("Could not choose a move for ").append(pieceColor.toString())
+              .append(": ").append(error.toString()).append(System.lineSeparator());
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not write the failure.", e);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Collects the data of one decision for a {@link StrategyLogger}. When the logger is off, the
+ * shared {@link #DISABLED} trace is used, so a decision allocates nothing and never reads the
+ * clock.
+ */
+
+final class DecisionTrace {
+
+  private static final DecisionTrace DISABLED = new DecisionTrace(null, null, null, false);
+
+  private final StrategyLogger logger;
+  private final String strategy;
+  private final PieceColor pieceColor;
+  private final long start;
+  private final Map<Point, Integer> scores;
+  private int candidates;
+
+  private DecisionTrace(StrategyLogger logger, String strategy, PieceColor pieceColor,
+                        boolean debug) {
+    this.logger = logger;
+    this.strategy = strategy;
+    this.pieceColor = pieceColor;
+    this.scores = debug ? new LinkedHashMap<>() : null;
+    this.start = logger == null ? 0 : System.nanoTime();
+  }
+
+  /**
+   * Starts tracing a decision.
+   *
+   * @param logger the logger to record the decision to.
+   * @param strategy the name of the strategy making the decision.
+   * @param pieceColor the player the decision is for.
+   * @return the trace of the decision.
+   */
+
+  static DecisionTrace start(StrategyLogger logger, String strategy, PieceColor pieceColor) {
+    if (!logger.getLevel().includes(LogLevel.INFO)) {
+      return DISABLED;
+    }
+    return new DecisionTrace(logger, strategy, pieceColor,
+            logger.getLevel().includes(LogLevel.DEBUG));
+  }
+
+  /**
+   * Records that a candidate move was evaluated.
+   *
+   * @param row the row of the candidate.
+   * @param col the column of the candidate.
+   * @param score the score of the candidate.
+   */
+
+  void candidate(int row, int col, int score) {
+    if (this.logger == null) {
+      return;
+    }
+    this.candidates++;
+    if (this.scores != null) {
+      this.scores.put(new Point(row, col), score);
+    }
+  }
+
+  /**
+   * Finishes the decision, logging it if tracing is enabled.
+   *
+   * @param best the chosen move, or null if none was found.
+   * @param bestScore the score of the chosen move.
+   * @return the chosen move.
+   */
+
+  Optional<Point> finish(Point best, int bestScore) {
+    if (this.logger != null) {
+      this.logger.log(new StrategyDecision(this.strategy, this.pieceColor, best,
+              this.candidates, best == null ? 0 : bestScore, System.nanoTime() - this.start,
+              this.scores == null ? Map.of() : this.scores));
+    }
+    return Optional.ofNullable(best);
+  }
+}
@@ -0,0 +1,528 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.HexCellState;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * A strategy that plays perfectly once few cells are left empty, and leaves the rest of the
+ * game to another strategy. With few empty cells, the whole rest of the game can be searched
+ * to the end, so instead of estimating positions, the solver finds the move that ends the game
+ * with the best final difference in pieces, assuming the opponent does the same. It can also
+ * be asked to only find whether the game is won, lost or drawn, which prunes more.
+ *
+ * <p>Only empty cells that can still be played are counted. A move must flank the opponent's
+ * pieces, so a cell can only ever be played once the cell two steps away from it in some
+ * direction is taken. Some cells (e.g. the center and the corners of the smallest board) can
+ * only be reached from other such cells, and stay empty for the whole game, so they are left
+ * out both of the count and of the search.
+ *
+ * <p>The solver searches a {@link BitboardReversi} copy of the model with a negamax search
+ * with alpha-beta pruning, and keeps its own list of the empty cells, so that it only looks
+ * for moves among them. Moves are tried fastest-first, i.e. the move that leaves the opponent
+ * the fewest replies first, since those lines are both the most likely to be good and the
+ * quickest to search. Ties are broken by parity: a move in a region of the board with an odd
+ * number of empty cells is tried first, as the player who moves into such a region last
+ * usually also gets the last move in it. Near the very end, the mobility of each move costs
+ * more to count than it saves, and moves are only ordered by parity.
+ *
+ * <p>The search stops early if the calling thread is interrupted, and then plays the best move
+ * found so far. The time and number of positions of the most recent solve are kept, to be read
+ * with {@link #getSolveNanos()} and {@link #getNodeCount()}.
+ *
+ * @see ReversiStrategy
+ */
+
+public final class EndgameSolver implements PonderingStrategy {
+
+  /**
+   * The default number of empty cells at which the solver takes over.
+   */
+
+  public static final int DEFAULT_MAX_EMPTIES = 12;
+
+  private static final int PARITY_ONLY_EMPTIES = 4;
+  private static final int CHECK_INTERVAL = 1024;
+
+  private final ReversiStrategy midgame;
+  private final int maxEmpties;
+  private final boolean winLossDraw;
+
+  private HexTopology topology;
+  private ReversiModel board;
+  private int[] empties;
+  private int emptyCount;
+  private boolean[] isEmpty;
+  private int[] regionOf;
+  private int[] regionSizes;
+  private int[] fillStack;
+  private int[][] moveBuffers;
+  private int[][] keyBuffers;
+  private boolean aborted;
+  private boolean solved;
+  private int margin;
+  private long nodes;
+  private long solveNanos;
+
+  /**
+   * Constructs a new {@link EndgameSolver} that solves for the exact final difference in
+   * pieces once at most the provided number of cells are empty.
+   *
+   * @param midgame    the strategy to play with while more cells are empty.
+   * @param maxEmpties the largest number of empty cells to solve for.
+   * @throws IllegalArgumentException if the strategy is null, or the number of cells is
+   *                                  negative.
+   */
+
+  public EndgameSolver(ReversiStrategy midgame, int maxEmpties) throws IllegalArgumentException {
+    this(midgame, maxEmpties, false);
+  }
+
+  /**
+   * Constructs a new {@link EndgameSolver} that solves once at most the provided number of
+   * cells are empty, either for the exact final difference in pieces or only for whether the
+   * game is won, lost or drawn.
+   *
+   * @param midgame     the strategy to play with while more cells are empty.
+   * @param maxEmpties  the largest number of empty cells to solve for.
+   * @param winLossDraw whether to only solve for the result of the game.
+   * @throws IllegalArgumentException if the strategy is null, or the number of cells is
+   *                                  negative.
+   */
+
+  public EndgameSolver(ReversiStrategy midgame, int maxEmpties, boolean winLossDraw)
+          throws IllegalArgumentException {
+    if (midgame == null) {
+      throw new IllegalArgumentException("Strategy cannot be null.");
+    } else if (maxEmpties < 0) {
+      throw new IllegalArgumentException("The number of empty cells cannot be negative.");
+    }
+    this.midgame = midgame;
+    this.maxEmpties = maxEmpties;
+    this.winLossDraw = winLossDraw;
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    if (!this.canSolve(model)) {
+      this.solved = false;
+      return this.midgame.chooseMove(model, pieceColor);
+    }
+    ReversiModel board = new BitboardReversi(model);
+    if (board.getPlayerColor() != pieceColor) {
+      throw new IllegalStateException("It is not " + pieceColor + "'s turn.");
+    }
+    return this.solve(board, pieceColor);
+  }
+
+  @Override
+  public void ponder(ReadonlyReversiModel model, PieceColor pieceColor)
+          throws IllegalStateException {
+    // A solve is quick, so only the midgame strategy has anything to gain from pondering.
+    if (!this.canSolve(model) && this.midgame instanceof PonderingStrategy) {
+      ((PonderingStrategy) this.midgame).ponder(model, pieceColor);
+    }
+  }
+
+  /**
+   * Determines whether few enough cells are empty on the provided board for it to be solved.
+   *
+   * @param model the board to check.
+   * @return true if this solver would solve the board rather than hand it to its midgame
+   *         strategy.
+   */
+
+  public boolean canSolve(ReadonlyReversiModel model) {
+    HexTopology topology = HexTopology.of(model.getRadius());
+    boolean[] unplayable = findUnplayable(model, topology);
+    int empties = 0;
+    for (int index = 0; index < unplayable.length; index++) {
+      if (!unplayable[index] && model.getCellState(topology.getRow(index),
+              topology.getCol(index)) == HexCellState.EMPTY) {
+        empties++;
+      }
+    }
+    return empties <= this.maxEmpties;
+  }
+
+  /**
+   * Finds the empty cells of the provided board that can never be played.
+   *
+   * @param model    the board to check.
+   * @param topology the topology of the board.
+   * @return whether each cell, by index, is an empty cell that can never be played.
+   * @see HexTopology#findUnplayable(boolean[])
+   */
+
+  private static boolean[] findUnplayable(ReadonlyReversiModel model, HexTopology topology) {
+    boolean[] empty = new boolean[topology.getCellCount()];
+    for (int index = 0; index < empty.length; index++) {
+      empty[index] = model.getCellState(topology.getRow(index), topology.getCol(index))
+              == HexCellState.EMPTY;
+    }
+    return topology.findUnplayable(empty);
+  }
+
+  /**
+   * Get whether the most recent move was chosen by solving the game to the end. This is false
+   * if it was chosen by the midgame strategy, or if the solve was interrupted.
+   *
+   * @return true if the most recent move was solved.
+   */
+
+  public boolean isSolved() {
+    return this.solved;
+  }
+
+  /**
+   * Get the result of the most recent solve, from the point of view of the player it chose a
+   * move for. This is the final difference in pieces if both players play perfectly, or only
+   * its sign when solving for the result of the game.
+   *
+   * @return the result of the most recent solve, or 0 if the most recent move was not solved.
+   */
+
+  public int getMargin() {
+    return this.solved ? this.margin : 0;
+  }
+
+  /**
+   * Get the number of positions visited by the most recent solve.
+   *
+   * @return the number of positions visited.
+   */
+
+  public long getNodeCount() {
+    return this.nodes;
+  }
+
+  /**
+   * Get the time taken by the most recent solve.
+   *
+   * @return the time taken, in nanoseconds.
+   */
+
+  public long getSolveNanos() {
+    return this.solveNanos;
+  }
+
+  /**
+   * Searches every move of the player to move to the end of the game, and picks the best.
+   *
+   * @param board the board to solve, which is used to search on.
+   * @param color the player to move.
+   * @return the best move, or an empty {@link Optional} if the player has to pass.
+   */
+
+  private Optional<Point> solve(ReversiModel board, PieceColor color) {
+    long start = System.nanoTime();
+    this.prepare(board);
+    this.nodes = 0;
+    this.aborted = false;
+    int bound = this.winLossDraw ? 1 : this.topology.getCellCount() + 1;
+    int alpha = -bound;
+    int[] moves = this.moveBuffers[this.emptyCount];
+    int count = this.orderedMoves(color);
+    int best = -1;
+    int bestScore = -bound;
+    if (count == 0) {
+      bestScore = this.negamax(-bound, bound);
+    }
+    for (int i = 0; i < count && !this.aborted; i++) {
+      int move = moves[i];
+      this.play(move, color);
+      int score = -this.negamax(-bound, -alpha);
+      this.unplay(move);
+      if (best == -1 || (!this.aborted && score > bestScore)) {
+        best = move;
+        bestScore = score;
+        alpha = Math.max(alpha, score);
+        if (alpha >= bound) {
+          break;
+        }
+      }
+    }
+    this.solveNanos = System.nanoTime() - start;
+    this.solved = !this.aborted;
+    this.margin = bestScore;
+    this.board = null;
+    if (best == -1) {
+      return Optional.empty();
+    }
+    return Optional.of(new Point(this.topology.getRow(best), this.topology.getCol(best)));
+  }
+
+  /**
+   * Sets up the list of empty cells that can be played and the buffers of the search for the
+   * provided board.
+   *
+   * @param board the board to solve.
+   */
+
+  private void prepare(ReversiModel board) {
+    this.board = board;
+    this.topology = HexTopology.of(board.getRadius());
+    int cells = this.topology.getCellCount();
+    this.empties = new int[cells];
+    this.isEmpty = new boolean[cells];
+    this.regionOf = new int[cells];
+    this.regionSizes = new int[cells + 1];
+    this.fillStack = new int[cells];
+    this.emptyCount = 0;
+    boolean[] unplayable = findUnplayable(board, this.topology);
+    for (int index = 0; index < cells; index++) {
+      if (!unplayable[index] && board.getCellState(this.topology.getRow(index),
+              this.topology.getCol(index)) == HexCellState.EMPTY) {
+        this.empties[this.emptyCount++] = index;
+        this.isEmpty[index] = true;
+      }
+    }
+    this.moveBuffers = new int[this.emptyCount + 1][this.emptyCount];
+    this.keyBuffers = new int[this.emptyCount + 1][this.emptyCount];
+  }
+
+  /**
+   * Scores the position on the board from the point of view of the player to move, by
+   * searching it to the end of the game.
+   *
+   * @param alpha the score the player to move is already guaranteed.
+   * @param beta  the score the opponent is already guaranteed, negated.
+   * @return the final difference in pieces with perfect play, or its sign when solving for
+   *         the result, or 0 if the search was interrupted.
+   */
+
+  private int negamax(int alpha, int beta) {
+    this.nodes++;
+    if ((this.nodes % CHECK_INTERVAL) == 0 && Thread.currentThread().isInterrupted()) {
+      this.aborted = true;
+    }
+    if (this.aborted) {
+      return 0;
+    }
+    PieceColor color = this.board.getPlayerColor();
+    int count = this.orderedMoves(color);
+    if (count == 0) {
+      // Two passes in a row end the game, as does a board where neither player can move.
+      if (this.board.getPasses() > 0 || !this.hasMove(this.opposite(color))) {
+        return this.scoreFinal(color);
+      }
+      this.board.applyPass(color);
+      int score = -this.negamax(-beta, -alpha);
+      this.board.undoMove();
+      return score;
+    }
+    int[] moves = this.moveBuffers[this.emptyCount];
+    int best = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      int move = moves[i];
+      this.play(move, color);
+      int score = -this.negamax(-beta, -alpha);
+      this.unplay(move);
+      if (this.aborted) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        alpha = Math.max(alpha, score);
+        if (alpha >= beta) {
+          break;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Finds the legal moves of the provided player among the empty cells, and puts them in the
+   * move buffer of the current number of empty cells, in the order to search them.
+   *
+   * @param color the player to find the moves of.
+   * @return the number of legal moves.
+   */
+
+  private int orderedMoves(PieceColor color) {
+    int[] moves = this.moveBuffers[this.emptyCount];
+    int[] keys = this.keyBuffers[this.emptyCount];
+    int count = 0;
+    for (int i = 0; i < this.emptyCount; i++) {
+      int cell = this.empties[i];
+      if (this.board.isValidMove(this.topology.getRow(cell), this.topology.getCol(cell), color)) {
+        moves[count++] = cell;
+      }
+    }
+    if (count < 2) {
+      return count;
+    }
+    this.computeRegions();
+    boolean parityOnly = this.emptyCount <= PARITY_ONLY_EMPTIES;
+    PieceColor other = this.opposite(color);
+    for (int i = 0; i < count; i++) {
+      int parity = (this.regionSizes[this.regionOf[moves[i]]] & 1) == 1 ? 0 : 1;
+      if (parityOnly) {
+        keys[i] = parity;
+      } else {
+        this.play(moves[i], color);
+        keys[i] = 2 * this.countMoves(other) + parity;
+        this.unplay(moves[i]);
+      }
+    }
+    for (int i = 1; i < count; i++) {
+      int move = moves[i];
+      int key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] > key) {
+        moves[j + 1] = moves[j];
+        keys[j + 1] = keys[j];
+        j--;
+      }
+      moves[j + 1] = move;
+      keys[j + 1] = key;
+    }
+    return count;
+  }
+
+  /**
+   * Finds the regions of connected empty cells, and records which region each empty cell is
+   * in and the size of each region.
+   */
+
+  private void computeRegions() {
+    for (int i = 0; i < this.emptyCount; i++) {
+      this.regionOf[this.empties[i]] = 0;
+    }
+    int regions = 0;
+    for (int i = 0; i < this.emptyCount; i++) {
+      int first = this.empties[i];
+      if (this.regionOf[first] != 0) {
+        continue;
+      }
+      int region = ++regions;
+      int size = 0;
+      int top = 0;
+      this.fillStack[top++] = first;
+      this.regionOf[first] = region;
+      while (top > 0) {
+        int cell = this.fillStack[--top];
+        size++;
+        for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+          int neighbor = this.topology.getNeighbor(cell, dir);
+          if (neighbor >= 0 && this.isEmpty[neighbor] && this.regionOf[neighbor] == 0) {
+            this.regionOf[neighbor] = region;
+            this.fillStack[top++] = neighbor;
+          }
+        }
+      }
+      this.regionSizes[region] = size;
+    }
+  }
+
+  /**
+   * Determines whether the provided player has a legal move among the empty cells.
+   *
+   * @param color the player to check.
+   * @return true if the player can move.
+   */
+
+  private boolean hasMove(PieceColor color) {
+    for (int i = 0; i < this.emptyCount; i++) {
+      int cell = this.empties[i];
+      if (this.board.isValidMove(this.topology.getRow(cell), this.topology.getCol(cell), color)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Counts the legal moves of the provided player among the empty cells.
+   *
+   * @param color the player to count the moves of.
+   * @return the number of legal moves.
+   */
+
+  private int countMoves(PieceColor color) {
+    int count = 0;
+    for (int i = 0; i < this.emptyCount; i++) {
+      int cell = this.empties[i];
+      if (this.board.isValidMove(this.topology.getRow(cell), this.topology.getCol(cell), color)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Plays the provided player's move on the board, and takes its cell off the list of empty
+   * cells by swapping it with the last empty cell.
+   *
+   * @param cell  the index of the cell to play on.
+   * @param color the player to move.
+   */
+
+  private void play(int cell, PieceColor color) {
+    this.board.applyMove(this.topology.getRow(cell), this.topology.getCol(cell), color);
+    int position = 0;
+    while (this.empties[position] != cell) {
+      position++;
+    }
+    this.emptyCount--;
+    this.empties[position] = this.empties[this.emptyCount];
+    this.empties[this.emptyCount] = cell;
+    this.isEmpty[cell] = false;
+  }
+
+  /**
+   * Undoes the most recent move, which was played on the provided cell, and puts its cell
+   * back on the list of empty cells. The cell is still just past the end of the list, as
+   * moves are undone in the reverse order they were played in, so the order of the list may
+   * change but not its cells.
+   *
+   * @param cell the index of the cell the move was played on.
+   */
+
+  private void unplay(int cell) {
+    this.board.undoMove();
+    this.isEmpty[cell] = true;
+    this.emptyCount++;
+  }
+
+  /**
+   * Scores a finished game from the point of view of the provided player.
+   *
+   * @param color the player to score the game for.
+   * @return the final difference in pieces, or its sign when solving for the result.
+   */
+
+  private int scoreFinal(PieceColor color) {
+    int difference = this.board.getScore(color) - this.board.getScore(this.opposite(color));
+    return this.winLossDraw ? Integer.signum(difference) : difference;
+  }
+
+  private PieceColor opposite(PieceColor color) {
+    return color == PieceColor.BLACK ? PieceColor.WHITE : PieceColor.BLACK;
+  }
+}
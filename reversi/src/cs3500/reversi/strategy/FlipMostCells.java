@@ -19,13 +19,12 @@
 package cs3500.reversi.strategy;
 
 import java.awt.Point;
-import java.util.List;
 import java.util.Optional;
 
+import cs3500.reversi.model.BoardView;
 import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
-import cs3500.reversi.model.types.ReversiCellPair;
 
 /**
  * A strategy that chooses the move that will flip the most pieces.
@@ -39,18 +38,45 @@ import cs3500.reversi.model.types.ReversiCellPair;
 
 public class FlipMostCells implements ReversiStrategy {
 
+  private final StrategyLogger logger;
+
+  /**
+   * Constructs a new {@link FlipMostCells} that records nothing about its decisions.
+   */
+
+  public FlipMostCells() {
+    this(StrategyLogger.NONE);
+  }
+
+  /**
+   * Constructs a new {@link FlipMostCells} that records its decisions to the provided logger.
+   *
+   * @param logger the logger to record decisions to.
+   * @throws IllegalArgumentException if the logger is null.
+   */
+
+  public FlipMostCells(StrategyLogger logger) throws IllegalArgumentException {
+    if (logger == null) {
+      throw new IllegalArgumentException("Logger cannot be null.");
+    }
+    this.logger = logger;
+  }
+
   @Override
   public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
-    List<List<ReversiCellPair>> copy = model.getBoardCopy();
-    int numRows = copy.size();
+    BoardView board = model.getBoardView();
+    int numRows = board.getRowCount();
+    DecisionTrace trace = DecisionTrace.start(this.logger, "FlipMostCells", pieceColor);
     int maxScore = 0;
     Point maxPoint = null;
+    ReversiModel modelCopy = model.getModelCopy();
     for (int i = 0; i < numRows; i++) {
-      for (int j = 0; j < copy.get(i).size(); j++) {
-        ReversiModel modelCopy = model.getModelCopy();
+      for (int j = 0; j < board.getRowSize(i); j++) {
         if (modelCopy.isValidMove(i, j, pieceColor)) {
-          modelCopy.playMove(i, j, pieceColor);
+          modelCopy.applyMove(i, j, pieceColor);
           int score = modelCopy.getScore(pieceColor);
+          trace.candidate(i, j, score);
+          modelCopy.undoMove();
           if (score > maxScore) {
             maxScore = score;
             maxPoint = new Point(i, j);
@@ -58,13 +84,6 @@ public class FlipMostCells implements ReversiStrategy {
         }
       }
     }
-    if (maxPoint == null) {
-      System.out.println("[FlipMostCells AI] No valid moves found for " + pieceColor + ".");
-      return Optional.empty();
-    }
-    int x = maxPoint.x;
-    int y = maxPoint.y;
-    System.out.printf("[FlipMostCells AI] Found move for %s at (%d, %d).%n", pieceColor, x, y);
-    return Optional.of(maxPoint);
+    return trace.finish(maxPoint, maxScore);
   }
 }
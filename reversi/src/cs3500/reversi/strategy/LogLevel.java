@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+/**
+ * Represents how much a {@link StrategyLogger} wants to be told about the decisions of a
+ * strategy. Each level includes everything recorded by the levels before it.
+ */
+
+public enum LogLevel {
+
+  /**
+   * Nothing is recorded, and strategies do no extra work.
+   */
+  OFF,
+
+  /**
+   * One {@link StrategyDecision} is recorded per decision, with the chosen move, the number of
+   * candidates evaluated, the best score and the time taken.
+   */
+  INFO,
+
+  /**
+   * Decisions also carry the score of every candidate that was evaluated.
+   */
+  DEBUG;
+
+  /**
+   * Determines whether this level records everything the provided level does.
+   *
+   * @param level the level to compare to.
+   * @return true if this level includes the provided level, false otherwise.
+   */
+
+  public boolean includes(LogLevel level) {
+    return level != OFF && this.compareTo(level) >= 0;
+  }
+}
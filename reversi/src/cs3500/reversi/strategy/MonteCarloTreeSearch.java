@@ -0,0 +1,401 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * A strategy that chooses moves by Monte Carlo tree search. Rather than scoring positions with
+ * a fixed estimate, it plays many random games (playouts) to the end, and grows a tree of the
+ * positions it visits on the way. Each playout walks down the tree by picking the child with
+ * the best UCT score, which balances the children that have won the most playouts against the
+ * children that have been tried the least. Since it does not need to look at every move to a
+ * fixed depth, it copes better than {@link AlphaBetaSearch} with the many legal moves of large
+ * boards.
+ *
+ * <p>All playouts are played on a single {@link BitboardReversi} copy of the model, with
+ * {@link ReversiModel#applyMove(int, int, PieceColor)} and {@link ReversiModel#undoMove()}.
+ * The search stops once it has played a given number of playouts, once its time budget runs
+ * out, or once the calling thread is interrupted, whichever comes first. It then plays the
+ * move that was tried in the most playouts.
+ *
+ * <p>The tree is kept between moves. If the position of the next search is in the tree of the
+ * last one, at most two moves below its root (i.e. after this player's move and the opponent's
+ * reply), the subtree of that position is kept along with its playouts, and the rest of the
+ * tree is dropped.
+ *
+ * <p>While the opponent is deciding, the search can {@link #ponder} their position, playing
+ * playouts from it until it is interrupted. Whichever move the opponent then plays, its
+ * subtree already holds its share of those playouts, and the playouts are spread the most over
+ * the replies that are best for the opponent.
+ *
+ * @see ReversiStrategy
+ */
+
+public final class MonteCarloTreeSearch implements PonderingStrategy {
+
+  /**
+   * The default time budget of a search, in milliseconds.
+   */
+
+  public static final long DEFAULT_BUDGET_MILLIS = 200;
+
+  private static final int PASS = -1;
+  private static final double EXPLORATION = Math.sqrt(2);
+  private static final int MAX_PONDER_PLAYOUTS = 1_000_000;
+
+  private final int maxPlayouts;
+  private final long budgetNanos;
+  private final SplittableRandom random;
+
+  private HexTopology topology;
+  private Node root;
+  private int playouts;
+  private int reusedPlayouts;
+
+  /**
+   * Constructs a new {@link MonteCarloTreeSearch} with the default time budget.
+   */
+
+  public MonteCarloTreeSearch() {
+    this(DEFAULT_BUDGET_MILLIS);
+  }
+
+  /**
+   * Constructs a new {@link MonteCarloTreeSearch} that plays as many playouts per move as it
+   * can within the provided time budget.
+   *
+   * @param budgetMillis the time to search for before choosing a move, in milliseconds.
+   * @throws IllegalArgumentException if the budget is not positive.
+   */
+
+  public MonteCarloTreeSearch(long budgetMillis) throws IllegalArgumentException {
+    this(Integer.MAX_VALUE, budgetMillis, System.nanoTime());
+  }
+
+  /**
+   * Constructs a new {@link MonteCarloTreeSearch} that plays at most the provided number of
+   * playouts per move within the provided time budget, choosing its random moves from the
+   * provided seed. A search that reaches its number of playouts before its time budget runs
+   * out always chooses the same move for the same seed and position.
+   *
+   * @param maxPlayouts  the number of playouts to play before choosing a move.
+   * @param budgetMillis the time to search for before choosing a move, in milliseconds.
+   * @param seed         the seed of the random moves.
+   * @throws IllegalArgumentException if the number of playouts or the budget is not positive.
+   */
+
+  public MonteCarloTreeSearch(int maxPlayouts, long budgetMillis, long seed)
+          throws IllegalArgumentException {
+    if (maxPlayouts <= 0) {
+      throw new IllegalArgumentException("The number of playouts must be positive.");
+    } else if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("The time budget must be positive.");
+    }
+    this.maxPlayouts = maxPlayouts;
+    this.budgetNanos = budgetMillis < Long.MAX_VALUE / 1_000_000L
+            ? budgetMillis * 1_000_000L : Long.MAX_VALUE;
+    this.random = new SplittableRandom(seed);
+  }
+
+  @Override
+  public Optional<Point> chooseMove(ReadonlyReversiModel model, PieceColor pieceColor) {
+    ReversiModel board = new BitboardReversi(model);
+    if (board.getPlayerColor() != pieceColor) {
+      throw new IllegalStateException("It is not " + pieceColor + "'s turn.");
+    }
+    this.playouts = 0;
+    this.reusedPlayouts = 0;
+    if (board.getLegalMoves(pieceColor).isEmpty() || board.isGameOver()) {
+      this.root = null;
+      return Optional.empty();
+    }
+    this.reuseOrCreateRoot(board);
+    this.reusedPlayouts = this.root.visits;
+    long start = System.nanoTime();
+    do {
+      this.playout(board);
+      this.playouts++;
+    } while (this.playouts < this.maxPlayouts && System.nanoTime() - start < this.budgetNanos
+            && !Thread.currentThread().isInterrupted());
+    Node best = this.root.children.get(0);
+    for (Node child : this.root.children) {
+      if (child.visits > best.visits) {
+        best = child;
+      }
+    }
+    return Optional.of(new Point(this.topology.getRow(best.move), this.topology.getCol(best.move)));
+  }
+
+  @Override
+  public void ponder(ReadonlyReversiModel model, PieceColor pieceColor)
+          throws IllegalStateException {
+    ReversiModel board = new BitboardReversi(model);
+    if (board.getPlayerColor() == pieceColor) {
+      throw new IllegalStateException("It is " + pieceColor + "'s turn.");
+    }
+    if (board.isGameOver()) {
+      return;
+    }
+    this.reuseOrCreateRoot(board);
+    // The tree grows by a node per playout, so pondering stops at a limit even if the
+    // opponent never moves.
+    int limit = Math.min(this.maxPlayouts, MAX_PONDER_PLAYOUTS);
+    while (this.root.visits < limit && !Thread.currentThread().isInterrupted()) {
+      this.playout(board);
+    }
+  }
+
+  /**
+   * Get the number of playouts played by the most recent search.
+   *
+   * @return the number of playouts.
+   */
+
+  public int getPlayoutCount() {
+    return this.playouts;
+  }
+
+  /**
+   * Get the number of playouts the most recent search started with, from the subtree it kept
+   * from the search before it.
+   *
+   * @return the number of reused playouts, or 0 if the tree was not reused.
+   */
+
+  public int getReusedPlayoutCount() {
+    return this.reusedPlayouts;
+  }
+
+  /**
+   * Plays one playout: walks down the tree, adds one new node to it, plays random moves from
+   * there to the end of the game, and records the result in every node on the way. The board
+   * is restored before this method returns.
+   *
+   * @param board the board at the position of the root.
+   */
+
+  private void playout(ReversiModel board) {
+    Node node = this.root;
+    int applied = 0;
+    while (node.untriedCount == 0 && !node.children.isEmpty()) {
+      node = node.select();
+      this.play(board, node.move);
+      applied++;
+    }
+    if (node.untriedCount > 0) {
+      int pick = this.random.nextInt(node.untriedCount);
+      int move = node.untried[pick];
+      node.untried[pick] = node.untried[--node.untriedCount];
+      PieceColor mover = board.getPlayerColor();
+      this.play(board, move);
+      applied++;
+      Node child = new Node(node, move, mover, board);
+      node.children.add(child);
+      node = child;
+    }
+    applied += this.rollout(board);
+    int black = board.getScore(PieceColor.BLACK);
+    int white = board.getScore(PieceColor.WHITE);
+    for (int i = 0; i < applied; i++) {
+      board.undoMove();
+    }
+    for (Node visited = node; visited != null; visited = visited.parent) {
+      visited.visits++;
+      if (black == white) {
+        visited.wins += 0.5;
+      } else if (visited.mover == (black > white ? PieceColor.BLACK : PieceColor.WHITE)) {
+        visited.wins += 1;
+      }
+    }
+  }
+
+  /**
+   * Plays uniformly random legal moves until the game is over. A player only passes when
+   * they have no legal move.
+   *
+   * @param board the board to play on.
+   * @return the number of moves and passes applied to the board.
+   */
+
+  private int rollout(ReversiModel board) {
+    int applied = 0;
+    while (true) {
+      PieceColor color = board.getPlayerColor();
+      List<Point> moves = board.getLegalMoves(color);
+      if (!moves.isEmpty()) {
+        Point move = moves.get(this.random.nextInt(moves.size()));
+        board.applyMove(move.x, move.y, color);
+      } else if (board.getPasses() == 0 && !board.getLegalMoves(this.opposite(color)).isEmpty()) {
+        board.applyPass(color);
+      } else {
+        return applied;
+      }
+      applied++;
+    }
+  }
+
+  /**
+   * Applies the provided move for the player to move.
+   *
+   * @param board the board to play on.
+   * @param move  the index of the cell to play at, or {@link #PASS}.
+   */
+
+  private void play(ReversiModel board, int move) {
+    PieceColor color = board.getPlayerColor();
+    if (move == PASS) {
+      board.applyPass(color);
+    } else {
+      board.applyMove(this.topology.getRow(move), this.topology.getCol(move), color);
+    }
+  }
+
+  /**
+   * Makes the node of the provided position the root of the tree, keeping its subtree if it
+   * was already in the tree, or starting a new tree otherwise.
+   *
+   * @param board the position to search from.
+   */
+
+  private void reuseOrCreateRoot(ReversiModel board) {
+    Node reused = this.findReusableRoot(board);
+    if (reused == null) {
+      this.topology = HexTopology.of(board.getRadius());
+      this.root = new Node(null, PASS, null, board);
+    } else {
+      reused.parent = null;
+      this.root = reused;
+    }
+  }
+
+  /**
+   * Finds the node of the provided position among the last root, its children and its
+   * grandchildren, so its subtree can be searched further.
+   *
+   * @param board the position to search from.
+   * @return the node of the position, or null if the position is not in the tree.
+   */
+
+  private Node findReusableRoot(ReversiModel board) {
+    if (this.root == null || this.topology.getRadius() != board.getRadius()) {
+      return null;
+    }
+    long hash = board.getPositionHash();
+    if (this.root.hash == hash) {
+      return this.root;
+    }
+    for (Node child : this.root.children) {
+      if (child.hash == hash) {
+        return child;
+      }
+    }
+    for (Node child : this.root.children) {
+      for (Node grandchild : child.children) {
+        if (grandchild.hash == hash) {
+          return grandchild;
+        }
+      }
+    }
+    return null;
+  }
+
+  private PieceColor opposite(PieceColor color) {
+    return color == PieceColor.BLACK ? PieceColor.WHITE : PieceColor.BLACK;
+  }
+
+  /**
+   * A position in the search tree, along with the results of the playouts through it.
+   */
+
+  private final class Node {
+
+    private Node parent;
+    private final int move;
+    private final PieceColor mover;
+    private final long hash;
+    private final List<Node> children = new ArrayList<>();
+    private final int[] untried;
+    private int untriedCount;
+    private int visits = 0;
+    private double wins = 0;
+
+    /**
+     * Constructs a new {@link Node} for the position on the provided board, which is reached
+     * from its parent by the provided move.
+     *
+     * @param parent the parent of this node, or null for the root.
+     * @param move   the move that reaches this node from its parent.
+     * @param mover  the player who made that move, whose wins this node counts.
+     * @param board  the board at the position of this node.
+     */
+
+    private Node(Node parent, int move, PieceColor mover, ReversiModel board) {
+      this.parent = parent;
+      this.move = move;
+      this.mover = mover;
+      this.hash = board.getPositionHash();
+      PieceColor color = board.getPlayerColor();
+      List<Point> moves = board.getLegalMoves(color);
+      if (!moves.isEmpty()) {
+        this.untried = new int[moves.size()];
+        for (Point point : moves) {
+          this.untried[this.untriedCount++] = topology.indexOf(point.x, point.y);
+        }
+      } else if (board.getPasses() == 0 && !board.getLegalMoves(opposite(color)).isEmpty()) {
+        this.untried = new int[] {PASS};
+        this.untriedCount = 1;
+      } else {
+        this.untried = new int[0];
+      }
+    }
+
+    /**
+     * Picks the child with the highest UCT score: its win rate, plus a bonus that grows the
+     * less it has been tried compared to this node.
+     *
+     * @return the child to walk down to.
+     */
+
+    private Node select() {
+      double logVisits = Math.log(this.visits);
+      Node best = null;
+      double bestScore = Double.NEGATIVE_INFINITY;
+      for (Node child : this.children) {
+        double score = child.wins / child.visits
+                + EXPLORATION * Math.sqrt(logVisits / child.visits);
+        if (score > bestScore) {
+          best = child;
+          bestScore = score;
+        }
+      }
+      return best;
+    }
+  }
+}
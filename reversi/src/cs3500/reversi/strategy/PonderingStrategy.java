@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import cs3500.reversi.model.ReadonlyReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a strategy that can think about a game while the opponent is deciding on their
+ * move, so that its next move is chosen faster. What a strategy keeps from pondering is up to
+ * it, e.g. a search tree or a transposition table, and it is only useful if the strategy is
+ * then asked to choose a move in a position that follows the one it pondered.
+ *
+ * @see AlphaBetaSearch
+ * @see MonteCarloTreeSearch
+ */
+
+public interface PonderingStrategy extends ReversiStrategy {
+
+  /**
+   * Thinks about the provided position, in which the opponent of the provided player is to
+   * move, until the calling thread is interrupted or the strategy reaches its own limits,
+   * such as its maximum depth. This never changes the provided model.
+   *
+   * @param model      the position to think about.
+   * @param pieceColor the player who will choose a move after the opponent.
+   * @throws IllegalStateException if it is the provided player's turn.
+   */
+
+  void ponder(ReadonlyReversiModel model, PieceColor pieceColor) throws IllegalStateException;
+
+}
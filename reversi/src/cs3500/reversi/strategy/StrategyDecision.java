@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.awt.Point;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a single decision made by a {@link ReversiStrategy}, as recorded by a
+ * {@link StrategyLogger}.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>strategy: the name of the strategy that made the decision</li>
+ *   <li>pieceColor: the player the decision was made for</li>
+ *   <li>move: the chosen move, if one was found</li>
+ *   <li>candidates: the number of candidate moves that were evaluated</li>
+ *   <li>bestScore: the score of the chosen move, or 0 if none was found</li>
+ *   <li>elapsedNanos: the time taken to make the decision</li>
+ *   <li>candidateScores: the score of every evaluated candidate, at {@link LogLevel#DEBUG}</li>
+ * </ul>
+ */
+
+public final class StrategyDecision {
+
+  private final String strategy;
+  private final PieceColor pieceColor;
+  private final Point move;
+  private final int candidates;
+  private final int bestScore;
+  private final long elapsedNanos;
+  private final Map<Point, Integer> candidateScores;
+
+  /**
+   * Constructs a new {@link StrategyDecision}.
+   *
+   * @param strategy the name of the strategy that made the decision.
+   * @param pieceColor the player the decision was made for.
+   * @param move the chosen move, or null if none was found.
+   * @param candidates the number of candidate moves that were evaluated.
+   * @param bestScore the score of the chosen move.
+   * @param elapsedNanos the time taken to make the decision.
+   * @param candidateScores the score of every evaluated candidate, which may be empty.
+   */
+
+  public StrategyDecision(String strategy, PieceColor pieceColor, Point move, int candidates,
+                          int bestScore, long elapsedNanos, Map<Point, Integer> candidateScores) {
+    this.strategy = strategy;
+    this.pieceColor = pieceColor;
+    this.move = move == null ? null : new Point(move);
+    this.candidates = candidates;
+    this.bestScore = bestScore;
+    this.elapsedNanos = elapsedNanos;
+    this.candidateScores = Collections.unmodifiableMap(candidateScores);
+  }
+
+  /**
+   * Gets the name of the strategy that made this decision.
+   *
+   * @return the name of the strategy.
+   */
+
+  public String getStrategy() {
+    return this.strategy;
+  }
+
+  /**
+   * Gets the player this decision was made for.
+   *
+   * @return the player's color.
+   */
+
+  public PieceColor getPieceColor() {
+    return this.pieceColor;
+  }
+
+  /**
+   * Gets the chosen move, as a row and column.
+   *
+   * @return the chosen move, or an empty {@link Optional} if none was found.
+   */
+
+  public Optional<Point> getMove() {
+    return this.move == null ? Optional.empty() : Optional.of(new Point(this.move));
+  }
+
+  /**
+   * Gets the number of candidate moves that were evaluated.
+   *
+   * @return the number of candidates.
+   */
+
+  public int getCandidates() {
+    return this.candidates;
+  }
+
+  /**
+   * Gets the score of the chosen move.
+   *
+   * @return the best score, or 0 if no move was found.
+   */
+
+  public int getBestScore() {
+    return this.bestScore;
+  }
+
+  /**
+   * Gets the time taken to make this decision.
+   *
+   * @return the elapsed time in nanoseconds.
+   */
+
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Gets the score of every evaluated candidate, in the order they were evaluated. This is
+   * only filled in when the logger's level is {@link LogLevel#DEBUG}.
+   *
+   * @return an unmodifiable map from each candidate to its score.
+   */
+
+  public Map<Point, Integer> getCandidateScores() {
+    return this.candidateScores;
+  }
+
+  @Override
+  public String toString() {
+    String result = this.move == null
+            ? String.format("No valid moves found for %s", this.pieceColor)
+            : String.format("Found move for %s at (%d, %d)", this.pieceColor, this.move.x,
+            this.move.y);
+    return String.format("[%s AI] %s. candidates=%d bestScore=%d elapsedNanos=%d",
+            this.strategy, result, this.candidates, this.bestScore, this.elapsedNanos);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Represents a sink for the decisions made by a {@link ReversiStrategy}. Strategies check
+ * {@link #getLevel()} before collecting anything, so a logger at {@link LogLevel#OFF} (such as
+ * {@link #NONE}, which strategies use by default) costs nothing beyond that check. Loggers
+ * may be called from several threads at once if they are shared between strategies.
+ *
+ * @see ConsoleStrategyLogger
+ */
+
+public interface StrategyLogger {
+
+  /**
+   * A logger that records nothing.
+   */
+  StrategyLogger NONE = new StrategyLogger() {
+    @Override
+    public LogLevel getLevel() {
+      return LogLevel.OFF;
+    }
+
+    @Override
+    public void log(StrategyDecision decision) {
+      // Nothing is recorded.
+    }
+
+    @Override
+    public void logFailure(PieceColor pieceColor, RuntimeException error) {
+      // Nothing is recorded.
+    }
+  };
+
+  /**
+   * Gets the level of detail this logger records.
+   *
+   * @return the level of this logger.
+   */
+
+  LogLevel getLevel();
+
+  /**
+   * Records a decision made by a strategy. This is only called if the level of this logger is
+   * at least {@link LogLevel#INFO}.
+   *
+   * @param decision the decision that was made.
+   */
+
+  void log(StrategyDecision decision);
+
+  /**
+   * Records that a player could not choose a move, because its strategy threw an exception.
+   * This is only called if the level of this logger is at least {@link LogLevel#INFO}.
+   *
+   * @param pieceColor the player that could not choose a move.
+   * @param error the exception the strategy threw.
+   */
+
+  void logFailure(PieceColor pieceColor, RuntimeException error);
+
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.strategy;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size cache of search results, keyed by the hash of a position (see
+ * {@link cs3500.reversi.model.ReadonlyReversiModel#getPositionHash()}). A search that reaches a
+ * position it has already searched, through another move order or in an earlier search, can
+ * reuse the stored result instead of searching the position again.
+ *
+ * <p>The table is open addressed: a position may be stored in any of {@link #BUCKET_SIZE}
+ * consecutive slots starting at its home slot. Every entry is packed into two {@code long}s,
+ * so the table allocates nothing once it is built. When every slot a position may use is
+ * taken by other positions, the shallowest of them is replaced, unless it was searched deeper
+ * than the new entry, in which case the new entry is dropped. Deeper results took longer to
+ * find, and are useful for more searches.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li> {@code data}: the depth, bound type, score and best move of the entry in each slot,
+ *   packed into one {@code long}, or 0 if the slot is empty.</li>
+ *   <li> {@code keys}: the hash of the position in each slot, combined with its {@code data}
+ *   by exclusive or.</li>
+ *   <li> {@code hits}, {@code misses} and {@code collisions}: counters of the probes that found
+ *   their position, the probes that did not, and the stores that had to replace or drop an
+ *   entry of another position.</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>The number of slots is a power of two.</li>
+ *   <li>A position is stored in at most one slot.</li>
+ * </ul>
+ *
+ * <p>A table may be shared by several threads searching at once, without locking. Since the
+ * key of a slot is stored combined with its data, a slot that was read while another thread
+ * was halfway through writing it does not match any key, and is treated as a miss. The
+ * counters are not synchronized, so they are only approximate while the table is shared.
+ * {@link #probe(long)} reads the slot once, and returns the entry packed into a {@code long}
+ * to be unpacked with the static getters, so that the entry cannot change while it is read.
+ */
+
+public final class TranspositionTable {
+
+  /**
+   * The bound type of a score that is exactly the score of the position.
+   */
+
+  public static final int EXACT = 1;
+
+  /**
+   * The bound type of a score that the position is worth at least, since the search was cut
+   * off once it found a move that good.
+   */
+
+  public static final int LOWER_BOUND = 2;
+
+  /**
+   * The bound type of a score that the position is worth at most, since no move was found to
+   * be better.
+   */
+
+  public static final int UPPER_BOUND = 3;
+
+  /**
+   * The number of consecutive slots a position may be stored in.
+   */
+
+  public static final int BUCKET_SIZE = 4;
+
+  /**
+   * The entry returned by {@link #probe(long)} when the position is not in the table.
+   */
+
+  public static final long MISSING = 0L;
+
+  private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+  private static final int BYTES_PER_MEGABYTE = 1 << 20;
+
+  private static final int BOUND_SHIFT = 0;
+  private static final int DEPTH_SHIFT = 2;
+  private static final int MOVE_SHIFT = 10;
+  private static final int SCORE_SHIFT = 32;
+  private static final long BOUND_MASK = 0x3L;
+  private static final long DEPTH_MASK = 0xFFL;
+  private static final long MOVE_MASK = 0x3FFFFFL;
+  private static final int MAX_DEPTH = (int) DEPTH_MASK;
+  private static final int MAX_MOVE = (int) MOVE_MASK - 1;
+
+  private final long[] keys;
+  private final long[] data;
+  private final int mask;
+
+  private long hits = 0;
+  private long misses = 0;
+  private long collisions = 0;
+
+  /**
+   * Constructs a new {@link TranspositionTable} that uses at most the provided number of
+   * megabytes. The number of slots is the largest power of two that fits.
+   *
+   * @param megabytes the most memory the table may use, in megabytes.
+   * @throws IllegalArgumentException if the size is not between 1 and 4096 megabytes.
+   */
+
+  public TranspositionTable(int megabytes) throws IllegalArgumentException {
+    if (megabytes < 1 || megabytes > 4096) {
+      throw new IllegalArgumentException("The table size must be between 1 and 4096 MB.");
+    }
+    long entries = (long) megabytes * BYTES_PER_MEGABYTE / BYTES_PER_ENTRY;
+    int capacity = Integer.highestOneBit((int) Math.min(entries, 1 << 30));
+    this.keys = new long[capacity];
+    this.data = new long[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Looks up the entry of the position with the provided hash.
+   *
+   * @param key the hash of the position.
+   * @return the packed entry of the position, to be read with {@link #depthOf(long)},
+   *         {@link #boundOf(long)}, {@link #scoreOf(long)} and {@link #moveOf(long)}, or
+   *         {@link #MISSING} if the position is not in the table.
+   */
+
+  public long probe(long key) {
+    int home = this.home(key);
+    for (int i = 0; i < BUCKET_SIZE; i++) {
+      int slot = (home + i) & this.mask;
+      long entry = this.data[slot];
+      if (entry != MISSING && (this.keys[slot] ^ entry) == key) {
+        this.hits++;
+        return entry;
+      }
+    }
+    this.misses++;
+    return MISSING;
+  }
+
+  /**
+   * Stores the result of searching the position with the provided hash. An existing entry of
+   * the same position is replaced, unless it was searched deeper.
+   *
+   * @param key   the hash of the position.
+   * @param depth the number of moves the position was searched ahead; depths above 255 are
+   *              stored as 255.
+   * @param bound the kind of score: {@link #EXACT}, {@link #LOWER_BOUND} or
+   *              {@link #UPPER_BOUND}.
+   * @param score the score found by the search.
+   * @param move  the best move found by the search, encoded by the caller as a number below
+   *              4194303, or -1 for none.
+   * @throws IllegalArgumentException if the depth is negative, or the bound or move is not
+   *                                  valid.
+   */
+
+  public void store(long key, int depth, int bound, int score, int move)
+          throws IllegalArgumentException {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Depth cannot be negative.");
+    } else if (bound != EXACT && bound != LOWER_BOUND && bound != UPPER_BOUND) {
+      throw new IllegalArgumentException("Invalid bound type: " + bound);
+    } else if (move < -1 || move > MAX_MOVE) {
+      throw new IllegalArgumentException("Invalid move: " + move);
+    }
+    int home = this.home(key);
+    int target = -1;
+    int targetDepth = Integer.MAX_VALUE;
+    boolean replacesOther = true;
+    for (int i = 0; i < BUCKET_SIZE; i++) {
+      int slot = (home + i) & this.mask;
+      long entry = this.data[slot];
+      if (entry == MISSING || (this.keys[slot] ^ entry) == key) {
+        if (entry != MISSING && depthOf(entry) > depth) {
+          return;
+        }
+        target = slot;
+        replacesOther = false;
+        break;
+      } else if (depthOf(entry) < targetDepth) {
+        target = slot;
+        targetDepth = depthOf(entry);
+      }
+    }
+    if (replacesOther) {
+      this.collisions++;
+      if (targetDepth > depth) {
+        return;
+      }
+    }
+    long entry = (long) bound << BOUND_SHIFT
+            | (long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT
+            | (long) (move + 1) << MOVE_SHIFT
+            | (long) score << SCORE_SHIFT;
+    this.data[target] = entry;
+    this.keys[target] = key ^ entry;
+  }
+
+  /**
+   * Get the depth a packed entry was searched to.
+   *
+   * @param entry an entry returned by {@link #probe(long)}.
+   * @return the depth of the entry.
+   */
+
+  public static int depthOf(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT & DEPTH_MASK);
+  }
+
+  /**
+   * Get the kind of score of a packed entry.
+   *
+   * @param entry an entry returned by {@link #probe(long)}.
+   * @return one of {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+   */
+
+  public static int boundOf(long entry) {
+    return (int) (entry >>> BOUND_SHIFT & BOUND_MASK);
+  }
+
+  /**
+   * Get the score of a packed entry.
+   *
+   * @param entry an entry returned by {@link #probe(long)}.
+   * @return the score of the entry.
+   */
+
+  public static int scoreOf(long entry) {
+    return (int) (entry >> SCORE_SHIFT);
+  }
+
+  /**
+   * Get the best move of a packed entry.
+   *
+   * @param entry an entry returned by {@link #probe(long)}.
+   * @return the move of the entry, as it was stored, or -1 for none.
+   */
+
+  public static int moveOf(long entry) {
+    return (int) (entry >>> MOVE_SHIFT & MOVE_MASK) - 1;
+  }
+
+  /**
+   * Get the number of slots in this table.
+   *
+   * @return the number of slots.
+   */
+
+  public int getCapacity() {
+    return this.keys.length;
+  }
+
+  /**
+   * Get the number of probes that found their position.
+   *
+   * @return the number of hits.
+   */
+
+  public long getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Get the number of probes that did not find their position.
+   *
+   * @return the number of misses.
+   */
+
+  public long getMisses() {
+    return this.misses;
+  }
+
+  /**
+   * Get the number of stores that found every slot of their position taken by other
+   * positions, and so replaced the shallowest of them or were dropped.
+   *
+   * @return the number of collisions.
+   */
+
+  public long getCollisions() {
+    return this.collisions;
+  }
+
+  /**
+   * Removes every entry from this table, and resets its counters. This must not be called
+   * while the table is being searched.
+   */
+
+  public void clear() {
+    Arrays.fill(this.data, MISSING);
+    Arrays.fill(this.keys, 0L);
+    this.hits = 0;
+    this.misses = 0;
+    this.collisions = 0;
+  }
+
+  /**
+   * Gets the home slot of the provided hash. The high bits are mixed into the low bits, as
+   * the low bits alone pick the slot.
+   *
+   * @param key the hash of a position.
+   * @return the first slot the position may be stored in.
+   */
+
+  private int home(long key) {
+    return (int) (key ^ (key >>> 32)) & this.mask;
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.tournament;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.ReversiStrategy;
+
+/**
+ * Plays many headless games of Reversi between two {@link ReversiStrategy}s, and
+ * collects the results into a {@link TournamentResult}. Games are played on
+ * {@link BitboardReversi} models without any views or controllers, and are spread
+ * across a fixed pool of threads. Every game gets fresh strategies from the provided
+ * suppliers, since the search strategies keep state between moves and are not thread
+ * safe. The first strategy plays white in even-numbered games and black in odd-numbered
+ * games, so neither strategy benefits from always moving first.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>rows: the number of rows of every game board</li>
+ *   <li>first: supplies the strategy whose results are reported</li>
+ *   <li>second: supplies the opposing strategy</li>
+ *   <li>threads: the number of games played at once</li>
+ * </ul>
+ *
+ * <p>Class Invariants:
+ * <ul>
+ *   <li>threads is positive</li>
+ *   <li>first and second are never null</li>
+ * </ul>
+ */
+
+public final class Tournament {
+
+  private final int rows;
+  private final Supplier<ReversiStrategy> first;
+  private final Supplier<ReversiStrategy> second;
+  private final int threads;
+
+  /**
+   * Constructs a tournament that plays across every available processor.
+   * @param rows the number of rows of every game board.
+   * @param first supplies the strategy whose results are reported.
+   * @param second supplies the opposing strategy.
+   * @throws IllegalArgumentException if the number of rows is invalid, or a supplier is null.
+   */
+
+  public Tournament(int rows, Supplier<ReversiStrategy> first, Supplier<ReversiStrategy> second)
+          throws IllegalArgumentException {
+    this(rows, first, second, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a tournament.
+   * @param rows the number of rows of every game board.
+   * @param first supplies the strategy whose results are reported.
+   * @param second supplies the opposing strategy.
+   * @param threads the number of games to play at once.
+   * @throws IllegalArgumentException if the number of rows is invalid, a supplier is
+   *                                  null, or the number of threads is not positive.
+   */
+
+  public Tournament(int rows, Supplier<ReversiStrategy> first, Supplier<ReversiStrategy> second,
+                    int threads) throws IllegalArgumentException {
+    if (first == null || second == null) {
+      throw new IllegalArgumentException("Strategy suppliers cannot be null.");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("The number of threads must be positive.");
+    }
+    // Building a model validates the number of rows before any game is played.
+    new BitboardReversi(rows);
+    this.rows = rows;
+    this.first = first;
+    this.second = second;
+    this.threads = threads;
+  }
+
+  /**
+   * Plays the provided number of games, and returns their results from the point of
+   * view of the first strategy.
+   * @param games the number of games to play.
+   * @return the results of the games.
+   * @throws IllegalArgumentException if the number of games is not positive.
+   * @throws IllegalStateException if a game could not be finished.
+   */
+
+  public TournamentResult play(int games) throws IllegalArgumentException, IllegalStateException {
+    if (games <= 0) {
+      throw new IllegalArgumentException("The number of games must be positive.");
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.threads, games));
+    try {
+      List<Future<GameRecord>> futures = new ArrayList<>();
+      for (int game = 0; game < games; game++) {
+        PieceColor firstColor = game % 2 == 0 ? PieceColor.WHITE : PieceColor.BLACK;
+        futures.add(executor.submit(() -> this.playGame(firstColor)));
+      }
+      List<GameRecord> records = new ArrayList<>();
+      int firstMoves = 0;
+      int secondMoves = 0;
+      for (Future<GameRecord> future : futures) {
+        GameRecord record = future.get();
+        records.add(record);
+        firstMoves += record.firstMoves;
+        secondMoves += record.secondMoves;
+      }
+      int[] margins = new int[games];
+      long[] firstLatencies = new long[firstMoves];
+      long[] secondLatencies = new long[secondMoves];
+      firstMoves = 0;
+      secondMoves = 0;
+      for (int game = 0; game < games; game++) {
+        GameRecord record = records.get(game);
+        margins[game] = record.margin;
+        System.arraycopy(record.firstLatencies, 0, firstLatencies, firstMoves,
+                record.firstMoves);
+        System.arraycopy(record.secondLatencies, 0, secondLatencies, secondMoves,
+                record.secondMoves);
+        firstMoves += record.firstMoves;
+        secondMoves += record.secondMoves;
+      }
+      return new TournamentResult(margins, firstLatencies, secondLatencies);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A game could not be finished.", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("The tournament was interrupted.", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Plays a single game to completion. A strategy that chooses an invalid move, or
+   * throws an {@link IllegalStateException}, passes instead, as an {@code AIPlayer} would.
+   * @param firstColor the color played by the first strategy.
+   * @return the record of the game.
+   */
+
+  private GameRecord playGame(PieceColor firstColor) {
+    ReversiModel model = new BitboardReversi(this.rows);
+    ReversiStrategy firstStrategy = this.first.get();
+    ReversiStrategy secondStrategy = this.second.get();
+    GameRecord record = new GameRecord(HexTopology.of(this.rows / 2).getCellCount());
+    while (!model.isGameOver()) {
+      PieceColor color = model.getPlayerColor();
+      boolean isFirst = color == firstColor;
+      ReversiStrategy strategy = isFirst ? firstStrategy : secondStrategy;
+      long start = System.nanoTime();
+      Optional<Point> move;
+      try {
+        move = strategy.chooseMove(model, color);
+      } catch (IllegalStateException e) {
+        move = Optional.empty();
+      }
+      record.addLatency(isFirst, System.nanoTime() - start);
+      if (move.isPresent() && model.isValidMove(move.get().x, move.get().y, color)) {
+        model.applyMove(move.get().x, move.get().y, color);
+      } else {
+        model.applyPass(color);
+      }
+    }
+    PieceColor secondColor = firstColor == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+    record.margin = model.getScore(firstColor) - model.getScore(secondColor);
+    return record;
+  }
+
+  /**
+   * The result of a single game, and the decision latencies of both strategies in it.
+   */
+
+  private static final class GameRecord {
+
+    private final long[] firstLatencies;
+    private final long[] secondLatencies;
+    private int firstMoves;
+    private int secondMoves;
+    private int margin;
+
+    private GameRecord(int cells) {
+      // Every decision either fills a cell or passes, and at most two passes end the game,
+      // so neither strategy can make more decisions than this.
+      this.firstLatencies = new long[cells + 2];
+      this.secondLatencies = new long[cells + 2];
+    }
+
+    private void addLatency(boolean isFirst, long nanos) {
+      if (isFirst) {
+        this.firstLatencies[this.firstMoves++] = nanos;
+      } else {
+        this.secondLatencies[this.secondMoves++] = nanos;
+      }
+    }
+  }
+}
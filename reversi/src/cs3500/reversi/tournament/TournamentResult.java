@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi.tournament;
+
+import java.util.Arrays;
+
+/**
+ * Represents the results of a {@link Tournament}, from the point of view of its first
+ * strategy. A win means the first strategy finished with more pieces than the second,
+ * and the score margin of a game is the first strategy's score minus the second's.
+ * Decision latencies are the time each strategy spent choosing a move, including moves
+ * it passed on, and percentiles are computed with the nearest-rank method.
+ *
+ * <p>Fields:
+ * <ul>
+ *   <li>margins: the score margin of every game, in the order the games were started</li>
+ *   <li>firstLatencies: every decision latency of the first strategy, in sorted order</li>
+ *   <li>secondLatencies: every decision latency of the second strategy, in sorted order</li>
+ * </ul>
+ */
+
+public final class TournamentResult {
+
+  private final int[] margins;
+  private final long[] firstLatencies;
+  private final long[] secondLatencies;
+
+  /**
+   * Constructs the results of a tournament. The provided arrays are owned by the result.
+   * @param margins the score margin of every game.
+   * @param firstLatencies the decision latencies of the first strategy, in nanoseconds.
+   * @param secondLatencies the decision latencies of the second strategy, in nanoseconds.
+   */
+
+  TournamentResult(int[] margins, long[] firstLatencies, long[] secondLatencies) {
+    this.margins = margins;
+    this.firstLatencies = firstLatencies;
+    this.secondLatencies = secondLatencies;
+    Arrays.sort(this.firstLatencies);
+    Arrays.sort(this.secondLatencies);
+  }
+
+  /**
+   * Gets the number of games played.
+   * @return the number of games played.
+   */
+
+  public int getGames() {
+    return this.margins.length;
+  }
+
+  /**
+   * Gets the number of games won by the first strategy.
+   * @return the number of wins.
+   */
+
+  public int getWins() {
+    return (int) Arrays.stream(this.margins).filter(margin -> margin > 0).count();
+  }
+
+  /**
+   * Gets the number of games lost by the first strategy.
+   * @return the number of losses.
+   */
+
+  public int getLosses() {
+    return (int) Arrays.stream(this.margins).filter(margin -> margin < 0).count();
+  }
+
+  /**
+   * Gets the number of drawn games.
+   * @return the number of draws.
+   */
+
+  public int getDraws() {
+    return (int) Arrays.stream(this.margins).filter(margin -> margin == 0).count();
+  }
+
+  /**
+   * Gets the average score margin of the first strategy over every game.
+   * @return the average score margin.
+   */
+
+  public double getAverageMargin() {
+    return Arrays.stream(this.margins).average().orElse(0);
+  }
+
+  /**
+   * Gets a percentile of the first strategy's decision latencies.
+   * @param percentile the percentile to get, between 0 exclusive and 100 inclusive.
+   * @return the latency at that percentile in nanoseconds, or 0 if it never decided.
+   * @throws IllegalArgumentException if the percentile is out of range.
+   */
+
+  public long getFirstLatencyPercentile(double percentile) throws IllegalArgumentException {
+    return percentileOf(this.firstLatencies, percentile);
+  }
+
+  /**
+   * Gets a percentile of the second strategy's decision latencies.
+   * @param percentile the percentile to get, between 0 exclusive and 100 inclusive.
+   * @return the latency at that percentile in nanoseconds, or 0 if it never decided.
+   * @throws IllegalArgumentException if the percentile is out of range.
+   */
+
+  public long getSecondLatencyPercentile(double percentile) throws IllegalArgumentException {
+    return percentileOf(this.secondLatencies, percentile);
+  }
+
+  private static long percentileOf(long[] sorted, double percentile) {
+    if (!(percentile > 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be in (0, 100].");
+    }
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+
+  /**
+   * Formats these results as comma separated values. The first two lines are the game
+   * results, and the remaining lines are the latency percentiles of each strategy.
+   * @return the formatted results.
+   */
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("games,wins,losses,draws,averageMargin\n");
+    builder.append(String.format("%d,%d,%d,%d,%.3f\n", this.getGames(), this.getWins(),
+            this.getLosses(), this.getDraws(), this.getAverageMargin()));
+    builder.append("strategy,decisions,p50Nanos,p90Nanos,p99Nanos,maxNanos\n");
+    builder.append(formatLatencies("first", this.firstLatencies));
+    builder.append(formatLatencies("second", this.secondLatencies));
+    return builder.toString();
+  }
+
+  private static String formatLatencies(String name, long[] sorted) {
+    return String.format("%s,%d,%d,%d,%d,%d\n", name, sorted.length,
+            percentileOf(sorted, 50), percentileOf(sorted, 90), percentileOf(sorted, 99),
+            percentileOf(sorted, 100));
+  }
+}
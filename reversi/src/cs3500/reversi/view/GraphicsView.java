@@ -74,4 +74,15 @@ public interface GraphicsView {
 
   void notifyMessageDialog(String message);
 
+  /**
+   * The method called when the controller indicates that this view's AI player has started
+   * or stopped thinking about its move.
+   *
+   * @param thinking whether the player is thinking.
+   * @param budgetMillis the time the player may think for in milliseconds, or 0 if it has
+   *                     no time budget.
+   */
+
+  void notifyThinking(boolean thinking, long budgetMillis);
+
 }
\ No newline at end of file
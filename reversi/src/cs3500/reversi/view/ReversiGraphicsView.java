@@ -18,6 +18,7 @@
 
 package cs3500.reversi.view;
 
+import java.awt.Cursor;
 import java.awt.Dimension;
 
 import javax.swing.JFrame;
@@ -41,6 +42,8 @@ public final class ReversiGraphicsView extends JFrame implements GraphicsView {
 
   private final ReadonlyReversiModel model;
   private final ReversiPanel panel;
+  private String turnTitle = "Reversi";
+  private String thinkingTitle = "";
 
   /**
    * Constructs a new {@link ReversiGraphicsView} with the given model.
@@ -101,7 +104,24 @@ public final class ReversiGraphicsView extends JFrame implements GraphicsView {
     if (player.isAI()) {
       turnValue = "AI Player";
     }
-    this.setTitle(String.format("Player %s | %s | W=%s, B=%s",
-            player.getPieceColor(), turnValue, whiteScore, blackScore));
+    this.turnTitle = String.format("Player %s | %s | W=%s, B=%s",
+            player.getPieceColor(), turnValue, whiteScore, blackScore);
+    this.setTitle(this.turnTitle + this.thinkingTitle);
+  }
+
+  @Override
+  public void notifyThinking(boolean thinking, long budgetMillis) {
+    if (!thinking) {
+      this.thinkingTitle = "";
+    } else if (budgetMillis > 0) {
+      this.thinkingTitle = String.format(" | Thinking (%d ms budget)...", budgetMillis);
+    } else {
+      this.thinkingTitle = " | Thinking...";
+    }
+    this.setCursor(Cursor.getPredefinedCursor(thinking ? Cursor.WAIT_CURSOR
+            : Cursor.DEFAULT_CURSOR));
+    if (!this.model.isGameOver()) {
+      this.setTitle(this.turnTitle + this.thinkingTitle);
+    }
   }
 }
\ No newline at end of file
@@ -18,11 +18,9 @@
 
 package cs3500.reversi.view;
 
-import java.util.List;
-
+import cs3500.reversi.model.BoardView;
 import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.types.PieceColor;
-import cs3500.reversi.model.types.ReversiCellPair;
 
 /**
  * Represents a textual view of a {@link ReadonlyReversiModel}. This view
@@ -57,17 +55,17 @@ public final class TextualReversi implements TextualView {
   @Override
   public String toString() {
     StringBuilder result = new StringBuilder();
-    List<List<ReversiCellPair>> storedCells = model.getBoardCopy();
-    for (int i = 0; i < storedCells.size(); i++) {
+    BoardView board = model.getBoardView();
+    for (int i = 0; i < board.getRowCount(); i++) {
       int buffer = Math.abs(model.getRadius() - i);
       result.append(" ".repeat(buffer));
-      for (int j = 0; j < storedCells.get(i).size(); j++) {
-        result.append(model.getStateOf(i, j));
-        if (j != storedCells.get(i).size() - 1) {
+      for (int j = 0; j < board.getRowSize(i); j++) {
+        result.append(board.getStateOf(i, j));
+        if (j != board.getRowSize(i) - 1) {
           result.append(" ");
         }
       }
-      if (i != storedCells.size() - 1) {
+      if (i != board.getRowCount() - 1) {
         result.append("\n");
       }
     }
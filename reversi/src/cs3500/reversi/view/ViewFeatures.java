@@ -51,4 +51,16 @@ public interface ViewFeatures {
 
   void passTurn();
 
+  /**
+   * Indicates that an AI player has started or stopped thinking about its move. This
+   * feature is listened to by the {@link ReversiController}, which shows it in the view.
+   *
+   * @param thinking whether the player is thinking.
+   * @param budgetMillis the time the player may think for in milliseconds, or 0 if it has
+   *                     no time budget.
+   * @see GraphicsView#notifyThinking(boolean, long)
+   */
+
+  void notifyThinking(boolean thinking, long budgetMillis);
+
 }
\ No newline at end of file
@@ -38,9 +38,11 @@ import javax.swing.JPanel;
 import javax.swing.KeyStroke;
 import javax.swing.AbstractAction;
 
+import cs3500.reversi.evaluation.StabilityAnalyzer;
+import cs3500.reversi.model.BoardView;
 import cs3500.reversi.model.ReadonlyReversiModel;
 import cs3500.reversi.model.types.HexCell;
-import cs3500.reversi.model.types.ReversiCellPair;
+import cs3500.reversi.model.types.HexCellState;
 import cs3500.reversi.player.Player;
 import cs3500.reversi.view.ViewFeatures;
 
@@ -61,6 +63,7 @@ public final class ReversiPanel extends JPanel {
 
   private Point selected = new Point(-1, -1);
   private Point selectedCell = new Point(-1, -1);
+  private boolean showStable = false;
 
   /**
    * Constructs a new {@link ReversiPanel} with the given model and view.
@@ -80,6 +83,7 @@ public final class ReversiPanel extends JPanel {
     this.initKeyComponent();
     this.getInputMap().put(KeyStroke.getKeyStroke('p'), "pass");
     this.getInputMap().put(KeyStroke.getKeyStroke('\n'), "move");
+    this.getInputMap().put(KeyStroke.getKeyStroke('s'), "stable");
   }
 
   /**
@@ -87,7 +91,8 @@ public final class ReversiPanel extends JPanel {
    * presses the "p" key, the controller is notified that the player
    * wants to pass their turn. When the player presses the "enter" or
    * "return" key, the controller is notified that the player wants to
-   * make a move at the selected cell.
+   * make a move at the selected cell. When the player presses the "s" key, the pieces that
+   * can never be flipped are marked on the board, or unmarked if they already are.
    */
 
   private void initKeyComponent() {
@@ -112,6 +117,15 @@ public final class ReversiPanel extends JPanel {
         }
       }
     });
+
+    this.getActionMap().put("stable", new AbstractAction() {
+
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        ReversiPanel.this.showStable = !ReversiPanel.this.showStable;
+        ReversiPanel.this.repaint();
+      }
+    });
   }
 
   @Override
@@ -129,6 +143,13 @@ public final class ReversiPanel extends JPanel {
    */
 
   private void drawHexagons() {
+    // The stable cells are marked in a grid, so each cell is checked in constant time.
+    boolean[][] stable = new boolean[this.hexagons.size()][this.model.getDiameter()];
+    if (this.showStable) {
+      for (Point cell : StabilityAnalyzer.of(this.model.getRadius()).findStableCells(this.model)) {
+        stable[cell.x][cell.y] = true;
+      }
+    }
     for (int i = 0; i < this.hexagons.size(); i++) {
       for (int j = 0; j < this.hexagons.get(i).size(); j++) {
         Path2D path = this.hexagons.get(i).get(j);
@@ -142,13 +163,18 @@ public final class ReversiPanel extends JPanel {
         this.graphics.fill(path);
         this.graphics.setColor(Color.BLACK);
         this.graphics.draw(path);
-        if (this.model.getStateOf(i, j).equals("X")) {
+        HexCellState state = this.model.getCellState(i, j);
+        if (state == HexCellState.BLACK) {
           this.graphics.setColor(Color.BLACK);
           this.drawInlineCircle(this.graphics, x, y);
-        } else if (this.model.getStateOf(i, j).equals("O")) {
+        } else if (state == HexCellState.WHITE) {
           this.graphics.setColor(Color.WHITE);
           this.drawInlineCircle(this.graphics, x, y);
         }
+        if (stable[i][j]) {
+          this.graphics.setColor(Color.ORANGE);
+          this.drawStableMarker(this.graphics, x, y);
+        }
       }
     }
   }
@@ -159,15 +185,15 @@ public final class ReversiPanel extends JPanel {
 
   private void generateHexagons() {
     double yoffset = 0;
-    List<List<ReversiCellPair>> board = this.model.getBoardCopy();
+    BoardView board = this.model.getBoardView();
     this.hexagons = new ArrayList<>();
-    for (int i = 0; i < board.size(); i++) {
+    for (int i = 0; i < board.getRowCount(); i++) {
       this.hexagons.add(new ArrayList<>());
       double xoffset = Math.abs((HexCell.HEX_WIDTH / 2) * (model.getRadius() - i));
-      for (int j = 0; j < model.getBoardCopy().get(i).size(); j++) {
+      for (int j = 0; j < board.getRowSize(i); j++) {
         Path2D path = new Hexagon(xoffset, yoffset, HexCell.HEX_SIZE);
         this.hexagons.get(i).add(path);
-        if (j != board.get(i).size() - 1) {
+        if (j != board.getRowSize(i) - 1) {
           xoffset += HexCell.HEX_WIDTH;
         }
       }
@@ -189,6 +215,21 @@ public final class ReversiPanel extends JPanel {
     g.fillOval(x, y, HexCell.HEX_SIZE, HexCell.HEX_SIZE);
   }
 
+  /**
+   * Draws the marker of a stable piece, a small dot in the middle of the piece.
+   *
+   * @param g the {@link Graphics2D} to draw with.
+   * @param xoffset the x offset of the piece's hexagon.
+   * @param yoffset the y offset of the piece's hexagon.
+   */
+
+  private void drawStableMarker(Graphics2D g, double xoffset, double yoffset) {
+    int size = HexCell.HEX_SIZE / 3;
+    int x = (int) (xoffset + HexCell.HEX_WIDTH / 2) - size / 2;
+    int y = (int) (yoffset + HexCell.HEX_HEIGHT / 2) - size / 2;
+    g.fillOval(x, y, size, size);
+  }
+
   /**
    * Adds the given {@link ViewFeatures} to this view.
    * @param features the {@link ViewFeatures} to add.
@@ -258,7 +299,7 @@ public final class ReversiPanel extends JPanel {
           if (path.contains(event.getPoint()) && !player.isAI()
                   && !ReversiPanel.this.isOnCellLine(event.getPoint())) {
             selectedCell = new Point(i, j);
-            if (model.getStateOf(i, j).equals("_")) {
+            if (model.getCellState(i, j) == HexCellState.EMPTY) {
               if (selected.x != -1 && path.contains(selected)) {
                 selected = new Point(-1, -1);
               } else {
@@ -0,0 +1,246 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import cs3500.reversi.book.OpeningBook;
+import cs3500.reversi.model.BoardView;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.player.AIDifficulty;
+import cs3500.reversi.player.AIPlayer;
+import cs3500.reversi.strategy.ConsoleStrategyLogger;
+import cs3500.reversi.strategy.LogLevel;
+import cs3500.reversi.view.ViewFeatures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for how an {@link AIPlayer} thinks off the calling thread and delivers its moves.
+ */
+public final class AIPlayerTests {
+
+  /**
+   * Logs every feature the player uses.
+   */
+  private static class LoggingFeatures implements ViewFeatures {
+
+    protected final List<String> log = new ArrayList<>();
+
+    @Override
+    public void makeMove(int row, int col) {
+      this.log.add("makeMove " + row + " " + col);
+    }
+
+    @Override
+    public void passTurn() {
+      this.log.add("passTurn");
+    }
+
+    @Override
+    public void notifyThinking(boolean thinking, long budgetMillis) {
+      this.log.add("thinking " + thinking + " " + budgetMillis);
+    }
+  }
+
+  @Test
+  public void testConstructorExceptions() {
+    ReversiModel model = new HexagonalReversi(7);
+    assertThrows(IllegalArgumentException.class, () -> new AIPlayer(model, PieceColor.WHITE,
+        AIDifficulty.EASY, 1, null, Runnable::run));
+    assertThrows(IllegalArgumentException.class, () -> new AIPlayer(model, PieceColor.WHITE,
+        AIDifficulty.EASY, 1, Runnable::run, null));
+    assertThrows(IllegalArgumentException.class, () -> new AIPlayer(model, PieceColor.WHITE,
+        null, 1, Runnable::run, Runnable::run));
+    assertThrows(IllegalArgumentException.class, () -> new AIPlayer(model, PieceColor.WHITE,
+        AIDifficulty.EASY, 1, Runnable::run, Runnable::run, false, OpeningBook.EMPTY, null));
+  }
+
+  @Test
+  public void testDirectExecutorsDeliverImmediately() {
+    ReversiModel model = new HexagonalReversi(7);
+    AIPlayer white = new AIPlayer(model, PieceColor.WHITE, AIDifficulty.EASY, 1,
+        Runnable::run, Runnable::run);
+    AIPlayer black = new AIPlayer(model, PieceColor.BLACK, AIDifficulty.SEARCH, 1,
+        Runnable::run, Runnable::run);
+    LoggingFeatures whiteFeatures = new LoggingFeatures();
+    LoggingFeatures blackFeatures = new LoggingFeatures();
+    white.addFeatures(whiteFeatures);
+    black.addFeatures(blackFeatures);
+    model.startGame();
+    assertEquals(List.of("thinking true 0", "thinking false 0", "makeMove 1 2"),
+        whiteFeatures.log);
+    assertTrue(blackFeatures.log.isEmpty());
+  }
+
+  @Test
+  public void testOutdatedMoveIsDropped() {
+    ReversiModel model = new HexagonalReversi(7);
+    List<Runnable> deliveries = new ArrayList<>();
+    AIPlayer white = new AIPlayer(model, PieceColor.WHITE, AIDifficulty.EASY, 1,
+        Runnable::run, deliveries::add);
+    LoggingFeatures features = new LoggingFeatures();
+    white.addFeatures(features);
+    model.startGame();
+    assertEquals(1, deliveries.size());
+    // The game moves on while the move is on its way.
+    model.playMove(1, 2, PieceColor.WHITE);
+    deliveries.get(0).run();
+    assertEquals(List.of("thinking true 0", "thinking false 0"), features.log);
+  }
+
+  @Test
+  public void testCancelledMoveStopsThinking() {
+    ReversiModel model = new HexagonalReversi(7);
+    List<Runnable> tasks = new ArrayList<>();
+    AIPlayer white = new AIPlayer(model, PieceColor.WHITE, AIDifficulty.EASY, 1,
+        tasks::add, Runnable::run);
+    LoggingFeatures features = new LoggingFeatures();
+    white.addFeatures(features);
+    model.startGame();
+    // The game moves on before the player has started thinking, which cancels its move.
+    model.playMove(1, 2, PieceColor.WHITE);
+    assertTrue(((Future<?>) tasks.get(0)).isCancelled());
+    assertEquals(List.of("thinking true 0", "thinking false 0"), features.log);
+  }
+
+  @Test
+  public void testOnlyNewestGenerationIsDelivered() {
+    ReversiModel model = new HexagonalReversi(7);
+    List<Runnable> deliveries = new ArrayList<>();
+    AIPlayer white = new AIPlayer(model, PieceColor.WHITE, AIDifficulty.MEDIUM, 1,
+        Runnable::run, deliveries::add);
+    LoggingFeatures features = new LoggingFeatures();
+    white.addFeatures(features);
+    white.notifyTurn();
+    white.notifyTurn();
+    deliveries.forEach(Runnable::run);
+    assertEquals(1, features.log.stream().filter(line -> line.startsWith("makeMove")).count());
+  }
+
+  @Test
+  public void testFailedStrategyPassesAndStopsThinking() {
+    // The copy the player thinks on fails like a strategy with a bug would.
+    ReversiModel model = new HexagonalReversi(7) {
+      @Override
+      public ReversiModel getModelCopy() {
+        return new HexagonalReversi(7) {
+          @Override
+          public BoardView getBoardView() {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+    };
+    StringBuilder out = new StringBuilder();
+    AIPlayer white = new AIPlayer(model, PieceColor.WHITE, AIDifficulty.EASY, 1,
+        Runnable::run, Runnable::run, false, OpeningBook.EMPTY,
+        new ConsoleStrategyLogger(out, LogLevel.INFO));
+    LoggingFeatures features = new LoggingFeatures();
+    white.addFeatures(features);
+    model.startGame();
+    assertEquals(List.of("thinking true 0", "thinking false 0", "passTurn"), features.log);
+    assertEquals("Could not choose a move for O: java.lang.UnsupportedOperationException"
+        + System.lineSeparator(), out.toString());
+  }
+
+  @Test
+  public void testPonderingIsCancelledByTheNextTurn() {
+    ReversiModel model = new HexagonalReversi(7);
+    List<Runnable> tasks = new ArrayList<>();
+    new AIPlayer(model, PieceColor.BLACK, AIDifficulty.MCTS, 1, tasks::add, Runnable::run,
+        true, OpeningBook.EMPTY);
+    new AIPlayer(model, PieceColor.BLACK, AIDifficulty.MCTS, 1, tasks::add, Runnable::run);
+    model.startGame();
+    // Only the player that ponders thinks while white is deciding.
+    assertEquals(1, tasks.size());
+    model.playMove(1, 2, PieceColor.WHITE);
+    assertTrue(((Future<?>) tasks.get(0)).isCancelled());
+    assertEquals(3, tasks.size());
+  }
+
+  @Test
+  public void testBookMoveIsPlayedInsteadOfSearching() throws IOException {
+    // Every opening move is played when the book says so, which a search could not agree with.
+    for (Point move : new HexagonalReversi(7).getLegalMoves(PieceColor.WHITE)) {
+      ReversiModel model = new HexagonalReversi(7);
+      AIPlayer white = new AIPlayer(model, PieceColor.WHITE, AIDifficulty.SEARCH, 1,
+          Runnable::run, Runnable::run, false, this.bookOf(model, move));
+      LoggingFeatures features = new LoggingFeatures();
+      white.addFeatures(features);
+      model.startGame();
+      assertEquals("makeMove " + move.x + " " + move.y, features.log.get(2));
+    }
+    assertThrows(IllegalArgumentException.class, () -> new AIPlayer(new HexagonalReversi(7),
+        PieceColor.BLACK, AIDifficulty.SEARCH, 1, Runnable::run, Runnable::run, false, null));
+  }
+
+  private OpeningBook bookOf(ReversiModel model, Point move) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeBytes("RVBK");
+    out.writeByte(1);
+    out.writeInt(1);
+    out.writeLong(model.getPositionHash());
+    out.writeShort(HexTopology.of(model.getRadius()).indexOf(move.x, move.y));
+    return OpeningBook.read(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  @Test
+  public void testThinkingDoesNotBlockCaller() throws InterruptedException {
+    ReversiModel model = new HexagonalReversi(9);
+    ExecutorService thinker = Executors.newSingleThreadExecutor();
+    CountDownLatch moved = new CountDownLatch(1);
+    AIPlayer white = new AIPlayer(model, PieceColor.WHITE, AIDifficulty.SEARCH, 1,
+        thinker, Runnable::run);
+    white.addFeatures(new LoggingFeatures() {
+      @Override
+      public void makeMove(int row, int col) {
+        super.makeMove(row, col);
+        moved.countDown();
+      }
+    });
+    try {
+      model.startGame();
+      // The search thinks for its whole budget, so it cannot have finished yet.
+      assertEquals(1, moved.getCount());
+      assertTrue(moved.await(10, TimeUnit.SECONDS));
+    } finally {
+      thinker.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.util.List;
+
+import org.junit.Test;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Runs the full {@link ModelTests} suite against the {@link BitboardReversi} model, and
+ * checks that it stays in lockstep with {@link HexagonalReversi} over entire games.
+ */
+public final class BitboardModelTests extends ModelTests {
+
+  @Override
+  protected ReversiModel createModel(int rows) {
+    return new BitboardReversi(rows);
+  }
+
+  @Test
+  public void testMatchesHexagonalReversiOverFullGames() {
+    for (int rows = 5; rows <= 11; rows += 2) {
+      ReversiModel hexagonal = new HexagonalReversi(rows);
+      ReversiModel bitboard = new BitboardReversi(rows);
+      while (!hexagonal.isGameOver()) {
+        assertEquals(hexagonal.getBoardCopy().size(), bitboard.getBoardCopy().size());
+        PieceColor color = hexagonal.getPlayerColor();
+        boolean moved = false;
+        for (int row = 0; row < rows && !moved; row++) {
+          for (int col = 0; col < hexagonal.getBoardCopy().get(row).size() && !moved; col++) {
+            assertEquals(hexagonal.isValidMove(row, col, color),
+                    bitboard.isValidMove(row, col, color));
+            if (hexagonal.isValidMove(row, col, color)) {
+              hexagonal.playMove(row, col, color);
+              bitboard.playMove(row, col, color);
+              moved = true;
+            }
+          }
+        }
+        if (!moved) {
+          hexagonal.pass(color);
+          bitboard.pass(color);
+        }
+        for (int row = 0; row < rows; row++) {
+          for (int col = 0; col < hexagonal.getBoardCopy().get(row).size(); col++) {
+            assertEquals(hexagonal.getStateOf(row, col), bitboard.getStateOf(row, col));
+          }
+        }
+        assertEquals(hexagonal.isGameOver(), bitboard.isGameOver());
+        assertEquals(hexagonal.getPositionHash(), bitboard.getPositionHash());
+      }
+      assertEquals(hexagonal.getScore(PieceColor.WHITE), bitboard.getScore(PieceColor.WHITE));
+      assertEquals(hexagonal.getScore(PieceColor.BLACK), bitboard.getScore(PieceColor.BLACK));
+    }
+  }
+
+  @Test
+  public void testCellBitsRebuildThePosition() {
+    BitboardReversi model = new BitboardReversi(15);
+    for (int move = 0; move < 20 && !model.isGameOver(); move++) {
+      PieceColor color = model.getPlayerColor();
+      List<Point> moves = model.getLegalMoves(color);
+      if (moves.isEmpty()) {
+        model.applyPass(color);
+      } else {
+        Point chosen = moves.get(move % moves.size());
+        model.applyMove(chosen.x, chosen.y, color);
+      }
+    }
+    long[] blacks = model.getCellBits(PieceColor.BLACK);
+    long[] whites = model.getCellBits(PieceColor.WHITE);
+    assertEquals(3, blacks.length);
+    BitboardReversi copy = new BitboardReversi(15, blacks, whites, model.getTurn(),
+            model.getPasses());
+    assertEquals(model.getPositionHash(), copy.getPositionHash());
+    assertEquals(model.getScore(PieceColor.BLACK), copy.getScore(PieceColor.BLACK));
+    assertEquals(model.getLegalMoves(PieceColor.WHITE), copy.getLegalMoves(PieceColor.WHITE));
+    assertArrayEquals(whites, copy.getCellBits(PieceColor.WHITE));
+    assertThrows(IllegalStateException.class, copy::undoMove);
+  }
+
+  @Test
+  public void testInvalidCellBitsAreRejected() {
+    long[] none = new long[1];
+    assertThrows(IllegalArgumentException.class,
+        () -> new BitboardReversi(5, new long[] {1}, new long[] {1}, 1, 0));
+    // The 5-row board has 19 cells, so bit 19 is past the last one.
+    assertThrows(IllegalArgumentException.class,
+        () -> new BitboardReversi(5, new long[] {1L << 19}, none, 1, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BitboardReversi(5, new long[2], none, 1, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BitboardReversi(5, none, none, 0, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BitboardReversi(5, none, none, 1, 3));
+  }
+}
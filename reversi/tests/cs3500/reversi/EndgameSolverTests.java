@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+import cs3500.reversi.factory.StrategyFactory;
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.player.AIDifficulty;
+import cs3500.reversi.strategy.AlphaBetaSearch;
+import cs3500.reversi.strategy.EndgameSolver;
+import cs3500.reversi.strategy.FlipMostCells;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link EndgameSolver} strategy.
+ */
+public final class EndgameSolverTests {
+
+  @Test
+  public void testConstructorExceptions() {
+    assertThrows(IllegalArgumentException.class, () -> new EndgameSolver(null, 10));
+    assertThrows(IllegalArgumentException.class,
+        () -> new EndgameSolver(new FlipMostCells(), -1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new StrategyFactory(AIDifficulty.SEARCH, 1, -1));
+  }
+
+  @Test
+  public void testSolvedMarginMatchesFullSearch() {
+    for (int seed = 0; seed < 6; seed++) {
+      EndgameSolver solver = new EndgameSolver(new FlipMostCells(), 10);
+      ReversiModel model = this.endgame(solver, seed);
+      PieceColor color = model.getPlayerColor();
+      Optional<Point> move = solver.chooseMove(model, color);
+      assertTrue(solver.isSolved());
+      assertTrue(solver.getNodeCount() > 0);
+      assertTrue(solver.getSolveNanos() > 0);
+      assertEquals(this.minimax(model), solver.getMargin());
+      if (move.isPresent()) {
+        model.applyMove(move.get().x, move.get().y, color);
+      } else {
+        model.applyPass(color);
+      }
+      // The chosen move is one that reaches the best result.
+      assertEquals(-solver.getMargin(), this.minimax(model));
+    }
+  }
+
+  @Test
+  public void testWinLossDrawMatchesTheSign() {
+    for (int seed = 0; seed < 6; seed++) {
+      EndgameSolver solver = new EndgameSolver(new FlipMostCells(), 10, true);
+      ReversiModel model = this.endgame(solver, seed);
+      solver.chooseMove(model, model.getPlayerColor());
+      assertEquals(Integer.signum(this.minimax(model)), solver.getMargin());
+    }
+  }
+
+  @Test
+  public void testUnplayableCellsAreNotCounted() {
+    // The center and the corners of the smallest board can never be played.
+    ReversiModel model = new BitboardReversi(5);
+    assertFalse(new EndgameSolver(new FlipMostCells(), 5).canSolve(model));
+    assertTrue(new EndgameSolver(new FlipMostCells(), 6).canSolve(model));
+  }
+
+  @Test
+  public void testMidgameIsLeftToTheOtherStrategy() {
+    ReversiModel model = new BitboardReversi(9);
+    EndgameSolver solver = new EndgameSolver(new FlipMostCells(), 12);
+    assertFalse(solver.canSolve(model));
+    assertEquals(new FlipMostCells().chooseMove(model, model.getPlayerColor()),
+        solver.chooseMove(model, model.getPlayerColor()));
+    assertFalse(solver.isSolved());
+    assertEquals(0, solver.getMargin());
+  }
+
+  @Test
+  public void testInterruptStopsSolving() {
+    ReversiModel model = new BitboardReversi(9);
+    EndgameSolver solver = new EndgameSolver(new FlipMostCells(), 60);
+    Thread.currentThread().interrupt();
+    try {
+      Optional<Point> move = solver.chooseMove(model, model.getPlayerColor());
+      assertFalse(solver.isSolved());
+      assertTrue(model.isValidMove(move.get().x, move.get().y, model.getPlayerColor()));
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  public void testSearchDifficultiesSwitchToTheSolver() {
+    assertTrue(new StrategyFactory(AIDifficulty.SEARCH, 1).build() instanceof EndgameSolver);
+    assertTrue(new StrategyFactory(AIDifficulty.MCTS, 1).build() instanceof EndgameSolver);
+    assertTrue(new StrategyFactory(AIDifficulty.SEARCH, 1, 0).build() instanceof AlphaBetaSearch);
+    assertFalse(new StrategyFactory(AIDifficulty.HARD, 1).build() instanceof EndgameSolver);
+  }
+
+  /**
+   * Plays random moves from the start of a game with 37 cells until the provided solver can
+   * solve the game, and the game is not over yet.
+   */
+  private ReversiModel endgame(EndgameSolver solver, long seed) {
+    Random random = new Random(seed);
+    while (true) {
+      ReversiModel model = new BitboardReversi(7);
+      while (!solver.canSolve(model) && !model.isGameOver()) {
+        RandomGames.playRandomMove(model, random);
+      }
+      if (!model.isGameOver()) {
+        return model;
+      }
+    }
+  }
+
+  /**
+   * Scores the position for the player to move by trying every line to the end of the game.
+   */
+  private int minimax(ReversiModel model) {
+    PieceColor color = model.getPlayerColor();
+    PieceColor other = color == PieceColor.BLACK ? PieceColor.WHITE : PieceColor.BLACK;
+    if (model.isGameOver()) {
+      return model.getScore(color) - model.getScore(other);
+    }
+    int best = Integer.MIN_VALUE;
+    for (Point move : model.getLegalMoves(color)) {
+      model.applyMove(move.x, move.y, color);
+      best = Math.max(best, -this.minimax(model));
+      model.undoMove();
+    }
+    if (best == Integer.MIN_VALUE) {
+      model.applyPass(color);
+      best = -this.minimax(model);
+      model.undoMove();
+    }
+    return best;
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import cs3500.reversi.evaluation.Evaluation;
+import cs3500.reversi.evaluation.Feature;
+import cs3500.reversi.evaluation.FeatureExtractor;
+import cs3500.reversi.evaluation.SelfPlayGenerator;
+import cs3500.reversi.evaluation.WeightTuner;
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.HexCellState;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.PositionStore;
+import cs3500.reversi.record.PositionStoreWriter;
+import cs3500.reversi.strategy.AvoidCellsNextToCorners;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the features and weights of an {@link Evaluation}, and for fitting them with a
+ * {@link WeightTuner}.
+ */
+public final class EvaluationTests {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testDefaultWeightsCountPiecesMovesAndCorners() {
+    for (int rows = 5; rows <= 11; rows += 2) {
+      for (BitboardReversi position : RandomGames.randomPositions(rows, 60, new Random(rows))) {
+        for (PieceColor color : PieceColor.values()) {
+          PieceColor other = color == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+          int r = rows / 2;
+          int corners = 0;
+          for (Point corner : List.of(new Point(0, 0), new Point(0, r), new Point(r, 0),
+                  new Point(r, 2 * r), new Point(2 * r, 0), new Point(2 * r, r))) {
+            HexCellState state = position.getCellState(corner.x, corner.y);
+            corners += state == HexCellState.EMPTY ? 0
+                    : state.name().equals(color.name()) ? 1 : -1;
+          }
+          int expected = position.getScore(color) - position.getScore(other)
+                  + 4 * (position.getLegalMoves(color).size()
+                  - position.getLegalMoves(other).size()) + 25 * corners;
+          assertEquals(expected, Evaluation.DEFAULT.evaluate(position, color));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBitsetsAndModelsMeasureTheSameFeatures() {
+    for (int rows = 5; rows <= 11; rows += 2) {
+      FeatureExtractor extractor = FeatureExtractor.of(rows / 2);
+      for (BitboardReversi position : RandomGames.randomPositions(rows, 60, new Random(rows))) {
+        int[] fromModel = new int[Feature.values().length];
+        int[] fromBits = new int[Feature.values().length];
+        int[] forBlack = new int[Feature.values().length];
+        long[] whites = position.getCellBits(PieceColor.WHITE);
+        long[] blacks = position.getCellBits(PieceColor.BLACK);
+        extractor.extract(new HexagonalReversi(position), PieceColor.WHITE, fromModel);
+        extractor.extract(whites, blacks, fromBits);
+        extractor.extract(blacks, whites, forBlack);
+        assertArrayEquals(fromModel, fromBits);
+        for (int feature = 0; feature < forBlack.length; feature++) {
+          assertEquals(-fromBits[feature], forBlack[feature]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEvaluationMeasuresStabilityOnlyWhenWeighted() {
+    Evaluation stable = new Evaluation(Map.of(Feature.PIECES, 1.0, Feature.STABILITY, 10.0));
+    FeatureExtractor extractor = FeatureExtractor.of(3);
+    for (BitboardReversi position : RandomGames.randomPositions(7, 80, new Random(25))) {
+      int[] values = new int[Feature.values().length];
+      extractor.extract(position, PieceColor.BLACK, values);
+      assertEquals(stable.score(values), stable.evaluate(position, PieceColor.BLACK));
+      assertEquals(Evaluation.DEFAULT.score(values),
+              Evaluation.DEFAULT.evaluate(position, PieceColor.BLACK));
+    }
+  }
+
+  @Test
+  public void testFeaturesOfABuiltPosition() {
+    // White holds the corner (0, 0) and the two edge cells after it in row 0, and black holds
+    // the corner at the other end of row 0 and one cell next to the center.
+    HexTopology topology = HexTopology.of(3);
+    long[] whites = new long[1];
+    long[] blacks = new long[1];
+    for (int col = 0; col < 3; col++) {
+      whites[0] |= 1L << topology.indexOf(0, col);
+    }
+    blacks[0] |= 1L << topology.indexOf(0, 3);
+    blacks[0] |= 1L << topology.indexOf(3, 2);
+    int[] values = new int[Feature.values().length];
+    FeatureExtractor.of(3).extract(whites, blacks, values);
+    assertEquals(3 - 2, values[Feature.PIECES.ordinal()]);
+    assertEquals(1 - 1, values[Feature.CORNERS.ordinal()]);
+    assertEquals(2, values[Feature.EDGES.ordinal()]);
+    assertEquals(3 - 2, values[Feature.FRONTIER.ordinal()]);
+    // The line of white pieces is held by its corner; black's corner blocks it on the far end.
+    assertEquals(3 - 1, values[Feature.STABILITY.ordinal()]);
+    ReversiModel model = new BitboardReversi(7, blacks, whites, 1, 0);
+    assertEquals(model.getLegalMoves(PieceColor.WHITE).size()
+            - model.getLegalMoves(PieceColor.BLACK).size(), values[Feature.MOBILITY.ordinal()]);
+  }
+
+  @Test
+  public void testWeightsRoundTripThroughAFile() throws IOException {
+    Evaluation evaluation = new Evaluation(Map.of(Feature.MOBILITY, 3.5,
+            Feature.FRONTIER, -2.25, Feature.STABILITY, 12.0));
+    Path path = this.folder.getRoot().toPath().resolve("reversi.weights");
+    evaluation.save(path);
+    assertEquals(evaluation, Evaluation.load(path));
+    assertEquals(0.0, Evaluation.load(path).getWeight(Feature.CORNERS), 0);
+
+    // A file only needs the features it uses, and may have comments.
+    Evaluation partial = this.read("# hand tuned\nmobility = 3.5\n");
+    assertEquals(3.5, partial.getWeight(Feature.MOBILITY), 0);
+    assertEquals(0.0, partial.getWeight(Feature.PIECES), 0);
+    assertThrows(IOException.class, () -> this.read("parity=1\n"));
+    assertThrows(IOException.class, () -> this.read("pieces=lots\n"));
+    assertThrows(IOException.class, () -> this.read("pieces=NaN\n"));
+    assertThrows(IllegalArgumentException.class, () -> new Evaluation(null));
+    assertTrue(Files.exists(path));
+  }
+
+  @Test
+  public void testTunedWeightsPredictOutcomesBetterThanTheDefault() throws IOException {
+    Path path = this.folder.getRoot().toPath().resolve("positions.rvps");
+    try (PositionStoreWriter writer = new PositionStoreWriter(path, 7)) {
+      new SelfPlayGenerator(7, AvoidCellsNextToCorners::new, 6, 42).generate(writer, 150);
+    }
+    try (PositionStore store = new PositionStore(path)) {
+      Evaluation tuned = new WeightTuner(3).tune(store);
+      double loss = WeightTuner.loss(store, tuned);
+      assertTrue(loss < Math.log(2));
+      assertTrue(loss < WeightTuner.loss(store, Evaluation.DEFAULT));
+      // Splitting the work differently only changes the order the sums are added in.
+      Evaluation single = new WeightTuner(1).tune(store);
+      for (Feature feature : Feature.values()) {
+        assertEquals(single.getWeight(feature), tuned.getWeight(feature), 1e-6);
+      }
+    }
+  }
+
+  @Test
+  public void testSelfPlayIsRepeatableFromItsSeed() throws IOException {
+    Path first = this.folder.getRoot().toPath().resolve("first.rvps");
+    Path second = this.folder.getRoot().toPath().resolve("second.rvps");
+    for (Path path : List.of(first, second)) {
+      try (PositionStoreWriter writer = new PositionStoreWriter(path, 5)) {
+        new SelfPlayGenerator(5, AvoidCellsNextToCorners::new, 4, 7).generate(writer, 20);
+      }
+    }
+    assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+  }
+
+  /**
+   * Reads weights from the provided text.
+   */
+  private Evaluation read(String text) throws IOException {
+    return Evaluation.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+  }
+}
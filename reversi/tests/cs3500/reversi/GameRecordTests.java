@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.GameRecord;
+import cs3500.reversi.record.GameRecordWriter;
+import cs3500.reversi.record.GameReplay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for writing, reading and replaying a {@link GameRecord}.
+ */
+public final class GameRecordTests {
+
+  @Test
+  public void testWrittenGameReplaysEveryPosition() throws IOException {
+    ReversiModel model = new HexagonalReversi(9);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new GameRecordWriter(model, "hardai", "easyai", out);
+    List<Long> hashes = this.play(model);
+
+    GameRecord record = GameRecord.read(new ByteArrayInputStream(out.toByteArray())).get();
+    assertEquals(4, record.getRadius());
+    assertEquals("hardai", record.getWhitePlayer());
+    assertEquals("easyai", record.getBlackPlayer());
+    assertTrue(record.isFinished());
+    assertEquals(hashes.size() - 1, record.getMoveCount());
+    GameReplay replay = new GameReplay(record, 5);
+    for (int ply = 0; ply <= replay.getPlyCount(); ply++) {
+      assertEquals((long) hashes.get(ply), replay.getPosition(ply).getPositionHash());
+    }
+    assertTrue(replay.getPosition(replay.getPlyCount()).isGameOver());
+  }
+
+  @Test
+  public void testMovesTakeOneByteOnSmallBoards() throws IOException {
+    ReversiModel model = new HexagonalReversi(9);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new GameRecordWriter(model, "", "", out);
+    int moves = this.play(model).size() - 1;
+    // The magic, the version, the radius, two empty names, every move and the end marker.
+    assertEquals(4 + 1 + 1 + 2 + moves + 1, out.size());
+  }
+
+  @Test
+  public void testRecordsCanBeConcatenated() throws IOException {
+    GameRecord first = new GameRecord(2, "a", "b", new int[] {5, GameRecord.PASS}, false);
+    GameRecord second = new GameRecord(30, "white", "black", new int[] {1000, 3}, true);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    second.write(out);
+    first.write(out);
+    InputStream in = new ByteArrayInputStream(out.toByteArray());
+    assertEquals(Optional.of(second), GameRecord.read(in));
+    // A record without an end marker is read up to the end of the stream, as unfinished.
+    assertEquals(Optional.of(first), GameRecord.read(in));
+    assertEquals(Optional.empty(), GameRecord.read(in));
+    assertEquals(Optional.empty(), first.getPoint(1));
+  }
+
+  @Test
+  public void testInvalidRecordsAreRejected() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new GameRecord(3, "a", "b", new int[] {1}, true).write(out);
+    byte[] bytes = out.toByteArray();
+    byte[] wrongMagic = bytes.clone();
+    wrongMagic[1] = 0;
+    assertThrows(IOException.class,
+        () -> GameRecord.read(new ByteArrayInputStream(wrongMagic)));
+    byte[] truncated = Arrays.copyOf(bytes, 7);
+    assertThrows(IOException.class,
+        () -> GameRecord.read(new ByteArrayInputStream(truncated)));
+    // A header with a radius of 1, 101, 30000 or 100000, written as a varint, and no moves.
+    for (byte[] radius : new byte[][] {{1}, {101}, {(byte) 0xB0, (byte) 0xEA, 0x01},
+        {(byte) 0xA0, (byte) 0x8D, 0x06}}) {
+      ByteArrayOutputStream corrupt = new ByteArrayOutputStream();
+      corrupt.write(bytes, 0, 5);
+      corrupt.write(radius);
+      corrupt.write(new byte[] {0, 0, 0});
+      assertThrows(IOException.class,
+          () -> GameRecord.read(new ByteArrayInputStream(corrupt.toByteArray())));
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameRecord(2, "a", "b", new int[] {19}, true));
+    // Cell 0 is a corner, which can never be played.
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameReplay(new GameRecord(2, "a", "b", new int[] {0}, false)));
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameReplay(new GameRecord(2, "a", "b", new int[0], false), 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameReplay(new GameRecord(2, "a", "b", new int[0], false)).getPosition(1));
+  }
+
+  @Test
+  public void testWriterRejectsChangesItCannotRecord() {
+    HexagonalReversi model = new HexagonalReversi(7);
+    model.applyMove(1, 2, PieceColor.WHITE);
+    assertThrows(IllegalArgumentException.class,
+        () -> new GameRecordWriter(model, "a", "b", new ByteArrayOutputStream()));
+    model.undoMove();
+    new GameRecordWriter(model, "a", "b", new ByteArrayOutputStream());
+    Point white = model.getLegalMoves(PieceColor.WHITE).get(0);
+    model.applyMove(white.x, white.y, PieceColor.WHITE);
+    Point black = model.getLegalMoves(PieceColor.BLACK).get(0);
+    model.applyMove(black.x, black.y, PieceColor.BLACK);
+    assertThrows(IllegalStateException.class, model::notifyTurn);
+  }
+
+  @Test
+  public void testAbandonedGameIsFinishedOnce() throws IOException {
+    ReversiModel model = new HexagonalReversi(7);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    GameRecordWriter writer = new GameRecordWriter(model, "a", "b", out);
+    model.startGame();
+    model.playMove(1, 2, PieceColor.WHITE);
+    writer.finish();
+    writer.finish();
+    Point black = model.getLegalMoves(PieceColor.BLACK).get(0);
+    model.playMove(black.x, black.y, PieceColor.BLACK);
+    GameRecord record = GameRecord.read(new ByteArrayInputStream(out.toByteArray())).get();
+    assertEquals(1, record.getMoveCount());
+    assertEquals(Optional.of(new Point(1, 2)), record.getPoint(0));
+    assertTrue(record.isFinished());
+    assertFalse(new GameReplay(record).getPosition(1).isGameOver());
+  }
+
+  /**
+   * Plays a random game to the end, through the notifying methods of the model, and returns
+   * the hash of every position of the game.
+   */
+  private List<Long> play(ReversiModel model) {
+    Random random = new Random(21);
+    List<Long> hashes = new ArrayList<>(List.of(model.getPositionHash()));
+    while (!model.isGameOver()) {
+      RandomGames.playRandomMove(model, random);
+      hashes.add(model.getPositionHash());
+    }
+    return hashes;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.types.Direction;
+import cs3500.reversi.model.types.HexCell;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the shared board topology used by the hexagonal models.
+ */
+public final class HexTopologyTests {
+
+  @Test
+  public void testTopologyIsSharedPerRadius() {
+    assertSame(HexTopology.of(3), HexTopology.of(3));
+    assertThrows(IllegalArgumentException.class, () -> HexTopology.of(-1));
+  }
+
+  @Test
+  public void testCellCountsAndRows() {
+    HexTopology topology = HexTopology.of(2);
+    assertEquals(19, topology.getCellCount());
+    assertEquals(5, topology.getRowCount());
+    assertEquals(3, topology.getRowSize(0));
+    assertEquals(5, topology.getRowSize(2));
+    assertEquals(37, HexTopology.of(3).getCellCount());
+  }
+
+  @Test
+  public void testIndexRoundTrips() {
+    HexTopology topology = HexTopology.of(3);
+    for (int index = 0; index < topology.getCellCount(); index++) {
+      int row = topology.getRow(index);
+      int col = topology.getCol(index);
+      assertEquals(index, topology.indexOf(row, col));
+      assertEquals(index, topology.indexOf(topology.getCell(index)));
+    }
+    assertEquals(-1, topology.indexOf(new HexCell(3, 1)));
+    assertEquals(-1, topology.indexOf(null));
+    assertThrows(IllegalArgumentException.class, () -> topology.indexOf(0, 4));
+  }
+
+  @Test
+  public void testNeighborsAndRays() {
+    HexTopology topology = HexTopology.of(2);
+    int center = topology.indexOf(2, 2);
+    int east = Direction.EAST.ordinal();
+    int northwest = Direction.NORTHWEST.ordinal();
+    assertEquals(topology.indexOf(2, 3), topology.getNeighbor(center, east));
+    assertArrayEquals(new int[] {topology.indexOf(2, 3), topology.indexOf(2, 4)},
+            topology.getRay(center, east));
+    assertArrayEquals(new int[] {topology.indexOf(1, 1), topology.indexOf(0, 0)},
+            topology.getRay(center, northwest));
+    assertEquals(-1, topology.getNeighbor(topology.indexOf(0, 0), northwest));
+    assertEquals(0, topology.getRay(topology.indexOf(0, 0), northwest).length);
+  }
+
+  @Test
+  public void testCellsOutOfReachOfTheStartAreUnplayable() {
+    HexTopology topology = HexTopology.of(2);
+    boolean[] empty = new boolean[topology.getCellCount()];
+    Arrays.fill(empty, true);
+    int[][] start = {{2, 1}, {3, 1}, {3, 2}, {2, 3}, {1, 2}, {1, 1}};
+    for (int[] cell : start) {
+      empty[topology.indexOf(cell[0], cell[1])] = false;
+    }
+    boolean[] unplayable = topology.findUnplayable(empty);
+    // The center and the six corners can never be reached on the smallest board.
+    assertTrue(unplayable[topology.indexOf(2, 2)]);
+    assertTrue(unplayable[topology.indexOf(0, 0)]);
+    assertFalse(unplayable[topology.indexOf(0, 1)]);
+    assertFalse(unplayable[topology.indexOf(2, 1)]);
+    int count = 0;
+    for (boolean cell : unplayable) {
+      count += cell ? 1 : 0;
+    }
+    assertEquals(7, count);
+    for (int index = 0; index < unplayable.length; index++) {
+      assertEquals(!unplayable[index], topology.isPlayable(index));
+    }
+    assertThrows(IllegalArgumentException.class, () -> topology.findUnplayable(new boolean[3]));
+  }
+}
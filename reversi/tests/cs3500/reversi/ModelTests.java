@@ -18,41 +18,65 @@
 
 package cs3500.reversi;
 
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import cs3500.reversi.model.types.HexCell;
 import cs3500.reversi.model.types.HexCellState;
+import cs3500.reversi.model.BoardView;
+import cs3500.reversi.model.HexTopology;
 import cs3500.reversi.model.HexagonalReversi;
 import cs3500.reversi.model.ReversiModel;
 import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.model.types.ReversiCellPair;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 /**
- * Tests the model for a game of Reversi.
+ * Tests the model for a game of Reversi. Other model implementations can run this
+ * suite by extending it and overriding {@link #createModel(int)}.
  */
-public final class ModelTests {
+public class ModelTests {
   private ReversiModel model1;
   private ReversiModel model2;
 
+  /**
+   * Creates the model under test with the provided number of rows.
+   *
+   * @param rows the number of rows in the game.
+   * @return the model to test.
+   */
+
+  protected ReversiModel createModel(int rows) {
+    return new HexagonalReversi(rows);
+  }
+
   @Before
   public void init() {
-    this.model1 = new HexagonalReversi(5);
-    this.model2 = new HexagonalReversi(7);
+    this.model1 = this.createModel(5);
+    this.model2 = this.createModel(7);
   }
 
   @Test
   public void hexagonalReversiConstructorExceptions() {
-    assertThrows(IllegalArgumentException.class, () -> new HexagonalReversi(4));
-    assertThrows(IllegalArgumentException.class, () -> new HexagonalReversi(3));
-    assertThrows(IllegalArgumentException.class, () -> new HexagonalReversi(0));
-    assertThrows(IllegalArgumentException.class, () -> new HexagonalReversi(-2));
-    assertThrows(IllegalArgumentException.class, () -> new HexagonalReversi(6));
+    assertThrows(IllegalArgumentException.class, () -> this.createModel(4));
+    assertThrows(IllegalArgumentException.class, () -> this.createModel(3));
+    assertThrows(IllegalArgumentException.class, () -> this.createModel(0));
+    assertThrows(IllegalArgumentException.class, () -> this.createModel(-2));
+    assertThrows(IllegalArgumentException.class, () -> this.createModel(6));
   }
 
   @Test
@@ -346,6 +370,225 @@ public final class ModelTests {
     assertEquals(new HexCell(2, 2), new HexCell(2, 2));
   }
 
+  @Test
+  public void testLegalMovesMatchValidMoves() {
+    ReversiModel model = this.createModel(9);
+    while (!model.isGameOver()) {
+      PieceColor color = model.getPlayerColor();
+      List<Point> expected = new ArrayList<>();
+      for (int row = 0; row < model.getDiameter(); row++) {
+        for (int col = 0; col < model.getBoardCopy().get(row).size(); col++) {
+          if (model.isValidMove(row, col, color)) {
+            expected.add(new Point(row, col));
+          }
+        }
+      }
+      assertEquals(expected, model.getLegalMoves(color));
+      if (expected.isEmpty()) {
+        model.pass(color);
+      } else {
+        Point last = expected.get(expected.size() - 1);
+        model.playMove(last.x, last.y, color);
+      }
+    }
+    assertTrue(model.getLegalMoves(PieceColor.BLACK).isEmpty());
+    assertTrue(model.getLegalMoves(PieceColor.WHITE).isEmpty());
+  }
+
+  @Test
+  public void testCellStateMatchesStringState() {
+    ReversiModel model = this.createModel(7);
+    assertThrows(IllegalArgumentException.class, () -> model.getCellState(-1, 0));
+    assertThrows(IllegalArgumentException.class, () -> model.getCellState(0, 4));
+    model.playMove(1, 2, PieceColor.WHITE);
+    for (int row = 0; row < model.getDiameter(); row++) {
+      for (int col = 0; col < model.getBoardView().getRowSize(row); col++) {
+        HexCellState state = model.getCellState(row, col);
+        assertEquals(model.getStateOf(row, col), state.toString());
+      }
+    }
+    assertEquals(HexCellState.WHITE, model.getCellState(1, 2));
+    assertEquals(HexCellState.EMPTY, model.getCellState(0, 0));
+  }
+
+  @Test
+  public void testBoardViewReadsLiveBoard() {
+    ReversiModel model = this.createModel(7);
+    BoardView view = model.getBoardView();
+    assertSame(view, model.getBoardView());
+    assertEquals(7, view.getRowCount());
+    assertThrows(IllegalArgumentException.class, () -> view.getRowSize(7));
+    assertThrows(IllegalArgumentException.class, () -> view.getStateOf(0, 4));
+    while (!model.isGameOver()) {
+      List<List<ReversiCellPair>> copy = model.getBoardCopy();
+      for (int row = 0; row < copy.size(); row++) {
+        assertEquals(copy.get(row).size(), view.getRowSize(row));
+        for (int col = 0; col < copy.get(row).size(); col++) {
+          assertEquals(copy.get(row).get(col).getState(), view.getStateOf(row, col));
+          assertEquals(copy.get(row).get(col).getCellState(), view.getCellState(row, col));
+          assertEquals(copy.get(row).get(col).getCell(), view.getCell(row, col));
+        }
+      }
+      List<Point> moves = model.getLegalMoves(model.getPlayerColor());
+      if (moves.isEmpty()) {
+        model.pass(model.getPlayerColor());
+      } else {
+        model.playMove(moves.get(0).x, moves.get(0).y, model.getPlayerColor());
+      }
+    }
+  }
+
+  @Test
+  public void testUndoMoveRestoresEveryPosition() {
+    ReversiModel model = this.createModel(7);
+    assertThrows(IllegalStateException.class, model::undoMove);
+    List<String> positions = new ArrayList<>();
+    while (!model.isGameOver()) {
+      positions.add(this.describe(model));
+      PieceColor color = model.getPlayerColor();
+      List<Point> moves = model.getLegalMoves(color);
+      if (moves.isEmpty()) {
+        model.applyPass(color);
+      } else {
+        Point move = moves.get(model.getTurn() % moves.size());
+        model.applyMove(move.x, move.y, color);
+      }
+    }
+    for (int i = positions.size() - 1; i >= 0; i--) {
+      model.undoMove();
+      assertEquals(positions.get(i),
+              this.describe(model));
+    }
+    assertEquals(3, model.getScore(PieceColor.BLACK));
+    assertEquals(3, model.getScore(PieceColor.WHITE));
+    assertTrue(model.isValidMove(1, 2, PieceColor.WHITE));
+    assertThrows(IllegalStateException.class, model::undoMove);
+  }
+
+  @Test
+  public void testPositionHashIgnoresMoveOrder() {
+    Map<String, Long> hashes = new HashMap<>();
+    Map<String, Integer> orders = new HashMap<>();
+    this.collectHashes(this.model2, 4, hashes, orders);
+    assertTrue(orders.values().stream().anyMatch(count -> count > 1));
+    assertEquals(hashes.size(), new HashSet<>(hashes.values()).size());
+  }
+
+  @Test
+  public void testPositionHashCoversSideToMove() {
+    long start = this.model1.getPositionHash();
+    assertEquals(start, this.model1.getModelCopy().getPositionHash());
+    this.model1.pass(PieceColor.WHITE);
+    assertTrue(start != this.model1.getPositionHash());
+    this.model1.pass(PieceColor.BLACK);
+    assertEquals(start, this.model1.getPositionHash());
+    this.model1.undoMove();
+    this.model1.undoMove();
+    assertEquals(start, this.model1.getPositionHash());
+  }
+
+  @Test
+  public void testMobilityAndFrontierTrackTheBoard() {
+    Random random = new Random(24);
+    for (int rows = 5; rows <= 11; rows += 2) {
+      ReversiModel model = this.createModel(rows);
+      int plies = 0;
+      while (!model.isGameOver()) {
+        this.assertCountersMatchBoard(model);
+        if (plies > 0 && random.nextInt(4) == 0) {
+          model.undoMove();
+          plies--;
+        } else {
+          RandomGames.playRandomMove(model, random);
+          plies++;
+        }
+      }
+      this.assertCountersMatchBoard(model);
+      this.assertCountersMatchBoard(model.getModelCopy());
+      this.assertCountersMatchBoard(new HexagonalReversi(model));
+    }
+  }
+
+  /**
+   * Checks the mobility and frontier counters of a model against counts taken from scratch.
+   *
+   * @param model the model to check.
+   */
+  private void assertCountersMatchBoard(ReversiModel model) {
+    HexTopology topology = HexTopology.of(model.getRadius());
+    for (PieceColor color : PieceColor.values()) {
+      HexCellState own = HexCellState.valueOf(color.name());
+      int frontier = 0;
+      for (int index = 0; index < topology.getCellCount(); index++) {
+        if (this.stateAt(model, topology, index) != own) {
+          continue;
+        }
+        for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+          int next = topology.getNeighbor(index, dir);
+          if (next != -1 && topology.isPlayable(next)
+                  && this.stateAt(model, topology, next) == HexCellState.EMPTY) {
+            frontier++;
+            break;
+          }
+        }
+      }
+      assertEquals(model.getLegalMoves(color).size(), model.getMobility(color));
+      assertEquals(frontier, model.getFrontier(color));
+    }
+  }
+
+  private HexCellState stateAt(ReversiModel model, HexTopology topology, int index) {
+    return model.getCellState(topology.getRow(index), topology.getCol(index));
+  }
+
+  /**
+   * Plays out every sequence of the provided number of moves from the model's position, and
+   * records the hash of each position reached, along with how many move orders reached it.
+   * Every position reached by more than one move order must have the same hash each time.
+   *
+   * @param model  the model to play out moves on; it is left unchanged.
+   * @param depth  the number of moves left to play.
+   * @param hashes the hash of every position reached so far.
+   * @param orders the number of move orders that reached every position so far.
+   */
+
+  private void collectHashes(ReversiModel model, int depth, Map<String, Long> hashes,
+                             Map<String, Integer> orders) {
+    String position = this.describe(model).split(" ")[0] + model.getPlayerColor();
+    if (hashes.containsKey(position)) {
+      assertEquals(hashes.get(position).longValue(), model.getPositionHash());
+    }
+    hashes.put(position, model.getPositionHash());
+    orders.merge(position, 1, Integer::sum);
+    if (depth == 0) {
+      return;
+    }
+    PieceColor color = model.getPlayerColor();
+    for (Point move : model.getLegalMoves(color)) {
+      model.applyMove(move.x, move.y, color);
+      this.collectHashes(model, depth - 1, hashes, orders);
+      model.undoMove();
+    }
+  }
+
+  /**
+   * Describes every cell of the provided model, along with its turn and pass count.
+   *
+   * @param model the model to describe.
+   * @return a string that is equal for two models exactly when their positions are equal.
+   */
+
+  private String describe(ReversiModel model) {
+    StringBuilder builder = new StringBuilder();
+    for (int row = 0; row < model.getDiameter(); row++) {
+      for (int col = 0; col < model.getBoardCopy().get(row).size(); col++) {
+        builder.append(model.getStateOf(row, col));
+      }
+    }
+    return builder.append(' ').append(model.getTurn()).append(' ').append(model.getPasses())
+            .toString();
+  }
+
   @Test
   public void testReversiCellHashCode() {
     assertEquals(new HexCell(0, 0).hashCode(), new HexCell(0, 0).hashCode());
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.MonteCarloTreeSearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link MonteCarloTreeSearch} strategy.
+ */
+public final class MonteCarloStrategyTests {
+
+  @Test
+  public void testConstructorExceptions() {
+    assertThrows(IllegalArgumentException.class, () -> new MonteCarloTreeSearch(0));
+    assertThrows(IllegalArgumentException.class, () -> new MonteCarloTreeSearch(0, 100, 1));
+    assertThrows(IllegalArgumentException.class, () -> new MonteCarloTreeSearch(100, 0, 1));
+  }
+
+  @Test
+  public void testPlayoutBudgetIsDeterministic() {
+    ReversiModel model = new HexagonalReversi(9);
+    MonteCarloTreeSearch first = new MonteCarloTreeSearch(500, Long.MAX_VALUE, 7);
+    MonteCarloTreeSearch second = new MonteCarloTreeSearch(500, Long.MAX_VALUE, 7);
+    Optional<Point> move = first.chooseMove(model, PieceColor.WHITE);
+    assertEquals(500, first.getPlayoutCount());
+    assertEquals(move, second.chooseMove(model, PieceColor.WHITE));
+    assertTrue(model.isValidMove(move.get().x, move.get().y, PieceColor.WHITE));
+    assertEquals(1, model.getTurn());
+  }
+
+  @Test
+  public void testTreeIsReusedAfterTheOpponentReplies() {
+    ReversiModel model = new BitboardReversi(7);
+    MonteCarloTreeSearch search = new MonteCarloTreeSearch(3000, Long.MAX_VALUE, 3);
+    Point move = search.chooseMove(model, PieceColor.WHITE).get();
+    assertEquals(0, search.getReusedPlayoutCount());
+    model.playMove(move.x, move.y, PieceColor.WHITE);
+    Point reply = model.getLegalMoves(PieceColor.BLACK).get(0);
+    model.playMove(reply.x, reply.y, PieceColor.BLACK);
+    search.chooseMove(model, PieceColor.WHITE);
+    assertTrue(search.getReusedPlayoutCount() > 0);
+
+    search.chooseMove(new BitboardReversi(7), PieceColor.WHITE);
+    assertEquals(0, search.getReusedPlayoutCount());
+  }
+
+  @Test
+  public void testPonderedTreeIsReusedAfterTheOpponentMoves() {
+    ReversiModel model = new BitboardReversi(7);
+    MonteCarloTreeSearch search = new MonteCarloTreeSearch(2000, Long.MAX_VALUE, 5);
+    search.ponder(model, PieceColor.BLACK);
+    Point move = model.getLegalMoves(PieceColor.WHITE).get(0);
+    model.playMove(move.x, move.y, PieceColor.WHITE);
+    search.chooseMove(model, PieceColor.BLACK);
+    assertTrue(search.getReusedPlayoutCount() > 0);
+    assertThrows(IllegalStateException.class, () -> search.ponder(model, PieceColor.BLACK));
+  }
+
+  @Test
+  public void testSearchPlaysLegalMovesToTheEndOfTheGame() {
+    ReversiModel model = new HexagonalReversi(7);
+    MonteCarloTreeSearch search = new MonteCarloTreeSearch(200, Long.MAX_VALUE, 11);
+    while (!model.isGameOver()) {
+      PieceColor color = model.getPlayerColor();
+      Optional<Point> move = search.chooseMove(model, color);
+      assertEquals(model.getLegalMoves(color).isEmpty(), move.isEmpty());
+      if (move.isPresent()) {
+        model.playMove(move.get().x, move.get().y, color);
+      } else {
+        model.pass(color);
+      }
+    }
+    assertFalse(search.chooseMove(model, model.getPlayerColor()).isPresent());
+  }
+}
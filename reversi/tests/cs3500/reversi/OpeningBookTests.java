@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import cs3500.reversi.book.OpeningBook;
+import cs3500.reversi.book.OpeningBookBuilder;
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.AlphaBetaSearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for building, storing and looking up an {@link OpeningBook}.
+ */
+public final class OpeningBookTests {
+
+  @Test
+  public void testConstructorExceptions() {
+    assertThrows(IllegalArgumentException.class, () -> new OpeningBookBuilder(0, 2, 1));
+    assertThrows(IllegalArgumentException.class, () -> new OpeningBookBuilder(2, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new OpeningBookBuilder(2, 2, 0));
+    assertThrows(IllegalArgumentException.class, () -> new OpeningBookBuilder(2, 2, 1).build());
+    assertThrows(IllegalArgumentException.class, () -> new OpeningBookBuilder(2, 2, 1).build(6));
+  }
+
+  @Test
+  public void testBookMovesMatchTheSearch() {
+    OpeningBook book = new OpeningBookBuilder(3, 3, 2).build(5, 7);
+    assertTrue(book.getSize() > 2);
+    for (int rows : new int[] {5, 7}) {
+      ReversiModel model = new HexagonalReversi(rows);
+      Optional<Point> expected = new AlphaBetaSearch(60_000, 3)
+              .chooseMove(model, PieceColor.WHITE);
+      assertEquals(expected, book.lookup(model));
+      assertEquals(expected, book.lookup(new BitboardReversi(rows)));
+      // Every reply to the book's first move is covered for black.
+      model.playMove(expected.get().x, expected.get().y, PieceColor.WHITE);
+      for (Point reply : model.getLegalMoves(PieceColor.BLACK)) {
+        ReversiModel next = new HexagonalReversi(model);
+        next.playMove(reply.x, reply.y, PieceColor.BLACK);
+        assertTrue(book.lookup(next).isPresent());
+      }
+    }
+    assertFalse(book.lookup(new HexagonalReversi(9)).isPresent());
+  }
+
+  @Test
+  public void testBuildingIsDeterministic() throws IOException {
+    assertArrayEquals(this.bytesOf(new OpeningBookBuilder(3, 2, 1).build(7)),
+            this.bytesOf(new OpeningBookBuilder(3, 2, 3).build(7)));
+  }
+
+  @Test
+  public void testBookSurvivesARoundTrip() throws IOException {
+    OpeningBook book = new OpeningBookBuilder(2, 2, 1).build(5);
+    byte[] bytes = this.bytesOf(book);
+    assertEquals(4 + 1 + 4 + 10 * book.getSize(), bytes.length);
+    OpeningBook read = OpeningBook.read(new ByteArrayInputStream(bytes));
+    assertEquals(book.getSize(), read.getSize());
+    ReversiModel model = new HexagonalReversi(5);
+    assertEquals(book.lookup(model), read.lookup(model));
+    assertArrayEquals(bytes, this.bytesOf(read));
+  }
+
+  @Test
+  public void testInvalidBooksAreRejected() throws IOException {
+    byte[] bytes = this.bytesOf(new OpeningBookBuilder(1, 1, 1).build(5));
+    byte[] wrongMagic = bytes.clone();
+    wrongMagic[0] = 'X';
+    assertThrows(IOException.class,
+        () -> OpeningBook.read(new ByteArrayInputStream(wrongMagic)));
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+    assertThrows(IOException.class,
+        () -> OpeningBook.read(new ByteArrayInputStream(truncated)));
+    assertEquals(0, OpeningBook.EMPTY.getSize());
+    assertFalse(OpeningBook.EMPTY.lookup(new HexagonalReversi(5)).isPresent());
+  }
+
+  private byte[] bytesOf(OpeningBook book) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    book.write(out);
+    return out.toByteArray();
+  }
+}
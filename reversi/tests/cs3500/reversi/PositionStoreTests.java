@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.record.GameRecord;
+import cs3500.reversi.record.GameRecordWriter;
+import cs3500.reversi.record.GameReplay;
+import cs3500.reversi.record.PositionCursor;
+import cs3500.reversi.record.PositionStore;
+import cs3500.reversi.record.PositionStoreWriter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for writing and reading a {@link PositionStore}.
+ */
+public final class PositionStoreTests {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testGamesAreStoredWithTheirOutcome() throws IOException {
+    Path path = this.folder.getRoot().toPath().resolve("games.rvps");
+    GameRecord first = this.playGame(9, new Random(1));
+    GameRecord second = this.playGame(9, new Random(2));
+    try (PositionStoreWriter writer = new PositionStoreWriter(path, 9)) {
+      assertEquals(first.getMoveCount(), writer.appendGame(first));
+      assertEquals(second.getMoveCount(), writer.appendGame(second));
+    }
+
+    try (PositionStore store = new PositionStore(path)) {
+      assertEquals(4, store.getRadius());
+      assertEquals(9, store.getRows());
+      assertEquals(first.getMoveCount() + second.getMoveCount(), store.getCount());
+      long index = 0;
+      for (GameRecord record : List.of(first, second)) {
+        GameReplay replay = new GameReplay(record);
+        ReversiModel end = replay.getPosition(replay.getPlyCount());
+        int whiteMargin = end.getScore(PieceColor.WHITE) - end.getScore(PieceColor.BLACK);
+        for (int ply = 0; ply < replay.getPlyCount(); ply++, index++) {
+          ReversiModel position = replay.getPosition(ply);
+          assertEquals(position.getPositionHash(), store.getPosition(index).getPositionHash());
+          assertEquals(position.getTurn(), store.getTurn(index));
+          assertEquals(position.getPasses(), store.getPasses(index));
+          assertEquals(position.getPlayerColor(), store.getPlayerColor(index));
+          int outcome = position.getPlayerColor() == PieceColor.WHITE ? whiteMargin
+                  : -whiteMargin;
+          assertEquals(outcome, store.getOutcome(index));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCursorReadsTheSameRecordsAsRandomAccess() throws IOException {
+    Path path = this.folder.getRoot().toPath().resolve("positions.rvps");
+    List<BitboardReversi> positions = RandomGames.randomPositions(11, 300, new Random(3));
+    try (PositionStoreWriter writer = new PositionStoreWriter(path, 11)) {
+      for (int i = 0; i < positions.size(); i++) {
+        // Any model can be stored, not just bitboards.
+        writer.append(new HexagonalReversi(positions.get(i)), i - 150);
+      }
+      assertEquals(300, writer.getCount());
+    }
+
+    try (PositionStore store = new PositionStore(path)) {
+      // The 11-row board has 91 cells, which take two words per color.
+      assertEquals(2, store.getWordCount());
+      PositionCursor cursor = store.cursor(100, 250);
+      for (int i = 100; i < 250; i++) {
+        assertTrue(cursor.next());
+        assertEquals(i, cursor.getIndex());
+        BitboardReversi position = positions.get(i);
+        assertArrayEquals(position.getCellBits(PieceColor.BLACK), cursor.getBlackCells());
+        assertArrayEquals(position.getCellBits(PieceColor.WHITE),
+                cursor.getCells(PieceColor.WHITE));
+        assertEquals(store.getWhiteCells(i, 1), cursor.getWhiteCells()[1]);
+        assertEquals(i - 150, cursor.getOutcome());
+        assertEquals(position.getTurn(), cursor.getTurn());
+        assertEquals(position.getPasses(), cursor.getPasses());
+        assertEquals(position.getPlayerColor(), cursor.getPlayerColor());
+      }
+      assertFalse(cursor.next());
+      assertEquals(positions.get(299).getPositionHash(),
+              store.getPosition(299).getPositionHash());
+      assertThrows(IndexOutOfBoundsException.class, () -> store.getOutcome(300));
+      assertThrows(IndexOutOfBoundsException.class, () -> store.getBlackCells(0, 2));
+      assertThrows(IllegalArgumentException.class, () -> store.cursor(10, 301));
+    }
+  }
+
+  @Test
+  public void testUnclosedStoreCanBeReadUpToItsLastRecord() throws IOException {
+    Path path = this.folder.getRoot().toPath().resolve("unclosed.rvps");
+    PositionStoreWriter writer = new PositionStoreWriter(path, 7);
+    writer.append(new BitboardReversi(7), 4);
+    writer.append(new BitboardReversi(7), -4);
+    try (PositionStore store = new PositionStore(path)) {
+      assertEquals(2, store.getCount());
+      assertEquals(-4, store.getOutcome(1));
+    }
+    writer.close();
+    writer.close();
+    assertThrows(IllegalStateException.class, () -> writer.append(new BitboardReversi(7), 0));
+    // Closing cuts the file down to the header and the two 24-byte records.
+    assertEquals(32 + 2 * 24, Files.size(path));
+  }
+
+  @Test
+  public void testInvalidInputsAreRejected() throws IOException {
+    Path path = this.folder.getRoot().toPath().resolve("invalid.rvps");
+    assertThrows(IllegalArgumentException.class, () -> new PositionStoreWriter(path, 8));
+    try (PositionStoreWriter writer = new PositionStoreWriter(path, 7)) {
+      assertThrows(IllegalArgumentException.class,
+          () -> writer.append(new BitboardReversi(9), 0));
+      assertThrows(IllegalArgumentException.class, () -> writer.appendGame(
+              new GameRecord(3, "", "", new int[0], false)));
+      assertThrows(IllegalArgumentException.class, () -> writer.appendGame(
+              new GameRecord(4, "", "", new int[0], true)));
+      // The center of the board is never a legal first move.
+      assertThrows(IllegalArgumentException.class, () -> writer.appendGame(
+              new GameRecord(3, "", "", new int[] {18}, true)));
+      assertEquals(0, writer.getCount());
+    }
+
+    Files.write(path, new byte[64]);
+    assertThrows(IOException.class, () -> new PositionStore(path));
+    Files.write(path, new byte[] {'R', 'V'});
+    assertThrows(IOException.class, () -> new PositionStore(path));
+  }
+
+  /**
+   * Plays a game with random moves through a {@link GameRecordWriter}, and returns its record.
+   */
+  private GameRecord playGame(int rows, Random random) throws IOException {
+    ReversiModel model = new HexagonalReversi(rows);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new GameRecordWriter(model, "random", "random", out);
+    RandomGames.playRandomGame(model, random);
+    return GameRecord.read(new ByteArrayInputStream(out.toByteArray())).get();
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+
+/**
+ * Plays random games, for tests that need many different positions.
+ */
+final class RandomGames {
+
+  private RandomGames() {
+  }
+
+  /**
+   * Plays a random legal move for the player to move, or passes if they have none. The move is
+   * played through the notifying methods of the model, so its listeners see it.
+   */
+  static void playRandomMove(ReversiModel model, Random random) {
+    PieceColor color = model.getPlayerColor();
+    List<Point> moves = model.getLegalMoves(color);
+    if (moves.isEmpty()) {
+      model.pass(color);
+    } else {
+      Point move = moves.get(random.nextInt(moves.size()));
+      model.playMove(move.x, move.y, color);
+    }
+  }
+
+  /**
+   * Plays random moves until the game is over.
+   */
+  static void playRandomGame(ReversiModel model, Random random) {
+    while (!model.isGameOver()) {
+      playRandomMove(model, random);
+    }
+  }
+
+  /**
+   * Returns copies of the positions of random games, up to the provided count. A new game is
+   * started whenever one ends.
+   */
+  static List<BitboardReversi> randomPositions(int rows, int count, Random random) {
+    List<BitboardReversi> positions = new ArrayList<>();
+    BitboardReversi model = new BitboardReversi(rows);
+    while (positions.size() < count) {
+      if (model.isGameOver()) {
+        model = new BitboardReversi(rows);
+      }
+      positions.add(new BitboardReversi(model));
+      playRandomMove(model, random);
+    }
+    return positions;
+  }
+}
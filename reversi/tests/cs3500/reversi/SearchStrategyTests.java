@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import cs3500.reversi.evaluation.Evaluation;
+import cs3500.reversi.evaluation.Feature;
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.AlphaBetaSearch;
+import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.strategy.ReversiStrategy;
+import cs3500.reversi.strategy.TranspositionTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link AlphaBetaSearch} strategy.
+ */
+public final class SearchStrategyTests {
+
+  @Test
+  public void testConstructorExceptions() {
+    assertThrows(IllegalArgumentException.class, () -> new AlphaBetaSearch(0));
+    assertThrows(IllegalArgumentException.class, () -> new AlphaBetaSearch(-5));
+    assertThrows(IllegalArgumentException.class, () -> new AlphaBetaSearch(100, 0));
+    assertThrows(IllegalArgumentException.class, () -> new AlphaBetaSearch(100, 1,
+            new TranspositionTable(1), 1, null));
+  }
+
+  @Test
+  public void testSearchUsesTheProvidedEvaluation() {
+    ReversiModel model = new BitboardReversi(9);
+    for (int move = 0; move < 4; move++) {
+      Point greedy = new FlipMostCells().chooseMove(model, model.getPlayerColor()).get();
+      model.applyMove(greedy.x, greedy.y, model.getPlayerColor());
+    }
+    // A one-move search with these weights looks for the move that flips the fewest pieces.
+    Evaluation fewestPieces = new Evaluation(Map.of(Feature.PIECES, -1.0));
+    AlphaBetaSearch search = new AlphaBetaSearch(1000, 1, new TranspositionTable(1), 1,
+            fewestPieces);
+    assertEquals(fewestPieces, search.getEvaluation());
+    HexTopology topology = HexTopology.of(4);
+    PieceColor color = model.getPlayerColor();
+    Point move = search.chooseMove(model, color).get();
+    int fewest = Integer.MAX_VALUE;
+    for (Point legal : model.getLegalMoves(color)) {
+      fewest = Math.min(fewest, model.getCellsThatWillBeFlipped(
+              topology.getCell(topology.indexOf(legal.x, legal.y)), color).size());
+    }
+    assertEquals(fewest, model.getCellsThatWillBeFlipped(
+            topology.getCell(topology.indexOf(move.x, move.y)), color).size());
+  }
+
+  @Test
+  public void testSearchPlaysLegalMovesToTheEndOfTheGame() {
+    ReversiModel model = new HexagonalReversi(7);
+    ReversiStrategy search = new AlphaBetaSearch(20);
+    ReversiStrategy greedy = new FlipMostCells();
+    while (!model.isGameOver()) {
+      PieceColor color = model.getPlayerColor();
+      ReversiStrategy strategy = color == PieceColor.WHITE ? search : greedy;
+      Optional<Point> move = strategy.chooseMove(model, color);
+      assertEquals(model.getLegalMoves(color).isEmpty(), move.isEmpty());
+      if (move.isPresent()) {
+        model.playMove(move.get().x, move.get().y, color);
+      } else {
+        model.pass(color);
+      }
+    }
+    assertTrue(model.getScore(PieceColor.WHITE) > model.getScore(PieceColor.BLACK));
+  }
+
+  @Test
+  public void testInterruptStopsSearch() {
+    AlphaBetaSearch search = new AlphaBetaSearch(60_000);
+    ReversiModel model = new BitboardReversi(11);
+    Thread.currentThread().interrupt();
+    try {
+      long start = System.nanoTime();
+      Optional<Point> move = search.chooseMove(model, PieceColor.WHITE);
+      assertTrue(System.nanoTime() - start < 10_000_000_000L);
+      assertTrue(model.isValidMove(move.get().x, move.get().y, PieceColor.WHITE));
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  public void testPonderingSpeedsUpThePredictedReply() {
+    ReversiModel model = new BitboardReversi(7);
+    AlphaBetaSearch pondered = new AlphaBetaSearch(60_000, 5);
+    pondered.ponder(model, PieceColor.BLACK);
+    Point reply = new AlphaBetaSearch(60_000, 5).chooseMove(model, PieceColor.WHITE).get();
+    model.playMove(reply.x, reply.y, PieceColor.WHITE);
+    AlphaBetaSearch fresh = new AlphaBetaSearch(60_000, 5);
+    assertEquals(fresh.chooseMove(model, PieceColor.BLACK),
+        pondered.chooseMove(model, PieceColor.BLACK));
+    assertEquals(5, pondered.getCompletedDepth());
+    assertTrue(pondered.getNodeCount() < fresh.getNodeCount());
+  }
+
+  @Test
+  public void testPonderingOnOwnTurnThrows() {
+    assertThrows(IllegalStateException.class,
+        () -> new AlphaBetaSearch(20).ponder(new BitboardReversi(7), PieceColor.WHITE));
+  }
+
+  @Test
+  public void testInterruptStopsPondering() throws InterruptedException {
+    AlphaBetaSearch search = new AlphaBetaSearch(20, Integer.MAX_VALUE,
+            new TranspositionTable(4), 2);
+    Thread ponderer = new Thread(() -> search.ponder(new BitboardReversi(11), PieceColor.BLACK));
+    ponderer.start();
+    Thread.sleep(100);
+    ponderer.interrupt();
+    ponderer.join(10_000);
+    assertFalse(ponderer.isAlive());
+  }
+
+  @Test
+  public void testSearchLeavesTheModelUnchanged() {
+    ReversiModel model = new BitboardReversi(9);
+    long hash = model.getPositionHash();
+    new AlphaBetaSearch(20).chooseMove(model, PieceColor.WHITE);
+    assertEquals(hash, model.getPositionHash());
+    assertEquals(1, model.getTurn());
+  }
+
+  @Test
+  public void testFixedDepthSearchIsDeterministic() {
+    AlphaBetaSearch search = new AlphaBetaSearch(60_000, 4);
+    ReversiModel model = new HexagonalReversi(9);
+    Optional<Point> first = search.chooseMove(model, PieceColor.WHITE);
+    assertEquals(4, search.getCompletedDepth());
+    assertTrue(search.getNodeCount() > 0);
+    assertEquals(first, search.chooseMove(model, PieceColor.WHITE));
+    assertTrue(model.isValidMove(first.get().x, first.get().y, PieceColor.WHITE));
+  }
+
+  @Test
+  public void testUnboundedBudgetReachesTheRequestedDepth() {
+    AlphaBetaSearch search = new AlphaBetaSearch(Long.MAX_VALUE, 7);
+    ReversiModel model = new BitboardReversi(13);
+    assertTrue(search.chooseMove(model, PieceColor.WHITE).isPresent());
+    assertEquals(7, search.getCompletedDepth());
+    assertTrue(search.getNodeCount() > 1024);
+  }
+
+  @Test
+  public void testSearchStaysWithinItsTimeBudget() {
+    AlphaBetaSearch search = new AlphaBetaSearch(50);
+    ReversiModel model = new BitboardReversi(17);
+    long start = System.nanoTime();
+    search.chooseMove(model, PieceColor.WHITE);
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    assertTrue(elapsedMillis < 1000);
+    assertTrue(search.getCompletedDepth() >= 1);
+  }
+
+  @Test
+  public void testParallelSearchPlaysLegalMoves() {
+    AlphaBetaSearch search = new AlphaBetaSearch(30, Integer.MAX_VALUE,
+            new TranspositionTable(4), 4);
+    assertEquals(4, search.getWorkerCount());
+    ReversiModel model = new BitboardReversi(9);
+    for (int i = 0; i < 10 && !model.isGameOver(); i++) {
+      PieceColor color = model.getPlayerColor();
+      Optional<Point> move = search.chooseMove(model, color);
+      assertTrue(search.getNodeCount() > 0);
+      model.playMove(move.get().x, move.get().y, color);
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> new AlphaBetaSearch(30, 1, new TranspositionTable(1), 0));
+  }
+
+  @Test
+  public void testParallelSearchFinishesFixedDepth() {
+    ReversiModel model = new BitboardReversi(7);
+    AlphaBetaSearch parallel = new AlphaBetaSearch(60_000, 3, new TranspositionTable(1), 3);
+    Point move = parallel.chooseMove(model, PieceColor.WHITE).get();
+    assertEquals(3, parallel.getCompletedDepth());
+    assertTrue(model.isValidMove(move.x, move.y, PieceColor.WHITE));
+  }
+
+  @Test
+  public void testSearchReturnsEmptyWithoutLegalMoves() {
+    ReversiModel model = new HexagonalReversi(5);
+    model.pass(PieceColor.WHITE);
+    model.pass(PieceColor.BLACK);
+    assertFalse(new AlphaBetaSearch().chooseMove(model, PieceColor.WHITE).isPresent());
+    assertThrows(IllegalStateException.class,
+        () -> new AlphaBetaSearch().chooseMove(new HexagonalReversi(5), PieceColor.BLACK));
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import cs3500.reversi.evaluation.StabilityAnalyzer;
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.HexTopology;
+import cs3500.reversi.model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for finding the stable pieces of a position with a {@link StabilityAnalyzer}.
+ */
+public final class StabilityAnalyzerTests {
+
+  @Test
+  public void testStablePiecesAreNeverFlipped() {
+    Random random = new Random(25);
+    for (int rows = 5; rows <= 11; rows += 2) {
+      StabilityAnalyzer analyzer = StabilityAnalyzer.of(rows / 2);
+      ReversiModel model = new BitboardReversi(rows);
+      List<Point> previous = List.of();
+      while (!model.isGameOver()) {
+        List<Point> stable = analyzer.findStableCells(model);
+        assertTrue(stable.containsAll(previous));
+        ReversiModel future = new BitboardReversi(model);
+        while (!future.isGameOver()) {
+          RandomGames.playRandomMove(future, random);
+          for (Point cell : stable) {
+            assertEquals(model.getCellState(cell.x, cell.y), future.getCellState(cell.x, cell.y));
+          }
+        }
+        previous = stable;
+        RandomGames.playRandomMove(model, random);
+      }
+    }
+  }
+
+  @Test
+  public void testNoPieceIsStableAtTheStart() {
+    for (int rows = 5; rows <= 11; rows += 2) {
+      assertTrue(StabilityAnalyzer.of(rows / 2).findStableCells(new BitboardReversi(rows))
+              .isEmpty());
+    }
+  }
+
+  @Test
+  public void testFullLinesMakeInnerPiecesStable() {
+    // Every playable cell but one is filled, so only the lines through the empty cell are open.
+    HexTopology topology = HexTopology.of(4);
+    StabilityAnalyzer analyzer = StabilityAnalyzer.of(4);
+    Random random = new Random(4);
+    long[] blacks = new long[analyzer.getWordCount()];
+    long[] whites = new long[analyzer.getWordCount()];
+    int empty = topology.indexOf(2, 3);
+    for (int index = 0; index < topology.getCellCount(); index++) {
+      if (index != empty && topology.isPlayable(index)) {
+        long[] bits = random.nextBoolean() ? blacks : whites;
+        bits[index >>> 6] |= 1L << index;
+      }
+    }
+    long[] stable = new long[analyzer.getWordCount()];
+    analyzer.findStable(blacks, whites, stable);
+    // Off the three lines through the empty cell, every line is full.
+    int count = 0;
+    for (int index = 0; index < topology.getCellCount(); index++) {
+      if (index != empty && topology.isPlayable(index) && !this.onLine(topology, empty, index)) {
+        assertTrue(this.isSet(stable, index));
+      }
+      count += this.isSet(stable, index) ? 1 : 0;
+    }
+    assertNotEquals(0, count);
+    assertFalse(this.isSet(stable, empty));
+
+    // With every cell filled, every piece is stable.
+    blacks[empty >>> 6] |= 1L << empty;
+    analyzer.findStable(blacks, whites, stable);
+    for (int index = 0; index < topology.getCellCount(); index++) {
+      assertEquals(topology.isPlayable(index), this.isSet(stable, index));
+    }
+  }
+
+  @Test
+  public void testCornersAndEdgeLinesAreStable() {
+    // White holds the corner (0, 0) and the cell after it; black holds the next cell, which
+    // is not stable as the row is still open past it.
+    HexTopology topology = HexTopology.of(3);
+    long[] whites = new long[1];
+    long[] blacks = new long[1];
+    whites[0] |= 1L << topology.indexOf(0, 0) | 1L << topology.indexOf(0, 1);
+    blacks[0] |= 1L << topology.indexOf(0, 2);
+    List<Point> stable = StabilityAnalyzer.of(3).findStableCells(
+            new BitboardReversi(7, blacks, whites, 1, 0));
+    assertEquals(List.of(new Point(0, 0), new Point(0, 1)), stable);
+  }
+
+  @Test
+  public void testInvalidArgumentsAreRejected() {
+    StabilityAnalyzer analyzer = StabilityAnalyzer.of(2);
+    long[] none = new long[1];
+    assertThrows(IllegalArgumentException.class, () -> StabilityAnalyzer.of(1));
+    assertThrows(IllegalArgumentException.class,
+        () -> analyzer.findStable(new long[0], none, new long[1]));
+    assertThrows(IllegalArgumentException.class,
+        () -> analyzer.findStable(new long[] {1}, new long[] {1}, new long[1]));
+    assertThrows(IllegalArgumentException.class,
+        () -> analyzer.findStableCells(new BitboardReversi(7)));
+  }
+
+  /**
+   * Determines whether a cell is on one of the three lines through another cell.
+   */
+  private boolean onLine(HexTopology topology, int from, int index) {
+    for (int dir = 0; dir < HexTopology.DIRECTIONS; dir++) {
+      for (int next : topology.getRay(from, dir)) {
+        if (next == index) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean isSet(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import cs3500.reversi.model.HexagonalReversi;
+import cs3500.reversi.model.ReversiModel;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.ChooseCornerCell;
+import cs3500.reversi.strategy.ConsoleStrategyLogger;
+import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.strategy.LogLevel;
+import cs3500.reversi.strategy.StrategyDecision;
+import cs3500.reversi.strategy.StrategyLogger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link StrategyLogger}s that strategies record their decisions to.
+ */
+public final class StrategyLoggerTests {
+
+  /**
+   * A logger that keeps every decision it is given.
+   */
+  private static final class RecordingLogger implements StrategyLogger {
+
+    private final LogLevel level;
+    private final List<StrategyDecision> decisions = new ArrayList<>();
+
+    private RecordingLogger(LogLevel level) {
+      this.level = level;
+    }
+
+    @Override
+    public LogLevel getLevel() {
+      return this.level;
+    }
+
+    @Override
+    public void log(StrategyDecision decision) {
+      this.decisions.add(decision);
+    }
+
+    @Override
+    public void logFailure(PieceColor pieceColor, RuntimeException error) {
+      throw new AssertionError("No strategy should fail.", error);
+    }
+  }
+
+  @Test
+  public void testLevels() {
+    assertFalse(LogLevel.OFF.includes(LogLevel.OFF));
+    assertFalse(LogLevel.OFF.includes(LogLevel.INFO));
+    assertTrue(LogLevel.INFO.includes(LogLevel.INFO));
+    assertFalse(LogLevel.INFO.includes(LogLevel.DEBUG));
+    assertTrue(LogLevel.DEBUG.includes(LogLevel.INFO));
+    assertThrows(IllegalArgumentException.class, () -> new FlipMostCells(null));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ConsoleStrategyLogger(new StringBuilder(), null));
+  }
+
+  @Test
+  public void testOffRecordsNothing() {
+    RecordingLogger logger = new RecordingLogger(LogLevel.OFF);
+    new FlipMostCells(logger).chooseMove(new HexagonalReversi(7), PieceColor.WHITE);
+    assertTrue(logger.decisions.isEmpty());
+  }
+
+  @Test
+  public void testInfoRecordsDecision() {
+    ReversiModel model = new HexagonalReversi(7);
+    RecordingLogger logger = new RecordingLogger(LogLevel.INFO);
+    Optional<Point> move = new FlipMostCells(logger).chooseMove(model, PieceColor.WHITE);
+    assertEquals(1, logger.decisions.size());
+    StrategyDecision decision = logger.decisions.get(0);
+    assertEquals("FlipMostCells", decision.getStrategy());
+    assertEquals(PieceColor.WHITE, decision.getPieceColor());
+    assertEquals(move, decision.getMove());
+    assertEquals(model.getLegalMoves(PieceColor.WHITE).size(), decision.getCandidates());
+    assertEquals(5, decision.getBestScore());
+    assertTrue(decision.getElapsedNanos() > 0);
+    assertTrue(decision.getCandidateScores().isEmpty());
+  }
+
+  @Test
+  public void testDebugRecordsCandidates() {
+    ReversiModel model = new HexagonalReversi(7);
+    RecordingLogger logger = new RecordingLogger(LogLevel.DEBUG);
+    new FlipMostCells(logger).chooseMove(model, PieceColor.WHITE);
+    StrategyDecision decision = logger.decisions.get(0);
+    assertEquals(model.getLegalMoves(PieceColor.WHITE),
+        new ArrayList<>(decision.getCandidateScores().keySet()));
+    assertTrue(decision.getCandidateScores().values().stream().allMatch(score -> score == 5));
+  }
+
+  @Test
+  public void testNoMoveIsRecorded() {
+    // No corner is a legal move at the start of the game.
+    RecordingLogger logger = new RecordingLogger(LogLevel.INFO);
+    new ChooseCornerCell(logger).chooseMove(new HexagonalReversi(7), PieceColor.WHITE);
+    StrategyDecision decision = logger.decisions.get(0);
+    assertEquals(Optional.empty(), decision.getMove());
+    assertEquals(0, decision.getCandidates());
+    assertEquals(0, decision.getBestScore());
+  }
+
+  @Test
+  public void testConsoleLoggerFormat() {
+    StringBuilder out = new StringBuilder();
+    new FlipMostCells(new ConsoleStrategyLogger(out, LogLevel.DEBUG))
+        .chooseMove(new HexagonalReversi(7), PieceColor.WHITE);
+    String[] lines = out.toString().split(System.lineSeparator());
+    assertTrue(lines[0].startsWith(
+        "[FlipMostCells AI] Found move for O at (1, 2). candidates=6 bestScore=5 elapsedNanos="));
+    assertEquals(7, lines.length);
+    assertEquals("  (1, 2) -> 5", lines[1]);
+  }
+}
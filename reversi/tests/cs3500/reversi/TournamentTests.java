@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import java.awt.Point;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import cs3500.reversi.factory.StrategyFactory;
+import cs3500.reversi.player.AIDifficulty;
+import cs3500.reversi.strategy.FlipMostCells;
+import cs3500.reversi.tournament.Tournament;
+import cs3500.reversi.tournament.TournamentResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the headless {@link Tournament} runner and its {@link TournamentResult}.
+ */
+public final class TournamentTests {
+
+  @Test
+  public void testConstructorExceptions() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new Tournament(6, FlipMostCells::new, FlipMostCells::new, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Tournament(7, null, FlipMostCells::new, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Tournament(7, FlipMostCells::new, FlipMostCells::new, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Tournament(7, FlipMostCells::new, FlipMostCells::new, 1).play(0));
+    assertThrows(IllegalArgumentException.class, () -> new StrategyFactory("human", 1));
+    assertThrows(IllegalArgumentException.class, () -> new StrategyFactory("easyai", 0));
+  }
+
+  @Test
+  public void testMirroredGamesCancelOut() {
+    // The same deterministic strategy plays both colors equally often, so every win
+    // as white is matched by a loss as white.
+    TournamentResult result = new Tournament(7, FlipMostCells::new, FlipMostCells::new, 2)
+            .play(10);
+    assertEquals(10, result.getGames());
+    assertEquals(result.getWins(), result.getLosses());
+    assertEquals(10, result.getWins() + result.getLosses() + result.getDraws());
+    assertEquals(0, result.getAverageMargin(), 1e-9);
+  }
+
+  @Test
+  public void testStrongerStrategyWins() {
+    StrategyFactory hard = new StrategyFactory(AIDifficulty.HARD, 1);
+    TournamentResult result = new Tournament(9, hard::build,
+        () -> (model, color) -> Optional.empty(), 2).play(4);
+    assertEquals(4, result.getWins());
+    assertTrue(result.getAverageMargin() > 0);
+  }
+
+  @Test
+  public void testInvalidMovesArePasses() {
+    TournamentResult result = new Tournament(7, () -> (model, color) -> Optional.of(
+        new Point(0, 0)), FlipMostCells::new, 1).play(2);
+    assertEquals(2, result.getLosses());
+  }
+
+  @Test
+  public void testLatencyPercentiles() {
+    TournamentResult result = new Tournament(7, FlipMostCells::new, FlipMostCells::new, 1)
+            .play(2);
+    assertThrows(IllegalArgumentException.class, () -> result.getFirstLatencyPercentile(0));
+    assertThrows(IllegalArgumentException.class, () -> result.getSecondLatencyPercentile(101));
+    long median = result.getFirstLatencyPercentile(50);
+    assertTrue(median > 0);
+    assertTrue(median <= result.getFirstLatencyPercentile(99));
+    assertTrue(result.getFirstLatencyPercentile(99) <= result.getFirstLatencyPercentile(100));
+    assertTrue(result.toString().startsWith("games,wins,losses,draws,averageMargin\n2,"));
+  }
+
+  @Test
+  public void testTournamentIsQuiet() {
+    PrintStream out = System.out;
+    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(captured));
+    try {
+      new Tournament(7, FlipMostCells::new, FlipMostCells::new, 2).play(4);
+      assertEquals("", captured.toString());
+    } finally {
+      System.setOut(out);
+    }
+  }
+}
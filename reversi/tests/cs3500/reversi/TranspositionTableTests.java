@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2023 Ben Petrillo, Hunter Pong. All rights reserved.
+ *
+ * Project licensed under the MIT License: https://www.mit.edu/~amini/LICENSE.md
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * All portions of this software are available for public use, provided that
+ * credit is given to the original author(s).
+ */
+
+package cs3500.reversi;
+
+import org.junit.Test;
+
+import cs3500.reversi.model.BitboardReversi;
+import cs3500.reversi.model.types.PieceColor;
+import cs3500.reversi.strategy.AlphaBetaSearch;
+import cs3500.reversi.strategy.TranspositionTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link TranspositionTable} used by {@link AlphaBetaSearch}.
+ */
+public final class TranspositionTableTests {
+
+  @Test
+  public void testConstructorExceptions() {
+    assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(4097));
+  }
+
+  @Test
+  public void testCapacityIsAPowerOfTwoWithinTheBudget() {
+    TranspositionTable table = new TranspositionTable(1);
+    int capacity = table.getCapacity();
+    assertEquals(0, capacity & (capacity - 1));
+    assertTrue(capacity * 16L <= 1 << 20);
+    assertTrue(capacity * 32L > 1 << 20);
+  }
+
+  @Test
+  public void testStoreAndProbe() {
+    TranspositionTable table = new TranspositionTable(1);
+    assertEquals(TranspositionTable.MISSING, table.probe(42L));
+    table.store(42L, 5, TranspositionTable.LOWER_BOUND, -17, 9);
+    long entry = table.probe(42L);
+    assertEquals(5, TranspositionTable.depthOf(entry));
+    assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.boundOf(entry));
+    assertEquals(-17, TranspositionTable.scoreOf(entry));
+    assertEquals(9, TranspositionTable.moveOf(entry));
+    table.store(43L, 300, TranspositionTable.UPPER_BOUND, Integer.MAX_VALUE, -1);
+    entry = table.probe(43L);
+    assertEquals(255, TranspositionTable.depthOf(entry));
+    assertEquals(Integer.MAX_VALUE, TranspositionTable.scoreOf(entry));
+    assertEquals(-1, TranspositionTable.moveOf(entry));
+    assertEquals(2, table.getHits());
+    assertEquals(1, table.getMisses());
+    assertThrows(IllegalArgumentException.class, () -> table.store(1L, -1, 1, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> table.store(1L, 1, 0, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> table.store(1L, 1, 1, 0, -2));
+  }
+
+  @Test
+  public void testDeeperEntriesArePreferred() {
+    TranspositionTable table = new TranspositionTable(1);
+    long capacity = table.getCapacity();
+    table.store(7L, 6, TranspositionTable.EXACT, 1, 1);
+    table.store(7L, 2, TranspositionTable.EXACT, 2, 2);
+    assertEquals(6, TranspositionTable.depthOf(table.probe(7L)));
+    for (int i = 1; i < TranspositionTable.BUCKET_SIZE; i++) {
+      table.store(7L + i * capacity, 6 + i, TranspositionTable.EXACT, 0, -1);
+    }
+    assertEquals(0, table.getCollisions());
+    table.store(7L + 10 * capacity, 3, TranspositionTable.EXACT, 0, -1);
+    assertEquals(1, table.getCollisions());
+    assertEquals(TranspositionTable.MISSING, table.probe(7L + 10 * capacity));
+    table.store(7L + 11 * capacity, 8, TranspositionTable.EXACT, 0, -1);
+    assertEquals(2, table.getCollisions());
+    assertEquals(TranspositionTable.MISSING, table.probe(7L));
+    assertTrue(table.probe(7L + 11 * capacity) != TranspositionTable.MISSING);
+    table.clear();
+    assertEquals(TranspositionTable.MISSING, table.probe(7L + 11 * capacity));
+    assertEquals(0, table.getCollisions());
+  }
+
+  @Test
+  public void testSearchReusesTheTable() {
+    AlphaBetaSearch search = new AlphaBetaSearch(60_000, 5, new TranspositionTable(4));
+    search.chooseMove(new BitboardReversi(9), PieceColor.WHITE);
+    long firstNodes = search.getNodeCount();
+    assertTrue(search.getTable().getHits() > 0);
+    search.chooseMove(new BitboardReversi(9), PieceColor.WHITE);
+    assertTrue(search.getNodeCount() < firstNodes);
+  }
+}